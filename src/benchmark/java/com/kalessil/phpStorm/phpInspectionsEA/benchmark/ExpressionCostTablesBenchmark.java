@@ -0,0 +1,38 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmark;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimateUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionCostTablesBenchmark {
+    private String[] variables;
+
+    @Setup
+    public void setup() {
+        this.variables = RecordedInputs.load("variables.txt");
+    }
+
+    @Benchmark
+    public void predefinedVariablesLookup(Blackhole sink) {
+        for (final String variable : this.variables) {
+            sink.consume(ExpressionCostEstimateUtil.isPredefinedVariable(variable));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final class RecordedInputs {
+    @NotNull
+    static String[] load(@NotNull String name) {
+        final InputStream stream = RecordedInputs.class.getResourceAsStream("/benchmark/" + name);
+        if (null == stream) {
+            throw new IllegalStateException("Recorded inputs are not available: " + name);
+        }
+
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                /* first line of each file describes the recording source */
+                if (!line.isEmpty() && !line.startsWith("// ")) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException failure) {
+            throw new IllegalStateException("Recorded inputs are not readable: " + name, failure);
+        }
+
+        return lines.toArray(new String[lines.size()]);
+    }
+}
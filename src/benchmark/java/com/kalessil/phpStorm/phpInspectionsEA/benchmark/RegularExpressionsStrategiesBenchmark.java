@@ -0,0 +1,73 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmark;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Measures the shared PCRE AST over recorded pattern literals: parsing from scratch, cached lookups (what
+ * the inspection is doing for repeated patterns) and the typed queries strategies are running against the AST.
+ * Strategies are reporting into a ProblemsHolder, hence we are measuring their matching part only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegularExpressionsStrategiesBenchmark {
+    private String[] literals;
+    private List<ParsedRegex> parsed;
+
+    @Setup
+    public void setup() {
+        this.literals = RecordedInputs.load("regular-expressions.txt");
+        this.parsed   = new ArrayList<>();
+        for (final String literal : this.literals) {
+            final ParsedRegex regex = ParsedRegex.fromLiteral(literal);
+            if (null != regex) {
+                this.parsed.add(regex);
+            }
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole sink) {
+        for (final ParsedRegex regex : this.parsed) {
+            sink.consume(RegexParser.parse(regex.getPattern(), regex.getModifiers()));
+        }
+    }
+
+    @Benchmark
+    public void cachedLookup(Blackhole sink) {
+        for (final String literal : this.literals) {
+            sink.consume(ParsedRegex.fromLiteral(literal));
+        }
+    }
+
+    @Benchmark
+    public void strategiesQueries(Blackhole sink) {
+        for (final ParsedRegex regex : this.parsed) {
+            sink.consume(regex.find(RegexNode.CharacterClass.class));
+            sink.consume(regex.find(RegexNode.Quantified.class));
+            sink.consume(regex.find(RegexNode.Escape.class));
+            sink.consume(regex.find(RegexNode.Literal.class));
+            sink.consume(regex.getItems());
+        }
+    }
+}
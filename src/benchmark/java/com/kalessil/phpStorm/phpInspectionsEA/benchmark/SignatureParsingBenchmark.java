@@ -0,0 +1,76 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmark;
+
+import com.kalessil.phpStorm.phpInspectionsEA.utils.SignatureParsingUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * The string handling of TypeFromSignatureResolvingUtil.resolveSignature (see SignatureParsingUtil), dispatched
+ * the same way but without PhpIndex lookups: poly-variants splitting, kinds, names and call chains extraction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureParsingBenchmark {
+    private String[] signatures;
+
+    @Setup
+    public void setup() {
+        this.signatures = RecordedInputs.load("signatures.txt");
+    }
+
+    @Benchmark
+    public void parseSignatures(Blackhole sink) {
+        for (final String signature : this.signatures) {
+            if (SignatureParsingUtil.isPolyVariant(signature)) {
+                for (final String variant : SignatureParsingUtil.getVariants(signature)) {
+                    this.parseVariant(variant, sink);
+                }
+                continue;
+            }
+            this.parseVariant(signature, sink);
+        }
+    }
+
+    private void parseVariant(String signature, Blackhole sink) {
+        if (signature.isEmpty()) {
+            return;
+        }
+        if (SignatureParsingUtil.isType(signature)) {
+            sink.consume(Types.getType(signature));
+            return;
+        }
+
+        switch (SignatureParsingUtil.getKind(signature)) {
+            case 'F':
+            case 'V':
+                sink.consume(SignatureParsingUtil.getReferencedName(signature));
+                break;
+            case 'C':
+                sink.consume(Types.getType(SignatureParsingUtil.getReferencedName(signature)));
+                break;
+            case 'P':
+            case 'M':
+            case 'K':
+                sink.consume(SignatureParsingUtil.getChain(signature));
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmark;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpDoc.utils.NoinspectionTagUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * The @noinspection tag cleanup of UnknownInspectionInspector (the inspector itself collects plugins manifests
+ * in its static initializer, hence NoinspectionTagUtil is benchmarked).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnknownInspectionTagCleanupBenchmark {
+    private String[] tags;
+
+    @Setup
+    public void setup() {
+        this.tags = RecordedInputs.load("noinspection-tags.txt");
+    }
+
+    @Benchmark
+    public void getSuppressedNames(Blackhole sink) {
+        for (final String tag : this.tags) {
+            sink.consume(NoinspectionTagUtil.getSuppressedNames(tag));
+        }
+    }
+}
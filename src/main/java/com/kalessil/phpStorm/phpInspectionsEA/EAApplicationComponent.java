@@ -8,9 +8,12 @@ import com.intellij.openapi.extensions.PluginId;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.analytics.AnalyticsUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class EAApplicationComponent implements ApplicationComponent {
-    private boolean updated;
-    private boolean updateNotificationShown;
+    final private AtomicBoolean checked                 = new AtomicBoolean(false);
+    final private AtomicBoolean updateNotificationShown = new AtomicBoolean(false);
+    private volatile boolean updated;
 
     @NotNull
     public static EAApplicationComponent getInstance() {
@@ -19,7 +22,16 @@ public class EAApplicationComponent implements ApplicationComponent {
 
     @Override
     public void initComponent() {
-        IdeaPluginDescriptor plugin = PluginManager.getPlugin(PluginId.getId("com.kalessil.phpStorm.phpInspectionsEA"));
+        /* nothing to do here: the work is deferred to EAStartupActivity, so IDE boot is not affected */
+    }
+
+    /* invoked from a pooled thread after the first project was opened; the work is done once per application */
+    public void checkForUpdates() {
+        if (!this.checked.compareAndSet(false, true)) {
+            return;
+        }
+
+        final IdeaPluginDescriptor plugin = PluginManager.getPlugin(PluginId.getId("com.kalessil.phpStorm.phpInspectionsEA"));
         if (null == plugin) {
             return;
         }
@@ -48,11 +60,8 @@ public class EAApplicationComponent implements ApplicationComponent {
         return this.updated;
     }
 
-    boolean isUpdateNotificationShown() {
-        return this.updateNotificationShown;
-    }
-
-    void setUpdateNotificationShown(boolean shown) {
-        this.updateNotificationShown = shown;
+    /* returns true only for the first caller, so the notification is shown once */
+    boolean markUpdateNotificationShown() {
+        return this.updateNotificationShown.compareAndSet(false, true);
     }
 }
@@ -28,7 +28,7 @@ public class EASettings implements PersistentStateComponent<Element> {
     public Element getState() {
         final Element element = new Element("EASettings");
 
-        if (null != this.versionOldest) {
+        if (null != this.version) {
             element.setAttribute("version", this.version);
         }
         if (null != this.versionOldest) {
@@ -44,9 +44,7 @@ public class EASettings implements PersistentStateComponent<Element> {
     @Override
     public void loadState(Element element) {
         final String versionValue = element.getAttributeValue("version");
-        if (versionValue != null) {
-            this.version = versionValue;
-        }
+        this.version              = versionValue;
 
         final String versionOldestValue = element.getAttributeValue("versionOldest");
         this.versionOldest              = (null == versionOldestValue ? versionValue : versionOldestValue);
@@ -0,0 +1,50 @@
+package com.kalessil.phpStorm.phpInspectionsEA;
+
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManager;
+import com.intellij.notification.*;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.extensions.PluginId;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class EAStartupActivity implements StartupActivity, DumbAware {
+    @Override
+    public void runActivity(@NotNull Project project) {
+        final Application application = ApplicationManager.getApplication();
+        if (application.isUnitTestMode()) {
+            return;
+        }
+
+        application.executeOnPooledThread(() -> {
+            final EAApplicationComponent component = EAApplicationComponent.getInstance();
+            component.checkForUpdates();
+
+            if (!project.isDisposed() && component.isUpdated() && component.markUpdateNotificationShown()) {
+                final IdeaPluginDescriptor plugin = PluginManager.getPlugin(PluginId.getId("com.kalessil.phpStorm.phpInspectionsEA"));
+                if (null == plugin) {
+                    return;
+                }
+
+                final String popupTitle       = "<b> " + plugin.getName() + "</b> updated to v" + plugin.getVersion();
+                final NotificationGroup group = new NotificationGroup(plugin.getName(), NotificationDisplayType.STICKY_BALLOON, true);
+                final Notification notification = group.createNotification(
+                        popupTitle, plugin.getChangeNotes(), NotificationType.INFORMATION, NotificationListener.URL_OPENING_LISTENER
+                );
+                Notifications.Bus.notify(notification, project);
+            }
+        });
+    }
+}
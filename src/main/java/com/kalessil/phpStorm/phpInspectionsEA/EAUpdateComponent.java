@@ -1,48 +0,0 @@
-package com.kalessil.phpStorm.phpInspectionsEA;
-
-import com.intellij.ide.plugins.IdeaPluginDescriptor;
-import com.intellij.ide.plugins.PluginManager;
-import com.intellij.notification.*;
-import com.intellij.openapi.components.ProjectComponent;
-import com.intellij.openapi.extensions.PluginId;
-import org.jetbrains.annotations.NotNull;
-
-public class EAUpdateComponent implements ProjectComponent {
-    private EAApplicationComponent applicationComponent;
-
-    @Override
-    public void initComponent() {
-        applicationComponent = EAApplicationComponent.getInstance();
-    }
-
-    @Override
-    public void disposeComponent() {}
-
-    @NotNull
-    @Override
-    public String getComponentName() {
-        return "EAUpdateComponent";
-    }
-
-    @Override
-    public void projectOpened() {
-        if (applicationComponent.isUpdated() && !applicationComponent.isUpdateNotificationShown()) {
-            IdeaPluginDescriptor plugin = PluginManager.getPlugin(PluginId.getId("com.kalessil.phpStorm.phpInspectionsEA"));
-            if (null == plugin) {
-                return;
-            }
-
-            String popupTitle       = "<b> "+ plugin.getName() + "</b> updated to v" + plugin.getVersion();
-            NotificationGroup group = new NotificationGroup(plugin.getName(), NotificationDisplayType.STICKY_BALLOON, true);
-            Notification notification = group.createNotification(
-                    popupTitle, plugin.getChangeNotes(), NotificationType.INFORMATION, NotificationListener.URL_OPENING_LISTENER
-            );
-            Notifications.Bus.notify(notification);
-
-            applicationComponent.setUpdateNotificationShown(true);
-        }
-    }
-
-    @Override
-    public void projectClosed() {}
-}
@@ -0,0 +1,151 @@
+package com.kalessil.phpStorm.phpInspectionsEA.fixers;
+
+import com.intellij.codeInsight.FileModificationService;
+import com.intellij.codeInspection.CommonProblemDescriptor;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.QuickFix;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Applies a quick-fix to many descriptors at once (e.g. "Fix all" in the inspection results view): descriptors are
+ * grouped by files and fixed in chunked write actions, with one document commit per file. Donor PSI (parsed
+ * replacements) is shared across the batch, so the same replacement is parsed once. The process is running as
+ * a cancellable background task with progress, chunks are keeping the UI responsive between write actions.
+ */
+final public class BatchFixesApplier {
+    private static final int chunkSize = 100;
+
+    public interface Fixer {
+        /* donors: replacement text => parsed PSI, fixers are not allowed to modify donors (replace is copying them) */
+        void apply(@NotNull ProblemDescriptor descriptor, @NotNull Map<String, PsiElement> donors);
+    }
+
+    public static void apply(
+        @NotNull Project project,
+        @NotNull String title,
+        @NotNull CommonProblemDescriptor[] descriptors,
+        @Nullable Runnable refreshViews,
+        @NotNull Fixer fixer
+    ) {
+        /* group by files, last offsets first: so fixes are not shifting elements of not yet processed descriptors */
+        final Map<PsiFile, List<ProblemDescriptor>> descriptorsByFile = new LinkedHashMap<>();
+        for (final CommonProblemDescriptor descriptor : descriptors) {
+            if (descriptor instanceof ProblemDescriptor) {
+                final PsiElement element = ((ProblemDescriptor) descriptor).getPsiElement();
+                if (null != element && element.isValid()) {
+                    descriptorsByFile.computeIfAbsent(element.getContainingFile(), key -> new ArrayList<>()).add((ProblemDescriptor) descriptor);
+                }
+            }
+        }
+        if (descriptorsByFile.isEmpty() || !FileModificationService.getInstance().preparePsiElementsForWrite(descriptorsByFile.keySet())) {
+            return;
+        }
+        final int total = descriptorsByFile.values().stream().mapToInt(List::size).sum();
+        for (final List<ProblemDescriptor> fileDescriptors : descriptorsByFile.values()) {
+            fileDescriptors.sort(Comparator.comparingInt(BatchFixesApplier::getOffset).reversed());
+        }
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, title, true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+
+                final Map<String, PsiElement> donors = new HashMap<>();
+                final PsiDocumentManager manager     = PsiDocumentManager.getInstance(project);
+                int processed                        = 0;
+                for (final Map.Entry<PsiFile, List<ProblemDescriptor>> entry : descriptorsByFile.entrySet()) {
+                    final PsiFile file                    = entry.getKey();
+                    final List<ProblemDescriptor> pending = entry.getValue();
+                    for (int start = 0; start < pending.size(); start += chunkSize) {
+                        indicator.checkCanceled();
+                        indicator.setText2(file.getName());
+                        indicator.setFraction((double) processed / total);
+
+                        final List<ProblemDescriptor> chunk = pending.subList(start, Math.min(start + chunkSize, pending.size()));
+                        ApplicationManager.getApplication().invokeAndWait(
+                            () -> WriteCommandAction.runWriteCommandAction(project, title, null, () -> {
+                                for (final ProblemDescriptor descriptor : chunk) {
+                                    final PsiElement element = descriptor.getPsiElement();
+                                    if (null != element && element.isValid()) {
+                                        fixer.apply(descriptor, donors);
+                                    }
+                                }
+                            }, file),
+                            ModalityState.defaultModalityState()
+                        );
+                        processed += chunk.size();
+                    }
+
+                    /* one commit per file */
+                    ApplicationManager.getApplication().invokeAndWait(
+                        () -> ApplicationManager.getApplication().runWriteAction(() -> {
+                            final Document document = manager.getDocument(file);
+                            if (null != document) {
+                                manager.doPostponedOperationsAndUnblockDocument(document);
+                                manager.commitDocument(document);
+                            }
+                        }),
+                        ModalityState.defaultModalityState()
+                    );
+                }
+                donors.clear();
+            }
+
+            @Override
+            public void onSuccess() {
+                if (null != refreshViews) {
+                    refreshViews.run();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                /* fixes applied before cancelling are kept */
+                this.onSuccess();
+            }
+        });
+    }
+
+    /* "Fix all" is invoking one fix instance with descriptors of the whole family: fixes holding per-problem state
+       (replacements, names) must be taken from the descriptor, matching the exact class so siblings are not mixed */
+    @Nullable
+    public static <T extends QuickFix> T getFix(@NotNull ProblemDescriptor descriptor, @NotNull Class<T> fixClass) {
+        final QuickFix[] fixes = descriptor.getFixes();
+        if (null != fixes) {
+            for (final QuickFix fix : fixes) {
+                if (null != fix && fix.getClass() == fixClass) {
+                    return fixClass.cast(fix);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int getOffset(@NotNull ProblemDescriptor descriptor) {
+        final PsiElement element = descriptor.getPsiElement();
+        return null == element ? -1 : element.getTextRange().getStartOffset();
+    }
+}
@@ -1,5 +1,7 @@
 package com.kalessil.phpStorm.phpInspectionsEA.fixers;
 
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.openapi.project.Project;
@@ -9,8 +11,11 @@ import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
 import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.php.lang.psi.elements.PhpPsiElement;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-public class DropMethodFix implements LocalQuickFix {
+import java.util.List;
+
+public class DropMethodFix implements LocalQuickFix, BatchQuickFix<CommonProblemDescriptor> {
     @NotNull
     @Override
     public String getName() {
@@ -23,6 +28,16 @@ public class DropMethodFix implements LocalQuickFix {
         return getName();
     }
 
+    @Override
+    public void applyFix(
+        @NotNull Project project,
+        @NotNull CommonProblemDescriptor[] descriptors,
+        @NotNull List<PsiElement> psiElementsToIgnore,
+        @Nullable Runnable refreshViews
+    ) {
+        BatchFixesApplier.apply(project, getName(), descriptors, refreshViews, (descriptor, donors) -> this.applyFix(project, descriptor));
+    }
+
     @Override
     public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
         final PsiElement expression = descriptor.getPsiElement().getParent();
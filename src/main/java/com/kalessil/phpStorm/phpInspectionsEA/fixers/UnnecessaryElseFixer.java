@@ -1,19 +1,25 @@
 package com.kalessil.phpStorm.phpInspectionsEA.fixers;
 
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiWhiteSpace;
-import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.Else;
 import com.jetbrains.php.lang.psi.elements.ElseIf;
 import com.jetbrains.php.lang.psi.elements.GroupStatement;
 import com.jetbrains.php.lang.psi.elements.If;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PsiTemplatesUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-public class UnnecessaryElseFixer implements LocalQuickFix {
+import java.util.Collections;
+import java.util.List;
+
+public class UnnecessaryElseFixer implements LocalQuickFix, BatchQuickFix<CommonProblemDescriptor> {
     @NotNull
     @Override
     public String getName() {
@@ -26,11 +32,21 @@ public class UnnecessaryElseFixer implements LocalQuickFix {
         return getName();
     }
 
+    @Override
+    public void applyFix(
+        @NotNull Project project,
+        @NotNull CommonProblemDescriptor[] descriptors,
+        @NotNull List<PsiElement> psiElementsToIgnore,
+        @Nullable Runnable refreshViews
+    ) {
+        BatchFixesApplier.apply(project, getName(), descriptors, refreshViews, (descriptor, donors) -> this.applyFix(project, descriptor));
+    }
+
     @Override
     public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
         final PsiElement element    = descriptor.getPsiElement();
         final PsiElement expression = null == element ? null : element.getParent();
-        final PsiElement newline    = PhpPsiElementFactory.createFromText(project, PsiWhiteSpace.class, "\n");
+        final PsiElement newline    = PsiTemplatesUtil.getDonor(project, PsiWhiteSpace.class, "\n");
         if (null == expression || null == newline) {
             return;
         }
@@ -84,7 +100,10 @@ public class UnnecessaryElseFixer implements LocalQuickFix {
             final If parentIfExpression  = (If) expression.getParent();
 
             /* back up original if */
-            final If newIf = PhpPsiElementFactory.createPhpPsiFromText(project, If.class, "if (true) {\n}");
+            final If newIf = PsiTemplatesUtil.fromTemplate(project, If.class, "if (true) {\n}", Collections.emptyMap());
+            if (null == newIf) {
+                return;
+            }
             //noinspection ConstantConditions as structures guaranted
             newIf.getCondition().replace(parentIfExpression.getCondition());
             //noinspection ConstantConditions as structures guaranted
@@ -1,5 +1,7 @@
 package com.kalessil.phpStorm.phpInspectionsEA.fixers;
 
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.openapi.project.Project;
@@ -7,6 +9,11 @@ import com.intellij.psi.PsiElement;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.ParenthesizedExpression;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -17,7 +24,7 @@ import org.jetbrains.annotations.NotNull;
  * file that was distributed with this source code.
  */
 
-public class UseSuggestedReplacementFixer implements LocalQuickFix {
+public class UseSuggestedReplacementFixer implements LocalQuickFix, BatchQuickFix<CommonProblemDescriptor> {
     final private String expression;
 
     @NotNull
@@ -39,12 +46,34 @@ public class UseSuggestedReplacementFixer implements LocalQuickFix {
 
     @Override
     public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        this.applyFix(project, descriptor, new HashMap<>());
+    }
+
+    @Override
+    public void applyFix(
+        @NotNull Project project,
+        @NotNull CommonProblemDescriptor[] descriptors,
+        @NotNull List<PsiElement> psiElementsToIgnore,
+        @Nullable Runnable refreshViews
+    ) {
+        BatchFixesApplier.apply(project, getName(), descriptors, refreshViews, (descriptor, donors) -> {
+            final UseSuggestedReplacementFixer fixer = BatchFixesApplier.getFix(descriptor, this.getClass());
+            if (null != fixer) {
+                fixer.applyFix(project, descriptor, donors);
+            }
+        });
+    }
+
+    /* donors are shared across batch fixing, subclasses are customizing this method so both modes are covered */
+    protected void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor, @NotNull Map<String, PsiElement> donors) {
         final PsiElement expression = descriptor.getPsiElement();
         if (null != expression) {
-            final String pattern = "(" + this.expression + ")";
-            final ParenthesizedExpression replacement
-                    = PhpPsiElementFactory.createPhpPsiFromText(project, ParenthesizedExpression.class, pattern);
-            expression.replace(replacement.getArgument());
+            final String pattern         = "(" + this.expression + ")";
+            final PsiElement replacement = donors.computeIfAbsent(
+                pattern,
+                key -> PhpPsiElementFactory.createPhpPsiFromText(project, ParenthesizedExpression.class, key).getArgument()
+            );
+            expression.replace(replacement);
         }
     }
 }
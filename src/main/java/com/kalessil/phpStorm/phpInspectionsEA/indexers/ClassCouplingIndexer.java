@@ -0,0 +1,105 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassCouplingUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Classes coupling, see {@link ClassCouplingUtil} for the keys:
+ *  - referenced classes => FQNs of classes referencing them (afferent coupling);
+ *  - referenced namespaces => FQNs of classes from other namespaces referencing them (namespace afferent coupling);
+ *  - namespaces => FQNs of classes from other namespaces they are referencing (namespace efferent coupling).
+ *
+ * Values from different files are merged when queried. PSI is built only for files declaring classes.
+ */
+public class ClassCouplingIndexer extends FileBasedIndexExtension<String, Set<String>> {
+    public static final ID<String, Set<String>> identity = ID.create("kalessil.phpStorm.phpInspectionsEA.class.coupling");
+
+    private static final Pattern classDeclaration = Pattern.compile("\\b(class|interface|trait)\\s", Pattern.CASE_INSENSITIVE);
+
+    @NotNull
+    @Override
+    public ID<String, Set<String>> getName() {
+        return identity;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Set<String>, FileContent> getIndexer() {
+        return file -> {
+            final Map<String, Set<String>> result = new HashMap<>();
+            if (!classDeclaration.matcher(file.getContentAsText()).find()) {
+                return result;
+            }
+
+            final PsiFile psiFile = file.getPsiFile();
+            if (psiFile instanceof PhpFile) {
+                for (final PhpClass clazz : PsiTreeUtil.findChildrenOfType(psiFile, PhpClass.class)) {
+                    final String fqn       = clazz.getFQN();
+                    final String namespace = ClassCouplingUtil.getNamespace(fqn);
+                    for (final String reference : ClassCouplingUtil.collectReferencedClasses(clazz)) {
+                        result.computeIfAbsent(reference, key -> new HashSet<>()).add(fqn);
+
+                        final String referenceNamespace = ClassCouplingUtil.getNamespace(reference);
+                        if (!namespace.equals(referenceNamespace)) {
+                            result.computeIfAbsent(ClassCouplingUtil.getNamespaceKey(referenceNamespace), key -> new HashSet<>()).add(fqn);
+                            result.computeIfAbsent(ClassCouplingUtil.getNamespaceReferencesKey(namespace), key -> new HashSet<>()).add(reference);
+                        }
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Set<String>> getValueExternalizer() {
+        return StringSetExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
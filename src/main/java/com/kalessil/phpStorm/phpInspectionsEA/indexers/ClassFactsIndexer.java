@@ -0,0 +1,84 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassFactsUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Lower-cased class FQN => facts bitset (see {@link ClassFactsUtil}), so inspections can answer common questions
+ * about classes from other files without loading their PSI.
+ */
+public class ClassFactsIndexer extends FileBasedIndexExtension<String, Integer> {
+    public static final ID<String, Integer> identity = ID.create("kalessil.phpStorm.phpInspectionsEA.class.facts");
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return identity;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return file -> {
+            final Map<String, Integer> result = new HashMap<>();
+            final PsiFile psiFile             = file.getPsiFile();
+            if (psiFile instanceof PhpFile) {
+                for (final PhpClass clazz : PsiTreeUtil.findChildrenOfType(psiFile, PhpClass.class)) {
+                    /* conditional declarations: keep facts of all variants */
+                    result.merge(clazz.getFQN().toLowerCase(), ClassFactsUtil.collectFacts(clazz), (one, two) -> one | two);
+                }
+            }
+            return result;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final class StringSetExternalizer implements DataExternalizer<Set<String>> {
+    static final StringSetExternalizer INSTANCE = new StringSetExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, @NotNull Set<String> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (final String item : value) {
+            IOUtil.writeUTF(out, item);
+        }
+    }
+
+    @Override
+    public Set<String> read(@NotNull DataInput in) throws IOException {
+        final int size           = DataInputOutputUtil.readINT(in);
+        final Set<String> result = new HashSet<>(size);
+        for (int index = 0; index < size; ++index) {
+            result.add(IOUtil.readUTF(in));
+        }
+        return result;
+    }
+}
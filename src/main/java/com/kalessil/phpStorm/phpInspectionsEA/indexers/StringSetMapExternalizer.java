@@ -0,0 +1,45 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final class StringSetMapExternalizer implements DataExternalizer<Map<String, Set<String>>> {
+    static final StringSetMapExternalizer INSTANCE = new StringSetMapExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, @NotNull Map<String, Set<String>> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (final Map.Entry<String, Set<String>> entry : value.entrySet()) {
+            IOUtil.writeUTF(out, entry.getKey());
+            StringSetExternalizer.INSTANCE.save(out, entry.getValue());
+        }
+    }
+
+    @Override
+    public Map<String, Set<String>> read(@NotNull DataInput in) throws IOException {
+        final int size                        = DataInputOutputUtil.readINT(in);
+        final Map<String, Set<String>> result = new HashMap<>(size);
+        for (int index = 0; index < size; ++index) {
+            result.put(IOUtil.readUTF(in), StringSetExternalizer.INSTANCE.read(in));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TaintAnalysisUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Functions and methods (lower-cased '\foo', '\Class.method') => taint summaries, see {@link TaintAnalysisUtil}.
+ * Functions not propagating anything are not stored.
+ */
+public class TaintSummariesIndexer extends FileBasedIndexExtension<String, Map<String, Set<String>>> {
+    public static final ID<String, Map<String, Set<String>>> identity = ID.create("kalessil.phpStorm.phpInspectionsEA.taint.summaries");
+
+    @NotNull
+    @Override
+    public ID<String, Map<String, Set<String>>> getName() {
+        return identity;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Map<String, Set<String>>, FileContent> getIndexer() {
+        return file -> {
+            final Map<String, Map<String, Set<String>>> result = new HashMap<>();
+            final PsiFile psiFile                              = file.getPsiFile();
+            if (psiFile instanceof PhpFile) {
+                for (final Function function : PsiTreeUtil.findChildrenOfType(psiFile, Function.class)) {
+                    final String key = TaintAnalysisUtil.getKey(function);
+                    if (null != key) {
+                        final Map<String, Set<String>> summary = TaintAnalysisUtil.collectSummary(function);
+                        if (!summary.isEmpty()) {
+                            /* conditional declarations are merged */
+                            final Map<String, Set<String>> merged = result.computeIfAbsent(key, k -> new HashMap<>());
+                            for (final Map.Entry<String, Set<String>> entry : summary.entrySet()) {
+                                merged.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Map<String, Set<String>>> getValueExternalizer() {
+        return StringSetMapExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+}
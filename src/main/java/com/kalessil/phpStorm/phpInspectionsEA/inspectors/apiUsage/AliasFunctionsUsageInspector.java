@@ -1,5 +1,7 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage;
 
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.ProblemHighlightType;
@@ -10,11 +12,15 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.ResolveResult;
 import com.jetbrains.php.lang.psi.elements.Function;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.kalessil.phpStorm.phpInspectionsEA.fixers.BatchFixesApplier;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.RulesTablesUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /*
@@ -34,25 +40,9 @@ public class AliasFunctionsUsageInspector extends BasePhpInspection {
         return "AliasFunctionsUsageInspection";
     }
 
-    private static final HashMap<String, String> mapping = new HashMap<>();
-    static {
-        mapping.put("is_double",            "is_float");
-        mapping.put("is_integer",           "is_int");
-        mapping.put("is_long",              "is_int");
-        mapping.put("is_real",              "is_float");
-        mapping.put("sizeof",               "count");
-        mapping.put("doubleval",            "floatval");
-        mapping.put("fputs",                "fwrite");
-        mapping.put("join",                 "implode");
-        mapping.put("key_exists",           "array_key_exists");
-        mapping.put("chop",                 "rtrim");
-        mapping.put("ini_alter",            "ini_set");
-        mapping.put("is_writeable",         "is_writable");
-        mapping.put("magic_quotes_runtime", "set_magic_quotes_runtime");
-        mapping.put("pos",                  "current");
-        mapping.put("show_source",          "highlight_file");
-        mapping.put("strchr",               "strstr");
-        mapping.put("set_file_buffer",      "stream_set_write_buffer");
+    /* loaded on first use: the inspection class is loaded with the profile, the table is needed only by visitors */
+    private static final class Rules {
+        private static final Map<String, String> mapping = RulesTablesUtil.loadMap("alias-functions.txt");
     }
 
     @Override
@@ -61,7 +51,7 @@ public class AliasFunctionsUsageInspector extends BasePhpInspection {
         return new BasePhpElementVisitor() {
             public void visitPhpFunctionCall(FunctionReference reference) {
                 final String functionName = reference.getName();
-                if (null != functionName && mapping.containsKey(functionName)) {
+                if (null != functionName && Rules.mapping.containsKey(functionName)) {
                     /* avoid complaining to imported functions */
                     PsiElement function = reference.resolve();
                     if (null == function) {
@@ -79,7 +69,7 @@ public class AliasFunctionsUsageInspector extends BasePhpInspection {
                         resolvedFunctions.clear();
                     }
                     if (function instanceof Function && ((Function) function).getFQN().equals('\\' + functionName)) {
-                        final String suggestedName = mapping.get(functionName);
+                        final String suggestedName = Rules.mapping.get(functionName);
                         final String message       = messagePattern
                                 .replace("%a%", functionName)
                                 .replace("%f%", suggestedName);
@@ -90,7 +80,7 @@ public class AliasFunctionsUsageInspector extends BasePhpInspection {
         };
     }
 
-    private static class TheLocalFix implements LocalQuickFix {
+    private static class TheLocalFix implements LocalQuickFix, BatchQuickFix<CommonProblemDescriptor> {
         final private String suggestedName;
 
         TheLocalFix(@NotNull String suggestedName) {
@@ -110,6 +100,22 @@ public class AliasFunctionsUsageInspector extends BasePhpInspection {
             return getName();
         }
 
+        @Override
+        public void applyFix(
+            @NotNull Project project,
+            @NotNull CommonProblemDescriptor[] descriptors,
+            @NotNull List<PsiElement> psiElementsToIgnore,
+            @Nullable Runnable refreshViews
+        ) {
+            BatchFixesApplier.apply(project, getName(), descriptors, refreshViews, (descriptor, donors) -> {
+                /* the suggested name is per problem: use the descriptor's own fix */
+                final TheLocalFix fixer = BatchFixesApplier.getFix(descriptor, TheLocalFix.class);
+                if (null != fixer) {
+                    fixer.applyFix(project, descriptor);
+                }
+            });
+        }
+
         @Override
         public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
             final PsiElement expression = descriptor.getPsiElement();
@@ -15,10 +15,10 @@ import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.RulesTablesUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,31 +34,13 @@ import java.util.Set;
 public class UnqualifiedReferenceInspector extends BasePhpInspection {
     private static final String messagePattern = "Using '\\%t%' would enable some of opcache optimizations";
 
-    final private static Set<String> falsePositives              = new HashSet<>();
-    final private static Map<String, Integer> callbacksPositions = new HashMap<>();
-    static {
-        falsePositives.add("true");
-        falsePositives.add("TRUE");
-        falsePositives.add("false");
-        falsePositives.add("FALSE");
-        falsePositives.add("null");
-        falsePositives.add("NULL");
-
-        falsePositives.add("__LINE__");
-        falsePositives.add("__FILE__");
-        falsePositives.add("__DIR__");
-        falsePositives.add("__FUNCTION__");
-        falsePositives.add("__CLASS__");
-        falsePositives.add("__TRAIT__");
-        falsePositives.add("__METHOD__");
-        falsePositives.add("__NAMESPACE__");
-
-        callbacksPositions.put("call_user_func", 0);
-        callbacksPositions.put("call_user_func_array", 0);
-        callbacksPositions.put("array_filter", 1);
-        callbacksPositions.put("array_map", 0);
-        callbacksPositions.put("array_walk", 1);
-        callbacksPositions.put("array_reduce", 1);
+    private static final class Rules {
+        private static final Set<String> falsePositives              = RulesTablesUtil.loadSet("unqualified-references-false-positives.txt");
+        private static final Map<String, Integer> callbacksPositions = new HashMap<>();
+        static {
+            RulesTablesUtil.loadMap("callbacks-positions.txt")
+                .forEach((function, position) -> callbacksPositions.put(function, Integer.valueOf(position)));
+        }
     }
 
     @NotNull
@@ -91,8 +73,8 @@ public class UnqualifiedReferenceInspector extends BasePhpInspection {
             private void analyzeCallback(FunctionReference reference) {
                 final PsiElement[] params = reference.getParameters();
                 final String functionName = reference.getName();
-                if (null != functionName && params.length >= 2 && callbacksPositions.containsKey(functionName)) {
-                    final Integer callbackPosition = callbacksPositions.get(functionName);
+                if (null != functionName && params.length >= 2 && Rules.callbacksPositions.containsKey(functionName)) {
+                    final Integer callbackPosition = Rules.callbacksPositions.get(functionName);
                     if (params[callbackPosition] instanceof StringLiteralExpression) {
                         final StringLiteralExpression callback = (StringLiteralExpression) params[callbackPosition];
                         if (null == callback.getFirstPsiChild()) {
@@ -116,7 +98,7 @@ public class UnqualifiedReferenceInspector extends BasePhpInspection {
                 if (null == referenceName || !reference.getImmediateNamespaceName().isEmpty()) {
                     return;
                 }
-                if (reference instanceof ConstantReference && falsePositives.contains(referenceName)) {
+                if (reference instanceof ConstantReference && Rules.falsePositives.contains(referenceName)) {
                     return;
                 }
                 final PhpNamespace ns = PsiTreeUtil.findChildOfType(reference.getContainingFile(), PhpNamespace.class);
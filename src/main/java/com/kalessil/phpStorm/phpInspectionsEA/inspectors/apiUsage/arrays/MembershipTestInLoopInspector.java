@@ -0,0 +1,288 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.arrays;
+
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.codeInsight.PhpScopeHolder;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpInstruction;
+import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.LoopNestingUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpLanguageUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class MembershipTestInLoopInspector extends BasePhpInspection {
+    private static final String patternStrict = "'in_array(...)' scans $%v% on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (safe for string and integer values).";
+    private static final String patternLoose  = "'in_array(...)' scans $%v% on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (ensure values are strings or integers and loose comparison is not relied on).";
+
+    /* functions modifying arrays passed by reference as the first argument */
+    private static final Set<String> modifyingFunctions = new HashSet<>();
+    static {
+        modifyingFunctions.add("array_push");
+        modifyingFunctions.add("array_pop");
+        modifyingFunctions.add("array_shift");
+        modifyingFunctions.add("array_unshift");
+        modifyingFunctions.add("array_splice");
+        modifyingFunctions.add("array_walk");
+        modifyingFunctions.add("array_walk_recursive");
+        modifyingFunctions.add("sort");
+        modifyingFunctions.add("rsort");
+        modifyingFunctions.add("usort");
+        modifyingFunctions.add("asort");
+        modifyingFunctions.add("arsort");
+        modifyingFunctions.add("uasort");
+        modifyingFunctions.add("ksort");
+        modifyingFunctions.add("krsort");
+        modifyingFunctions.add("uksort");
+        modifyingFunctions.add("natsort");
+        modifyingFunctions.add("natcasesort");
+        modifyingFunctions.add("shuffle");
+    }
+
+    /* keys lookup matches strict comparison for string[] and int[] haystacks; otherwise values might be not flippable or juggled */
+    private enum Confidence {
+        HIGH(patternStrict, ProblemHighlightType.GENERIC_ERROR_OR_WARNING),
+        LOW(patternLoose, ProblemHighlightType.WEAK_WARNING);
+
+        @NotNull private final String pattern;
+        @NotNull private final ProblemHighlightType level;
+
+        Confidence(@NotNull String pattern, @NotNull ProblemHighlightType level) {
+            this.pattern = pattern;
+            this.level   = level;
+        }
+    }
+
+    @NotNull
+    public String getShortName() {
+        return "MembershipTestInLoopInspection";
+    }
+
+    @Override
+    @NotNull
+    public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        return new BasePhpElementVisitor() {
+            /* loops => names of variables modified in them, collected on demand */
+            private final Map<PsiElement, Set<String>> modifiedVariables = new HashMap<>();
+
+            public void visitPhpFunctionCall(FunctionReference reference) {
+                final String functionName = reference.getName();
+                final PsiElement[] params = reference.getParameters();
+                /* array_search is not covered: array_flip keeps the last key of duplicated values, array_search returns the first one */
+                if (
+                    (2 != params.length && 3 != params.length) || null == functionName ||
+                    !functionName.equals("in_array") || !(params[1] instanceof Variable)
+                ) {
+                    return;
+                }
+                final String haystack = ((Variable) params[1]).getName();
+                if (null == haystack || haystack.isEmpty()) {
+                    return;
+                }
+
+                /* find the outermost loop the haystack is not modified in */
+                LoopNestingUtil.LoopInfo target = null;
+                LoopNestingUtil.LoopInfo loop   = LoopNestingUtil.getInnermostLoop(reference);
+                while (null != loop) {
+                    final Set<String> modified = this.modifiedVariables.computeIfAbsent(loop.getLoop(), this::collectModifiedVariables);
+                    if (modified.contains(haystack)) {
+                        break;
+                    }
+                    target = loop;
+                    loop   = loop.getOuter();
+                }
+                if (null == target) {
+                    return;
+                }
+
+                final boolean isStrict      = 3 == params.length && PhpLanguageUtil.isTrue(params[2]);
+                final Confidence confidence = isStrict && this.isFlippable((Variable) params[1]) ? Confidence.HIGH : Confidence.LOW;
+                final String message        = confidence.pattern.replace("%v%", haystack);
+                if (Confidence.HIGH == confidence && target.getLoop().getParent() instanceof GroupStatement) {
+                    holder.registerProblem(reference, message, confidence.level, new UseFlippedHaystackFix(reference, target.getLoop()));
+                } else {
+                    holder.registerProblem(reference, message, confidence.level);
+                }
+            }
+
+            /* string[] and int[] only: other values are either not flippable (floats, objects) or compared differently */
+            private boolean isFlippable(@NotNull Variable haystack) {
+                final Set<String> types = haystack.getType().global(holder.getProject()).filterUnknown().getTypes();
+                if (types.isEmpty()) {
+                    return false;
+                }
+                for (final String type : types) {
+                    if (!type.equals("\\string[]") && !type.equals("\\int[]")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @NotNull
+            private Set<String> collectModifiedVariables(@NotNull PsiElement loop) {
+                final Set<String> result = new HashSet<>();
+
+                /* variables writes, as the control flow sees them */
+                final Function callable = ExpressionSemanticUtil.getScope(loop);
+                final PsiElement scope  = null == callable ? loop.getContainingFile() : callable;
+                if (scope instanceof PhpScopeHolder) {
+                    for (final PhpInstruction instruction : ((PhpScopeHolder) scope).getControlFlow().getInstructions()) {
+                        if (instruction instanceof PhpAccessVariableInstruction) {
+                            final PsiElement anchor = instruction.getAnchor();
+                            if (
+                                null != anchor && ((PhpAccessVariableInstruction) instruction).getAccess().isWrite() &&
+                                PsiTreeUtil.isAncestor(loop, anchor, false)
+                            ) {
+                                result.add(((PhpAccessVariableInstruction) instruction).getVariableName().toString());
+                            }
+                        }
+                    }
+                }
+
+                /* array elements writes: $array[...] = ..., unset($array[...]) */
+                for (final AssignmentExpression assignment : PsiTreeUtil.findChildrenOfType(loop, AssignmentExpression.class)) {
+                    this.collectBaseVariable(assignment.getVariable(), result);
+                }
+                for (final PhpUnset unset : PsiTreeUtil.findChildrenOfType(loop, PhpUnset.class)) {
+                    for (final PsiElement argument : unset.getArguments()) {
+                        this.collectBaseVariable(argument, result);
+                    }
+                }
+
+                /* arrays passed by reference into modifying functions */
+                for (final FunctionReference call : PsiTreeUtil.findChildrenOfType(loop, FunctionReference.class)) {
+                    final String callName        = call.getName();
+                    final PsiElement[] arguments = call.getParameters();
+                    if (
+                        null != callName && arguments.length > 0 && OpenapiTypesUtil.isFunctionReference(call) &&
+                        modifyingFunctions.contains(callName)
+                    ) {
+                        this.collectBaseVariable(arguments[0], result);
+                    }
+                }
+
+                return result;
+            }
+
+            private void collectBaseVariable(@Nullable PsiElement expression, @NotNull Set<String> result) {
+                while (expression instanceof ArrayAccessExpression) {
+                    expression = ((ArrayAccessExpression) expression).getValue();
+                }
+                if (expression instanceof Variable) {
+                    final String name = ((Variable) expression).getName();
+                    if (null != name) {
+                        result.add(name);
+                    }
+                }
+            }
+        };
+    }
+
+    private static class UseFlippedHaystackFix implements LocalQuickFix {
+        private final SmartPsiElementPointer<FunctionReference> call;
+        private final SmartPsiElementPointer<PsiElement> loop;
+
+        UseFlippedHaystackFix(@NotNull FunctionReference call, @NotNull PsiElement loop) {
+            final SmartPointerManager factory = SmartPointerManager.getInstance(call.getProject());
+
+            this.call = factory.createSmartPsiElementPointer(call);
+            this.loop = factory.createSmartPsiElementPointer(loop);
+        }
+
+        @NotNull
+        @Override
+        public String getFamilyName() {
+            return "Flip the array before the loop and use isset(...)";
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return getFamilyName();
+        }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            final FunctionReference call = this.call.getElement();
+            final PsiElement loop        = this.loop.getElement();
+            /* the hoisted assignment needs a statements list, e.g. not a loop being a braceless if body */
+            if (null == call || null == loop || !(loop.getParent() instanceof GroupStatement)) {
+                return;
+            }
+            final PsiElement[] params = call.getParameters();
+            if (params.length < 2 || !(params[1] instanceof Variable)) {
+                return;
+            }
+
+            /* re-use the flipped array if an other call was already fixed */
+            final String haystack = ((Variable) params[1]).getName();
+            final String flipped  = this.getFlippedName(loop, haystack);
+            final String hoisted  = "$%f% = array_flip($%h%);".replace("%f%", flipped).replace("%h%", haystack);
+            final PsiElement previous = loop.getPrevSibling() instanceof PsiWhiteSpace ? loop.getPrevSibling() : null;
+            final PsiElement previousStatement = null == previous ? null : previous.getPrevSibling();
+            if (null == previousStatement || !previousStatement.getText().equals(hoisted)) {
+                final AssignmentExpression assignment
+                        = PhpPsiElementFactory.createPhpPsiFromText(project, AssignmentExpression.class, hoisted);
+                final PsiElement container = loop.getParent();
+                container.addBefore(assignment.getParent(), loop);
+                if (null != previous) {
+                    container.addBefore(previous.copy(), loop);
+                }
+            }
+
+            final String replacement = "(isset($%f%[%n%]))"
+                    .replace("%n%", params[0].getText())
+                    .replace("%f%", flipped);
+            final ParenthesizedExpression wrapper
+                    = PhpPsiElementFactory.createPhpPsiFromText(project, ParenthesizedExpression.class, replacement);
+            call.replace(wrapper.getArgument());
+        }
+
+        @NotNull
+        private String getFlippedName(@NotNull PsiElement loop, @NotNull String haystack) {
+            final Function callable = ExpressionSemanticUtil.getScope(loop);
+            final PsiElement scope  = null == callable ? loop.getContainingFile() : callable;
+            final Set<String> names = new HashSet<>();
+            for (final Variable variable : PsiTreeUtil.findChildrenOfType(scope, Variable.class)) {
+                names.add(variable.getName());
+            }
+
+            final String base = haystack + "Flipped";
+            final PsiElement previous = loop.getPrevSibling() instanceof PsiWhiteSpace ? loop.getPrevSibling().getPrevSibling() : null;
+            String candidate = base;
+            for (int suffix = 1; names.contains(candidate); ++suffix) {
+                final String expected = "$%f% = array_flip($%h%);".replace("%f%", candidate).replace("%h%", haystack);
+                if (null != previous && previous.getText().equals(expected)) {
+                    break;
+                }
+                candidate = base + suffix;
+            }
+            return candidate;
+        }
+    }
+}
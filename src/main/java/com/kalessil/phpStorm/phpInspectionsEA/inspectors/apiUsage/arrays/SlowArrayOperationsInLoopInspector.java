@@ -3,23 +3,23 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.arrays;
 import com.intellij.codeInsight.PsiEquivalenceUtil;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.util.PsiTreeUtil;
 import org.apache.commons.lang.StringUtils;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
-import com.jetbrains.php.lang.psi.PhpFile;
-import com.jetbrains.php.lang.psi.elements.AssignmentExpression;
-import com.jetbrains.php.lang.psi.elements.Function;
-import com.jetbrains.php.lang.psi.elements.FunctionReference;
-import com.jetbrains.php.lang.psi.elements.PhpPsiElement;
+import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.LoopNestingUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashSet;
+import java.util.*;
 
 public class SlowArrayOperationsInLoopInspector extends BasePhpInspection {
     private static final String strProblemDescription = "'%s%(...)' is used in a loop and is a resources greedy construction.";
+    private static final String patternGrowingArray   = "'%s%(...)' is used in a loop growing $%v%, this makes the loop quadratic.";
+    private static final String patternNestedLoop     = "The same collection is iterated in the outer loop, this makes the loop quadratic (consider indexing it before the outer loop).";
 
     @NotNull
     public String getShortName() {
@@ -34,49 +34,165 @@ public class SlowArrayOperationsInLoopInspector extends BasePhpInspection {
         functionsSet.add("array_replace_recursive");
     }
 
+    /* functions scanning the whole array (count() is not here: it's O(1) for arrays) */
+    private static final HashSet<String> scanningFunctions = new HashSet<>();
+    static {
+        scanningFunctions.add("array_unique");
+        scanningFunctions.add("array_diff");
+        scanningFunctions.add("array_diff_key");
+        scanningFunctions.add("array_intersect");
+        scanningFunctions.add("array_keys");
+        scanningFunctions.add("array_values");
+        scanningFunctions.add("array_flip");
+    }
+    /* scanning functions accepting several arrays, any of them can be the growing one */
+    private static final HashSet<String> scanningMultipleFunctions = new HashSet<>();
+    static {
+        scanningMultipleFunctions.add("array_diff");
+        scanningMultipleFunctions.add("array_diff_key");
+        scanningMultipleFunctions.add("array_intersect");
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
         return new BasePhpElementVisitor() {
+            /* loops => names of arrays growing in them, collected on demand */
+            private final Map<PsiElement, Set<String>> grownArrays = new HashMap<>();
+
             public void visitPhpFunctionCall(FunctionReference reference) {
                 final String strFunctionName = reference.getName();
-                if (StringUtils.isEmpty(strFunctionName) || !functionsSet.contains(strFunctionName)) {
+                if (StringUtils.isEmpty(strFunctionName)) {
+                    return;
+                }
+
+                if (functionsSet.contains(strFunctionName)) {
+                    this.checkContainerOverridden(reference, strFunctionName);
+                } else if (scanningFunctions.contains(strFunctionName)) {
+                    this.checkArrayGrowing(reference, strFunctionName);
+                }
+            }
+
+            public void visitPhpForeach(ForeachStatement foreach) {
+                final PsiElement source = foreach.getArray();
+                if (!(source instanceof Variable) && !(source instanceof FieldReference)) {
+                    return;
+                }
+
+                LoopNestingUtil.LoopInfo loop = LoopNestingUtil.getInnermostLoop(foreach);
+                while (null != loop) {
+                    if (loop.getLoop() instanceof ForeachStatement) {
+                        final PsiElement outerSource = ((ForeachStatement) loop.getLoop()).getArray();
+                        if (null != outerSource && PsiEquivalenceUtil.areElementsEquivalent(source, outerSource)) {
+                            holder.registerProblem(source, patternNestedLoop, ProblemHighlightType.WEAK_WARNING);
+                            return;
+                        }
+                    }
+
+                    loop = loop.getOuter();
+                }
+            }
+
+            private void checkContainerOverridden(@NotNull FunctionReference reference, @NotNull String functionName) {
+                final PsiElement parent = reference.getParent();
+                if (!(parent instanceof AssignmentExpression) || null == LoopNestingUtil.getInnermostLoop(reference)) {
+                    /* let's focus on assignment expressions in loops */
                     return;
                 }
 
-                PsiElement objParent = reference.getParent();
-                if (!(objParent instanceof AssignmentExpression)) {
-                    /* let's focus on assignment expressions */
+                final PhpPsiElement objContainer = ((AssignmentExpression) parent).getVariable();
+                if (null == objContainer) {
                     return;
                 }
 
-                while (null != objParent && !(objParent instanceof PhpFile)) {
-                    /* terminate if reached callable */
-                    if (objParent instanceof Function) {
+                /* pattern itself: container overridden */
+                for (PsiElement objParameter : reference.getParameters()) {
+                    if (PsiEquivalenceUtil.areElementsEquivalent(objContainer, objParameter)) {
+                        final String message = strProblemDescription.replace("%s%", functionName);
+                        holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
+
                         return;
                     }
+                }
+            }
+
+            private void checkArrayGrowing(@NotNull FunctionReference reference, @NotNull String functionName) {
+                final PsiElement[] params = reference.getParameters();
+                if (params.length == 0) {
+                    return;
+                }
+                final int scannedCount     = scanningMultipleFunctions.contains(functionName) ? params.length : 1;
+                final List<String> scanned = new ArrayList<>();
+                for (int position = 0; position < scannedCount; ++position) {
+                    if (params[position] instanceof Variable) {
+                        final String name = ((Variable) params[position]).getName();
+                        if (!StringUtils.isEmpty(name)) {
+                            scanned.add(name);
+                        }
+                    }
+                }
+                if (scanned.isEmpty()) {
+                    return;
+                }
+
+                LoopNestingUtil.LoopInfo loop = LoopNestingUtil.getInnermostLoop(reference);
+                while (null != loop) {
+                    final Set<String> grown = this.grownArrays.computeIfAbsent(loop.getLoop(), this::collectGrownArrays);
+                    for (final String name : scanned) {
+                        if (grown.contains(name)) {
+                            final String message = patternGrowingArray
+                                    .replace("%s%", functionName)
+                                    .replace("%v%", name);
+                            holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
 
-                    if (OpenapiTypesUtil.isLoop(objParent)) {
-                        /* loop test is positive, check pattern */
-                        final PhpPsiElement objContainer = ((AssignmentExpression) reference.getParent()).getVariable();
-                        if (null == objContainer) {
                             return;
                         }
+                    }
+
+                    loop = loop.getOuter();
+                }
+            }
 
-                        /* pattern itself: container overridden */
-                        for (PsiElement objParameter : reference.getParameters()) {
-                            if (PsiEquivalenceUtil.areElementsEquivalent(objContainer, objParameter)) {
-                                final String message = strProblemDescription.replace("%s%", strFunctionName);
-                                holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
+            @NotNull
+            private Set<String> collectGrownArrays(@NotNull PsiElement loop) {
+                final Set<String> result = new HashSet<>();
 
-                                return;
+                /* $array[] = ..., $array = array_merge($array, ...) */
+                for (final AssignmentExpression assignment : PsiTreeUtil.findChildrenOfType(loop, AssignmentExpression.class)) {
+                    final PsiElement container = assignment.getVariable();
+                    if (container instanceof ArrayAccessExpression) {
+                        final ArrayIndex index = ((ArrayAccessExpression) container).getIndex();
+                        final PsiElement base  = ((ArrayAccessExpression) container).getValue();
+                        if (base instanceof Variable && (null == index || null == index.getValue())) {
+                            result.add(((Variable) base).getName());
+                        }
+                    } else if (container instanceof Variable && OpenapiTypesUtil.isFunctionReference(assignment.getValue())) {
+                        final FunctionReference call = (FunctionReference) assignment.getValue();
+                        final String callName        = call.getName();
+                        if (null != callName && functionsSet.contains(callName)) {
+                            for (final PsiElement argument : call.getParameters()) {
+                                if (PsiEquivalenceUtil.areElementsEquivalent(container, argument)) {
+                                    result.add(((Variable) container).getName());
+                                    break;
+                                }
                             }
                         }
                     }
+                }
 
-                    objParent = objParent.getParent();
+                /* array_push($array, ...), array_unshift($array, ...) */
+                for (final FunctionReference call : PsiTreeUtil.findChildrenOfType(loop, FunctionReference.class)) {
+                    final String callName = call.getName();
+                    if (null != callName && OpenapiTypesUtil.isFunctionReference(call) && (callName.equals("array_push") || callName.equals("array_unshift"))) {
+                        final PsiElement[] arguments = call.getParameters();
+                        if (arguments.length > 1 && arguments[0] instanceof Variable) {
+                            result.add(((Variable) arguments[0]).getName());
+                        }
+                    }
                 }
+
+                return result;
             }
         };
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,6 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.debug;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.util.InvalidDataException;
-import com.intellij.openapi.util.Pair;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.util.xmlb.XmlSerializer;
@@ -34,9 +33,8 @@ public class ForgottenDebugOutputInspector extends BasePhpInspection {
     public final List<String> configuration = new ArrayList<>();
     public boolean migratedIntoUserSpace    = false;
 
-    final private Set<String> customFunctions                     = new HashSet<>();
-    final private Map<String, Pair<String, String>> customMethods = new HashMap<>();
-    final private Set<String> customMethodsNames                  = new HashSet<>();
+    /* compiled configuration is replaced as a whole, so visitors are not seeing it while it's being rebuilt */
+    private volatile CompiledConfiguration compiled = new CompiledConfiguration();
 
     // prepared content for smooth runtime
     static private final String message = "Please ensure this is not a forgotten debug statement.";
@@ -55,11 +53,9 @@ public class ForgottenDebugOutputInspector extends BasePhpInspection {
     }
 
     private void recompileConfiguration() {
-        this.customFunctions.clear();
-        this.customMethods.clear();
-        this.customMethodsNames.clear();
-
-        final List<String> customDebugFQNs = new ArrayList<>();
+        final Set<String> customFunctions            = new HashSet<>();
+        final Map<String, Set<String>> customMethods = new HashMap<>();
+        final List<String> customDebugFQNs           = new ArrayList<>();
         if (!this.migratedIntoUserSpace) {
             /* prepare migrated list */
             final Set<String> migrated = new TreeSet<>();
@@ -101,11 +97,24 @@ public class ForgottenDebugOutputInspector extends BasePhpInspection {
             }
 
             final String[] disassembledDescriptor = stringDescriptor.split("::", 2);
-            customMethods.put(
-                    stringDescriptor.toLowerCase(),
-                    Pair.create(disassembledDescriptor[0], disassembledDescriptor[1])
-            );
-            customMethodsNames.add(disassembledDescriptor[1]);
+            customMethods.computeIfAbsent(disassembledDescriptor[1], key -> new HashSet<>()).add(disassembledDescriptor[0]);
+        }
+        this.compiled = new CompiledConfiguration(customFunctions, customMethods);
+    }
+
+    /* immutable: method name => classes FQNs, so method references are resolved once and matched by lookups */
+    private static final class CompiledConfiguration {
+        final private Set<String> customFunctions;
+        final private Map<String, Set<String>> customMethods;
+
+        private CompiledConfiguration() {
+            this(Collections.emptySet(), Collections.emptyMap());
+        }
+
+        private CompiledConfiguration(@NotNull Set<String> customFunctions, @NotNull Map<String, Set<String>> customMethods) {
+            customMethods.replaceAll((name, classes) -> Collections.unmodifiableSet(classes));
+            this.customFunctions = Collections.unmodifiableSet(customFunctions);
+            this.customMethods   = Collections.unmodifiableMap(customMethods);
         }
     }
 
@@ -128,28 +137,27 @@ public class ForgottenDebugOutputInspector extends BasePhpInspection {
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        final CompiledConfiguration compiled = this.compiled;
         return new BasePhpElementVisitor() {
             public void visitPhpMethodReference(MethodReference reference) {
-                final String methodName = reference.getName();
-                if (customMethods.isEmpty() || methodName == null || !customMethodsNames.contains(methodName)) {
+                final String methodName   = reference.getName();
+                final Set<String> classes = methodName == null ? null : compiled.customMethods.get(methodName);
+                if (classes == null) {
                     return;
                 }
 
-                for (final Pair<String, String> match : customMethods.values()) {
-                    final PsiElement resolved = methodName.equals(match.getSecond()) ? reference.resolve() : null;
-                    if (resolved instanceof Method) {
-                        final PhpClass clazz = ((Method) resolved).getContainingClass();
-                        if (clazz != null && match.getFirst().equals(clazz.getFQN())) {
-                            holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
-                            return;
-                        }
+                final PsiElement resolved = reference.resolve();
+                if (resolved instanceof Method) {
+                    final PhpClass clazz = ((Method) resolved).getContainingClass();
+                    if (clazz != null && classes.contains(clazz.getFQN())) {
+                        holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
                     }
                 }
             }
 
             public void visitPhpFunctionCall(FunctionReference reference) {
                 final String functionName = reference.getName();
-                if (functionName != null && customFunctions.contains(functionName)) {
+                if (functionName != null && compiled.customFunctions.contains(functionName)) {
                     final Integer paramsNeeded = functionsRequirements.get(functionName);
                     if (paramsNeeded != null && reference.getParameters().length == paramsNeeded) {
                         return;
@@ -0,0 +1,224 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.pdo;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.pdo.utils.MethodIdentityUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.options.CompiledOptions;
+import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.LoopNestingUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class QueryInLoopInspector extends BasePhpInspection {
+    // Inspection options.
+    public String REPOSITORY_METHODS = "\\Doctrine\\ORM\\EntityRepository::find, \\Doctrine\\ORM\\EntityRepository::findOneBy, \\Doctrine\\ORM\\EntityRepository::findBy";
+
+    /* method name => classes declaring it as a query, including the configured repositories methods */
+    private final CompiledOptions<String, Map<String, List<String>>> queryMethodsMatcher
+        = new CompiledOptions<>(QueryInLoopInspector::compileQueryMethods);
+
+    private static final String patternPrepare  = "'%q%(...)' is called on each loop iteration, prepare the statement once before the loop.";
+    private static final String patternQuery    = "'%q%(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').";
+    private static final String patternIndirect = "'%c%(...)' queries the database with '%q%(...)' on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').";
+
+    /* database API: class => methods */
+    private static final Map<String, String[]> queryMethods = new HashMap<>();
+    static {
+        queryMethods.put("\\PDO",          new String[]{"query", "prepare", "exec"});
+        queryMethods.put("\\PDOStatement", new String[]{"execute"});
+        queryMethods.put("\\mysqli",       new String[]{"query", "prepare", "multi_query", "real_query"});
+        queryMethods.put("\\mysqli_stmt",  new String[]{"execute"});
+    }
+    private static final Set<String> queryFunctions = new HashSet<>();
+    static {
+        queryFunctions.add("mysqli_query");
+        queryFunctions.add("mysqli_prepare");
+        queryFunctions.add("mysqli_multi_query");
+        queryFunctions.add("mysqli_real_query");
+        queryFunctions.add("mysqli_stmt_execute");
+    }
+
+    @NotNull
+    public String getShortName() {
+        return "QueryInLoopInspection";
+    }
+
+    @Override
+    @NotNull
+    public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        final Map<String, List<String>> classesByMethod = this.queryMethodsMatcher.get(REPOSITORY_METHODS);
+
+        return new BasePhpElementVisitor() {
+            /* same-file callables => the first query they are executing ("" if none) */
+            private final Map<Function, String> queriesByCallable = new HashMap<>();
+
+            public void visitPhpFunctionCall(FunctionReference reference) {
+                this.analyze(reference);
+            }
+
+            public void visitPhpMethodReference(MethodReference reference) {
+                this.analyze(reference);
+            }
+
+            private void analyze(@NotNull FunctionReference reference) {
+                final String query = this.getQuery(reference);
+                if (null != query) {
+                    final LoopNestingUtil.LoopInfo loop = LoopNestingUtil.getInnermostLoop(reference);
+                    /* executing a statement prepared before the loop is the recommended pattern */
+                    if (null != loop && (!isExecution(query) || this.isPreparedIn(reference, loop.getLoop()))) {
+                        this.report(reference, query);
+                    }
+                    return;
+                }
+                this.analyzeCall(reference);
+            }
+
+            private void report(@NotNull FunctionReference reference, @NotNull String query) {
+                final String message = (query.endsWith("prepare") ? patternPrepare : patternQuery).replace("%q%", query);
+                holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
+            }
+
+            /* one level of same-file calls: the called callable runs a query */
+            private void analyzeCall(@NotNull FunctionReference reference) {
+                final String name = reference.getName();
+                if (null == name || null == LoopNestingUtil.getInnermostLoop(reference)) {
+                    return;
+                }
+                final PsiElement resolved = reference.resolve();
+                if (
+                    !(resolved instanceof Function) || resolved == ExpressionSemanticUtil.getScope(reference) ||
+                    resolved.getContainingFile() != reference.getContainingFile()
+                ) {
+                    return;
+                }
+
+                final String query = this.queriesByCallable.computeIfAbsent((Function) resolved, this::findQuery);
+                if (!query.isEmpty()) {
+                    final String message = patternIndirect
+                            .replace("%c%", reference instanceof MethodReference ? "->" + name : name)
+                            .replace("%q%", query);
+                    holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
+                }
+            }
+
+            @NotNull
+            private String findQuery(@NotNull Function callable) {
+                for (final FunctionReference call : PsiTreeUtil.findChildrenOfType(callable, FunctionReference.class)) {
+                    /* calls in nested closures are not executed by the callable itself */
+                    if (ExpressionSemanticUtil.getScope(call) == callable) {
+                        final String query = this.getQuery(call);
+                        if (null != query && (!isExecution(query) || this.isPreparedIn(call, callable))) {
+                            return query;
+                        }
+                    }
+                }
+                return "";
+            }
+
+            /* the executed statement is prepared inside the container: chained call or a variable assigned there */
+            private boolean isPreparedIn(@NotNull FunctionReference execution, @NotNull PsiElement container) {
+                final PsiElement[] arguments = execution.getParameters();
+                final PsiElement statement   = ExpressionSemanticUtil.getExpressionTroughParenthesis(
+                    execution instanceof MethodReference ? ((MethodReference) execution).getClassReference() : (arguments.length > 0 ? arguments[0] : null)
+                );
+                if (statement instanceof FunctionReference) {
+                    return this.isPreparation((FunctionReference) statement);
+                }
+                final String name = statement instanceof Variable ? ((Variable) statement).getName() : null;
+                if (null != name) {
+                    for (final AssignmentExpression assignment : PsiTreeUtil.findChildrenOfType(container, AssignmentExpression.class)) {
+                        final PsiElement variable = assignment.getVariable();
+                        final PsiElement value    = ExpressionSemanticUtil.getExpressionTroughParenthesis(assignment.getValue());
+                        if (
+                            variable instanceof Variable && name.equals(((Variable) variable).getName()) &&
+                            value instanceof FunctionReference && this.isPreparation((FunctionReference) value)
+                        ) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+
+            private boolean isPreparation(@NotNull FunctionReference reference) {
+                final String query = this.getQuery(reference);
+                return null != query && query.endsWith("prepare");
+            }
+
+            /* the query API name (e.g. PDO::query) the call is referencing, null if it's not a query */
+            @Nullable
+            private String getQuery(@NotNull FunctionReference reference) {
+                final String name = reference.getName();
+                if (null == name) {
+                    return null;
+                }
+
+                if (OpenapiTypesUtil.isFunctionReference(reference)) {
+                    return queryFunctions.contains(name) ? name : null;
+                }
+                final List<String> classes = reference instanceof MethodReference ? classesByMethod.get(name) : null;
+                if (null != classes) {
+                    for (final String clazz : classes) {
+                        if (MethodIdentityUtil.isReferencingMethod((MethodReference) reference, clazz, name)) {
+                            return clazz.substring(1) + "::" + name;
+                        }
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /* statements execution: a query on its own only when the statement is prepared on each iteration as well */
+    private static boolean isExecution(@NotNull String query) {
+        return query.endsWith("::execute") || query.equals("mysqli_stmt_execute");
+    }
+
+    @NotNull
+    private static Map<String, List<String>> compileQueryMethods(@NotNull String repositoryMethods) {
+        final Map<String, List<String>> result = new HashMap<>();
+        for (final Map.Entry<String, String[]> entry : queryMethods.entrySet()) {
+            for (final String method : entry.getValue()) {
+                result.computeIfAbsent(method, key -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        for (final String method : repositoryMethods.split(",")) {
+            final String[] parts = method.trim().split("::");
+            if (2 == parts.length && !parts[0].isEmpty() && !parts[1].isEmpty()) {
+                final String clazz         = parts[0].startsWith("\\") ? parts[0] : '\\' + parts[0];
+                final List<String> classes = result.computeIfAbsent(parts[1], key -> new ArrayList<>());
+                if (!classes.contains(clazz)) {
+                    classes.add(clazz);
+                }
+            }
+        }
+        result.replaceAll((method, classes) -> Collections.unmodifiableList(classes));
+        return Collections.unmodifiableMap(result);
+    }
+
+    public JComponent createOptionsPanel() {
+        return OptionsComponent.create((component) -> {
+            component.addTextField("Repository methods running queries (comma-separated, e.g. \\Vendor\\Repository::find)", REPOSITORY_METHODS, (text) -> REPOSITORY_METHODS = text);
+        });
+    }
+}
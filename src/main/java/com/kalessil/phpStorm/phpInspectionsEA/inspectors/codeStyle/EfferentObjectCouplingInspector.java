@@ -2,19 +2,22 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.codeStyle;
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.lang.psi.elements.ClassReference;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpNamespace;
 import com.jetbrains.php.lang.psi.visitors.PhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassCouplingUtil;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -27,9 +30,14 @@ import java.util.Collection;
  */
 
 public class EfferentObjectCouplingInspector extends BasePhpInspection {
-    private static final String messagePattern = "Efferent coupling is %d.";
+    private static final String messagePattern          = "Efferent coupling is %d.";
+    private static final String messageAfferentPattern  = "Afferent coupling is %d (instability is %.2f).";
+    private static final String messageNamespacePattern = "Namespace efferent coupling is %d, afferent coupling is %d (instability is %.2f).";
 
     public int optionCouplingLimit = 20;
+    public boolean optionReportAfferentCoupling = false;
+    public int optionAfferentCouplingLimit = 20;
+    public boolean optionReportNamespaces = false;
 
     @NotNull
     public String getShortName() {
@@ -42,6 +50,8 @@ public class EfferentObjectCouplingInspector extends BasePhpInspection {
         final boolean isOnTheFly
     ) {
         return new PhpElementVisitor() {
+            private final Set<PhpNamespace> reportedNamespaces = new HashSet<>();
+
             @Override
             public void visitPhpClass(final PhpClass phpClass) {
                 final PsiElement nameIdentifier = phpClass.getNameIdentifier();
@@ -50,27 +60,50 @@ public class EfferentObjectCouplingInspector extends BasePhpInspection {
                     return;
                 }
 
-                final Collection<ClassReference> classReferences = PsiTreeUtil.findChildrenOfType(phpClass, ClassReference.class);
-                final Collection<String>         fqnReferences   = new ArrayList<>();
+                final int efferentCoupling = ClassCouplingUtil.getReferencedClasses(phpClass).size();
+
+                if (efferentCoupling >= optionCouplingLimit) {
+                    holder.registerProblem(
+                        nameIdentifier,
+                        String.format(messagePattern, efferentCoupling),
+                        ProblemHighlightType.WEAK_WARNING
+                    );
+                }
 
-                fqnReferences.add(phpClass.getFQN());
+                final Project project = phpClass.getProject();
 
-                for (final ClassReference reference : classReferences) {
-                    final String classReferenceFQN = reference.getFQN();
+                if (optionReportAfferentCoupling) {
+                    final int afferentCoupling = ClassCouplingUtil.getAfferentCoupling(project, phpClass.getFQN());
 
-                    if (!fqnReferences.contains(classReferenceFQN)) {
-                        fqnReferences.add(classReferenceFQN);
+                    if (afferentCoupling >= optionAfferentCouplingLimit) {
+                        final double instability = ClassCouplingUtil.getInstability(afferentCoupling, efferentCoupling);
+                        holder.registerProblem(
+                            nameIdentifier,
+                            String.format(Locale.US, messageAfferentPattern, afferentCoupling, instability),
+                            ProblemHighlightType.WEAK_WARNING
+                        );
                     }
                 }
 
-                final int fqnReferencesSize = fqnReferences.size() - 1;
-
-                if (fqnReferencesSize >= optionCouplingLimit) {
-                    holder.registerProblem(
-                        nameIdentifier,
-                        String.format(messagePattern, fqnReferencesSize),
-                        ProblemHighlightType.WEAK_WARNING
-                    );
+                final PhpNamespace namespace = PsiTreeUtil.getParentOfType(phpClass, PhpNamespace.class);
+
+                if (optionReportNamespaces && namespace != null && reportedNamespaces.add(namespace)) {
+                    final PsiElement namespaceIdentifier = namespace.getNameIdentifier();
+                    final String namespaceName           = ClassCouplingUtil.getNamespace(phpClass.getFQN());
+                    final int namespaceEfferent          = ClassCouplingUtil.getNamespaceEfferentCoupling(project, namespaceName);
+                    final int namespaceAfferent          = ClassCouplingUtil.getNamespaceAfferentCoupling(project, namespaceName);
+
+                    if (
+                        namespaceIdentifier != null &&
+                        (namespaceEfferent >= optionCouplingLimit || namespaceAfferent >= optionAfferentCouplingLimit)
+                    ) {
+                        final double instability = ClassCouplingUtil.getInstability(namespaceAfferent, namespaceEfferent);
+                        holder.registerProblem(
+                            namespaceIdentifier,
+                            String.format(Locale.US, messageNamespacePattern, namespaceEfferent, namespaceAfferent, instability),
+                            ProblemHighlightType.WEAK_WARNING
+                        );
+                    }
                 }
             }
         };
@@ -79,7 +112,9 @@ public class EfferentObjectCouplingInspector extends BasePhpInspection {
     public JComponent createOptionsPanel() {
         return OptionsComponent.create((component) -> {
             component.addSpinner("Coupling limit:", optionCouplingLimit, (inputtedValue) -> optionCouplingLimit = inputtedValue);
+            component.addCheckbox("Report afferent coupling", optionReportAfferentCoupling, (isSelected) -> optionReportAfferentCoupling = isSelected);
+            component.addSpinner("Afferent coupling limit:", optionAfferentCouplingLimit, (inputtedValue) -> optionAfferentCouplingLimit = inputtedValue);
+            component.addCheckbox("Report namespaces coupling", optionReportNamespaces, (isSelected) -> optionReportNamespaces = isSelected);
         });
     }
 }
-
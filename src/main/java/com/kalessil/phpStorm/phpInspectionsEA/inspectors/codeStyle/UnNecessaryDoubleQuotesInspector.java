@@ -1,5 +1,7 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.codeStyle;
 
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.ProblemHighlightType;
@@ -9,13 +11,18 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
-import com.jetbrains.php.lang.psi.elements.PhpPsiElement;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import com.jetbrains.php.util.PhpStringUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.fixers.BatchFixesApplier;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class UnNecessaryDoubleQuotesInspector extends BasePhpInspection {
     private static final String message = "Safely use single quotes instead.";
@@ -51,7 +58,7 @@ public class UnNecessaryDoubleQuotesInspector extends BasePhpInspection {
         };
     }
 
-    private static class TheLocalFix implements LocalQuickFix {
+    private static class TheLocalFix implements LocalQuickFix, BatchQuickFix<CommonProblemDescriptor> {
         @NotNull
         @Override
         public String getName() {
@@ -66,12 +73,30 @@ public class UnNecessaryDoubleQuotesInspector extends BasePhpInspection {
 
         @Override
         public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            this.apply(project, descriptor, new HashMap<>());
+        }
+
+        @Override
+        public void applyFix(
+            @NotNull Project project,
+            @NotNull CommonProblemDescriptor[] descriptors,
+            @NotNull List<PsiElement> psiElementsToIgnore,
+            @Nullable Runnable refreshViews
+        ) {
+            BatchFixesApplier.apply(project, getName(), descriptors, refreshViews, (descriptor, donors) -> this.apply(project, descriptor, donors));
+        }
+
+        private void apply(@NotNull Project project, @NotNull ProblemDescriptor descriptor, @NotNull Map<String, PsiElement> donors) {
             final PsiElement literal = descriptor.getPsiElement();
             if (literal instanceof StringLiteralExpression) {
                 String unescaped      = PhpStringUtil.unescapeText(((StringLiteralExpression) literal).getContents(), false);
                 String textExpression = "'" + PhpStringUtil.escapeText(unescaped, true) + "'";
 
-                PhpPsiElement replacement = PhpPsiElementFactory.createPhpPsiFromText(project, StringLiteralExpression.class, textExpression);
+                /* the same literals are repeated a lot (array keys, messages), so donors are shared in batch mode */
+                final PsiElement replacement = donors.computeIfAbsent(
+                    textExpression,
+                    key -> PhpPsiElementFactory.createPhpPsiFromText(project, StringLiteralExpression.class, key)
+                );
                 literal.replace(replacement);
             }
         }
@@ -0,0 +1,207 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.composer;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.json.psi.*;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class ComposerAutoloaderInspector extends LocalInspectionTool {
+    // Inspection options.
+    public int FILES_LIMIT = 5;
+
+    private static final String messageNotOptimized     = "Autoloader is not optimized, please set 'config.optimize-autoloader' (or 'config.classmap-authoritative') to true.";
+    private static final String messageNotAuthoritative = "Please set 'config.classmap-authoritative' or 'config.apcu-autoloader' to true, so classes missing in the class map are not looked up in the file system.";
+    private static final String patternPsr0             = "This PSR-0 entry can be declared as PSR-4 ('%n%': '%d%'), which is resolved with fewer file system lookups.";
+    private static final String messageBroadClassmap    = "The class map scans the whole project, please narrow it down to directories with classes which can not be autoloaded otherwise.";
+    private static final String messageClassmapPsr4     = "The directory is already covered by PSR-4 autoloading.";
+    private static final String patternFiles            = "%c% files are included on each request, please consider autoloading classes instead.";
+    private static final String messageDevLeak          = "Tests are a part of production autoloader, please move this entry into 'autoload-dev'.";
+
+    @NotNull
+    public String getShortName() {
+        return "ComposerAutoloaderInspection";
+    }
+
+    @Override
+    @Nullable
+    public ProblemDescriptor[] checkFile(@NotNull PsiFile file, @NotNull InspectionManager manager, boolean isOnTheFly) {
+        /* verify file name and it's validity */
+        final PsiElement config = file.getFirstChild();
+        if (!file.getName().equals("composer.json") || !(config instanceof JsonObject)) {
+            return null;
+        }
+
+        final ProblemsHolder holder     = new ProblemsHolder(manager, file, isOnTheFly);
+        final JsonProperty autoload     = findProperty(config, "autoload");
+        final JsonProperty require      = findProperty(config, "require");
+        final JsonProperty configOption = findProperty(config, "config");
+
+        /* the config section is applied to root packages only (libraries are configured by projects) */
+        final JsonProperty type = findProperty(config, "type");
+        final boolean isProject = null == type || !(type.getValue() instanceof JsonStringLiteral) ||
+                                  ((JsonStringLiteral) type.getValue()).getValue().equals("project");
+        final JsonProperty anchor = null != configOption ? configOption : (null != autoload ? autoload : require);
+        if (isProject && null != anchor) {
+            final PsiElement settings = configOption == null ? null : configOption.getValue();
+            if (!isEnabled(settings, "classmap-authoritative")) {
+                if (!isEnabled(settings, "optimize-autoloader")) {
+                    holder.registerProblem(anchor.getFirstChild(), messageNotOptimized);
+                } else if (!isEnabled(settings, "apcu-autoloader")) {
+                    holder.registerProblem(anchor.getFirstChild(), messageNotAuthoritative);
+                }
+            }
+        }
+
+        final JsonValue rules = null == autoload ? null : autoload.getValue();
+        if (rules instanceof JsonObject) {
+            this.analyzeAutoload((JsonObject) rules, holder);
+        }
+
+        return holder.getResultsArray();
+    }
+
+    private void analyzeAutoload(@NotNull JsonObject rules, @NotNull ProblemsHolder holder) {
+        /* PSR-4: directories are needed for the class map checks */
+        final Set<String> psr4Directories = new HashSet<>();
+        final JsonProperty psr4           = findProperty(rules, "psr-4");
+        if (null != psr4 && psr4.getValue() instanceof JsonObject) {
+            for (final JsonProperty entry : ((JsonObject) psr4.getValue()).getPropertyList()) {
+                for (final JsonStringLiteral directory : getStrings(entry.getValue())) {
+                    psr4Directories.add(normalizeDirectory(directory.getValue()));
+                }
+                if (isTestsNamespace(entry.getName())) {
+                    holder.registerProblem(entry.getFirstChild(), messageDevLeak);
+                }
+            }
+        }
+
+        /* PSR-0: namespaces (not PEAR-like prefixes) can be migrated to PSR-4 */
+        final JsonProperty psr0 = findProperty(rules, "psr-0");
+        if (null != psr0 && psr0.getValue() instanceof JsonObject) {
+            for (final JsonProperty entry : ((JsonObject) psr0.getValue()).getPropertyList()) {
+                final String namespace = entry.getName();
+                if (isTestsNamespace(namespace)) {
+                    holder.registerProblem(entry.getFirstChild(), messageDevLeak);
+                } else if (namespace.endsWith("\\") && entry.getValue() instanceof JsonStringLiteral) {
+                    final String directory = normalizeDirectory(((JsonStringLiteral) entry.getValue()).getValue())
+                            + namespace.replace('\\', '/');
+                    final String message   = patternPsr0.replace("%n%", namespace).replace("%d%", directory);
+                    holder.registerProblem(entry.getFirstChild(), message);
+                }
+            }
+        }
+
+        /* class map: the whole project scans, already autoloaded directories and tests */
+        final JsonProperty classmap = findProperty(rules, "classmap");
+        if (null != classmap) {
+            for (final JsonStringLiteral entry : getStrings(classmap.getValue())) {
+                final String directory = normalizeDirectory(entry.getValue());
+                if (directory.isEmpty()) {
+                    holder.registerProblem(entry, messageBroadClassmap);
+                } else if (psr4Directories.contains(directory)) {
+                    holder.registerProblem(entry, messageClassmapPsr4);
+                } else if (isTestsDirectory(directory)) {
+                    holder.registerProblem(entry, messageDevLeak);
+                }
+            }
+        }
+
+        /* files: included on each request, regardless of usage */
+        final JsonProperty files = findProperty(rules, "files");
+        if (null != files) {
+            final List<JsonStringLiteral> entries = getStrings(files.getValue());
+            for (final JsonStringLiteral entry : entries) {
+                if (isTestsDirectory(normalizeDirectory(entry.getValue()))) {
+                    holder.registerProblem(entry, messageDevLeak);
+                }
+            }
+            if (entries.size() > FILES_LIMIT) {
+                holder.registerProblem(files.getFirstChild(), patternFiles.replace("%c%", String.valueOf(entries.size())));
+            }
+        }
+    }
+
+    @Nullable
+    private static JsonProperty findProperty(@NotNull PsiElement object, @NotNull String name) {
+        for (final PsiElement option : object.getChildren()) {
+            if (option instanceof JsonProperty && ((JsonProperty) option).getName().equals(name)) {
+                return (JsonProperty) option;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEnabled(@Nullable PsiElement settings, @NotNull String name) {
+        final JsonProperty option = null == settings ? null : findProperty(settings, name);
+        final JsonValue value     = null == option ? null : option.getValue();
+        if (value instanceof JsonBooleanLiteral) {
+            return ((JsonBooleanLiteral) value).getValue();
+        }
+        /* apcu-autoloader can be a cache prefix */
+        return value instanceof JsonStringLiteral && !((JsonStringLiteral) value).getValue().isEmpty();
+    }
+
+    @NotNull
+    private static List<JsonStringLiteral> getStrings(@Nullable JsonValue value) {
+        final List<JsonStringLiteral> result = new ArrayList<>();
+        if (value instanceof JsonStringLiteral) {
+            result.add((JsonStringLiteral) value);
+        } else if (value instanceof JsonArray) {
+            for (final JsonValue item : ((JsonArray) value).getValueList()) {
+                if (item instanceof JsonStringLiteral) {
+                    result.add((JsonStringLiteral) item);
+                }
+            }
+        }
+        return result;
+    }
+
+    /* '', '.', './', '/' => '', 'src' and './src/' => 'src/' */
+    @NotNull
+    private static String normalizeDirectory(@NotNull String directory) {
+        String result = directory.trim();
+        while (result.startsWith("./")) {
+            result = result.substring(2);
+        }
+        if (result.equals(".") || result.equals("/")) {
+            result = "";
+        }
+        return result.isEmpty() || result.endsWith("/") ? result : result + '/';
+    }
+
+    private static boolean isTestsNamespace(@NotNull String namespace) {
+        final String normalized = namespace.endsWith("\\") ? namespace : namespace + '\\';
+        return normalized.endsWith("\\Tests\\") || normalized.endsWith("\\Test\\") || normalized.equals("Tests\\");
+    }
+
+    private static boolean isTestsDirectory(@NotNull String directory) {
+        return directory.startsWith("tests/") || directory.startsWith("test/") || directory.startsWith("spec/");
+    }
+
+    public JComponent createOptionsPanel() {
+        return OptionsComponent.create((component) -> {
+            component.addSpinner("Files included on each request limit:", FILES_LIMIT, (inputtedValue) -> FILES_LIMIT = inputtedValue);
+        });
+    }
+}
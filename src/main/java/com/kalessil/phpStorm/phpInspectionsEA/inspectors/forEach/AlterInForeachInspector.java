@@ -13,6 +13,7 @@ import com.jetbrains.php.lang.psi.PhpFile;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.LoopNestingUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
 import org.jetbrains.annotations.NotNull;
 
@@ -175,16 +176,11 @@ public class AlterInForeachInspector extends BasePhpInspection {
                 final PhpPsiElement objForeachSourceCandidate = container.getValue();
                 final PhpPsiElement objForeachKeyCandidate    = container.getIndex().getValue();
 
-                PsiElement parent = assignmentExpression.getParent();
-                while (null != parent && !(parent instanceof PhpFile)) {
-                    /* terminate if reached callable */
-                    if (parent instanceof Function) {
-                        return;
-                    }
-
-                    if (parent instanceof ForeachStatement) {
+                LoopNestingUtil.LoopInfo loop = LoopNestingUtil.getInnermostLoop(assignmentExpression);
+                while (null != loop) {
+                    if (loop.getLoop() instanceof ForeachStatement) {
                         /* get parts of foreach: array, key, value */
-                        final ForeachStatement objForeach = (ForeachStatement) parent;
+                        final ForeachStatement objForeach = (ForeachStatement) loop.getLoop();
                         final Variable objForeachValue    = objForeach.getValue();
                         final Variable objForeachKey      = objForeach.getKey();
                         final PsiElement objForeachArray  = objForeach.getArray();
@@ -207,7 +203,7 @@ public class AlterInForeachInspector extends BasePhpInspection {
                         }
                     }
 
-                    parent = parent.getParent();
+                    loop = loop.getOuter();
                 }
             }
         };
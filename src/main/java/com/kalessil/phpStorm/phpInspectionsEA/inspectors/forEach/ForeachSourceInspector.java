@@ -3,9 +3,9 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.forEach;
 import com.intellij.codeInsight.PsiEquivalenceUtil;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
@@ -147,7 +147,7 @@ public class ForeachSourceInspector extends BasePhpInspection {
 
                 /* iterate rest of types */
                 if (!types.isEmpty()) {
-                    final PhpIndex index = PhpIndex.getInstance(holder.getProject());
+                    final Project project = holder.getProject();
                     for (final String type : types) {
                         /* analyze scalar types */
                         final boolean isClassType = type.startsWith("\\");
@@ -160,7 +160,7 @@ public class ForeachSourceInspector extends BasePhpInspection {
 
                         /* check classes: collect hierarchy of possible classes */
                         final Set<PhpClass> poolToCheck     = new HashSet<>();
-                        final Collection<PhpClass> classes  = PhpIndexUtil.getObjectInterfaces(type, index, true);
+                        final Collection<PhpClass> classes  = PhpIndexUtil.getObjectInterfaces(project, type, true);
                         if (!classes.isEmpty()) {
                             /* collect all interfaces*/
                             for (final PhpClass clazz : classes) {
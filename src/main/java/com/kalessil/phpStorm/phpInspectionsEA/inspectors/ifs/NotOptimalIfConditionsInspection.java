@@ -15,6 +15,8 @@ import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.strategy.AndOrWords
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.strategy.IssetAndNullComparisonStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimateUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionsCouplingCheckUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.costs.ExpressionCostModel;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.costs.ProfiledCostModel;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
@@ -44,6 +46,7 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
     public boolean REPORT_ISSET_FLAWS            = true;
     public boolean SUGGEST_MERGING_ISSET         = true;
     public boolean SUGGEST_OPTIMIZING_CONDITIONS = true;
+    public String COSTS_PROFILE                  = "";
 
     private static final String messageInstanceOfComplementarity = "Probable bug: ensure this behaves properly with 'instanceof(...)' in this scenario.";
     private static final String messageInstanceOfAmbiguous       = "This condition is ambiguous and can be safely removed.";
@@ -76,6 +79,9 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        /* calls costs are either hard-coded or measured on the project workload */
+        final ExpressionCostModel costs = ProfiledCostModel.forProfile(holder.getProject().getBasePath(), COSTS_PROFILE);
+
         return new BasePhpElementVisitor() {
             public void visitPhpIf(If ifStatement) {
                 List<PsiElement> objAllConditions = new ArrayList<>();
@@ -503,7 +509,7 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
                 int intPreviousCost     = 0;
                 PsiElement previousCond = null;
                 for (final PsiElement condition : conditions) {
-                    int intLoopCurrentCost = ExpressionCostEstimateUtil.getExpressionCost(condition, functionsSet);
+                    int intLoopCurrentCost = ExpressionCostEstimateUtil.getExpressionCost(condition, functionsSet, costs);
 
                     if (
                         null != previousCond && intLoopCurrentCost < intPreviousCost &&
@@ -529,6 +535,7 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
             component.addCheckbox("Report literal and/or operators", REPORT_LITERAL_OPERATORS, (isSelected) -> REPORT_LITERAL_OPERATORS = isSelected);
             component.addCheckbox("Suggest merging isset constructs", SUGGEST_MERGING_ISSET, (isSelected) -> SUGGEST_MERGING_ISSET = isSelected);
             component.addCheckbox("Suggest optimizing conditions", SUGGEST_OPTIMIZING_CONDITIONS, (isSelected) -> SUGGEST_OPTIMIZING_CONDITIONS = isSelected);
+            component.addTextField("Calls costs profile (Xdebug cachegrind or XHProf JSON, relative to the project)", COSTS_PROFILE, (text) -> COSTS_PROFILE = text);
         });
     }
 }
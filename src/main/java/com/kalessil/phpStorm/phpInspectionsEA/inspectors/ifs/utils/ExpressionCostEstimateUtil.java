@@ -4,6 +4,8 @@ import org.apache.commons.lang.StringUtils;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.php.lang.parser.PhpElementTypes;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.costs.DefaultCostModel;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.costs.ExpressionCostModel;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -26,6 +28,11 @@ final public class ExpressionCostEstimateUtil {
         predefinedVars.add("HTTP_RAW_POST_DATA");
     }
 
+    /* '_'-prefixed super-globals ($_GET, $_SERVER, ...): the first character check skips the lookup for most names */
+    public static boolean isPredefinedVariable(@Nullable String variableName) {
+        return !StringUtils.isEmpty(variableName) && variableName.charAt(0) == '_' && predefinedVars.contains(variableName);
+    }
+
     /**
      * Estimates execution cost on basis 0-10 for simple parts. Complex constructions can be estimated
      * to more than 10.
@@ -34,6 +41,21 @@ final public class ExpressionCostEstimateUtil {
      * @return costs
      */
     public static int getExpressionCost(@Nullable PsiElement objExpression, @NotNull Set<String> functionsSetToAllow) {
+        return getExpressionCost(objExpression, functionsSetToAllow, DefaultCostModel.INSTANCE);
+    }
+
+    /**
+     * Same as above, but calls and not recognized expressions are weighted by the given model.
+     *
+     * @param objExpression to estimate for execution cost
+     * @param model calls costs, e.g. measured by a profiler
+     * @return costs
+     */
+    public static int getExpressionCost(
+        @Nullable PsiElement objExpression,
+        @NotNull Set<String> functionsSetToAllow,
+        @NotNull ExpressionCostModel model
+    ) {
         objExpression = ExpressionSemanticUtil.getExpressionTroughParenthesis(objExpression);
 
         if (
@@ -52,7 +74,7 @@ final public class ExpressionCostEstimateUtil {
         }
         if (objExpression instanceof FieldReference) {
             /* $x->y and $x->y->z to have the same cost. Because of magic methods, which are slower. */
-            return getExpressionCost(((FieldReference) objExpression).getFirstPsiChild(), functionsSetToAllow);
+            return getExpressionCost(((FieldReference) objExpression).getFirstPsiChild(), functionsSetToAllow, model);
         }
 
         /* additional factor is due to hash-maps internals */
@@ -60,9 +82,9 @@ final public class ExpressionCostEstimateUtil {
             final ArrayAccessExpression arrayAccess = (ArrayAccessExpression) objExpression;
             final ArrayIndex arrayIndex             =  arrayAccess.getIndex();
 
-            int intOwnCosts = getExpressionCost(arrayAccess.getValue(), functionsSetToAllow);
+            int intOwnCosts = getExpressionCost(arrayAccess.getValue(), functionsSetToAllow, model);
             if (null != arrayIndex) {
-                intOwnCosts += getExpressionCost(arrayIndex.getValue(), functionsSetToAllow);
+                intOwnCosts += getExpressionCost(arrayIndex.getValue(), functionsSetToAllow, model);
             }
 
             /* default additional cost */
@@ -70,14 +92,8 @@ final public class ExpressionCostEstimateUtil {
 
             /* for pre-defined variables add no costs:
                 @see https://bitbucket.org/kalessil/phpinspectionsea/issues/239/non-optimal-if-conditions-incorrect */
-            if (arrayAccess.getValue() instanceof Variable) {
-                final String variableName = arrayAccess.getValue().getName();
-                if (
-                    !StringUtils.isEmpty(variableName) && variableName.charAt(0) == '_' &&
-                    predefinedVars.contains(variableName)
-                ) {
-                    additionalCosts = 0;
-                }
+            if (arrayAccess.getValue() instanceof Variable && isPredefinedVariable(arrayAccess.getValue().getName())) {
+                additionalCosts = 0;
             }
 
             return (additionalCosts + intOwnCosts);
@@ -87,7 +103,7 @@ final public class ExpressionCostEstimateUtil {
         if (objExpression instanceof PhpEmpty) {
             int intArgumentsCost = 0;
             for (PsiElement objParameter : ((PhpEmpty) objExpression).getVariables()) {
-                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow);
+                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow, model);
             }
 
             return intArgumentsCost;
@@ -97,7 +113,7 @@ final public class ExpressionCostEstimateUtil {
         if (objExpression instanceof PhpIsset) {
             int intArgumentsCost = 0;
             for (PsiElement objParameter : ((PhpIsset) objExpression).getVariables()) {
-                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow);
+                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow, model);
             }
 
             return intArgumentsCost;
@@ -107,7 +123,7 @@ final public class ExpressionCostEstimateUtil {
         if (objExpression instanceof PhpUnset) {
             int intArgumentsCost = 0;
             for (PsiElement objParameter : ((PhpUnset) objExpression).getArguments()) {
-                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow);
+                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow, model);
             }
 
             return intArgumentsCost;
@@ -116,20 +132,21 @@ final public class ExpressionCostEstimateUtil {
         if (objExpression instanceof FunctionReference) {
             int intArgumentsCost = 0;
             for (PsiElement objParameter : ((FunctionReference) objExpression).getParameters()) {
-                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow);
+                intArgumentsCost += getExpressionCost(objParameter, functionsSetToAllow, model);
             }
 
             /* quite complex part - differentiate methods, functions and specially type-check functions */
             if (objExpression instanceof MethodReference) {
-                intArgumentsCost += getExpressionCost(((MethodReference) objExpression).getFirstPsiChild(), functionsSetToAllow);
-                intArgumentsCost += 5;
+                final String methodName = ((MethodReference) objExpression).getName();
+                intArgumentsCost += getExpressionCost(((MethodReference) objExpression).getFirstPsiChild(), functionsSetToAllow, model);
+                intArgumentsCost += model.getMethodCost(null == methodName ? "" : methodName);
             } else {
                 final String strFunctionName = ((FunctionReference) objExpression).getName();
                 /* type-check functions and rest functions */
                 if (!StringUtils.isEmpty(strFunctionName) && functionsSetToAllow.contains(strFunctionName)) {
                     intArgumentsCost += 0;
                 } else {
-                    intArgumentsCost += 5;
+                    intArgumentsCost += model.getFunctionCost(null == strFunctionName ? "" : strFunctionName);
                 }
             }
 
@@ -137,7 +154,7 @@ final public class ExpressionCostEstimateUtil {
         }
 
         if (objExpression instanceof UnaryExpression) {
-            return getExpressionCost(((UnaryExpression) objExpression).getValue(), functionsSetToAllow);
+            return getExpressionCost(((UnaryExpression) objExpression).getValue(), functionsSetToAllow, model);
         }
 
 /*        if (objExpression instanceof TernaryExpression) {
@@ -152,15 +169,15 @@ final public class ExpressionCostEstimateUtil {
 
         if (objExpression instanceof BinaryExpression) {
             return
-                getExpressionCost(((BinaryExpression) objExpression).getRightOperand(), functionsSetToAllow) +
-                getExpressionCost(((BinaryExpression) objExpression).getLeftOperand(), functionsSetToAllow);
+                getExpressionCost(((BinaryExpression) objExpression).getRightOperand(), functionsSetToAllow, model) +
+                getExpressionCost(((BinaryExpression) objExpression).getLeftOperand(), functionsSetToAllow, model);
         }
 
         if (objExpression instanceof ArrayCreationExpression) {
             int intCosts = 0;
             for (ArrayHashElement objEntry : ((ArrayCreationExpression) objExpression).getHashElements()) {
-                intCosts += getExpressionCost(objEntry.getKey(), functionsSetToAllow);
-                intCosts += getExpressionCost(objEntry.getValue(), functionsSetToAllow);
+                intCosts += getExpressionCost(objEntry.getKey(), functionsSetToAllow, model);
+                intCosts += getExpressionCost(objEntry.getValue(), functionsSetToAllow, model);
             }
             return intCosts;
         }
@@ -173,9 +190,9 @@ final public class ExpressionCostEstimateUtil {
         }
 
         if (objExpression instanceof AssignmentExpression) {
-            return getExpressionCost(((AssignmentExpression) objExpression).getValue(), functionsSetToAllow);
+            return getExpressionCost(((AssignmentExpression) objExpression).getValue(), functionsSetToAllow, model);
         }
 
-        return 10;
+        return model.getUnknownExpressionCost();
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.costs;
+
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Hard-coded weights: any call costs 5, anything not recognized costs 10.
+ */
+final public class DefaultCostModel implements ExpressionCostModel {
+    public static final DefaultCostModel INSTANCE = new DefaultCostModel();
+
+    private DefaultCostModel() {
+    }
+
+    @Override
+    public int getFunctionCost(@NotNull String functionName) {
+        return 5;
+    }
+
+    @Override
+    public int getMethodCost(@NotNull String methodName) {
+        return 5;
+    }
+
+    @Override
+    public int getUnknownExpressionCost() {
+        return 10;
+    }
+}
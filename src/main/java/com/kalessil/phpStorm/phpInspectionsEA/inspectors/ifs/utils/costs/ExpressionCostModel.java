@@ -0,0 +1,27 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.costs;
+
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Weights used by ExpressionCostEstimateUtil for calls and not recognized expressions; the rest of the
+ * estimation (arguments, array accesses, operators) is structural and is not a part of the model.
+ */
+public interface ExpressionCostModel {
+    /* costs of the function call itself, arguments excluded */
+    int getFunctionCost(@NotNull String functionName);
+
+    /* costs of the method call itself, arguments and the call base excluded */
+    int getMethodCost(@NotNull String methodName);
+
+    /* costs of expressions the estimation is not recognizing */
+    int getUnknownExpressionCost();
+}
@@ -0,0 +1,289 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.costs;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Calls costs measured by a profiler: Xdebug cachegrind files and XHProf (Tideways) JSON exports are supported.
+ *
+ * Inclusive time per call is mapped onto the default weights scale: the median profiled call costs 5 (same
+ * as any call in the default model), each doubling adds 1, each halving subtracts 1. Methods are known by
+ * name only (the estimation is not resolving references), so the most expensive of same-named methods wins.
+ * Not profiled calls are estimated with the default model.
+ */
+final public class ProfiledCostModel implements ExpressionCostModel {
+    private static final int medianCost = 5;
+    private static final int minCost    = 1;
+    private static final int maxCost    = 20;
+
+    /* parsed profiles by path and VFS modification stamp: a changed file gets a new key and is re-parsed once */
+    private static final Map<String, ProfiledCostModel> cache = new ConcurrentHashMap<>();
+
+    @NotNull private final CostsTable functions;
+    @NotNull private final CostsTable methods;
+
+    private ProfiledCostModel(@NotNull CostsTable functions, @NotNull CostsTable methods) {
+        this.functions = functions;
+        this.methods   = methods;
+    }
+
+    /**
+     * The profile path is either absolute or relative to the base path. The default model is returned when
+     * no profile is configured or the profile doesn't exist; malformed profiles are treated as empty ones.
+     *
+     * The file is looked up in VFS (no disk access on each pass), parsing is cancellable and is not cached
+     * when cancelled.
+     */
+    @NotNull
+    public static ExpressionCostModel forProfile(@Nullable String basePath, @Nullable String profile) {
+        if (null == profile || profile.trim().isEmpty()) {
+            return DefaultCostModel.INSTANCE;
+        }
+
+        File file = new File(profile.trim());
+        if (!file.isAbsolute() && null != basePath) {
+            file = new File(basePath, profile.trim());
+        }
+        final VirtualFile virtualFile = LocalFileSystem.getInstance().findFileByIoFile(file);
+        if (null == virtualFile || virtualFile.isDirectory()) {
+            return DefaultCostModel.INSTANCE;
+        }
+
+        final String prefix     = virtualFile.getPath() + '#';
+        final String key        = prefix + virtualFile.getModificationStamp();
+        ProfiledCostModel model = cache.get(key);
+        if (null == model) {
+            cache.keySet().removeIf(cached -> cached.startsWith(prefix) && !cached.equals(key));
+            model = cache.computeIfAbsent(key, stamp -> load(virtualFile));
+        }
+        return model;
+    }
+
+    @Override
+    public int getFunctionCost(@NotNull String functionName) {
+        return this.functions.get(functionName.toLowerCase(), DefaultCostModel.INSTANCE.getFunctionCost(functionName));
+    }
+
+    @Override
+    public int getMethodCost(@NotNull String methodName) {
+        return this.methods.get(methodName.toLowerCase(), DefaultCostModel.INSTANCE.getMethodCost(methodName));
+    }
+
+    @Override
+    public int getUnknownExpressionCost() {
+        return DefaultCostModel.INSTANCE.getUnknownExpressionCost();
+    }
+
+    @NotNull
+    private static ProfiledCostModel load(@NotNull VirtualFile file) {
+        /* measurements: inclusive costs and calls count by profiled name */
+        final Map<String, long[]> measurements = new HashMap<>();
+        try (final BufferedReader reader = new BufferedReader(new CancellableReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))) {
+            if (isJson(file)) {
+                parseXhprof(reader, measurements);
+            } else {
+                parseCachegrind(reader, measurements);
+            }
+        } catch (ProcessCanceledException cancelled) {
+            throw cancelled;
+        } catch (IOException | RuntimeException malformed) {
+            measurements.clear();
+        }
+
+        /* average inclusive costs per call, keyed by the name the estimation knows */
+        final Map<String, Double> functions = new HashMap<>();
+        final Map<String, Double> methods   = new HashMap<>();
+        final List<Double> averages         = new ArrayList<>();
+        for (final Map.Entry<String, long[]> entry : measurements.entrySet()) {
+            final long[] measurement = entry.getValue();
+            if (measurement[1] <= 0 || measurement[0] < 0) {
+                continue;
+            }
+
+            String name = entry.getKey().trim();
+            final int recursion = name.indexOf('@');
+            if (recursion != -1) {
+                name = name.substring(0, recursion);
+            }
+            if (name.isEmpty() || name.startsWith("{") || name.startsWith("main(") || name.startsWith("run_init") || name.startsWith("include") || name.startsWith("require")) {
+                continue;
+            }
+            if (name.startsWith("php::")) {
+                name = name.substring("php::".length());
+            }
+
+            final double average           = (double) measurement[0] / measurement[1];
+            final int methodSeparator      = Math.max(name.lastIndexOf("->"), name.lastIndexOf("::"));
+            final Map<String, Double> target;
+            if (methodSeparator != -1) {
+                target = methods;
+                name   = name.substring(methodSeparator + 2);
+            } else {
+                target = functions;
+                name   = name.substring(name.lastIndexOf('\\') + 1);
+            }
+            if (!name.isEmpty() && name.charAt(0) != '{') {
+                target.merge(name.toLowerCase(), average, Math::max);
+                averages.add(average);
+            }
+        }
+
+        Collections.sort(averages);
+        final double median = averages.isEmpty() ? 0 : averages.get(averages.size() / 2);
+        return new ProfiledCostModel(
+            new CostsTable(functions, median),
+            new CostsTable(methods, median)
+        );
+    }
+
+    private static boolean isJson(@NotNull VirtualFile file) throws IOException {
+        if (file.getName().toLowerCase().endsWith(".json")) {
+            return true;
+        }
+        try (final Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            int character;
+            do {
+                character = reader.read();
+            } while (character != -1 && Character.isWhitespace(character));
+            return character == '{';
+        }
+    }
+
+    /* XHProf: {"parent==>child": {"ct": calls, "wt": inclusive wall time}, "main()": {...}} */
+    private static void parseXhprof(@NotNull Reader reader, @NotNull Map<String, long[]> measurements) {
+        final JsonElement root = new JsonParser().parse(reader);
+        if (!root.isJsonObject()) {
+            return;
+        }
+
+        for (final Map.Entry<String, JsonElement> entry : root.getAsJsonObject().entrySet()) {
+            if (!entry.getValue().isJsonObject()) {
+                continue;
+            }
+            final JsonObject metrics = entry.getValue().getAsJsonObject();
+            if (!metrics.has("ct") || !metrics.has("wt")) {
+                continue;
+            }
+
+            final String key         = entry.getKey();
+            final int separator      = key.indexOf("==>");
+            final String callee      = -1 == separator ? key : key.substring(separator + 3);
+            final long[] measurement = measurements.computeIfAbsent(callee, name -> new long[2]);
+            measurement[0]          += metrics.get("wt").getAsLong();
+            measurement[1]          += metrics.get("ct").getAsLong();
+        }
+    }
+
+    /*
+     * Cachegrind: 'calls=<count> ...' lines are followed by the inclusive cost line of the call
+     * ('<position> <time> [<memory>]'); names might be compressed, e.g. 'cfn=(12) name' and later 'cfn=(12)'.
+     */
+    private static void parseCachegrind(@NotNull BufferedReader reader, @NotNull Map<String, long[]> measurements) throws IOException {
+        final Map<String, String> names = new HashMap<>();
+        String callee                   = null;
+        long calls                      = -1;
+
+        String line;
+        while (null != (line = reader.readLine())) {
+            if (line.startsWith("cfn=")) {
+                callee = resolveName(line.substring(4), names);
+            } else if (line.startsWith("fn=")) {
+                resolveName(line.substring(3), names);
+            } else if (line.startsWith("calls=")) {
+                final String[] parts = line.substring(6).trim().split("\\s+");
+                calls                = Long.parseLong(parts[0]);
+            } else if (calls >= 0 && null != callee && !line.isEmpty() && (Character.isDigit(line.charAt(0)) || line.charAt(0) == '+' || line.charAt(0) == '-' || line.charAt(0) == '*')) {
+                final String[] parts = line.trim().split("\\s+");
+                if (parts.length >= 2) {
+                    final long[] measurement = measurements.computeIfAbsent(callee, name -> new long[2]);
+                    measurement[0]          += Long.parseLong(parts[1]);
+                    measurement[1]          += calls;
+                }
+                calls = -1;
+            }
+        }
+    }
+
+    @NotNull
+    private static String resolveName(@NotNull String specification, @NotNull Map<String, String> names) {
+        specification = specification.trim();
+        if (specification.startsWith("(")) {
+            final int end = specification.indexOf(')');
+            if (end != -1) {
+                final String id   = specification.substring(0, end + 1);
+                final String name = specification.substring(end + 1).trim();
+                if (name.isEmpty()) {
+                    return names.getOrDefault(id, id);
+                }
+                names.put(id, name);
+                return name;
+            }
+        }
+        return specification;
+    }
+
+    /* profiles are large: lets the highlighting pass cancel parsing */
+    private static final class CancellableReader extends FilterReader {
+        CancellableReader(@NotNull Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int read() throws IOException {
+            ProgressManager.checkCanceled();
+            return super.read();
+        }
+
+        @Override
+        public int read(@NotNull char[] buffer, int offset, int length) throws IOException {
+            ProgressManager.checkCanceled();
+            return super.read(buffer, offset, length);
+        }
+    }
+
+    /* names sorted for binary search and costs packed into bytes: profiles are large, the estimation needs little */
+    private static final class CostsTable {
+        @NotNull private final String[] names;
+        @NotNull private final byte[] costs;
+
+        CostsTable(@NotNull Map<String, Double> averages, double median) {
+            this.names = averages.keySet().toArray(new String[averages.size()]);
+            Arrays.sort(this.names);
+            this.costs = new byte[this.names.length];
+            for (int index = 0; index < this.names.length; ++index) {
+                final double average = averages.get(this.names[index]);
+                int cost             = medianCost;
+                if (median > 0) {
+                    cost = average > 0 ? cost + (int) Math.round(Math.log(average / median) / Math.log(2)) : minCost;
+                }
+                this.costs[index] = (byte) Math.max(minCost, Math.min(maxCost, cost));
+            }
+        }
+
+        int get(@NotNull String name, int fallback) {
+            final int index = Arrays.binarySearch(this.names, name);
+            return index < 0 ? fallback : this.costs[index];
+        }
+    }
+}
@@ -9,7 +9,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiWhiteSpace;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.config.PhpLanguageFeature;
 import com.jetbrains.php.config.PhpLanguageLevel;
 import com.jetbrains.php.config.PhpProjectConfigurationFacade;
@@ -21,7 +20,9 @@ import com.kalessil.phpStorm.phpInspectionsEA.fixers.UseSuggestedReplacementFixe
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassNamesFilterUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -100,7 +101,7 @@ public class ClassConstantCanBeUsedInspector extends BasePhpInspection {
 
                 /* Process if has no inline statements and at least 3 chars long (foo, bar and etc. are not a case) */
                 final String contents = expression.getContents();
-                if (contents.length() > 3) {
+                if (contents.length() > 3 && ClassNamesFilterUtil.mayBeClassName(project, contents)) {
                     final Matcher regexMatcher = classNameRegex.matcher(contents);
                     if (!regexMatcher.matches() || ExpressionSemanticUtil.getBlockScope(expression) instanceof PhpDocComment) {
                         return;
@@ -127,13 +128,9 @@ public class ClassConstantCanBeUsedInspector extends BasePhpInspection {
                     /* if we could find an appropriate candidate and resolved the class => report (case must match) */
                     if (1 == namesToLookup.size()) {
                         final String fqnToLookup = namesToLookup.iterator().next();
-                        final PhpIndex index     = PhpIndex.getInstance(project);
 
                         /* try searching interfaces and classes for the given FQN */
-                        Collection<PhpClass> classes = index.getClassesByFQN(fqnToLookup);
-                        if (0 == classes.size()) {
-                            classes = index.getInterfacesByFQN(fqnToLookup);
-                        }
+                        final Collection<PhpClass> classes = PhpIndexUtil.getObjectInterfaces(project, fqnToLookup, true);
 
                         /* check resolved items */
                         if (1 == classes.size() && classes.iterator().next().getFQN().equals(fqnToLookup)) {
@@ -6,10 +6,10 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -74,7 +74,7 @@ public class ClassConstantUsageCorrectnessInspector extends BasePhpInspection {
                 if (referenceText.startsWith("\\")) {
                     /* FQN specified, resolve as we might have case issues there */
                     final Project project               = reference.getProject();
-                    final Collection<PhpClass> resolved = PhpIndex.getInstance(project).getClassesByFQN(referenceText);
+                    final Collection<PhpClass> resolved = PhpIndexUtil.getClassesByFQN(project, referenceText);
                     if (!resolved.isEmpty()) {
                         result.add(resolved.iterator().next().getFQN());
                     }
@@ -14,8 +14,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 public class MagicMethodsValidityInspector extends BasePhpInspection {
     private static final String messageUseSplAutoloading = "Prefer 'spl_autoload_register(...)' instead.";
@@ -39,6 +38,117 @@ public class MagicMethodsValidityInspector extends BasePhpInspection {
         knownNonMagic.add("__");
     }
 
+    /* magic methods => strategies to apply, each method is checked by exactly the strategies applicable to it */
+    private static final Map<String, List<MethodStrategy>> strategiesByName = new HashMap<>();
+    static {
+        register(
+            Arrays.asList("__construct", "__destruct", "__clone"),
+            (method, clazz, holder) -> CanNotBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> CanNotReturnTypeStrategy.apply(method, holder)
+        );
+        register(
+            Arrays.asList("__destruct", "__clone"),
+            (method, clazz, holder) -> CanNotTakeArgumentsStrategy.apply(method, holder)
+        );
+        register(
+            Arrays.asList("__construct", "__destruct", "__clone"),
+            (method, clazz, holder) -> NormallyCallsParentMethodStrategy.apply(method, holder)
+        );
+
+        register(
+            Arrays.asList("__get", "__isset", "__unset"),
+            (method, clazz, holder) -> CanNotBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder),
+            (method, clazz, holder) -> TakesExactAmountOfArgumentsStrategy.apply(1, method, holder),
+            (method, clazz, holder) -> CanNotTakeArgumentsByReferenceStrategy.apply(method, holder),
+            (method, clazz, holder) -> HasAlsoMethodStrategy.apply(method, "__set", holder)
+        );
+        register(
+            Arrays.asList("__set", "__call"),
+            (method, clazz, holder) -> CanNotBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder),
+            (method, clazz, holder) -> CanNotTakeArgumentsByReferenceStrategy.apply(method, holder),
+            (method, clazz, holder) -> TakesExactAmountOfArgumentsStrategy.apply(2, method, holder)
+        );
+        register(
+            Collections.singletonList("__set"),
+            (method, clazz, holder) -> HasAlsoMethodStrategy.apply(method, "__isset", holder),
+            (method, clazz, holder) -> HasAlsoMethodStrategy.apply(method, "__get", holder)
+        );
+        register(
+            Collections.singletonList("__callStatic"),
+            (method, clazz, holder) -> MustBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder),
+            (method, clazz, holder) -> CanNotTakeArgumentsByReferenceStrategy.apply(method, holder),
+            (method, clazz, holder) -> TakesExactAmountOfArgumentsStrategy.apply(2, method, holder)
+        );
+
+        register(
+            Collections.singletonList("__toString"),
+            (method, clazz, holder) -> CanNotBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> CanNotTakeArgumentsStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustNotThrowExceptionsStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustReturnSpecifiedTypeStrategy.apply(stringType, method, holder)
+        );
+        register(
+            Collections.singletonList("__debugInfo"),
+            (method, clazz, holder) -> CanNotBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> CanNotTakeArgumentsStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustReturnSpecifiedTypeStrategy.apply(arrayOrNullType, method, holder),
+            (method, clazz, holder) -> MinimalPhpVersionStrategy.apply(method, holder, PhpLanguageLevel.PHP560)
+        );
+        register(
+            Collections.singletonList("__set_state"),
+            (method, clazz, holder) -> MustBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder),
+            (method, clazz, holder) -> TakesExactAmountOfArgumentsStrategy.apply(1, method, holder),
+            (method, clazz, holder) -> MustReturnSpecifiedTypeStrategy.apply((new PhpType()).add(clazz.getFQN()), method, holder)
+        );
+        register(
+            Collections.singletonList("__invoke"),
+            (method, clazz, holder) -> CanNotBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder)
+        );
+        register(
+            Arrays.asList("__wakeup", "__sleep"),
+            (method, clazz, holder) -> CanNotBeStaticStrategy.apply(method, holder),
+            (method, clazz, holder) -> MustBePublicStrategy.apply(method, holder),
+            (method, clazz, holder) -> CanNotTakeArgumentsStrategy.apply(method, holder)
+        );
+        register(
+            Collections.singletonList("__wakeup"),
+            (method, clazz, holder) -> CanNotReturnTypeStrategy.apply(method, holder)
+        );
+        register(
+            Collections.singletonList("__sleep"),
+            (method, clazz, holder) -> MustReturnSpecifiedTypeStrategy.apply(arrayType, method, holder)
+        );
+
+        register(
+            Collections.singletonList("__autoload"),
+            (method, clazz, holder) -> {
+                final PsiElement nameNode = NamedElementUtil.getNameIdentifier(method);
+                if (null != nameNode) {
+                    holder.registerProblem(nameNode, messageUseSplAutoloading, ProblemHighlightType.LIKE_DEPRECATED);
+                }
+            },
+            (method, clazz, holder) -> TakesExactAmountOfArgumentsStrategy.apply(1, method, holder)
+        );
+    }
+
+    @FunctionalInterface
+    private interface MethodStrategy {
+        void apply(@NotNull Method method, @NotNull PhpClass clazz, @NotNull ProblemsHolder holder);
+    }
+
+    private static void register(@NotNull List<String> methods, @NotNull MethodStrategy... strategies) {
+        for (final String method : methods) {
+            strategiesByName.computeIfAbsent(method, key -> new ArrayList<>()).addAll(Arrays.asList(strategies));
+        }
+    }
+
     @NotNull
     public String getShortName() {
         return "MagicMethodsValidityInspection";
@@ -56,124 +166,11 @@ public class MagicMethodsValidityInspector extends BasePhpInspection {
                     return;
                 }
 
-                if (methodName.equals("__construct")) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    CanNotReturnTypeStrategy.apply(method, holder);
-                    NormallyCallsParentMethodStrategy.apply(method, holder);
-
-                    return;
-                }
-
-                if (
-                    methodName.equals("__destruct") ||
-                    methodName.equals("__clone")
-                ) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    CanNotReturnTypeStrategy.apply(method, holder);
-                    CanNotTakeArgumentsStrategy.apply(method, holder);
-                    NormallyCallsParentMethodStrategy.apply(method, holder);
-
-                    return;
-                }
-
-                if (
-                    methodName.equals("__get") ||
-                    methodName.equals("__isset") ||
-                    methodName.equals("__unset")
-                ) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    TakesExactAmountOfArgumentsStrategy.apply(1, method, holder);
-                    CanNotTakeArgumentsByReferenceStrategy.apply(method, holder);
-                    HasAlsoMethodStrategy.apply(method, "__set", holder);
-
-                    return;
-                }
-
-                if (
-                    methodName.equals("__set") ||
-                    methodName.equals("__call")
-                ) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    CanNotTakeArgumentsByReferenceStrategy.apply(method, holder);
-                    TakesExactAmountOfArgumentsStrategy.apply(2, method, holder);
-
-                    if (methodName.equals("__set")) {
-                        HasAlsoMethodStrategy.apply(method, "__isset", holder);
-                        HasAlsoMethodStrategy.apply(method, "__get", holder);
+                final List<MethodStrategy> strategies = strategiesByName.get(methodName);
+                if (null != strategies) {
+                    for (final MethodStrategy strategy : strategies) {
+                        strategy.apply(method, clazz, holder);
                     }
-
-                    return;
-                }
-
-                if (methodName.equals("__callStatic")) {
-                    MustBeStaticStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    CanNotTakeArgumentsByReferenceStrategy.apply(method, holder);
-                    TakesExactAmountOfArgumentsStrategy.apply(2, method, holder);
-
-                    return;
-                }
-
-                if (methodName.equals("__toString")) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    CanNotTakeArgumentsStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    MustNotThrowExceptionsStrategy.apply(method, holder);
-                    MustReturnSpecifiedTypeStrategy.apply(stringType, method, holder);
-
-                    return;
-                }
-
-                if (methodName.equals("__debugInfo")) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    CanNotTakeArgumentsStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    MustReturnSpecifiedTypeStrategy.apply(arrayOrNullType, method, holder);
-                    MinimalPhpVersionStrategy.apply(method, holder, PhpLanguageLevel.PHP560);
-
-                    return;
-                }
-
-                if (methodName.equals("__set_state")) {
-                    MustBeStaticStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    TakesExactAmountOfArgumentsStrategy.apply(1, method, holder);
-                    MustReturnSpecifiedTypeStrategy.apply((new PhpType()).add(clazz.getFQN()), method, holder);
-
-                    return;
-                }
-
-                if (methodName.equals("__invoke")) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-
-                    return;
-                }
-
-                if (methodName.equals("__wakeup")) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    CanNotTakeArgumentsStrategy.apply(method, holder);
-                    CanNotReturnTypeStrategy.apply(method, holder);
-
-                    return;
-                }
-
-                if (methodName.equals("__sleep")) {
-                    CanNotBeStaticStrategy.apply(method, holder);
-                    MustBePublicStrategy.apply(method, holder);
-                    CanNotTakeArgumentsStrategy.apply(method, holder);
-                    MustReturnSpecifiedTypeStrategy.apply(arrayType, method, holder);
-
-                    return;
-                }
-
-                if (methodName.equals("__autoload")) {
-                    holder.registerProblem(nameNode, messageUseSplAutoloading, ProblemHighlightType.LIKE_DEPRECATED);
-                    TakesExactAmountOfArgumentsStrategy.apply(1, method, holder);
-
                     return;
                 }
 
@@ -10,6 +10,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.util.containers.MultiMap;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpDoc.utils.NoinspectionTagUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import org.apache.commons.lang.ArrayUtils;
@@ -66,9 +67,8 @@ public class UnknownInspectionInspector extends BasePhpInspection {
                 }
 
                 /* cleanup the tag and ensure we have anything to check */
-                final String tagValue     = tag.getTagValue().replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
-                final String[] suppressed = tagValue.split("\\s+");
-                if (0 == suppressed.length || 0 == tagValue.length()) {
+                final String[] suppressed = NoinspectionTagUtil.getSuppressedNames(tag.getTagValue());
+                if (0 == suppressed.length) {
                     return;
                 }
 
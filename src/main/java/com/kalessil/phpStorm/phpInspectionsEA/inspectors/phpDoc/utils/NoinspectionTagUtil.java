@@ -0,0 +1,29 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpDoc.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.regex.Pattern;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class NoinspectionTagUtil {
+    final static private Pattern separators = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    /**
+     * Splits a @noinspection tag value into words, e.g. 'PhpIncludeInspection: dynamic path' into
+     * { PhpIncludeInspection, dynamic, path }: comments are mixed in, callers are filtering them out.
+     */
+    @NotNull
+    public static String[] getSuppressedNames(@NotNull String tagValue) {
+        /* separators are collapsed into single spaces, so splitting needs no regex */
+        final String cleaned = separators.matcher(tagValue).replaceAll(" ").trim();
+        return cleaned.isEmpty() ? new String[0] : cleaned.split(" ");
+    }
+}
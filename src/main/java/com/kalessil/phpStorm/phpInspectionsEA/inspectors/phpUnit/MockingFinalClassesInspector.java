@@ -4,10 +4,11 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassFactsUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -102,10 +103,14 @@ public class MockingFinalClassesInspector extends BasePhpInspection {
                     if (string.getFirstPsiChild() == null && contents.length() > 3) {
                         String fqn = contents.replaceAll("\\\\\\\\", "\\\\");
                         fqn        = fqn.charAt(0) == '\\' ? fqn : "\\" + fqn;
-                        for (PhpClass clazz : PhpIndex.getInstance(expression.getProject()).getClassesByFQN(fqn)) {
-                            if (clazz.isFinal()) {
-                                result = clazz;
-                                break;
+                        /* not final classes are not loaded, the facts index is telling that */
+                        final Integer facts = ClassFactsUtil.getFacts(expression.getProject(), fqn);
+                        if (null == facts || (facts & ClassFactsUtil.FINAL) != 0) {
+                            for (PhpClass clazz : PhpIndexUtil.getClassesByFQN(expression.getProject(), fqn)) {
+                                if (clazz.isFinal()) {
+                                    result = clazz;
+                                    break;
+                                }
                             }
                         }
                     }
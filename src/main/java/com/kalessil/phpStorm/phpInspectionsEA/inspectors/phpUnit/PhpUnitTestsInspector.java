@@ -24,10 +24,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -46,6 +43,67 @@ public class PhpUnitTestsInspector extends BasePhpInspection {
     private final static String messageCovers  = "@covers referencing to a non-existing entity";
     private final static String messageTest    = "@test is ambiguous because method name starts with 'test'.";
 
+    /* asserts => strategies applicable to them, in the order they are applied (till the first reported) */
+    private static final Map<String, List<AssertStrategy>> normalizingStrategies = new HashMap<>();
+    private static final Map<String, List<AssertStrategy>> strictnessStrategies  = new HashMap<>();
+    private static final Map<String, List<AssertStrategy>> enhancingStrategies   = new HashMap<>();
+    static {
+        register(normalizingStrategies, AssertBoolInvertedStrategy::apply,     "assertTrue", "assertFalse");
+        register(normalizingStrategies, AssertBoolOfComparisonStrategy::apply, "assertTrue", "assertNotTrue", "assertFalse", "assertNotFalse");
+
+        register(strictnessStrategies, AssertSameStrategy::apply,    "assertEquals");
+        register(strictnessStrategies, AssertNotSameStrategy::apply, "assertNotEquals");
+
+        register(enhancingStrategies, new AssertCountStrategy()::apply,            "assertSame", "assertEquals");
+        register(enhancingStrategies, AssertNotCountStrategy::apply,               "assertNotSame", "assertNotEquals");
+        register(enhancingStrategies, AssertNullStrategy::apply,                   "assertSame");
+        register(enhancingStrategies, AssertNotNullStrategy::apply,                "assertNotSame");
+        register(enhancingStrategies, AssertTrueStrategy::apply,                   "assertSame");
+        register(enhancingStrategies, AssertNotTrueStrategy::apply,                "assertNotSame");
+        register(enhancingStrategies, AssertFalseStrategy::apply,                  "assertSame");
+        register(enhancingStrategies, AssertNotFalseStrategy::apply,               "assertNotSame");
+        register(enhancingStrategies, AssertEmptyStrategy::apply,                  "assertTrue", "assertNotFalse");
+        register(enhancingStrategies, AssertNotEmptyStrategy::apply,               "assertFalse", "assertNotTrue");
+        register(enhancingStrategies, AssertInstanceOfStrategy::apply,             "assertTrue", "assertNotFalse");
+        register(enhancingStrategies, AssertNotInstanceOfStrategy::apply,          "assertFalse", "assertNotTrue");
+        register(enhancingStrategies, AssertFileExistsStrategy::apply,             "assertTrue", "assertNotFalse");
+        register(enhancingStrategies, AssertFileNotExistsStrategy::apply,          "assertFalse", "assertNotTrue");
+        register(enhancingStrategies, new AssertStringEqualsFileStrategy()::apply, "assertSame", "assertEquals");
+    }
+
+    @FunctionalInterface
+    private interface AssertStrategy {
+        boolean apply(@NotNull String methodName, @NotNull MethodReference reference, @NotNull ProblemsHolder holder);
+    }
+
+    private static void register(
+        @NotNull Map<String, List<AssertStrategy>> registry,
+        @NotNull AssertStrategy strategy,
+        @NotNull String... asserts
+    ) {
+        for (final String assertName : asserts) {
+            registry.computeIfAbsent(assertName, key -> new ArrayList<>()).add(strategy);
+        }
+    }
+
+    /* applies the strategies registered for the assert, stops at the first one which reported a problem */
+    private static boolean applyStrategies(
+        @NotNull Map<String, List<AssertStrategy>> registry,
+        @NotNull String methodName,
+        @NotNull MethodReference reference,
+        @NotNull ProblemsHolder holder
+    ) {
+        final List<AssertStrategy> strategies = registry.get(methodName);
+        if (null != strategies) {
+            for (final AssertStrategy strategy : strategies) {
+                if (strategy.apply(methodName, reference, holder)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @NotNull
     public String getShortName() {
         return "PhpUnitTestsInspection";
@@ -133,50 +191,17 @@ public class PhpUnitTestsInspector extends BasePhpInspection {
                 /* strategies injection; TODO: cases with custom messages needs to be handled in each one */
 
                 /* normalize first, no performance tweaks */
-                if (
-                    AssertBoolInvertedStrategy.apply(methodName, reference, holder)     ||
-                    AssertBoolOfComparisonStrategy.apply(methodName, reference, holder)
-                ) {
+                if (applyStrategies(normalizingStrategies, methodName, reference, holder)) {
                     return;
                 }
                 if (SUGGEST_TO_USE_ASSERTSAME) {
-                    @SuppressWarnings({"unused", "UnusedAssignment"})
-                    boolean strictAsserts =
-                        AssertSameStrategy.apply(methodName, reference, holder) ||
-                        AssertNotSameStrategy.apply(methodName, reference, holder)
-                    ;
+                    applyStrategies(strictnessStrategies, methodName, reference, holder);
                 }
 
                 /* now enhance API usage where possible, tweak performance */
-                if (
-                    (new AssertCountStrategy().apply(methodName, reference, holder)) ||
-                    AssertNotCountStrategy.apply(methodName, reference, holder)      ||
-
-                    AssertNullStrategy.apply(methodName, reference, holder)          ||
-                    AssertNotNullStrategy.apply(methodName, reference, holder)       ||
-
-                    AssertTrueStrategy.apply(methodName, reference, holder)          ||
-                    AssertNotTrueStrategy.apply(methodName, reference, holder)       ||
-
-                    AssertFalseStrategy.apply(methodName, reference, holder)         ||
-                    AssertNotFalseStrategy.apply(methodName, reference, holder)      ||
-
-                    AssertEmptyStrategy.apply(methodName, reference, holder)         ||
-                    AssertNotEmptyStrategy.apply(methodName, reference, holder)      ||
+                applyStrategies(enhancingStrategies, methodName, reference, holder);
 
-                    AssertInstanceOfStrategy.apply(methodName, reference, holder)    ||
-                    AssertNotInstanceOfStrategy.apply(methodName, reference, holder) ||
-
-                    AssertFileExistsStrategy.apply(methodName, reference, holder)    ||
-                    AssertFileNotExistsStrategy.apply(methodName, reference, holder) ||
-
-                    (new AssertStringEqualsFileStrategy().apply(methodName, reference, holder))
-
-                    // TODO: assertInternalType, assertNotInternalType
-                ) {
-                    //noinspection UnnecessaryReturnStatement - compact performace tweak
-                    return;
-                }
+                // TODO: assertInternalType, assertNotInternalType
             }
         };
     }
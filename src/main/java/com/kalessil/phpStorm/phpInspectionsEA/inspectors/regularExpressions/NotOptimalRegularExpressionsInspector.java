@@ -1,7 +1,6 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions;
 
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
@@ -9,11 +8,13 @@ import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.apiUsage.FunctionCallCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.apiUsage.PlainApiUseCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.classesStrategy.ShortClassDefinitionStrategy;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.CatastrophicBacktrackingCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.GreedyCharactersSetCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.QuantifierCompoundsQuantifierCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.modifiersStrategy.*;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.AmbiguousAnythingTrimCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.SequentialClassesCollapseCheckStrategy;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
@@ -21,8 +22,6 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
 
@@ -42,13 +41,6 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
         functions.add("preg_split");
     }
 
-    final static private Pattern regexWithModifiers;
-    final static private Pattern regexWithModifiersCurvy;
-    static {
-        regexWithModifiers      = Pattern.compile("^([^\\{])(.*)\\1([a-zA-Z]+)?$");
-        regexWithModifiersCurvy = Pattern.compile("^\\{(.*)\\}([a-zA-Z]+)?$");
-    }
-
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
@@ -71,29 +63,17 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                     return;
                 }
 
-                final String regex = pattern.getContents();
-                if (!StringUtils.isEmpty(regex) && pattern.getFirstPsiChild() == null) {
-                    Matcher regexMatcher = regexWithModifiers.matcher(regex);
-                    if (regexMatcher.find()) {
-                        final String phpRegexPattern   = regexMatcher.group(2);
-                        final String phpRegexModifiers = regexMatcher.group(3);
-
-                        checkCall(functionName, reference, pattern, phpRegexPattern, phpRegexModifiers);
-                        return;
-                    }
-
-                    regexMatcher = regexWithModifiersCurvy.matcher(regex);
-                    if (regexMatcher.find()) {
-                        final String phpRegexPattern   = regexMatcher.group(1);
-                        final String phpRegexModifiers = regexMatcher.group(2);
-
-                        checkCall(functionName, reference, pattern, phpRegexPattern, phpRegexModifiers);
-                        // return;
+                /* patterns are parsed once and shared between strategies and files */
+                final String contents = pattern.getContents();
+                if (!contents.isEmpty() && pattern.getFirstPsiChild() == null) {
+                    final ParsedRegex regex = ParsedRegex.fromLiteral(contents);
+                    if (null != regex) {
+                        checkCall(functionName, reference, pattern, regex);
                     }
                 }
             }
 
-            private void checkCall (String strFunctionName, FunctionReference reference, StringLiteralExpression target, String regex, String modifiers) {
+            private void checkCall (String strFunctionName, FunctionReference reference, StringLiteralExpression target, ParsedRegex regex) {
                 /* Modifiers validity (done):
                  * + /no-az-chars/i => /no-az-chars/
                  * + /no-dot-char/s => /no-dot-char/
@@ -102,12 +82,12 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  * + /regexp/e => mark as deprecated, use preg_replace_callback instead
                  * + Check allowed PHP modifiers: eimsuxADJSUX
                  */
-                DeprecatedModifiersCheckStrategy.apply(modifiers, target, holder);
-                AllowedModifierCheckStrategy.apply(modifiers, target, holder);
-                // UselessMultiLineModifierStrategy.apply(modifiers, regex, target, holder); -- we can not analyse if string has new lines
-                UselessDollarEndOnlyModifierStrategy.apply(modifiers, regex, target, holder);
-                UselessDotAllModifierCheckStrategy.apply(modifiers, regex, target, holder);
-                UselessIgnoreCaseModifierCheckStrategy.apply(modifiers, regex, target, holder);
+                DeprecatedModifiersCheckStrategy.apply(regex, target, holder);
+                AllowedModifierCheckStrategy.apply(regex, target, holder);
+                // UselessMultiLineModifierStrategy.apply(regex, target, holder); -- we can not analyse if string has new lines
+                UselessDollarEndOnlyModifierStrategy.apply(regex, target, holder);
+                UselessDotAllModifierCheckStrategy.apply(regex, target, holder);
+                UselessIgnoreCaseModifierCheckStrategy.apply(regex, target, holder);
 
                 /* Plain API simplification (done):
                  * + /^text/ => 0 === strpos(...) (match)
@@ -118,7 +98,7 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  * + preg_match_all without match argument preg_match
                  */
                 FunctionCallCheckStrategy.apply(strFunctionName, reference, holder);
-                PlainApiUseCheckStrategy.apply(strFunctionName, reference, modifiers, regex, holder);
+                PlainApiUseCheckStrategy.apply(strFunctionName, reference, regex, holder);
 
                 /* Classes shortening (done):
                  * + [0-9] => \d
@@ -128,7 +108,7 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  * + [^\w] => \W
                  * + [^\s] => \S
                  */
-                ShortClassDefinitionStrategy.apply(modifiers, regex, target, holder);
+                ShortClassDefinitionStrategy.apply(regex, target, holder);
 
                 /* Optimizations:
                  * (...) => (?:...) (if there is no back-reference)
@@ -143,20 +123,25 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  *
                  * + greedy character classes [\d\w][\D\W]
                  * + dangerous (a+)+ pattern
+                 * + catastrophic backtracking: (a|a)*, (\w|\d)+, \d+\d+
                  */
                 SequentialClassesCollapseCheckStrategy.apply(regex, target, holder);
                 AmbiguousAnythingTrimCheckStrategy.apply(strFunctionName, reference, regex, target, holder);
                 //NonGreedyTransformCheckStrategy.apply(regex, target, holder);
-                GreedyCharactersSetCheckStrategy.apply(regex, target, holder);
-                QuantifierCompoundsQuantifierCheckStrategy.apply(regex, target, holder);
+                final boolean isGreedy   = GreedyCharactersSetCheckStrategy.apply(regex, target, holder);
+                final boolean isCompound = QuantifierCompoundsQuantifierCheckStrategy.apply(regex, target, holder);
+                if (!isGreedy && !isCompound) {
+                    /* the NFA-based analysis is not repeating problems already reported by textual strategies */
+                    CatastrophicBacktrackingCheckStrategy.apply(regex, target, holder);
+                }
 
                 /*
                  * Probably bugs:
                  *  - nested tags check without /s
                  *  - unicode characters without /u
                  */
-                MissingDotAllCheckStrategy.apply(modifiers, regex, target, holder);
-                MissingUnicodeModifierStrategy.apply(modifiers, regex, target, holder);
+                MissingDotAllCheckStrategy.apply(regex, target, holder);
+                MissingUnicodeModifierStrategy.apply(regex, target, holder);
             }
         };
     }
@@ -3,15 +3,16 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.api
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import com.kalessil.phpStorm.phpInspectionsEA.fixers.UseSuggestedReplacementFixer;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -25,46 +26,22 @@ import java.util.regex.Pattern;
 final public class PlainApiUseCheckStrategy {
     private static final String messagePattern = "'%e%' can be used instead.";
 
-    final static private Pattern regexTextSearch;
-    static {
-        regexTextSearch = Pattern.compile("^(\\^?)([\\w-]+)(\\$?)$");
-    }
-
-    final static private Pattern regexHasRegexAttributes;
-    static {
-        // 	([^\\][\^\$\.\*\+\?\\\[\]\(\)\{\}\!\|\-])|([^\\]?\\[dDhHsSvVwWR])
-        regexHasRegexAttributes = Pattern.compile("([^\\\\][\\^\\$\\.\\*\\+\\?\\\\\\[\\]\\(\\)\\{\\}\\!\\|\\-])|([^\\\\]?\\\\[dDhHsSvVwWR])");
-    }
-
-    final static private Pattern regexSingleCharSet;
-    static {
-        // 	^(\[[^\.]{1}\]|[^\.]{1})$
-        regexSingleCharSet = Pattern.compile("^(\\[[^\\.]{1}\\]|[^\\.]{1})$");
-    }
-
-    final static private Pattern trimPatterns;
-    static {
-        // ^((\^([^\.]|\\s)[\+\*])|(([^\.]|\\s)[\+\*]\$)|(\^([^\.]|\\s)[\+\*]\|\7[\+\*]\$))$
-        trimPatterns = Pattern.compile("^((\\^([^\\.]|\\\\s)[\\+\\*])|(([^\\.]|\\\\s)[\\+\\*]\\$)|(\\^([^\\.]|\\\\s)[\\+\\*]\\|\\7[\\+\\*]\\$))$");
-    }
-
     static public void apply(
             final String functionName, @NotNull final FunctionReference reference,
-            final String modifiers, final String pattern,
+            @NotNull final ParsedRegex regex,
             @NotNull final ProblemsHolder holder
     ) {
         final PsiElement[] params = reference.getParameters();
         final int parametersCount = params.length;
-        if (parametersCount >= 2 && !StringUtils.isEmpty(pattern)) {
-            final String patternAdapted = pattern
-                    .replace("a-zA-Z",    "A-Za-z")
-                    .replace("0-9A-Za-z", "A-Za-z0-9");
+        if (parametersCount >= 2 && !regex.getPattern().isEmpty()) {
+            final List<RegexNode> items = regex.getItems();
 
-            final Matcher regexMatcher = regexTextSearch.matcher(patternAdapted);
-            if (regexMatcher.find()) {
-                final boolean ignoreCase = !StringUtils.isEmpty(modifiers) && modifiers.indexOf('i') != -1;
-                final boolean startWith  = !StringUtils.isEmpty(regexMatcher.group(1));
-                final boolean endsWith   = !StringUtils.isEmpty(regexMatcher.group(3));
+            /* '^text$', where anchors are optional */
+            final boolean startWith = !items.isEmpty() && isAnchor(items.get(0), true);
+            final boolean endsWith  = items.size() > (startWith ? 1 : 0) && isAnchor(items.get(items.size() - 1), false);
+            final String text       = getPlainText(items.subList(startWith ? 1 : 0, items.size() - (endsWith ? 1 : 0)), true);
+            if (null != text) {
+                final boolean ignoreCase = regex.hasModifier('i');
 
                 /* analyse if pattern is the one strategy targeting */
                 String message      = null;
@@ -73,14 +50,14 @@ final public class PlainApiUseCheckStrategy {
                 if (parametersCount == 2 && functionName.equals("preg_match")) {
                     if (startWith && endsWith && !ignoreCase) {
                         final String replacement = "\"%p%\" === %s%"
-                            .replace("%p%", regexMatcher.group(2))
+                            .replace("%p%", text)
                             .replace("%s%", params[1].getText());
                         message = messagePattern.replace("%e%", replacement);
                         fixer   = new UseStringComparisonFix(replacement);
                     } else if (startWith && !endsWith) {
                         // mixed strpos ( string $haystack , mixed $needle [, int $offset = 0 ] )
                         final String replacement = "0 === %f%(%s%, \"%p%\")"
-                            .replace("%p%", regexMatcher.group(2))
+                            .replace("%p%", text)
                             .replace("%s%", params[1].getText())
                             .replace("%f%", ignoreCase ? "stripos" : "strpos");
                         message = messagePattern.replace("%e%", replacement);
@@ -88,7 +65,7 @@ final public class PlainApiUseCheckStrategy {
                     } else if (!startWith && !endsWith) {
                         // mixed strpos ( string $haystack , mixed $needle [, int $offset = 0 ] )
                         final String replacement = "false !== %f%(%s%, \"%p%\")"
-                            .replace("%p%", regexMatcher.group(2))
+                            .replace("%p%", text)
                             .replace("%s%", params[1].getText())
                             .replace("%f%", ignoreCase ? "stripos" : "strpos");
                         message = messagePattern.replace("%e%", replacement);
@@ -99,7 +76,7 @@ final public class PlainApiUseCheckStrategy {
                     final String replacement = "%f%(\"%p%\", %r%, %s%)"
                         .replace("%s%", params[2].getText())
                         .replace("%r%", params[1].getText())
-                        .replace("%p%", regexMatcher.group(2))
+                        .replace("%p%", text)
                         .replace("%f%", ignoreCase ? "str_ireplace" : "str_replace");
                     message = messagePattern.replace("%e%", replacement);
                     fixer   = new UseStringReplaceFix(replacement);
@@ -112,54 +89,138 @@ final public class PlainApiUseCheckStrategy {
             }
 
             /* investigate using *trim(...) instead */
-            final Matcher trimMatcher = trimPatterns.matcher(patternAdapted);
             if (
                 parametersCount == 3 && functionName.equals("preg_replace") &&
-                params[1] instanceof StringLiteralExpression && params[1].getText().length() == 2 &&
-                trimMatcher.find()
+                params[1] instanceof StringLiteralExpression && params[1].getText().length() == 2
             ) {
-                // mixed preg_replace ( mixed $pattern , mixed $replacement , mixed $subject [, int $limit = -1 [, int &$count ]] )
-                String function = "trim";
-                if (!pattern.startsWith("^")) {
-                    function = "rtrim";
-                } else if (!pattern.endsWith("$")) {
-                    function = "ltrim";
-                }
+                final String characterToTrim = getTrimmedCharacter(regex.getRoot());
+                if (null != characterToTrim) {
+                    // mixed preg_replace ( mixed $pattern , mixed $replacement , mixed $subject [, int $limit = -1 [, int &$count ]] )
+                    String function = "trim";
+                    if (!regex.getPattern().startsWith("^")) {
+                        function = "rtrim";
+                    } else if (!regex.getPattern().endsWith("$")) {
+                        function = "ltrim";
+                    }
 
-                String characterToTrim = trimMatcher.group(7);
-                characterToTrim        = characterToTrim == null ? trimMatcher.group(5) : characterToTrim;
-                characterToTrim        = characterToTrim == null ? trimMatcher.group(3) : characterToTrim;
-                final String replacement = "%f%(%s%, '%p%')"
-                    .replace(", '%p%'", characterToTrim.equals("\\s") ? "" : ", '%p%'")
-                    .replace("%p%", characterToTrim)
-                    .replace("%s%", params[2].getText())
-                    .replace("%f%", function);
-                holder.registerProblem(
-                    reference,
-                    messagePattern.replace("%e%", replacement),
-                    ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
-                    new UseTrimFix(replacement)
-                );
-                return;
+                    final String replacement = "%f%(%s%, '%p%')"
+                        .replace(", '%p%'", characterToTrim.equals("\\s") ? "" : ", '%p%'")
+                        .replace("%p%", characterToTrim)
+                        .replace("%s%", params[2].getText())
+                        .replace("%f%", function);
+                    holder.registerProblem(
+                        reference,
+                        messagePattern.replace("%e%", replacement),
+                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
+                        new UseTrimFix(replacement)
+                    );
+                    return;
+                }
             }
 
             /* investigate using explode(...) instead */
-            if (
-                (parametersCount == 2 || parametersCount == 3) && functionName.equals("preg_split") && StringUtils.isEmpty(modifiers) &&
-                (regexSingleCharSet.matcher(patternAdapted).find() || !regexHasRegexAttributes.matcher(patternAdapted).find())
-            ) {
-                final String replacement = "explode(\"%p%\", %s%%l%)"
-                    .replace("%l%", parametersCount > 2 ? ", " + params[2].getText() : "")
-                    .replace("%s%", params[1].getText())
-                    .replace("%p%", patternAdapted);
-                holder.registerProblem(
-                    reference,
-                    messagePattern.replace("%e%", replacement),
-                    ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
-                    new UseExplodeFix(replacement)
-                );
+            if ((parametersCount == 2 || parametersCount == 3) && functionName.equals("preg_split") && regex.getModifiers().isEmpty()) {
+                final String separator = getSeparator(items);
+                if (null != separator) {
+                    final String replacement = "explode(\"%p%\", %s%%l%)"
+                        .replace("%l%", parametersCount > 2 ? ", " + params[2].getText() : "")
+                        .replace("%s%", params[1].getText())
+                        .replace("%p%", separator);
+                    holder.registerProblem(
+                        reference,
+                        messagePattern.replace("%e%", replacement),
+                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
+                        new UseExplodeFix(replacement)
+                    );
+                }
+            }
+        }
+    }
+
+    private static boolean isAnchor(@NotNull RegexNode node, boolean start) {
+        return node instanceof RegexNode.Anchor && ((RegexNode.Anchor) node).isStart() == start;
+    }
+
+    /* text of plain characters sequence; word characters and '-' only when used in string searching suggestions */
+    @Nullable
+    private static String getPlainText(@NotNull List<RegexNode> items, boolean wordsOnly) {
+        if (items.isEmpty()) {
+            return null;
+        }
+
+        final StringBuilder text = new StringBuilder();
+        for (final RegexNode item : items) {
+            if (!(item instanceof RegexNode.Literal)) {
+                return null;
+            }
+            final int character = ((RegexNode.Literal) item).getCodePoint();
+            if (wordsOnly ? !isWordCharacter(character) : character == '"') {
+                return null;
+            }
+            text.appendCodePoint(character);
+        }
+        return text.toString();
+    }
+
+    private static boolean isWordCharacter(int character) {
+        return character == '_' || character == '-' ||
+               (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9');
+    }
+
+    /* plain text or a single character set, e.g. ',' or '[,]' */
+    @Nullable
+    private static String getSeparator(@NotNull List<RegexNode> items) {
+        if (1 == items.size() && items.get(0) instanceof RegexNode.CharacterClass) {
+            final RegexNode.CharacterClass set = (RegexNode.CharacterClass) items.get(0);
+            return set.isNegated() || 1 != set.getItems().size() ? null : getPlainText(set.getItems(), false);
+        }
+        return getPlainText(items, false);
+    }
+
+    /* '^X+', 'X+$', '^X+|X*$' where X is a plain character or \s */
+    @Nullable
+    private static String getTrimmedCharacter(@NotNull RegexNode root) {
+        if (root instanceof RegexNode.Alternation) {
+            final List<RegexNode.Sequence> branches = ((RegexNode.Alternation) root).getBranches();
+            if (2 == branches.size()) {
+                final List<RegexNode> left  = branches.get(0).getItems();
+                final List<RegexNode> right = branches.get(1).getItems();
+                if (2 == left.size() && 2 == right.size() && isAnchor(left.get(0), true) && isAnchor(right.get(1), false)) {
+                    final String leading  = getRepeatedCharacter(left.get(1));
+                    final String trailing = getRepeatedCharacter(right.get(0));
+                    return null != leading && leading.equals(trailing) ? leading : null;
+                }
+            }
+        } else if (root instanceof RegexNode.Sequence) {
+            final List<RegexNode> items = ((RegexNode.Sequence) root).getItems();
+            if (2 == items.size()) {
+                if (isAnchor(items.get(0), true)) {
+                    return getRepeatedCharacter(items.get(1));
+                }
+                if (isAnchor(items.get(1), false)) {
+                    return getRepeatedCharacter(items.get(0));
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String getRepeatedCharacter(@NotNull RegexNode node) {
+        if (node instanceof RegexNode.Quantified) {
+            final RegexNode.Quantified quantified = (RegexNode.Quantified) node;
+            final String quantifier               = quantified.getQuantifier();
+            if ((quantifier.equals("+") || quantifier.equals("*")) && !quantified.isLazy() && !quantified.isPossessive()) {
+                final RegexNode atom = quantified.getAtom();
+                if (atom instanceof RegexNode.Literal && ((RegexNode.Literal) atom).getCodePoint() != '\'') {
+                    return atom.getText();
+                }
+                if (atom instanceof RegexNode.Escape && ((RegexNode.Escape) atom).getLetter() == 's') {
+                    return atom.getText();
+                }
             }
         }
+        return null;
     }
 
     private static class UseStringReplaceFix extends UseSuggestedReplacementFixer {
@@ -2,12 +2,14 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.cla
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.Set;
 
 public class ShortClassDefinitionStrategy {
     private static final String messagePattern = "'%p%' can be replaced with '%r%' (%h%).";
@@ -29,29 +31,39 @@ public class ShortClassDefinitionStrategy {
         mapping.put("[^\\s]",        "\\S");
     }
 
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(pattern)) {
-            final boolean isUnicodeMode = !StringUtils.isEmpty(modifiers) && modifiers.indexOf('u') != -1;
-            final String safetyHint     = isUnicodeMode ? "risky, will match extended sets due to /u" : "safe in non-unicode mode";
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        final boolean isUnicodeMode = regex.hasModifier('u');
+        final String safetyHint     = isUnicodeMode ? "risky, will match extended sets due to /u" : "safe in non-unicode mode";
 
-            /* normalize only first found cases - sufficient for reporting */
-            final String patternAdapted = pattern
+        /* report every wildcard once - sufficient for reporting */
+        final Set<String> reported = new HashSet<>();
+        for (final RegexNode.CharacterClass set : regex.find(RegexNode.CharacterClass.class)) {
+            final String wildcard = set.getText()
                     .replace("a-zA-Z",    "A-Za-z")
                     .replace("0-9A-Za-z", "A-Za-z0-9");
+            if (mapping.containsKey(wildcard) && reported.add(wildcard)) {
+                register(wildcard, safetyHint, target, holder);
+            }
+        }
+        for (final RegexNode.PosixClass posix : regex.find(RegexNode.PosixClass.class)) {
+            final String wildcard = posix.getText();
+            if (mapping.containsKey(wildcard) && reported.add(wildcard)) {
+                register(wildcard, safetyHint, target, holder);
+            }
+        }
 
-            for (Map.Entry<String, String> replacement : mapping.entrySet()) {
-                final String wildcard = replacement.getKey();
-                if (patternAdapted.contains(wildcard)) {
-                    final String message = messagePattern
-                            .replace("%p%", wildcard)
-                            .replace("%r%", replacement.getValue())
-                            .replace("%h%", safetyHint);
+        //TODO: handle [0-9,] and similar cases when classes are part of allowed/escaped sets
+    }
 
-                    holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
-                }
-            }
+    private static void register(
+            @NotNull String wildcard, @NotNull String safetyHint,
+            @NotNull StringLiteralExpression target, @NotNull ProblemsHolder holder
+    ) {
+        final String message = messagePattern
+                .replace("%p%", wildcard)
+                .replace("%r%", mapping.get(wildcard))
+                .replace("%h%", safetyHint);
 
-            //TODO: handle [0-9,] and similar cases when classes are part of allowed/escaped sets
-        }
+        holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
     }
 }
@@ -0,0 +1,958 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Detects catastrophic backtracking on a position (Glushkov) NFA built from the pattern AST:
+ *  - exponential: a state having two different paths to itself over the same word (e.g. '(a|a)*', '(\w|\d)+');
+ *  - polynomial: two different looping states, the first one reaching the second one over the same word
+ *    both are looping on (e.g. '\d+\d+', '\s*.*').
+ *
+ * Characters are modelled as ASCII plus one bucket for everything else, look-arounds and most assertions are
+ * ignored, atomic groups and possessive quantifiers are not backtracking, back-references are not analyzed.
+ * The analysis is bounded by NFA size and a steps budget shared by NFA construction (unrolled copies included)
+ * and states exploration, so it's safe in on-the-fly mode: when the budget is exceeded no result is reported.
+ */
+final public class BacktrackingAnalyzer {
+    private static final int positionsLimit = 100;
+    private static final int stepsBudget    = 100000;
+    private static final int unrollLimit    = 10;
+    private static final int other          = 128;
+
+    private static final int cacheLimit = 2048;
+    private static final Finding none   = new Finding(false, "", "");
+    private static final Map<ParsedRegex, Finding> cache = new ConcurrentHashMap<>();
+
+    public static final class Finding {
+        private final boolean exponential;
+        @NotNull private final String prefix;
+        @NotNull private final String pump;
+
+        Finding(boolean exponential, @NotNull String prefix, @NotNull String pump) {
+            this.exponential = exponential;
+            this.prefix      = prefix;
+            this.pump        = pump;
+        }
+
+        public boolean isExponential() {
+            return this.exponential;
+        }
+
+        /* the input leading to the ambiguous loop */
+        @NotNull
+        public String getPrefix() {
+            return this.prefix;
+        }
+
+        /* the input to repeat, attack string is 'prefix + pump x N + mismatching character' */
+        @NotNull
+        public String getPump() {
+            return this.pump;
+        }
+    }
+
+    /* thrown when the pattern can not be modelled (back-references, too large NFA) or the budget is exceeded */
+    private static final class GiveUp extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        GiveUp() {
+            super(null, null, false, false);
+        }
+    }
+
+    @Nullable
+    public static Finding analyze(@NotNull ParsedRegex regex) {
+        if (cache.size() >= cacheLimit) {
+            cache.clear();
+        }
+        final Finding finding = cache.computeIfAbsent(regex, key -> {
+            try {
+                final Finding result = new BacktrackingAnalyzer(key).analyze();
+                return null == result ? none : result;
+            } catch (GiveUp giveUp) {
+                return none;
+            }
+        });
+        return finding == none ? null : finding;
+    }
+
+    @NotNull private final ParsedRegex regex;
+    private final boolean dotAll;
+    /* inline options, e.g. '(?i)' and '(?-i:...)', are changing it while the NFA is built */
+    private boolean ignoreCase;
+
+    /* state 0 is the initial one, other states are positions (atoms consuming one character) */
+    @NotNull private final List<BitSet> characters = new ArrayList<>();
+    @NotNull private final List<BitSet> follow     = new ArrayList<>();
+    @NotNull private final BitSet finals           = new BitSet();
+    /* transitions derived more than once, e.g. the loop in '(a+)+': the position automaton merges them */
+    @NotNull private final List<int[]> duplicates  = new ArrayList<>();
+    private int steps = 0;
+
+    private BacktrackingAnalyzer(@NotNull ParsedRegex regex) {
+        this.regex      = regex;
+        this.ignoreCase = regex.hasModifier('i');
+        this.dotAll     = regex.hasModifier('s');
+    }
+
+    /* ======================================== NFA construction ======================================== */
+
+    private static final class Fragment {
+        boolean nullable     = true;
+        final BitSet first   = new BitSet();
+        final BitSet last    = new BitSet();
+    }
+
+    @Nullable
+    private Finding analyze() {
+        this.characters.add(new BitSet());
+        this.follow.add(new BitSet());
+
+        final Fragment root = this.build(this.regex.getRoot());
+        this.follow.get(0).or(root.first);
+        this.finals.or(root.last);
+        if (root.nullable) {
+            this.finals.set(0);
+        }
+
+        final Finding exponential = this.findExponential();
+        return null == exponential ? this.findPolynomial() : exponential;
+    }
+
+    @NotNull
+    private Fragment build(@NotNull RegexNode node) {
+        /* zero-width atoms are not creating positions, so nested unrolling (e.g. '((){10}){10}') is budgeted here */
+        this.step();
+
+        if (node instanceof RegexNode.Sequence) {
+            Fragment result = new Fragment();
+            for (final RegexNode item : ((RegexNode.Sequence) node).getItems()) {
+                result = this.concatenate(result, this.build(item));
+            }
+            return result;
+        }
+        if (node instanceof RegexNode.Alternation) {
+            final Fragment result = new Fragment();
+            result.nullable       = false;
+            for (final RegexNode branch : ((RegexNode.Alternation) node).getBranches()) {
+                final Fragment fragment = this.build(branch);
+                result.nullable        |= fragment.nullable;
+                result.first.or(fragment.first);
+                result.last.or(fragment.last);
+            }
+            return result;
+        }
+        if (node instanceof RegexNode.Group) {
+            final RegexNode.Group group = (RegexNode.Group) node;
+            final RegexNode body        = group.getBody();
+            if (group.getKind() == RegexNode.Group.Kind.OPTIONS && null == body) {
+                /* '(?i)': applies till the end of the enclosing group */
+                this.ignoreCase = this.applyOptions(group);
+                return new Fragment();
+            }
+
+            final boolean outerIgnoreCase = this.ignoreCase;
+            try {
+                switch (group.getKind()) {
+                    case OPTIONS:
+                        this.ignoreCase = this.applyOptions(group);
+                        return this.build(body);
+                    case CAPTURING:
+                    case NAMED:
+                    case NON_CAPTURING:
+                    case CONDITIONAL:
+                    case OTHER:
+                        return null == body ? new Fragment() : this.build(body);
+                    case ATOMIC:
+                        return null == body ? new Fragment() : this.opaque(body, isNullable(body));
+                    default:
+                        /* look-arounds and comments are not consuming characters */
+                        return new Fragment();
+                }
+            } finally {
+                /* options set inside a group are not leaking out of it */
+                this.ignoreCase = outerIgnoreCase;
+            }
+        }
+        if (node instanceof RegexNode.Quantified) {
+            return this.buildQuantified((RegexNode.Quantified) node);
+        }
+        if (node instanceof RegexNode.Anchor) {
+            /* '$' is modelled as a position never consuming anything: the match can not be completed before it */
+            return ((RegexNode.Anchor) node).isStart() ? new Fragment() : this.position(new BitSet());
+        }
+        if (node instanceof RegexNode.Escape) {
+            final RegexNode.Escape escape = (RegexNode.Escape) node;
+            switch (escape.getKind()) {
+                case BACK_REFERENCE:
+                    throw new GiveUp();
+                case ASSERTION:
+                    final char letter = escape.getLetter();
+                    return letter == 'z' || letter == 'Z' ? this.position(new BitSet()) : new Fragment();
+                case ESCAPED_LITERAL:
+                    if (escape.getLetter() == 'Q') {
+                        /* \Q...\E: a sequence of plain characters */
+                        final String text   = escape.getText();
+                        final int end       = text.endsWith("\\E") ? text.length() - 2 : text.length();
+                        Fragment result     = new Fragment();
+                        for (int offset = 2; offset < end; offset += Character.charCount(text.codePointAt(offset))) {
+                            result = this.concatenate(result, this.position(this.character(text.codePointAt(offset))));
+                        }
+                        return result;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return this.position(this.characters(node));
+    }
+
+    @NotNull
+    private Fragment buildQuantified(@NotNull RegexNode.Quantified quantified) {
+        final RegexNode atom = quantified.getAtom();
+        final int min        = quantified.getMin();
+        final int max        = quantified.getMax();
+        if (quantified.isPossessive()) {
+            return this.opaque(atom, 0 == min || isNullable(atom));
+        }
+        if (0 == max) {
+            return new Fragment();
+        }
+
+        /* bounded repetitions are unrolled, the large ones are modelled as unbounded */
+        final boolean unbounded = -1 == max || max > unrollLimit;
+        Fragment result         = new Fragment();
+        final int required      = unbounded ? Math.max(0, Math.min(min, unrollLimit) - 1) : min;
+        for (int copy = 0; copy < required; ++copy) {
+            result = this.concatenate(result, this.build(atom));
+        }
+        if (unbounded) {
+            final Fragment loop = this.build(atom);
+            for (int state = loop.last.nextSetBit(0); state >= 0; state = loop.last.nextSetBit(state + 1)) {
+                this.connect(state, loop.first);
+            }
+            loop.nullable |= 0 == min;
+            return this.concatenate(result, loop);
+        }
+        for (int copy = required; copy < max; ++copy) {
+            final Fragment optional = this.build(atom);
+            optional.nullable       = true;
+            result                  = this.concatenate(result, optional);
+        }
+        return result;
+    }
+
+    @NotNull
+    private Fragment concatenate(@NotNull Fragment left, @NotNull Fragment right) {
+        for (int state = left.last.nextSetBit(0); state >= 0; state = left.last.nextSetBit(state + 1)) {
+            this.connect(state, right.first);
+        }
+
+        final Fragment result = new Fragment();
+        result.nullable       = left.nullable && right.nullable;
+        result.first.or(left.first);
+        if (left.nullable) {
+            result.first.or(right.first);
+        }
+        result.last.or(right.last);
+        if (right.nullable) {
+            result.last.or(left.last);
+        }
+        return result;
+    }
+
+    private void connect(int state, @NotNull BitSet targets) {
+        final BitSet follow = this.follow.get(state);
+        for (int target = targets.nextSetBit(0); target >= 0; target = targets.nextSetBit(target + 1)) {
+            if (follow.get(target)) {
+                this.duplicates.add(new int[]{state, target});
+            }
+        }
+        follow.or(targets);
+    }
+
+    @NotNull
+    private Fragment position(@NotNull BitSet characters) {
+        if (this.characters.size() > positionsLimit) {
+            throw new GiveUp();
+        }
+
+        final int state = this.characters.size();
+        this.characters.add(characters);
+        this.follow.add(new BitSet());
+
+        final Fragment result = new Fragment();
+        result.nullable       = false;
+        result.first.set(state);
+        result.last.set(state);
+        return result;
+    }
+
+    /* no backtracking into atomic groups and possessive quantifiers: a single position consuming any of its characters */
+    /* case-insensitivity after applying the inline options group, e.g. '(?i)', '(?x-i:...)', '(?^:...)' */
+    private boolean applyOptions(@NotNull RegexNode.Group group) {
+        final String text = group.getText();
+        boolean result    = this.ignoreCase;
+        boolean enabling  = true;
+        for (int offset = 2; offset < text.length(); ++offset) {
+            final char current = text.charAt(offset);
+            if (current == ':' || current == ')') {
+                break;
+            } else if (current == '-') {
+                enabling = false;
+            } else if (current == '^') {
+                result = false;
+            } else if (current == 'i') {
+                result = enabling;
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private Fragment opaque(@NotNull RegexNode node, boolean nullable) {
+        final BitSet union = new BitSet();
+        this.collectCharacters(node, union);
+
+        final Fragment result = this.position(union);
+        result.nullable       = nullable;
+        return result;
+    }
+
+    private void collectCharacters(@NotNull RegexNode node, @NotNull BitSet union) {
+        if (node instanceof RegexNode.Sequence || node instanceof RegexNode.Alternation || node instanceof RegexNode.Group || node instanceof RegexNode.Quantified) {
+            if (node instanceof RegexNode.Group && null == ((RegexNode.Group) node).getBody()) {
+                return;
+            }
+            for (final RegexNode child : node.getChildren()) {
+                this.collectCharacters(child, union);
+            }
+        } else if (!(node instanceof RegexNode.Anchor)) {
+            union.or(this.characters(node));
+        }
+    }
+
+    private static boolean isNullable(@NotNull RegexNode node) {
+        if (node instanceof RegexNode.Sequence) {
+            for (final RegexNode item : ((RegexNode.Sequence) node).getItems()) {
+                if (!isNullable(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (node instanceof RegexNode.Alternation) {
+            for (final RegexNode branch : ((RegexNode.Alternation) node).getBranches()) {
+                if (isNullable(branch)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (node instanceof RegexNode.Group) {
+            final RegexNode body = ((RegexNode.Group) node).getBody();
+            return null == body || isNullable(body);
+        }
+        if (node instanceof RegexNode.Quantified) {
+            return 0 == ((RegexNode.Quantified) node).getMin() || isNullable(((RegexNode.Quantified) node).getAtom());
+        }
+        if (node instanceof RegexNode.Escape) {
+            final RegexNode.Escape.Kind kind = ((RegexNode.Escape) node).getKind();
+            return kind == RegexNode.Escape.Kind.ASSERTION || kind == RegexNode.Escape.Kind.BACK_REFERENCE;
+        }
+        return node instanceof RegexNode.Anchor;
+    }
+
+    /* ======================================== characters modelling ======================================== */
+
+    @NotNull
+    private BitSet characters(@NotNull RegexNode node) {
+        final BitSet result = new BitSet();
+        if (node instanceof RegexNode.Literal) {
+            result.or(this.character(((RegexNode.Literal) node).getCodePoint()));
+        } else if (node instanceof RegexNode.Dot) {
+            result.set(0, other + 1);
+            if (!this.dotAll) {
+                result.clear('\n');
+            }
+        } else if (node instanceof RegexNode.CharacterClass) {
+            final RegexNode.CharacterClass set = (RegexNode.CharacterClass) node;
+            for (final RegexNode item : set.getItems()) {
+                result.or(this.characters(item));
+            }
+            if (set.isNegated()) {
+                result.flip(0, other + 1);
+            }
+        } else if (node instanceof RegexNode.Range) {
+            final RegexNode.Range range = (RegexNode.Range) node;
+            final int from              = codePoint(range.getFrom());
+            final int to                = codePoint(range.getTo());
+            if (from < 0 || to < 0) {
+                result.set(0, other + 1);
+            } else {
+                for (int character = from; character <= Math.min(to, other - 1); ++character) {
+                    result.or(this.character(character));
+                }
+                if (to >= other) {
+                    result.set(other);
+                }
+            }
+        } else if (node instanceof RegexNode.PosixClass) {
+            final RegexNode.PosixClass posix = (RegexNode.PosixClass) node;
+            result.or(posixClass(posix.getName()));
+            if (posix.isNegated()) {
+                result.flip(0, other + 1);
+            }
+        } else if (node instanceof RegexNode.Escape) {
+            final RegexNode.Escape escape = (RegexNode.Escape) node;
+            if (escape.getKind() == RegexNode.Escape.Kind.SHORTHAND) {
+                final char letter = escape.getLetter();
+                result.or(shorthand(Character.toLowerCase(letter)));
+                if (Character.isUpperCase(letter) && letter != 'R' && letter != 'N') {
+                    result.flip(0, other + 1);
+                    result.set(other);
+                }
+            } else {
+                final int character = codePoint(escape);
+                if (character < 0) {
+                    result.set(0, other + 1);
+                } else {
+                    result.or(this.character(character));
+                }
+            }
+        } else {
+            result.set(0, other + 1);
+        }
+        return result;
+    }
+
+    @NotNull
+    private BitSet character(int codePoint) {
+        final BitSet result = new BitSet();
+        if (codePoint >= other) {
+            result.set(other);
+        } else {
+            result.set(codePoint);
+            if (this.ignoreCase && Character.isLetter(codePoint)) {
+                result.set(Character.toLowerCase(codePoint));
+                result.set(Character.toUpperCase(codePoint));
+            }
+        }
+        return result;
+    }
+
+    /* -1 when the character is not known (or it's not a single character) */
+    private static int codePoint(@NotNull RegexNode node) {
+        if (node instanceof RegexNode.Literal) {
+            return ((RegexNode.Literal) node).getCodePoint();
+        }
+        if (node instanceof RegexNode.Escape) {
+            final RegexNode.Escape escape = (RegexNode.Escape) node;
+            final String text             = escape.getText();
+            switch (escape.getKind()) {
+                case ESCAPED_LITERAL:
+                    return escape.getLetter() == 'Q' ? -1 : escape.getLetter();
+                case CHARACTER:
+                    switch (escape.getLetter()) {
+                        case 'n': return '\n';
+                        case 'r': return '\r';
+                        case 't': return '\t';
+                        case 'f': return '\f';
+                        case 'e': return 27;
+                        case 'a': return 7;
+                        case 'b': return 8;
+                        case 'x':
+                            final String hex = text.substring(2).replace("{", "").replace("}", "");
+                            try {
+                                return hex.isEmpty() ? 0 : Integer.parseInt(hex, 16);
+                            } catch (NumberFormatException malformed) {
+                                return -1;
+                            }
+                        default:
+                            if (Character.isDigit(escape.getLetter())) {
+                                try {
+                                    return Integer.parseInt(text.substring(1), 8);
+                                } catch (NumberFormatException malformed) {
+                                    return -1;
+                                }
+                            }
+                            return -1;
+                    }
+                default:
+                    return -1;
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private static BitSet shorthand(char letter) {
+        final BitSet result = new BitSet();
+        switch (letter) {
+            case 'd':
+                result.set('0', '9' + 1);
+                break;
+            case 'w':
+                result.set('0', '9' + 1);
+                result.set('a', 'z' + 1);
+                result.set('A', 'Z' + 1);
+                result.set('_');
+                result.set(other);
+                break;
+            case 's':
+                result.set('\t', '\r' + 1);
+                result.set(' ');
+                break;
+            case 'h':
+                result.set('\t');
+                result.set(' ');
+                break;
+            case 'v':
+            case 'r':
+                result.set('\n', '\r' + 1);
+                break;
+            default:
+                /* \N: anything but new line */
+                result.set(0, other + 1);
+                result.clear('\n');
+                break;
+        }
+        return result;
+    }
+
+    @NotNull
+    private static BitSet posixClass(@NotNull String name) {
+        final BitSet result = new BitSet();
+        switch (name) {
+            case "digit":
+                result.set('0', '9' + 1);
+                break;
+            case "xdigit":
+                result.set('0', '9' + 1);
+                result.set('a', 'f' + 1);
+                result.set('A', 'F' + 1);
+                break;
+            case "lower":
+                result.set('a', 'z' + 1);
+                break;
+            case "upper":
+                result.set('A', 'Z' + 1);
+                break;
+            case "alpha":
+                result.set('a', 'z' + 1);
+                result.set('A', 'Z' + 1);
+                break;
+            case "alnum":
+                result.set('0', '9' + 1);
+                result.set('a', 'z' + 1);
+                result.set('A', 'Z' + 1);
+                break;
+            case "word":
+                result.or(shorthand('w'));
+                break;
+            case "space":
+                result.or(shorthand('s'));
+                break;
+            case "blank":
+                result.or(shorthand('h'));
+                break;
+            default:
+                result.set(0, other + 1);
+                break;
+        }
+        return result;
+    }
+
+    /* ======================================== ambiguity detection ======================================== */
+
+    private void step() {
+        if (++this.steps > stepsBudget) {
+            throw new GiveUp();
+        }
+    }
+
+    /*
+     * exponential: a duplicated transition p -> q on a cycle, or a strongly connected component
+     * of the pairs graph containing both (q, q) and (p1, p2), p1 != p2
+     */
+    @Nullable
+    private Finding findExponential() {
+        for (final int[] transition : this.duplicates) {
+            final int from = transition[0];
+            final int to   = transition[1];
+            if (this.finals.get(to) || this.characters.get(to).isEmpty()) {
+                continue;
+            }
+            final String loop = this.shortestWord(to, from);
+            if (null != loop) {
+                final String prefix = this.shortestWord(0, to);
+                if (null != prefix) {
+                    return new Finding(true, prefix, loop + new String(Character.toChars(this.pick(this.characters.get(to)))));
+                }
+            }
+        }
+
+        final int size = this.characters.size();
+
+        /* pairs graph reachable from (0, 0), nodes encoded as first * size + second */
+        final Map<Integer, List<Integer>> edges = new HashMap<>();
+        final Deque<Integer> queue              = new ArrayDeque<>();
+        queue.add(0);
+        edges.put(0, null);
+        while (!queue.isEmpty()) {
+            final int pair                 = queue.poll();
+            final List<Integer> successors = this.pairSuccessors(pair / size, pair % size);
+            edges.put(pair, successors);
+            for (final int successor : successors) {
+                if (!edges.containsKey(successor)) {
+                    edges.put(successor, null);
+                    queue.add(successor);
+                }
+            }
+        }
+
+        for (final Set<Integer> component : this.components(edges)) {
+            Integer diagonal    = null;
+            boolean offDiagonal = false;
+            for (final int pair : component) {
+                final int first  = pair / size;
+                final int second = pair % size;
+                if (first == second) {
+                    /* the match must be able to fail after the loop, otherwise it succeeds without backtracking */
+                    if (null == diagonal && !this.finals.get(first)) {
+                        diagonal = pair;
+                    }
+                } else {
+                    offDiagonal = true;
+                }
+            }
+            if (null != diagonal && offDiagonal) {
+                final int state     = diagonal / size;
+                final String prefix = this.shortestWord(0, state);
+                final String pump   = this.pairsLoop(diagonal, component, edges, size);
+                if (null != prefix && null != pump) {
+                    return new Finding(true, prefix, pump);
+                }
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private List<Integer> pairSuccessors(int first, int second) {
+        final List<Integer> successors = new ArrayList<>();
+        final int size                 = this.characters.size();
+        final BitSet firstFollow       = this.follow.get(first);
+        final BitSet secondFollow      = this.follow.get(second);
+        for (int left = firstFollow.nextSetBit(0); left >= 0; left = firstFollow.nextSetBit(left + 1)) {
+            for (int right = secondFollow.nextSetBit(0); right >= 0; right = secondFollow.nextSetBit(right + 1)) {
+                this.step();
+                if (this.characters.get(left).intersects(this.characters.get(right))) {
+                    successors.add(left * size + right);
+                }
+            }
+        }
+        return successors;
+    }
+
+    /* Tarjan's algorithm, iterative to not overflow the stack on large graphs */
+    @NotNull
+    private List<Set<Integer>> components(@NotNull Map<Integer, List<Integer>> edges) {
+        final List<Set<Integer>> components = new ArrayList<>();
+        final Map<Integer, Integer> index   = new HashMap<>();
+        final Map<Integer, Integer> low     = new HashMap<>();
+        final Deque<Integer> stack          = new ArrayDeque<>();
+        final Set<Integer> onStack          = new HashSet<>();
+        final Deque<int[]> calls            = new ArrayDeque<>();
+
+        for (final int root : edges.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+            calls.push(new int[]{root, 0});
+            while (!calls.isEmpty()) {
+                final int[] call = calls.peek();
+                final int node   = call[0];
+                if (0 == call[1]) {
+                    index.put(node, index.size());
+                    low.put(node, index.get(node));
+                    stack.push(node);
+                    onStack.add(node);
+                }
+
+                final List<Integer> successors = edges.get(node);
+                if (call[1] < successors.size()) {
+                    final int successor = successors.get(call[1]++);
+                    this.step();
+                    if (!index.containsKey(successor)) {
+                        calls.push(new int[]{successor, 0});
+                    } else if (onStack.contains(successor)) {
+                        low.put(node, Math.min(low.get(node), index.get(successor)));
+                    }
+                    continue;
+                }
+
+                calls.pop();
+                if (!calls.isEmpty()) {
+                    final int parent = calls.peek()[0];
+                    low.put(parent, Math.min(low.get(parent), low.get(node)));
+                }
+                if (low.get(node).equals(index.get(node))) {
+                    final Set<Integer> component = new HashSet<>();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (member != node);
+                    if (component.size() > 1) {
+                        components.add(component);
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    /* a word leading from (q, q) through a pair of different states back to (q, q) */
+    @Nullable
+    private String pairsLoop(int diagonal, @NotNull Set<Integer> component, @NotNull Map<Integer, List<Integer>> edges, int size) {
+        /* breadth-first search to the nearest off-diagonal pair, then back to the diagonal one */
+        final Map<Integer, Integer> parents = new HashMap<>();
+        final Deque<Integer> queue          = new ArrayDeque<>();
+        queue.add(diagonal);
+        parents.put(diagonal, -1);
+        Integer split = null;
+        while (!queue.isEmpty() && null == split) {
+            final int pair = queue.poll();
+            for (final int successor : edges.get(pair)) {
+                if (component.contains(successor) && !parents.containsKey(successor)) {
+                    parents.put(successor, pair);
+                    if (successor / size != successor % size) {
+                        split = successor;
+                        break;
+                    }
+                    queue.add(successor);
+                }
+            }
+        }
+        if (null == split) {
+            return null;
+        }
+
+        final StringBuilder word = new StringBuilder();
+        final Deque<Integer> path = new ArrayDeque<>();
+        for (int pair = split; pair != diagonal; pair = parents.get(pair)) {
+            path.push(pair);
+        }
+        for (final int pair : path) {
+            word.appendCodePoint(this.pick(this.pairCharacters(pair, size)));
+        }
+
+        final Map<Integer, Integer> returns = new HashMap<>();
+        queue.clear();
+        queue.add(split);
+        returns.put(split, -1);
+        while (!queue.isEmpty() && !returns.containsKey(diagonal)) {
+            final int pair = queue.poll();
+            for (final int successor : edges.get(pair)) {
+                if (component.contains(successor) && !returns.containsKey(successor)) {
+                    returns.put(successor, pair);
+                    queue.add(successor);
+                }
+            }
+        }
+        if (!returns.containsKey(diagonal)) {
+            return null;
+        }
+        path.clear();
+        for (int pair = diagonal; pair != split; pair = returns.get(pair)) {
+            path.push(pair);
+        }
+        for (final int pair : path) {
+            word.appendCodePoint(this.pick(this.pairCharacters(pair, size)));
+        }
+        return word.toString();
+    }
+
+    @NotNull
+    private BitSet pairCharacters(int pair, int size) {
+        final BitSet result = (BitSet) this.characters.get(pair / size).clone();
+        result.and(this.characters.get(pair % size));
+        return result;
+    }
+
+    /* polynomial: states p != q, with a word w such as p -w-> p, p -w-> q and q -w-> q */
+    @Nullable
+    private Finding findPolynomial() {
+        final int size = this.characters.size();
+        for (int from = 1; from < size; ++from) {
+            for (int to = 1; to < size; ++to) {
+                if (from == to || this.finals.get(to) || !this.isLooping(from) || !this.isLooping(to) || !this.isReachable(from, to)) {
+                    continue;
+                }
+                final String pump = this.triplesPath(from, to, size);
+                if (null != pump) {
+                    final String prefix = this.shortestWord(0, from);
+                    if (null != prefix) {
+                        return new Finding(false, prefix, pump);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isLooping(int state) {
+        return this.isReachable(state, state);
+    }
+
+    /* non-empty path between states */
+    private boolean isReachable(int from, int to) {
+        final BitSet visited = new BitSet();
+        final Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            final BitSet successors = this.follow.get(queue.poll());
+            for (int state = successors.nextSetBit(0); state >= 0; state = successors.nextSetBit(state + 1)) {
+                this.step();
+                if (state == to) {
+                    return true;
+                }
+                if (!visited.get(state)) {
+                    visited.set(state);
+                    queue.add(state);
+                }
+            }
+        }
+        return false;
+    }
+
+    /* breadth-first search in the triples graph from (p, p, q) to (p, q, q) */
+    @Nullable
+    private String triplesPath(int from, int to, int size) {
+        final long start  = encode(from, from, to, size);
+        final long target = encode(from, to, to, size);
+
+        final Map<Long, Long> parents = new HashMap<>();
+        final Deque<Long> queue       = new ArrayDeque<>();
+        parents.put(start, -1L);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            final long triple = queue.poll();
+            final int first   = (int) (triple / size / size);
+            final int second  = (int) (triple / size % size);
+            final int third   = (int) (triple % size);
+
+            final BitSet firstFollow  = this.follow.get(first);
+            final BitSet secondFollow = this.follow.get(second);
+            final BitSet thirdFollow  = this.follow.get(third);
+            for (int a = firstFollow.nextSetBit(0); a >= 0; a = firstFollow.nextSetBit(a + 1)) {
+                for (int b = secondFollow.nextSetBit(0); b >= 0; b = secondFollow.nextSetBit(b + 1)) {
+                    if (!this.characters.get(a).intersects(this.characters.get(b))) {
+                        continue;
+                    }
+                    for (int c = thirdFollow.nextSetBit(0); c >= 0; c = thirdFollow.nextSetBit(c + 1)) {
+                        this.step();
+                        final long successor = encode(a, b, c, size);
+                        if (parents.containsKey(successor) || this.tripleCharacters(successor, size).isEmpty()) {
+                            continue;
+                        }
+                        parents.put(successor, triple);
+                        if (successor == target) {
+                            final Deque<Long> path = new ArrayDeque<>();
+                            for (long node = target; node != start; node = parents.get(node)) {
+                                path.push(node);
+                            }
+                            final StringBuilder word = new StringBuilder();
+                            for (final long node : path) {
+                                word.appendCodePoint(this.pick(this.tripleCharacters(node, size)));
+                            }
+                            return word.toString();
+                        }
+                        queue.add(successor);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long encode(int first, int second, int third, int size) {
+        return ((long) first * size + second) * size + third;
+    }
+
+    @NotNull
+    private BitSet tripleCharacters(long triple, int size) {
+        final BitSet result = (BitSet) this.characters.get((int) (triple / size / size)).clone();
+        result.and(this.characters.get((int) (triple / size % size)));
+        result.and(this.characters.get((int) (triple % size)));
+        return result;
+    }
+
+    /* the shortest word leading from one state to another (empty when they are the same) */
+    @Nullable
+    private String shortestWord(int from, int to) {
+        if (from == to) {
+            return "";
+        }
+
+        final Map<Integer, Integer> parents = new HashMap<>();
+        final Deque<Integer> queue          = new ArrayDeque<>();
+        parents.put(from, -1);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            final int state         = queue.poll();
+            final BitSet successors = this.follow.get(state);
+            for (int next = successors.nextSetBit(0); next >= 0; next = successors.nextSetBit(next + 1)) {
+                this.step();
+                if (parents.containsKey(next) || this.characters.get(next).isEmpty()) {
+                    continue;
+                }
+                parents.put(next, state);
+                if (next == to) {
+                    final Deque<Integer> path = new ArrayDeque<>();
+                    for (int node = to; node != from; node = parents.get(node)) {
+                        path.push(node);
+                    }
+                    final StringBuilder word = new StringBuilder();
+                    for (final int node : path) {
+                        word.appendCodePoint(this.pick(this.characters.get(node)));
+                    }
+                    return word.toString();
+                }
+                queue.add(next);
+            }
+        }
+        return null;
+    }
+
+    /* readable representative of the characters set: lower-case letters and digits first */
+    private int pick(@NotNull BitSet characters) {
+        for (final int[] range : new int[][]{{'a', 'z'}, {'0', '9'}, {'A', 'Z'}, {' ', '~'}}) {
+            final int candidate = characters.nextSetBit(range[0]);
+            if (candidate >= 0 && candidate <= range[1]) {
+                return candidate;
+            }
+        }
+        final int any = characters.nextSetBit(0);
+        return any == other ? 'é' : any;
+    }
+}
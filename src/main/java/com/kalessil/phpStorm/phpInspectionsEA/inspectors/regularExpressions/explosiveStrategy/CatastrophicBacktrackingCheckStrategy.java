@@ -0,0 +1,58 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class CatastrophicBacktrackingCheckStrategy {
+    private static final String messageExponential = "%a% takes exponential time to fail (ReDoS, Regular Expression Denial of Service).";
+    private static final String messagePolynomial  = "%a% takes polynomial time to fail (ReDoS, Regular Expression Denial of Service).";
+
+    private static final int maxShownLength = 20;
+
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        final BacktrackingAnalyzer.Finding finding = BacktrackingAnalyzer.analyze(regex);
+        if (null != finding) {
+            String attack = "Repeated '" + escape(finding.getPump()) + "' followed by a mismatch";
+            if (!finding.getPrefix().isEmpty()) {
+                attack = "'" + escape(finding.getPrefix()) + "' followed by repeated '" + escape(finding.getPump()) + "' and a mismatch";
+            }
+
+            if (finding.isExponential()) {
+                holder.registerProblem(target, messageExponential.replace("%a%", attack), ProblemHighlightType.GENERIC_ERROR);
+            } else {
+                holder.registerProblem(target, messagePolynomial.replace("%a%", attack), ProblemHighlightType.WEAK_WARNING);
+            }
+        }
+    }
+
+    @NotNull
+    private static String escape(@NotNull String input) {
+        final StringBuilder result = new StringBuilder();
+        for (final char character : input.toCharArray()) {
+            if (result.length() >= maxShownLength) {
+                result.append("...");
+                break;
+            }
+            if (character == '\'' || character == '\\') {
+                result.append('\\').append(character);
+            } else if (character < ' ' || character == 127) {
+                result.append(String.format("\\x%02X", (int) character));
+            } else {
+                result.append(character);
+            }
+        }
+        return result.toString();
+    }
+}
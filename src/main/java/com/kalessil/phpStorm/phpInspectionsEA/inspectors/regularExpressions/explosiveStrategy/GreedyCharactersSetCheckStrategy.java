@@ -2,40 +2,39 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.exp
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class GreedyCharactersSetCheckStrategy {
     private static final String messagePattern = "[%e%] is 'greedy'. Please remove %c% as it's a subset of %p%.";
 
-    final static private Pattern regexGreedyCharacterSet;
-    static {
-        // Original regex: \[([^\[\]]+)\]
-        regexGreedyCharacterSet = Pattern.compile("\\[([^\\[\\]]+)\\]");
-    }
-
-    static public void apply(final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(pattern) && pattern.indexOf('[') >= 0) {
-            final Matcher regexMatcher = regexGreedyCharacterSet.matcher(pattern);
-            while (regexMatcher.find()) {
-                final String set = regexMatcher.group(1);
-                String message   = null;
-
-                if (set.contains("\\w") && set.contains("\\d")) {
-                   message = messagePattern.replace("%e%", set).replace("%c%", "\\d").replace("%p%", "\\w");
-                }
-                if (null == message && set.contains("\\W") && set.contains("\\D")) {
-                   message = messagePattern.replace("%e%", set).replace("%c%", "\\D").replace("%p%", "\\W");
+    static public boolean apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        boolean reported = false;
+        for (final RegexNode.CharacterClass set : regex.find(RegexNode.CharacterClass.class)) {
+            /* collect shorthand classes used in the set */
+            final StringBuilder shorthands = new StringBuilder();
+            for (final RegexNode item : set.getItems()) {
+                if (item instanceof RegexNode.Escape && ((RegexNode.Escape) item).getKind() == RegexNode.Escape.Kind.SHORTHAND) {
+                    shorthands.append(((RegexNode.Escape) item).getLetter());
                 }
+            }
 
-                if (null != message) {
-                    holder.registerProblem(target, message, ProblemHighlightType.GENERIC_ERROR);
-                }
+            String message = null;
+            if (shorthands.indexOf("w") != -1 && shorthands.indexOf("d") != -1) {
+                message = messagePattern.replace("%e%", set.getContents()).replace("%c%", "\\d").replace("%p%", "\\w");
+            }
+            if (null == message && shorthands.indexOf("W") != -1 && shorthands.indexOf("D") != -1) {
+                message = messagePattern.replace("%e%", set.getContents()).replace("%c%", "\\D").replace("%p%", "\\W");
+            }
+
+            if (null != message) {
+                holder.registerProblem(target, message, ProblemHighlightType.GENERIC_ERROR);
+                reported = true;
             }
         }
+
+        return reported;
     }
 }
@@ -2,20 +2,18 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
 import org.jetbrains.annotations.NotNull;
 
 public class AllowedModifierCheckStrategy {
     private static final String strProblemDescription = "Unknown modifier '%m%'.";
 
-    static public void apply(final String modifiers, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(modifiers)) {
-            for (char modifier : modifiers.toCharArray()) {
-                if (-1 == "eimsuxADJSUX".indexOf(modifier)) {
-                    String strError = strProblemDescription.replace("%m%", String.valueOf(modifier));
-                    holder.registerProblem(target, strError, ProblemHighlightType.GENERIC_ERROR);
-                }
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        for (char modifier : regex.getModifiers().toCharArray()) {
+            if (-1 == "eimsuxADJSUX".indexOf(modifier)) {
+                String strError = strProblemDescription.replace("%m%", String.valueOf(modifier));
+                holder.registerProblem(target, strError, ProblemHighlightType.GENERIC_ERROR);
             }
         }
     }
@@ -2,15 +2,15 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
 import org.jetbrains.annotations.NotNull;
 
 public class DeprecatedModifiersCheckStrategy {
     private static final String strProblemDescription = "'e' modifier is deprecated, please use 'preg_replace_callback()' instead.";
 
-    static public void apply(final String modifiers, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(modifiers) && modifiers.indexOf('e') >= 0) {
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (regex.hasModifier('e')) {
             holder.registerProblem(target, strProblemDescription, ProblemHighlightType.GENERIC_ERROR);
         }
     }
@@ -2,30 +2,40 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 public class MissingDotAllCheckStrategy {
     private static final String strProblemDescription = "/s modifier is probably missing (nested tags are not recognized).";
 
-    final static private Pattern regexTagContentPattern;
-    static {
-        regexTagContentPattern = Pattern.compile(".*>\\.(\\*|\\+)\\?<.*");
-    }
-
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (
-            (StringUtils.isEmpty(modifiers) || modifiers.indexOf('s') == -1) &&
-            !StringUtils.isEmpty(pattern) && pattern.indexOf('?') != -1
-        ) {
-            Matcher regexMatcher = regexTagContentPattern.matcher(pattern);
-            if (regexMatcher.matches()) {
-                holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (!regex.hasModifier('s')) {
+            /* looking for '>.*?<' and '>.+?<' */
+            for (final RegexNode.Sequence sequence : regex.find(RegexNode.Sequence.class)) {
+                final List<RegexNode> items = sequence.getItems();
+                for (int index = 1; index + 1 < items.size(); ++index) {
+                    final RegexNode candidate = items.get(index);
+                    if (
+                        candidate instanceof RegexNode.Quantified && isLazyAnything((RegexNode.Quantified) candidate) &&
+                        isCharacter(items.get(index - 1), '>') && isCharacter(items.get(index + 1), '<')
+                    ) {
+                        holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
+                        return;
+                    }
+                }
             }
         }
     }
+
+    private static boolean isLazyAnything(@NotNull RegexNode.Quantified node) {
+        return node.isLazy() && node.getAtom() instanceof RegexNode.Dot && -1 == node.getMax();
+    }
+
+    private static boolean isCharacter(@NotNull RegexNode node, char character) {
+        return node instanceof RegexNode.Literal && ((RegexNode.Literal) node).getCodePoint() == character;
+    }
 }
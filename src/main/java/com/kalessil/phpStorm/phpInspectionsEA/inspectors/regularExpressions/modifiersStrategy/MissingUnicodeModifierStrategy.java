@@ -2,12 +2,10 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-
-import java.util.regex.Pattern;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -22,28 +20,22 @@ final public class MissingUnicodeModifierStrategy {
     private static final String messageCharacters = "/u modifier is missing (unicode characters found).";
     private static final String messageCodepoints = "/u modifier is missing (unicode codepoints found).";
 
-    final static private Pattern unicodeCharactersPattern;
-    final static private Pattern unicodeCodepointsPattern;
-    static {
-        // Original regex: .*[^\u0000-\u007F]+.*
-        unicodeCharactersPattern = Pattern.compile(".*[^\\u0000-\\u007F]+.*");
-        // Original regex: .*\\[pPX].*
-        unicodeCodepointsPattern = Pattern.compile(".*\\\\[pPX].*");
-    }
-
     static public void apply(
-            @Nullable String modifiers,
-            @Nullable String pattern,
-            @NotNull  StringLiteralExpression target,
-            @NotNull  ProblemsHolder holder
+            @NotNull ParsedRegex regex,
+            @NotNull StringLiteralExpression target,
+            @NotNull ProblemsHolder holder
     ) {
-        if ((modifiers == null || modifiers.indexOf('u') == -1) && !StringUtils.isEmpty(pattern)) {
-            if (unicodeCharactersPattern.matcher(pattern).matches()) {
-                holder.registerProblem(target, messageCharacters, ProblemHighlightType.GENERIC_ERROR);
-            } else {
-                final String normalized = StringUtils.replace(pattern, "\\\\", "");
-                if (unicodeCodepointsPattern.matcher(normalized).matches()) {
+        if (!regex.hasModifier('u')) {
+            for (final RegexNode.Literal literal : regex.find(RegexNode.Literal.class)) {
+                if (literal.getCodePoint() > 0x7F) {
+                    holder.registerProblem(target, messageCharacters, ProblemHighlightType.GENERIC_ERROR);
+                    return;
+                }
+            }
+            for (final RegexNode.Escape escape : regex.find(RegexNode.Escape.class)) {
+                if (escape.getKind() == RegexNode.Escape.Kind.UNICODE) {
                     holder.registerProblem(target, messageCodepoints, ProblemHighlightType.GENERIC_ERROR);
+                    return;
                 }
             }
         }
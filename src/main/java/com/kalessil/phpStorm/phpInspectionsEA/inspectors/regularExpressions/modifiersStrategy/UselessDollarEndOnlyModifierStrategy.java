@@ -2,26 +2,28 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
 public class UselessDollarEndOnlyModifierStrategy {
     private static final String strProblemDescription = "'D' modifier is ambiguous here (no $ in given pattern).";
     private static final String strProblemIgnored     = "'D' modifier will be ignored because of 'm'.";
 
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(modifiers) && !StringUtils.isEmpty(pattern) && modifiers.indexOf('D') >= 0) {
-            if (modifiers.indexOf('m') >= 0) {
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (regex.hasModifier('D') && !regex.getPattern().isEmpty()) {
+            if (regex.hasModifier('m')) {
                 holder.registerProblem(target, strProblemIgnored, ProblemHighlightType.WEAK_WARNING);
                 return;
             }
 
-            int countEnds = StringUtils.countMatches(pattern, "$") - StringUtils.countMatches(pattern, "\\$");
-            if (0 == countEnds) {
-                holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
+            for (final RegexNode.Anchor anchor : regex.find(RegexNode.Anchor.class)) {
+                if (!anchor.isStart()) {
+                    return;
+                }
             }
+            holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
         }
     }
 }
@@ -2,18 +2,62 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class UselessIgnoreCaseModifierCheckStrategy {
     private static final String message = "'i' modifier is ambiguous here (no alphabet characters in given pattern).";
 
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(modifiers) && !StringUtils.isEmpty(pattern)) {
-            if (-1 != modifiers.indexOf('i') && !pattern.matches(".*\\p{L}.*")) {
-                holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+    private static final Set<String> caseInsensitivePosixClasses = new HashSet<>();
+    static {
+        caseInsensitivePosixClasses.add("digit");
+        caseInsensitivePosixClasses.add("space");
+        caseInsensitivePosixClasses.add("blank");
+        caseInsensitivePosixClasses.add("punct");
+        caseInsensitivePosixClasses.add("cntrl");
+    }
+
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (regex.hasModifier('i') && !regex.getPattern().isEmpty() && !isCaseSensitive(regex)) {
+            holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+        }
+    }
+
+    /* shorthand classes and assertions are not affected by the modifier, everything else is checked conservatively */
+    private static boolean isCaseSensitive(@NotNull ParsedRegex regex) {
+        for (final RegexNode.Literal literal : regex.find(RegexNode.Literal.class)) {
+            if (Character.isLetter(literal.getCodePoint())) {
+                return true;
+            }
+        }
+        for (final RegexNode.Range range : regex.find(RegexNode.Range.class)) {
+            if (!(range.getFrom() instanceof RegexNode.Literal) || !(range.getTo() instanceof RegexNode.Literal)) {
+                return true;
+            }
+            final int from = ((RegexNode.Literal) range.getFrom()).getCodePoint();
+            final int to   = ((RegexNode.Literal) range.getTo()).getCodePoint();
+            if (to > 0x7F || (from <= 'Z' && to >= 'A') || (from <= 'z' && to >= 'a')) {
+                return true;
+            }
+        }
+        for (final RegexNode.Escape escape : regex.find(RegexNode.Escape.class)) {
+            final RegexNode.Escape.Kind kind = escape.getKind();
+            if (kind != RegexNode.Escape.Kind.SHORTHAND && kind != RegexNode.Escape.Kind.ASSERTION) {
+                if (kind != RegexNode.Escape.Kind.ESCAPED_LITERAL || Character.isLetter(escape.getLetter())) {
+                    return true;
+                }
+            }
+        }
+        for (final RegexNode.PosixClass posix : regex.find(RegexNode.PosixClass.class)) {
+            if (!caseInsensitivePosixClasses.contains(posix.getName())) {
+                return true;
             }
         }
+        return false;
     }
 }
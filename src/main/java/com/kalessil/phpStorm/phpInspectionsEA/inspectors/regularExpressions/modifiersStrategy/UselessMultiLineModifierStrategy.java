@@ -2,22 +2,28 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
 public class UselessMultiLineModifierStrategy {
     private static final String strProblemDescription = "'m' modifier is ambiguous here (no ^ or $ in given pattern).";
 
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(modifiers) && !StringUtils.isEmpty(pattern) && modifiers.indexOf('m') >= 0) {
-            int countBegins = StringUtils.countMatches(pattern, "^") - StringUtils.countMatches(pattern, "[^");
-            int countEnds   = StringUtils.countMatches(pattern, "$") - StringUtils.countMatches(pattern, "\\$");
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (regex.hasModifier('m') && !regex.getPattern().isEmpty()) {
+            int countBegins = 0;
+            int countEnds   = 0;
+            for (final RegexNode.Anchor anchor : regex.find(RegexNode.Anchor.class)) {
+                if (anchor.isStart()) {
+                    ++countBegins;
+                } else {
+                    ++countEnds;
+                }
+            }
             if (0 == countBegins || 0 == countEnds) {
                 holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
             }
         }
     }
 }
-
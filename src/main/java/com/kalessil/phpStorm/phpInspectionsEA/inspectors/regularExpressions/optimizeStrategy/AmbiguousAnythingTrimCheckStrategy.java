@@ -2,37 +2,49 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.opt
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 public class AmbiguousAnythingTrimCheckStrategy {
     private static final String strProblemLeading  = "Leading .* can be removed.";
     private static final String strProblemTrailing = "Trailing .* can be removed.";
 
     static public void apply(
             final String functionName, @NotNull final FunctionReference reference,
-            final String pattern,
+            @NotNull final ParsedRegex regex,
             @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder
     ) {
         if (
             2 == reference.getParameters().length &&
-            !StringUtils.isEmpty(pattern) &&
             !StringUtils.isEmpty(functionName) && functionName.startsWith("preg_match")
         ) {
-            int countBackRefs = StringUtils.countMatches(pattern, "\\0") - StringUtils.countMatches(pattern, "\\\\0");
-            if (countBackRefs > 0) {
-                return;
+            for (final RegexNode.Escape escape : regex.find(RegexNode.Escape.class)) {
+                if (escape.getKind() == RegexNode.Escape.Kind.BACK_REFERENCE) {
+                    return;
+                }
             }
 
-            if (pattern.startsWith(".*")) {
+            final List<RegexNode> items = regex.getItems();
+            if (!items.isEmpty() && isAnything(items.get(0))) {
                 holder.registerProblem(target, strProblemLeading, ProblemHighlightType.WEAK_WARNING);
             }
-            if (pattern.endsWith(".*")) {
+            if (!items.isEmpty() && isAnything(items.get(items.size() - 1))) {
                 holder.registerProblem(target, strProblemTrailing, ProblemHighlightType.WEAK_WARNING);
             }
         }
     }
+
+    private static boolean isAnything(@NotNull RegexNode node) {
+        if (node instanceof RegexNode.Quantified) {
+            final RegexNode.Quantified quantified = (RegexNode.Quantified) node;
+            return quantified.getAtom() instanceof RegexNode.Dot && 0 == quantified.getMin() && -1 == quantified.getMax();
+        }
+        return false;
+    }
 }
@@ -2,36 +2,42 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.opt
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 public class NonGreedyTransformCheckStrategy {
     private static final String strProblemDescription = "'%p%' can be replaced with '[^%c%]%m%%c%'.";
 
-    final static private Pattern regexNonGreedyPattern;
-    static {
-        regexNonGreedyPattern = Pattern.compile("\\.(\\*|\\+)\\?([^\\(\\)\\$\\\\]|\\\\.)");
-    }
-
     /**
      * TODO: $content = preg_replace('#<esi\:remove>.*?</esi\:remove>#s', '', $content);
      * nested tags are broken, reflect in message as risky, breaks e.g. nested tags
      */
-    static public void apply(final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(pattern) && pattern.indexOf('?') >= 0) {
-            Matcher regexMatcher = regexNonGreedyPattern.matcher(pattern);
-            if (regexMatcher.find()) {
-                String message = strProblemDescription
-                    .replace("%c%", regexMatcher.group(2))
-                    .replace("%m%", regexMatcher.group(1))
-                    .replace("%c%", regexMatcher.group(2))
-                    .replace("%p%", regexMatcher.group(0));
-                holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        for (final RegexNode.Sequence sequence : regex.find(RegexNode.Sequence.class)) {
+            final List<RegexNode> items = sequence.getItems();
+            for (int index = 0; index + 1 < items.size(); ++index) {
+                final RegexNode candidate = items.get(index);
+                final RegexNode next      = items.get(index + 1);
+                if (
+                    candidate instanceof RegexNode.Quantified && isLazyAnything((RegexNode.Quantified) candidate) &&
+                    (next instanceof RegexNode.Literal || next instanceof RegexNode.Escape)
+                ) {
+                    final String message = strProblemDescription
+                        .replace("%c%", next.getText())
+                        .replace("%m%", ((RegexNode.Quantified) candidate).getQuantifier())
+                        .replace("%p%", regex.getPattern().substring(candidate.getStart(), next.getEnd()));
+                    holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+                    return;
+                }
             }
         }
     }
+
+    private static boolean isLazyAnything(@NotNull RegexNode.Quantified node) {
+        return node.isLazy() && node.getAtom() instanceof RegexNode.Dot && -1 == node.getMax();
+    }
 }
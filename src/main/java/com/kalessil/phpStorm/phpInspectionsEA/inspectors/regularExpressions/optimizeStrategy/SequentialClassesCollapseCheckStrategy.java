@@ -2,30 +2,45 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.opt
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 public class SequentialClassesCollapseCheckStrategy {
     private static final String strProblemDescription = "'%p%' can be replaced with '%r%{...}'.";
 
-    final static private Pattern regexRepeatedClasses;
-    static {
-        regexRepeatedClasses = Pattern.compile("((\\[([^\\]]+)\\])(\\*|\\+|\\?|\\{[^\\}]+\\})?\\2(\\*|\\+|\\?|\\{[^\\}]+\\})?)+");
-    }
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        for (final RegexNode.Sequence sequence : regex.find(RegexNode.Sequence.class)) {
+            final List<RegexNode> items = sequence.getItems();
+            for (int index = 0; index + 1 < items.size(); ++index) {
+                final String set = getCharacterClass(items.get(index));
+                if (null == set || !set.equals(getCharacterClass(items.get(index + 1)))) {
+                    continue;
+                }
+
+                /* extend to all following repetitions of the same class */
+                int last = index + 1;
+                while (last + 1 < items.size() && set.equals(getCharacterClass(items.get(last + 1)))) {
+                    ++last;
+                }
 
-    static public void apply(final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(pattern) && pattern.indexOf('[') >= 0) {
-            Matcher regexMatcher = regexRepeatedClasses.matcher(pattern);
-            if (regexMatcher.find()) {
-                String strError = strProblemDescription
-                        .replace("%p%", regexMatcher.group(0))
-                        .replace("%r%", regexMatcher.group(2));
+                final String strError = strProblemDescription
+                        .replace("%p%", regex.getPattern().substring(items.get(index).getStart(), items.get(last).getEnd()))
+                        .replace("%r%", set);
                 holder.registerProblem(target, strError, ProblemHighlightType.WEAK_WARNING);
+                return;
             }
         }
     }
+
+    /* class text for '[...]' and '[...]<quantifier>' */
+    @Nullable
+    private static String getCharacterClass(@NotNull RegexNode node) {
+        final RegexNode atom = node instanceof RegexNode.Quantified ? ((RegexNode.Quantified) node).getAtom() : node;
+        return atom instanceof RegexNode.CharacterClass ? atom.getText() : null;
+    }
 }
@@ -0,0 +1,135 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * A PCRE pattern parsed once and shared between all strategies (and all files, as routers and validators
+ * are repeating the same patterns over and over). Instances are immutable, hence safe to cache.
+ */
+final public class ParsedRegex {
+    private static final int cacheLimit = 2048;
+    private static final Map<String, ParsedRegex> cache = new ConcurrentHashMap<>();
+
+    @NotNull private final String pattern;
+    @NotNull private final String modifiers;
+    @NotNull private final RegexNode root;
+    @NotNull private final Map<Class<? extends RegexNode>, List<RegexNode>> nodesByType = new HashMap<>();
+
+    private ParsedRegex(@NotNull String pattern, @NotNull String modifiers, @NotNull RegexNode root) {
+        this.pattern   = pattern;
+        this.modifiers = modifiers;
+        this.root      = root;
+
+        /* index nodes by type in pattern order, so queries are not walking the tree again */
+        final Deque<RegexNode> stack = new ArrayDeque<>();
+        stack.push(this.root);
+        while (!stack.isEmpty()) {
+            final RegexNode node = stack.pop();
+            this.nodesByType.computeIfAbsent(node.getClass(), type -> new ArrayList<>()).add(node);
+
+            final List<RegexNode> children = node.getChildren();
+            for (int index = children.size() - 1; index >= 0; --index) {
+                stack.push(children.get(index));
+            }
+        }
+    }
+
+    /**
+     * Splits a pattern literal into the pattern and modifiers: '/.../i' and '{...}i' delimiters are supported.
+     * Returns null if the literal is not looking like a delimited pattern or the pattern is not parseable.
+     */
+    @Nullable
+    public static ParsedRegex fromLiteral(@NotNull String literal) {
+        final int length = literal.length();
+        if (length < 2) {
+            return null;
+        }
+
+        final char opening = literal.charAt(0);
+        final char closing = opening == '{' ? '}' : opening;
+        for (int index = length - 1; index >= 1; --index) {
+            final char current = literal.charAt(index);
+            if (current == closing) {
+                return parse(literal.substring(1, index), literal.substring(index + 1));
+            }
+            if (!(current >= 'a' && current <= 'z') && !(current >= 'A' && current <= 'Z')) {
+                break;
+            }
+        }
+
+        return null;
+    }
+
+    /* null if the pattern is not parseable (groups nested too deep), such patterns are not cached */
+    @Nullable
+    public static ParsedRegex parse(@NotNull String pattern, @NotNull String modifiers) {
+        if (cache.size() >= cacheLimit) {
+            cache.clear();
+        }
+        /* modifiers are letters only, so the key is not ambiguous */
+        return cache.computeIfAbsent(modifiers + '/' + pattern, key -> {
+            final RegexNode root = RegexParser.parse(pattern, modifiers);
+            return null == root ? null : new ParsedRegex(pattern, modifiers, root);
+        });
+    }
+
+    @NotNull
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    @NotNull
+    public String getModifiers() {
+        return this.modifiers;
+    }
+
+    public boolean hasModifier(char modifier) {
+        return this.modifiers.indexOf(modifier) != -1;
+    }
+
+    @NotNull
+    public RegexNode getRoot() {
+        return this.root;
+    }
+
+    /* top-level atoms; an alternation on the top-level is returned as a single item */
+    @NotNull
+    public List<RegexNode> getItems() {
+        return this.root instanceof RegexNode.Sequence
+                ? ((RegexNode.Sequence) this.root).getItems()
+                : Collections.singletonList(this.root);
+    }
+
+    /* all nodes of the given type, in pattern order */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T extends RegexNode> List<T> find(@NotNull Class<T> type) {
+        final List<RegexNode> nodes = this.nodesByType.get(type);
+        return null == nodes ? Collections.emptyList() : (List<T>) Collections.unmodifiableList(nodes);
+    }
+
+    /* nodes of the given type located inside the given node (excluding the node itself), in pattern order */
+    @NotNull
+    public <T extends RegexNode> List<T> findInside(@NotNull RegexNode container, @NotNull Class<T> type) {
+        final List<T> result = new ArrayList<>();
+        for (final T node : this.find(type)) {
+            if (node != container && node.getStart() >= container.getStart() && node.getEnd() <= container.getEnd()) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+}
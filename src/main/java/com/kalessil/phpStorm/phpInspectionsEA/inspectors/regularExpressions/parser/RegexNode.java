@@ -0,0 +1,325 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * PCRE pattern AST node: nodes are immutable and keep offsets into the pattern they were parsed from,
+ * so strategies can report the original text (including escaping) without re-scanning the pattern.
+ */
+public abstract class RegexNode {
+    @NotNull final String source;
+    final int start;
+    final int end;
+
+    RegexNode(@NotNull String source, int start, int end) {
+        this.source = source;
+        this.start  = start;
+        this.end    = end;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    @NotNull
+    public String getText() {
+        return this.source.substring(this.start, this.end);
+    }
+
+    /* character following the node in the pattern, 0 when the node is the last one */
+    public char getNextCharacter() {
+        return this.end < this.source.length() ? this.source.charAt(this.end) : 0;
+    }
+
+    @NotNull
+    public List<RegexNode> getChildren() {
+        return Collections.emptyList();
+    }
+
+    /** Concatenation of atoms: a branch of an alternation or a group body. */
+    final public static class Sequence extends RegexNode {
+        @NotNull private final List<RegexNode> items;
+
+        Sequence(@NotNull String source, int start, int end, @NotNull List<RegexNode> items) {
+            super(source, start, end);
+            this.items = Collections.unmodifiableList(items);
+        }
+
+        @NotNull
+        public List<RegexNode> getItems() {
+            return this.items;
+        }
+
+        @NotNull
+        @Override
+        public List<RegexNode> getChildren() {
+            return this.items;
+        }
+    }
+
+    /** Branches separated by '|'. */
+    final public static class Alternation extends RegexNode {
+        @NotNull private final List<Sequence> branches;
+
+        Alternation(@NotNull String source, int start, int end, @NotNull List<Sequence> branches) {
+            super(source, start, end);
+            this.branches = Collections.unmodifiableList(branches);
+        }
+
+        @NotNull
+        public List<Sequence> getBranches() {
+            return this.branches;
+        }
+
+        @NotNull
+        @Override
+        public List<RegexNode> getChildren() {
+            return Collections.unmodifiableList(this.branches);
+        }
+    }
+
+    /** '(...)' in all flavours: capturing, named, non-capturing, atomic, look-arounds, inline options, etc. */
+    final public static class Group extends RegexNode {
+        public enum Kind { CAPTURING, NAMED, NON_CAPTURING, ATOMIC, LOOKAHEAD, NEGATIVE_LOOKAHEAD, LOOKBEHIND, NEGATIVE_LOOKBEHIND, OPTIONS, CONDITIONAL, COMMENT, OTHER }
+
+        @NotNull private final Kind kind;
+        @Nullable private final RegexNode body;
+
+        Group(@NotNull String source, int start, int end, @NotNull Kind kind, @Nullable RegexNode body) {
+            super(source, start, end);
+            this.kind = kind;
+            this.body = body;
+        }
+
+        @NotNull
+        public Kind getKind() {
+            return this.kind;
+        }
+
+        /* null for comments and for inline options without a sub-pattern, e.g. (?i) */
+        @Nullable
+        public RegexNode getBody() {
+            return this.body;
+        }
+
+        @NotNull
+        @Override
+        public List<RegexNode> getChildren() {
+            return null == this.body ? Collections.emptyList() : Collections.singletonList(this.body);
+        }
+    }
+
+    /** An atom with a quantifier: '*', '+', '?', '{n}', '{n,}', '{n,m}', optionally lazy or possessive. */
+    final public static class Quantified extends RegexNode {
+        @NotNull private final RegexNode atom;
+        @NotNull private final String quantifier;
+        private final int min;
+        private final int max;
+        private final boolean lazy;
+        private final boolean possessive;
+
+        Quantified(
+            @NotNull String source, int start, int end,
+            @NotNull RegexNode atom, @NotNull String quantifier, int min, int max, boolean lazy, boolean possessive
+        ) {
+            super(source, start, end);
+            this.atom       = atom;
+            this.quantifier = quantifier;
+            this.min        = min;
+            this.max        = max;
+            this.lazy       = lazy;
+            this.possessive = possessive;
+        }
+
+        @NotNull
+        public RegexNode getAtom() {
+            return this.atom;
+        }
+
+        /* the quantifier without lazy/possessive suffix, e.g. '+' or '{1,10}' */
+        @NotNull
+        public String getQuantifier() {
+            return this.quantifier;
+        }
+
+        public int getMin() {
+            return this.min;
+        }
+
+        /* -1 stands for unbounded */
+        public int getMax() {
+            return this.max;
+        }
+
+        public boolean isLazy() {
+            return this.lazy;
+        }
+
+        public boolean isPossessive() {
+            return this.possessive;
+        }
+
+        @NotNull
+        @Override
+        public List<RegexNode> getChildren() {
+            return Collections.singletonList(this.atom);
+        }
+    }
+
+    /** '[...]': items are literals, escapes, ranges and POSIX classes. */
+    final public static class CharacterClass extends RegexNode {
+        private final boolean negated;
+        @NotNull private final List<RegexNode> items;
+
+        CharacterClass(@NotNull String source, int start, int end, boolean negated, @NotNull List<RegexNode> items) {
+            super(source, start, end);
+            this.negated = negated;
+            this.items   = Collections.unmodifiableList(items);
+        }
+
+        public boolean isNegated() {
+            return this.negated;
+        }
+
+        @NotNull
+        public List<RegexNode> getItems() {
+            return this.items;
+        }
+
+        /* the class text without the brackets (negation included) */
+        @NotNull
+        public String getContents() {
+            final boolean closed = this.end - this.start >= 2 && this.source.charAt(this.end - 1) == ']';
+            return this.source.substring(this.start + 1, closed ? this.end - 1 : this.end);
+        }
+
+        @NotNull
+        @Override
+        public List<RegexNode> getChildren() {
+            return this.items;
+        }
+    }
+
+    /** 'a-z' inside a character class. */
+    final public static class Range extends RegexNode {
+        @NotNull private final RegexNode from;
+        @NotNull private final RegexNode to;
+
+        Range(@NotNull String source, int start, int end, @NotNull RegexNode from, @NotNull RegexNode to) {
+            super(source, start, end);
+            this.from = from;
+            this.to   = to;
+        }
+
+        @NotNull
+        public RegexNode getFrom() {
+            return this.from;
+        }
+
+        @NotNull
+        public RegexNode getTo() {
+            return this.to;
+        }
+
+        @NotNull
+        @Override
+        public List<RegexNode> getChildren() {
+            return Arrays.asList(this.from, this.to);
+        }
+    }
+
+    /** '[:digit:]' and alike inside a character class. */
+    final public static class PosixClass extends RegexNode {
+        @NotNull private final String name;
+        private final boolean negated;
+
+        PosixClass(@NotNull String source, int start, int end, @NotNull String name, boolean negated) {
+            super(source, start, end);
+            this.name    = name;
+            this.negated = negated;
+        }
+
+        @NotNull
+        public String getName() {
+            return this.name;
+        }
+
+        public boolean isNegated() {
+            return this.negated;
+        }
+    }
+
+    /** Backslash sequences: shorthand classes, unicode properties, back-references, assertions and escaped characters. */
+    final public static class Escape extends RegexNode {
+        public enum Kind { SHORTHAND, UNICODE, BACK_REFERENCE, ASSERTION, CHARACTER, ESCAPED_LITERAL }
+
+        @NotNull private final Kind kind;
+        private final char letter;
+
+        Escape(@NotNull String source, int start, int end, @NotNull Kind kind, char letter) {
+            super(source, start, end);
+            this.kind   = kind;
+            this.letter = letter;
+        }
+
+        @NotNull
+        public Kind getKind() {
+            return this.kind;
+        }
+
+        /* the character following the backslash */
+        public char getLetter() {
+            return this.letter;
+        }
+    }
+
+    /** A plain (not escaped) character. */
+    final public static class Literal extends RegexNode {
+        private final int codePoint;
+
+        Literal(@NotNull String source, int start, int end, int codePoint) {
+            super(source, start, end);
+            this.codePoint = codePoint;
+        }
+
+        public int getCodePoint() {
+            return this.codePoint;
+        }
+    }
+
+    /** '.' outside of character classes. */
+    final public static class Dot extends RegexNode {
+        Dot(@NotNull String source, int start, int end) {
+            super(source, start, end);
+        }
+    }
+
+    /** '^' and '$' outside of character classes. */
+    final public static class Anchor extends RegexNode {
+        Anchor(@NotNull String source, int start, int end) {
+            super(source, start, end);
+        }
+
+        public boolean isStart() {
+            return this.source.charAt(this.start) == '^';
+        }
+    }
+}
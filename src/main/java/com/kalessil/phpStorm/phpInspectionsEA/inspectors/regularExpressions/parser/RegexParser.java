@@ -0,0 +1,511 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * A lenient recursive-descent PCRE parser: malformed constructs (unbalanced parentheses, dangling quantifiers,
+ * unterminated classes) are turned into literals or truncated nodes, same way as people are expecting them to
+ * look like while typing. Only groups nested deeper than PCRE allows are making a pattern unparseable.
+ */
+final public class RegexParser {
+    /* PCRE's default parentheses nesting limit, also keeps the recursion far from stack overflows */
+    private static final int nestingLimit = 250;
+
+    @NotNull private final String pattern;
+    private final boolean extended;
+    private final int length;
+    private int position;
+    private int nesting;
+
+    private RegexParser(@NotNull String pattern, @NotNull String modifiers) {
+        this.pattern  = pattern;
+        this.extended = modifiers.indexOf('x') != -1;
+        this.length   = pattern.length();
+        this.position = 0;
+    }
+
+    /* inspections should use ParsedRegex.parse(...) instead: it caches the results; null if nested too deep */
+    @Nullable
+    public static RegexNode parse(@NotNull String pattern, @NotNull String modifiers) {
+        final RegexParser parser = new RegexParser(pattern, modifiers);
+        try {
+            return parser.parseAlternation(false);
+        } catch (NestingTooDeep unparseable) {
+            return null;
+        }
+    }
+
+    private static final class NestingTooDeep extends RuntimeException {
+        private static final long serialVersionUID   = 1L;
+        private static final NestingTooDeep INSTANCE = new NestingTooDeep();
+
+        private NestingTooDeep() {
+            super(null, null, false, false);
+        }
+    }
+
+    @NotNull
+    private RegexNode parseAlternation(boolean inGroup) {
+        final int start               = this.position;
+        final List<Sequence> branches = new ArrayList<>();
+        branches.add(this.parseSequence(inGroup));
+        while (this.position < this.length && this.pattern.charAt(this.position) == '|') {
+            ++this.position;
+            branches.add(this.parseSequence(inGroup));
+        }
+
+        return 1 == branches.size() ? branches.get(0) : new Alternation(this.pattern, start, this.position, branches);
+    }
+
+    @NotNull
+    private Sequence parseSequence(boolean inGroup) {
+        final int start             = this.position;
+        final List<RegexNode> items = new ArrayList<>();
+        while (this.skipExtendedWhitespace() && this.position < this.length) {
+            final char current = this.pattern.charAt(this.position);
+            if (current == '|' || (current == ')' && inGroup)) {
+                break;
+            }
+            items.add(this.parseQuantifier(this.parseAtom()));
+        }
+
+        return new Sequence(this.pattern, start, this.position, items);
+    }
+
+    @NotNull
+    private RegexNode parseAtom() {
+        final int start    = this.position;
+        final char current = this.pattern.charAt(start);
+        switch (current) {
+            case '(':
+                return this.parseGroup();
+            case '[':
+                return this.parseClass();
+            case '\\':
+                return this.parseEscape(false);
+            case '.':
+                ++this.position;
+                return new Dot(this.pattern, start, this.position);
+            case '^':
+            case '$':
+                ++this.position;
+                return new Anchor(this.pattern, start, this.position);
+            default:
+                /* dangling quantifiers and unbalanced ')' are ending up here as well */
+                return this.parseLiteral();
+        }
+    }
+
+    @NotNull
+    private RegexNode parseQuantifier(@NotNull RegexNode atom) {
+        if (atom instanceof Anchor || (atom instanceof Group && null == ((Group) atom).getBody())) {
+            return atom;
+        }
+
+        final int mark = this.position;
+        this.skipExtendedWhitespace();
+        if (this.position >= this.length) {
+            this.position = mark;
+            return atom;
+        }
+
+        final int start = this.position;
+        final int min;
+        final int max;
+        switch (this.pattern.charAt(start)) {
+            case '*':
+                min = 0;
+                max = -1;
+                ++this.position;
+                break;
+            case '+':
+                min = 1;
+                max = -1;
+                ++this.position;
+                break;
+            case '?':
+                min = 0;
+                max = 1;
+                ++this.position;
+                break;
+            case '{':
+                /* {n}, {n,}, {n,m}: anything else is a literal in PCRE */
+                int cursor       = start + 1;
+                final int lower  = this.parseNumber(cursor);
+                cursor           = this.skipDigits(cursor);
+                if (-1 == lower) {
+                    this.position = mark;
+                    return atom;
+                }
+                int upper = lower;
+                if (cursor < this.length && this.pattern.charAt(cursor) == ',') {
+                    ++cursor;
+                    upper  = this.parseNumber(cursor);
+                    cursor = this.skipDigits(cursor);
+                }
+                if (cursor >= this.length || this.pattern.charAt(cursor) != '}') {
+                    this.position = mark;
+                    return atom;
+                }
+                min           = lower;
+                max           = upper;
+                this.position = cursor + 1;
+                break;
+            default:
+                this.position = mark;
+                return atom;
+        }
+
+        final String quantifier = this.pattern.substring(start, this.position);
+        boolean lazy            = false;
+        boolean possessive      = false;
+        if (this.position < this.length) {
+            final char suffix = this.pattern.charAt(this.position);
+            lazy              = suffix == '?';
+            possessive        = suffix == '+';
+            if (lazy || possessive) {
+                ++this.position;
+            }
+        }
+
+        return new Quantified(this.pattern, atom.start, this.position, atom, quantifier, min, max, lazy, possessive);
+    }
+
+    @NotNull
+    private RegexNode parseGroup() {
+        final int start = this.position;
+        ++this.position;
+
+        Group.Kind kind = Group.Kind.CAPTURING;
+        if (this.position < this.length && this.pattern.charAt(this.position) == '*') {
+            /* verbs: (*UTF8), (*SKIP) and alike */
+            this.skipPast(')');
+            return new Group(this.pattern, start, this.position, Group.Kind.OTHER, null);
+        }
+        if (this.position < this.length && this.pattern.charAt(this.position) == '?') {
+            ++this.position;
+            final char marker = this.position < this.length ? this.pattern.charAt(this.position) : 0;
+            final char next   = this.position + 1 < this.length ? this.pattern.charAt(this.position + 1) : 0;
+            switch (marker) {
+                case '#':
+                    this.skipPast(')');
+                    return new Group(this.pattern, start, this.position, Group.Kind.COMMENT, null);
+                case ':':
+                    kind = Group.Kind.NON_CAPTURING;
+                    ++this.position;
+                    break;
+                case '|':
+                    kind = Group.Kind.OTHER;
+                    ++this.position;
+                    break;
+                case '>':
+                    kind = Group.Kind.ATOMIC;
+                    ++this.position;
+                    break;
+                case '=':
+                    kind = Group.Kind.LOOKAHEAD;
+                    ++this.position;
+                    break;
+                case '!':
+                    kind = Group.Kind.NEGATIVE_LOOKAHEAD;
+                    ++this.position;
+                    break;
+                case '<':
+                    if (next == '=' || next == '!') {
+                        kind           = next == '=' ? Group.Kind.LOOKBEHIND : Group.Kind.NEGATIVE_LOOKBEHIND;
+                        this.position += 2;
+                    } else {
+                        kind = Group.Kind.NAMED;
+                        this.skipPast('>');
+                    }
+                    break;
+                case '\'':
+                    kind = Group.Kind.NAMED;
+                    ++this.position;
+                    this.skipPast('\'');
+                    break;
+                case 'P':
+                    if (next == '<') {
+                        kind = Group.Kind.NAMED;
+                        this.skipPast('>');
+                        break;
+                    }
+                    /* (?P=name) and (?P>name) are references */
+                    this.skipPast(')');
+                    return new Group(this.pattern, start, this.position, Group.Kind.OTHER, null);
+                case '(':
+                    kind = Group.Kind.CONDITIONAL;
+                    this.skipPast(')');
+                    break;
+                default:
+                    if (marker == 'R' || marker == '&' || marker == '+' || Character.isDigit(marker) || (marker == '-' && Character.isDigit(next))) {
+                        /* recursion and sub-routine calls */
+                        this.skipPast(')');
+                        return new Group(this.pattern, start, this.position, Group.Kind.OTHER, null);
+                    }
+
+                    /* inline options: (?i), (?-x), (?i:...) */
+                    while (this.position < this.length && "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ-^".indexOf(this.pattern.charAt(this.position)) != -1) {
+                        ++this.position;
+                    }
+                    if (this.position < this.length && this.pattern.charAt(this.position) == ')') {
+                        ++this.position;
+                        return new Group(this.pattern, start, this.position, Group.Kind.OPTIONS, null);
+                    }
+                    kind = Group.Kind.OPTIONS;
+                    if (this.position < this.length && this.pattern.charAt(this.position) == ':') {
+                        ++this.position;
+                    }
+                    break;
+            }
+        }
+
+        if (++this.nesting > nestingLimit) {
+            throw NestingTooDeep.INSTANCE;
+        }
+        final RegexNode body = this.parseAlternation(true);
+        --this.nesting;
+        if (this.position < this.length && this.pattern.charAt(this.position) == ')') {
+            ++this.position;
+        }
+
+        return new Group(this.pattern, start, this.position, kind, body);
+    }
+
+    @NotNull
+    private RegexNode parseClass() {
+        final int start = this.position;
+        ++this.position;
+
+        final boolean negated = this.position < this.length && this.pattern.charAt(this.position) == '^';
+        if (negated) {
+            ++this.position;
+        }
+
+        final List<RegexNode> items = new ArrayList<>();
+        boolean first               = true;
+        while (this.position < this.length) {
+            final char current = this.pattern.charAt(this.position);
+            if (current == ']' && !first) {
+                ++this.position;
+                break;
+            }
+            first = false;
+
+            /* POSIX classes: [:digit:], [:^alpha:] */
+            if (current == '[' && this.position + 1 < this.length && this.pattern.charAt(this.position + 1) == ':') {
+                final int closing = this.pattern.indexOf(":]", this.position + 2);
+                if (closing != -1) {
+                    final int itemStart       = this.position;
+                    final boolean posixNegated = this.pattern.charAt(itemStart + 2) == '^';
+                    final String name          = this.pattern.substring(itemStart + (posixNegated ? 3 : 2), closing);
+                    this.position              = closing + 2;
+                    items.add(new PosixClass(this.pattern, itemStart, this.position, name, posixNegated));
+                    continue;
+                }
+            }
+
+            final RegexNode item = current == '\\' ? this.parseEscape(true) : this.parseLiteral();
+            if (
+                this.isRangeBound(item) && this.position + 1 < this.length &&
+                this.pattern.charAt(this.position) == '-' && this.pattern.charAt(this.position + 1) != ']'
+            ) {
+                final int mark = this.position;
+                ++this.position;
+                final RegexNode to = this.pattern.charAt(this.position) == '\\' ? this.parseEscape(true) : this.parseLiteral();
+                if (this.isRangeBound(to)) {
+                    items.add(new Range(this.pattern, item.start, this.position, item, to));
+                    continue;
+                }
+                /* e.g. [a-\d]: the dash is a literal */
+                this.position = mark;
+            }
+            items.add(item);
+        }
+
+        return new CharacterClass(this.pattern, start, this.position, negated, items);
+    }
+
+    private boolean isRangeBound(@NotNull RegexNode node) {
+        if (node instanceof Escape) {
+            final Escape.Kind kind = ((Escape) node).getKind();
+            return kind == Escape.Kind.CHARACTER || kind == Escape.Kind.ESCAPED_LITERAL;
+        }
+        return node instanceof Literal;
+    }
+
+    @NotNull
+    private RegexNode parseEscape(boolean inClass) {
+        final int start = this.position;
+        ++this.position;
+        if (this.position >= this.length) {
+            /* trailing backslash */
+            return new Literal(this.pattern, start, this.position, '\\');
+        }
+
+        final char letter = this.pattern.charAt(this.position);
+        ++this.position;
+
+        final Escape.Kind kind;
+        switch (letter) {
+            case 'd': case 'D': case 'w': case 'W': case 's': case 'S':
+            case 'h': case 'H': case 'v': case 'V': case 'R': case 'N':
+                kind = Escape.Kind.SHORTHAND;
+                break;
+            case 'p': case 'P':
+                if (this.position < this.length && this.pattern.charAt(this.position) == '{') {
+                    this.skipPast('}');
+                } else if (this.position < this.length) {
+                    ++this.position;
+                }
+                kind = Escape.Kind.UNICODE;
+                break;
+            case 'X':
+                kind = Escape.Kind.UNICODE;
+                break;
+            case 'g': case 'k':
+                if (this.position < this.length) {
+                    final char opening = this.pattern.charAt(this.position);
+                    if (opening == '{' || opening == '<' || opening == '\'') {
+                        this.skipPast(opening == '{' ? '}' : (opening == '<' ? '>' : '\''));
+                    } else {
+                        if (opening == '-' || opening == '+') {
+                            ++this.position;
+                        }
+                        this.position = this.skipDigits(this.position);
+                    }
+                }
+                kind = Escape.Kind.BACK_REFERENCE;
+                break;
+            case 'b':
+                kind = inClass ? Escape.Kind.CHARACTER : Escape.Kind.ASSERTION;
+                break;
+            case 'B': case 'A': case 'z': case 'Z': case 'G': case 'K':
+                kind = Escape.Kind.ASSERTION;
+                break;
+            case 'x':
+                if (this.position < this.length && this.pattern.charAt(this.position) == '{') {
+                    this.skipPast('}');
+                } else {
+                    int digits = 0;
+                    while (digits < 2 && this.position < this.length && Character.digit(this.pattern.charAt(this.position), 16) != -1) {
+                        ++this.position;
+                        ++digits;
+                    }
+                }
+                kind = Escape.Kind.CHARACTER;
+                break;
+            case 'o':
+                if (this.position < this.length && this.pattern.charAt(this.position) == '{') {
+                    this.skipPast('}');
+                }
+                kind = Escape.Kind.CHARACTER;
+                break;
+            case 'c':
+                if (this.position < this.length) {
+                    ++this.position;
+                }
+                kind = Escape.Kind.CHARACTER;
+                break;
+            case 'Q':
+                /* \Q...\E quoting, the whole quoted sequence becomes one node */
+                final int quoteEnd = this.pattern.indexOf("\\E", this.position);
+                this.position      = -1 == quoteEnd ? this.length : quoteEnd + 2;
+                kind               = Escape.Kind.ESCAPED_LITERAL;
+                break;
+            case '0':
+                this.position = this.skipOctalDigits(this.position, 2);
+                kind          = Escape.Kind.CHARACTER;
+                break;
+            case 'a': case 'e': case 'f': case 'n': case 'r': case 't':
+                kind = Escape.Kind.CHARACTER;
+                break;
+            default:
+                if (Character.isDigit(letter)) {
+                    if (inClass) {
+                        this.position = this.skipOctalDigits(this.position, 2);
+                        kind          = Escape.Kind.CHARACTER;
+                    } else {
+                        this.position = this.skipDigits(this.position);
+                        kind          = Escape.Kind.BACK_REFERENCE;
+                    }
+                } else {
+                    kind = Character.isLetter(letter) ? Escape.Kind.CHARACTER : Escape.Kind.ESCAPED_LITERAL;
+                }
+                break;
+        }
+
+        return new Escape(this.pattern, start, this.position, kind, letter);
+    }
+
+    @NotNull
+    private RegexNode parseLiteral() {
+        final int start     = this.position;
+        final int codePoint = this.pattern.codePointAt(start);
+        this.position      += Character.charCount(codePoint);
+        return new Literal(this.pattern, start, this.position, codePoint);
+    }
+
+    /* in extended mode (/x) white-spaces and #-comments are ignored; always returns true to be chained in conditions */
+    private boolean skipExtendedWhitespace() {
+        if (this.extended) {
+            while (this.position < this.length) {
+                final char current = this.pattern.charAt(this.position);
+                if (current == '#') {
+                    while (this.position < this.length && this.pattern.charAt(this.position) != '\n') {
+                        ++this.position;
+                    }
+                } else if (Character.isWhitespace(current)) {
+                    ++this.position;
+                } else {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void skipPast(char terminator) {
+        final int found = this.pattern.indexOf(terminator, this.position);
+        this.position   = -1 == found ? this.length : found + 1;
+    }
+
+    private int skipDigits(int from) {
+        int cursor = from;
+        while (cursor < this.length && Character.isDigit(this.pattern.charAt(cursor))) {
+            ++cursor;
+        }
+        return cursor;
+    }
+
+    private int skipOctalDigits(int from, int limit) {
+        int cursor = from;
+        while (cursor - from < limit && cursor < this.length && Character.digit(this.pattern.charAt(cursor), 8) != -1) {
+            ++cursor;
+        }
+        return cursor;
+    }
+
+    /* -1 if there are no digits, or the number is not fitting into int (then it's not a quantifier for PCRE) */
+    private int parseNumber(int from) {
+        final int to = this.skipDigits(from);
+        if (to == from || to - from > 5) {
+            return -1;
+        }
+        return Integer.parseInt(this.pattern.substring(from, to));
+    }
+}
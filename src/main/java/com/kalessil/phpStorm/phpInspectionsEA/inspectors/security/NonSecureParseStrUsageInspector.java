@@ -6,10 +6,15 @@ import org.apache.commons.lang.StringUtils;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TaintAnalysisUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+import java.util.Set;
+
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -20,7 +25,8 @@ import org.jetbrains.annotations.NotNull;
  */
 
 public class NonSecureParseStrUsageInspector  extends BasePhpInspection {
-    private static final String message = "Please provide second parameter to not influence globals.";
+    private static final String message        = "Please provide second parameter to not influence globals.";
+    private static final String messagePattern = "Perhaps it's possible to overwrite variables via: %e%.";
 
     @NotNull
     public String getShortName() {
@@ -33,13 +39,35 @@ public class NonSecureParseStrUsageInspector  extends BasePhpInspection {
         return new BasePhpElementVisitor() {
             @Override
             public void visitPhpFunctionCall(@NotNull FunctionReference reference) {
+                this.inspectCallee(reference);
+
                 final String strFunction  = reference.getName();
                 final PsiElement[] params = reference.getParameters();
                 if (
                     1 == params.length && !StringUtils.isEmpty(strFunction) &&
                     (strFunction.equals("parse_str") || strFunction.equals("mb_parse_str"))
                 ) {
-                    holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR);
+                    final Set<String> sources = TaintAnalysisUtil.getSources(params[0]);
+                    if (sources.isEmpty()) {
+                        holder.registerProblem(reference, message, ProblemHighlightType.GENERIC_ERROR);
+                    } else {
+                        final String description = messagePattern.replace("%e%", String.join(", ", sources));
+                        holder.registerProblem(reference, description, ProblemHighlightType.GENERIC_ERROR);
+                    }
+                }
+            }
+
+            @Override
+            public void visitPhpMethodReference(@NotNull MethodReference reference) {
+                this.inspectCallee(reference);
+            }
+
+            /* parse_str is called by a user function (method) with its argument */
+            private void inspectCallee(@NotNull FunctionReference reference) {
+                final Map<PsiElement, Set<String>> arguments = TaintAnalysisUtil.getTaintedArguments(reference, TaintAnalysisUtil.sinkParseStr);
+                for (final Map.Entry<PsiElement, Set<String>> entry : arguments.entrySet()) {
+                    final String description = messagePattern.replace("%e%", String.join(", ", entry.getValue()));
+                    holder.registerProblem(entry.getKey(), description, ProblemHighlightType.GENERIC_ERROR);
                 }
             }
         };
@@ -10,10 +10,10 @@ import com.intellij.json.psi.JsonStringLiteral;
 import com.intellij.json.psi.JsonValue;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.RulesTablesUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /*
@@ -30,34 +30,8 @@ public class SecurityAdvisoriesInspector extends LocalInspectionTool {
     private static final String useMaster     = "Please use dev-master instead.";
     private static final String useRequireDev = "Dev-packages have no security guaranties, invoke the package via require-dev instead.";
 
-    private static final Set<String> developmentPackages = new HashSet<>();
-    static {
-        /* PhpUnit */
-        developmentPackages.add("phpunit/phpunit");
-        developmentPackages.add("phpunit/dbunit");
-        developmentPackages.add("johnkary/phpunit-speedtrap");
-        developmentPackages.add("symfony/phpunit-bridge");
-        /* more dev-packages  */
-        developmentPackages.add("mockery/mockery");
-        developmentPackages.add("behat/behat");
-        developmentPackages.add("phpspec/prophecy");
-        developmentPackages.add("phpspec/phpspec");
-        developmentPackages.add("composer/composer");
-        developmentPackages.add("satooshi/php-coveralls");
-        developmentPackages.add("phpro/grumphp");
-        /* SCA tools */
-        developmentPackages.add("friendsofphp/php-cs-fixer");
-        developmentPackages.add("squizlabs/php_codesniffer");
-        developmentPackages.add("phpstan/phpstan");
-        developmentPackages.add("vimeo/psalm");
-        developmentPackages.add("jakub-onderka/php-parallel-lint");
-        developmentPackages.add("slevomat/coding-standard");
-        developmentPackages.add("phpmd/phpmd");
-        developmentPackages.add("pdepend/pdepend");
-        developmentPackages.add("sebastian/phpcpd");
-        developmentPackages.add("povils/phpmnd");
-        /* build tools */
-        developmentPackages.add("phing/phing");
+    private static final class Rules {
+        private static final Set<String> developmentPackages = RulesTablesUtil.loadSet("development-packages.txt");
     }
 
     @NotNull
@@ -103,7 +77,7 @@ public class SecurityAdvisoriesInspector extends LocalInspectionTool {
         /* inspect packages, they should be by other owner */
         final ProblemsHolder holder          = new ProblemsHolder(manager, file, isOnTheFly);
         final JsonValue requiredPackagesList = requireProperty == null ? null : requireProperty.getValue();
-        if (requiredPackagesList instanceof JsonObject && !developmentPackages.contains(ownPackageName)) {
+        if (requiredPackagesList instanceof JsonObject && !Rules.developmentPackages.contains(ownPackageName)) {
             boolean hasAdvisories       = false;
             int thirdPartyPackagesCount = 0;
             for (final PsiElement component : requiredPackagesList.getChildren()) {
@@ -124,7 +98,7 @@ public class SecurityAdvisoriesInspector extends LocalInspectionTool {
                     hasAdvisories = true;
                 }
 
-                if (developmentPackages.contains(packageName)) {
+                if (Rules.developmentPackages.contains(packageName)) {
                     holder.registerProblem(dependency.getFirstChild(), useRequireDev);
                 } else if (packageName.indexOf('/') != -1) {
                     if (ownPackagePrefix == null || !packageName.startsWith(ownPackagePrefix)) {
@@ -11,10 +11,12 @@ import com.jetbrains.php.config.PhpLanguageLevel;
 import com.jetbrains.php.config.PhpProjectConfigurationFacade;
 import com.jetbrains.php.lang.psi.elements.ArrayAccessExpression;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.jetbrains.php.lang.psi.elements.Variable;
 import com.jetbrains.php.lang.psi.elements.impl.FunctionReferenceImpl;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TaintAnalysisUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -57,6 +59,8 @@ public class UnserializeExploitsInspector extends LocalInspectionTool {
         return new BasePhpElementVisitor() {
             @Override
             public void visitPhpFunctionCall(@NotNull FunctionReference reference) {
+                this.inspectCallee(reference);
+
                 final String functionName = reference.getName();
                 final PsiElement[] params = reference.getParameters();
                 if (1 != params.length || null == params[0] || StringUtils.isEmpty(functionName)) {
@@ -76,6 +80,20 @@ public class UnserializeExploitsInspector extends LocalInspectionTool {
                 }
             }
 
+            @Override
+            public void visitPhpMethodReference(@NotNull MethodReference reference) {
+                this.inspectCallee(reference);
+            }
+
+            /* unserialize is called by a user function (method) with its argument */
+            private void inspectCallee(@NotNull FunctionReference reference) {
+                final Map<PsiElement, Set<String>> arguments = TaintAnalysisUtil.getTaintedArguments(reference, TaintAnalysisUtil.sinkUnserialize);
+                for (final Map.Entry<PsiElement, Set<String>> entry : arguments.entrySet()) {
+                    final String message = messagePattern.replace("%e%", String.join(", ", entry.getValue()));
+                    holder.registerProblem(entry.getKey(), message, ProblemHighlightType.GENERIC_ERROR);
+                }
+            }
+
             private void inspectExploits(@NotNull ProblemsHolder holder, @NotNull PsiElement argument) {
                 final Set<PsiElement> processed = new HashSet<>();
                 final Set<PsiElement> values    = PossibleValuesDiscoveryUtil.discover(argument, processed);
@@ -117,6 +135,13 @@ public class UnserializeExploitsInspector extends LocalInspectionTool {
                     }
                     values.clear();
 
+                    /* request data passed through functions and methods */
+                    for (final String source : TaintAnalysisUtil.getSources(argument)) {
+                        if (!reporting.contains(source)) {
+                            reporting.add(source);
+                        }
+                    }
+
                     /* got something for reporting */
                     if (reporting.size() > 0) {
                         /* sort reporting list to produce testable results */
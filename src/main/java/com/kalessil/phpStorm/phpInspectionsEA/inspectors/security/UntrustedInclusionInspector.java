@@ -4,12 +4,18 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
+import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.Include;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TaintAnalysisUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+import java.util.Set;
+
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -20,7 +26,8 @@ import org.jetbrains.annotations.NotNull;
  */
 
 public class UntrustedInclusionInspector extends BasePhpInspection {
-    private static final String message = "This relies on include_path and not guaranteed to load the right file. Concatenate with __DIR__ or use namespaces + class loading instead.";
+    private static final String message        = "This relies on include_path and not guaranteed to load the right file. Concatenate with __DIR__ or use namespaces + class loading instead.";
+    private static final String messagePattern = "Perhaps it's possible to include arbitrary files via: %e%.";
 
     @NotNull
     public String getShortName() {
@@ -37,6 +44,31 @@ public class UntrustedInclusionInspector extends BasePhpInspection {
                 final PsiElement file     = ExpressionSemanticUtil.resolveAsStringLiteral(argument);
                 if (null != file) {
                     holder.registerProblem(include, message, ProblemHighlightType.GENERIC_ERROR);
+                } else if (null != argument) {
+                    final Set<String> sources = TaintAnalysisUtil.getSources(argument);
+                    if (!sources.isEmpty()) {
+                        final String description = messagePattern.replace("%e%", String.join(", ", sources));
+                        holder.registerProblem(argument, description, ProblemHighlightType.GENERIC_ERROR);
+                    }
+                }
+            }
+
+            @Override
+            public void visitPhpFunctionCall(@NotNull FunctionReference reference) {
+                this.inspectCallee(reference);
+            }
+
+            @Override
+            public void visitPhpMethodReference(@NotNull MethodReference reference) {
+                this.inspectCallee(reference);
+            }
+
+            /* the inclusion is done by a user function (method) with its argument */
+            private void inspectCallee(@NotNull FunctionReference reference) {
+                final Map<PsiElement, Set<String>> arguments = TaintAnalysisUtil.getTaintedArguments(reference, TaintAnalysisUtil.sinkInclude);
+                for (final Map.Entry<PsiElement, Set<String>> entry : arguments.entrySet()) {
+                    final String description = messagePattern.replace("%e%", String.join(", ", entry.getValue()));
+                    holder.registerProblem(entry.getKey(), description, ProblemHighlightType.GENERIC_ERROR);
                 }
             }
         };
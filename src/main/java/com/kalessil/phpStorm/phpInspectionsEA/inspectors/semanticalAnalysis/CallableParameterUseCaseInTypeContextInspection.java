@@ -5,7 +5,6 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.codeInsight.PhpScopeHolder;
 import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
@@ -15,6 +14,7 @@ import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
 import org.jetbrains.annotations.NotNull;
@@ -58,7 +58,6 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
 
             private void inspectUsages(@NotNull Parameter[] parameters, @NotNull PhpScopeHolder scopeHolder) {
                 final Project project                     = holder.getProject();
-                final PhpIndex index                      = PhpIndex.getInstance(project);
                 final PhpEntryPointInstruction entryPoint = scopeHolder.getControlFlow().getEntryPoint();
 
                 for (final Parameter parameter : parameters) {
@@ -157,7 +156,7 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
                                         }
 
                                         final boolean isDefinitionViolation
-                                            = !this.isTypeCompatibleWith(normalizedType, parameterTypes, index);
+                                            = !this.isTypeCompatibleWith(normalizedType, parameterTypes, project);
                                         if (isDefinitionViolation) {
                                             final String message
                                                 = patternAssignmentViolatesDefinition.replace("%s%", normalizedType);
@@ -176,7 +175,7 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
                 }
             }
 
-            private boolean isTypeCompatibleWith(@NotNull String type, @NotNull Set<String> allowedTypes, @NotNull PhpIndex index) {
+            private boolean isTypeCompatibleWith(@NotNull String type, @NotNull Set<String> allowedTypes, @NotNull Project project) {
                 /* first case: implicit match */
                 if (allowedTypes.contains(type)) {
                     return true;
@@ -185,10 +184,7 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
                 /* second case: inherited classes/interfaces */
                 final Set<String> possibleTypes = new HashSet<>();
                 if (type.startsWith("\\")) {
-                    final Set<PhpClass> foundClasses = new HashSet<>();
-                    foundClasses.addAll(index.getClassesByFQN(type));
-                    foundClasses.addAll(index.getInterfacesByFQN(type));
-                    for (final PhpClass clazz : foundClasses) {
+                    for (final PhpClass clazz : PhpIndexUtil.getObjectInterfaces(project, type, true)) {
                         possibleTypes.addAll(
                                 InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true).stream()
                                         .map(PhpNamedElement::getFQN)
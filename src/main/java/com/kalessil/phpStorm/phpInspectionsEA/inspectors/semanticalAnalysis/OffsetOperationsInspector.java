@@ -2,6 +2,7 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis;
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
 import org.apache.commons.lang.StringUtils;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
@@ -151,7 +152,7 @@ public class OffsetOperationsInspector extends BasePhpInspection {
         }
 
 
-        final PhpIndex objIndex = PhpIndex.getInstance(container.getProject());
+        final Project project   = container.getProject();
         boolean supportsOffsets = false;
         for (String typeToCheck : containerTypes) {
             /* FIXME: appeared e.g. \array, see #65  */
@@ -175,7 +176,7 @@ public class OffsetOperationsInspector extends BasePhpInspection {
             }
 
             // now we are at point when analyzing classes only
-            for (PhpClass classToCheck : PhpIndexUtil.getObjectInterfaces(typeToCheck, objIndex, false)) {
+            for (PhpClass classToCheck : PhpIndexUtil.getObjectInterfaces(project, typeToCheck, false)) {
                 boolean isOffsetFunctionsPrecessed = false;
 
                 // custom offsets management, follow annotated types
@@ -21,9 +21,10 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class ReferenceMismatchInspector extends BasePhpInspection {
     final static private String strErrorForeachIntoReference = "Probable bug: variable should be renamed to prevent writing into already existing reference.";
@@ -50,12 +51,6 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
         legalizedMismatchingFunctions.add("method_exists");
     }
 
-    private final static ConcurrentHashMap<Function, HashSet<PsiElement>> reportedIssues = new ConcurrentHashMap<>();
-    private static HashSet<PsiElement> getFunctionReportingRegistry(Function key) {
-        reportedIssues.putIfAbsent(key, new HashSet<>());
-        return reportedIssues.get(key);
-    }
-
     @NotNull
     public String getShortName() {
         return "ReferenceMismatchInspection";
@@ -69,6 +64,12 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
              * TODO: checkReferenceReturnedByCallable - ternary operator, argument usages ?
              */
 
+            /* reported items per function, owned by the visitor: visitors are not shared between threads */
+            private final Map<Function, Set<PsiElement>> reportedIssues = new HashMap<>();
+            private Set<PsiElement> getFunctionReportingRegistry(@NotNull Function key) {
+                return this.reportedIssues.computeIfAbsent(key, k -> new HashSet<>());
+            }
+
             /* parameters by reference */
             @Override
             public void visitPhpMethod(@NotNull Method method) {
@@ -96,8 +97,7 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
             private void checkParameters(Parameter[] arrParameters, Function objScopeHolder) {
                 PhpEntryPointInstruction objEntryPoint = objScopeHolder.getControlFlow().getEntryPoint();
 
-                HashSet<PsiElement> emptyReportedItemsRegistry =
-                        ReferenceMismatchInspector.getFunctionReportingRegistry(objScopeHolder);
+                Set<PsiElement> emptyReportedItemsRegistry = this.getFunctionReportingRegistry(objScopeHolder);
 
                 for (Parameter parameter : arrParameters) {
                     /* skip un-discoverable and non-reference parameters */
@@ -141,7 +141,7 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
                         Function scope = ExpressionSemanticUtil.getScope(assignmentExpression);
                         if (null != scope) {
                             // report items, but ensure no duplicated messages
-                            HashSet<PsiElement> reportedItemsRegistry = ReferenceMismatchInspector.getFunctionReportingRegistry(scope);
+                            Set<PsiElement> reportedItemsRegistry = this.getFunctionReportingRegistry(scope);
                             inspectScopeForReferenceMissUsages(scope.getControlFlow().getEntryPoint(), strVariable, reportedItemsRegistry);
                         }
                     }
@@ -196,7 +196,7 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
                         Function scope = ExpressionSemanticUtil.getScope(foreach);
                         if (null != scope) {
                             // report items, but ensure no duplicated messages
-                            HashSet<PsiElement> reportedItemsRegistry = ReferenceMismatchInspector.getFunctionReportingRegistry(scope);
+                            Set<PsiElement> reportedItemsRegistry = this.getFunctionReportingRegistry(scope);
                             reportedItemsRegistry.add(objForeachValue);
                             inspectScopeForReferenceMissUsages(scope.getControlFlow().getEntryPoint(), strVariable, reportedItemsRegistry);
                         }
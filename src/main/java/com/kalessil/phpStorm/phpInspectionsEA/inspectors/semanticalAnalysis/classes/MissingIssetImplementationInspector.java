@@ -4,10 +4,11 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElementVisitor;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassFactsUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
 import org.jetbrains.annotations.NotNull;
 
@@ -54,8 +55,7 @@ public class MissingIssetImplementationInspector extends BasePhpInspection {
             }
 
             private void analyzeDispatchedExpressions(@NotNull PhpExpression[] parameters) {
-                final Project project       = holder.getProject();
-                final PhpIndex projectIndex = PhpIndex.getInstance(project);
+                final Project project = holder.getProject();
 
                 for (final PhpExpression parameter : parameters) {
                     if (parameter instanceof FieldReference) {
@@ -77,7 +77,13 @@ public class MissingIssetImplementationInspector extends BasePhpInspection {
                             final String normalizedType = Types.getType(type);
                             /* false-positives: SimpleXMLElement, stdClass */
                             if (normalizedType.startsWith("\\") && !magicClasses.contains(normalizedType)) {
-                                final Collection<PhpClass> classes = projectIndex.getClassesByFQN(normalizedType);
+                                /* classes declaring __isset are not loaded, the facts index is telling that */
+                                final Integer facts = ClassFactsUtil.getFacts(project, normalizedType);
+                                if (null != facts && (facts & ClassFactsUtil.DECLARES_ISSET) != 0) {
+                                    continue;
+                                }
+
+                                final Collection<PhpClass> classes = PhpIndexUtil.getClassesByFQN(project, normalizedType);
                                 final PhpClass clazz               = classes.isEmpty() ? null : classes.iterator().next();
                                 /* resolved class FQN might differ from what type states */
                                 if (clazz != null && !magicClasses.contains(clazz.getFQN())) {
@@ -10,13 +10,13 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
-import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.fixers.DropMethodFix;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PsiTemplatesUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
 import org.jetbrains.annotations.NotNull;
 
@@ -169,9 +169,13 @@ public class SenselessMethodDuplicationInspector extends BasePhpInspection {
                 final Method method = (Method) expression;
 
                 /* pre-collect resources needed for generation */
-                final List<String> parameters = new ArrayList<>();
-                for (Parameter parameter: method.getParameters()) {
-                    parameters.add("$" + parameter.getName());
+                final Map<String, String> substitutions = new HashMap<>();
+                final List<String> parameters           = new ArrayList<>();
+                substitutions.put("EA_METHOD", method.getName());
+                for (final Parameter parameter : method.getParameters()) {
+                    final String placeholder = "$EA_PARAMETER_" + parameters.size();
+                    substitutions.put(placeholder, "$" + parameter.getName());
+                    parameters.add(placeholder);
                 }
                 final Set<String> types =
                         method.getType().global(project).filterUnknown().getTypes().stream()
@@ -179,15 +183,17 @@ public class SenselessMethodDuplicationInspector extends BasePhpInspection {
                                 .collect(Collectors.toSet());
                 types.remove(Types.strVoid);
 
-                /* generate replacement and release resources */
-                final String pattern = "function() { %r%parent::%m%(%p%); }"
+                /* the template is parsed once per shape (return, parameters count), names are substituted */
+                final String template = "function() { %r%parent::EA_METHOD(%p%); }"
                         .replace("%r%", types.isEmpty() ? "" : "return ")
-                        .replace("%m%", method.getName())
                         .replace("%p%", String.join(", ", parameters));
                 types.clear();
                 parameters.clear();
 
-                final Function donor             = PhpPsiElementFactory.createPhpPsiFromText(project, Function.class, pattern);
+                final Function donor = PsiTemplatesUtil.fromTemplate(project, Function.class, template, substitutions);
+                if (null == donor) {
+                    return;
+                }
                 final GroupStatement body        = ExpressionSemanticUtil.getGroupStatement(method);
                 final GroupStatement replacement = ExpressionSemanticUtil.getGroupStatement(donor);
                 if (null != body && null != replacement) {
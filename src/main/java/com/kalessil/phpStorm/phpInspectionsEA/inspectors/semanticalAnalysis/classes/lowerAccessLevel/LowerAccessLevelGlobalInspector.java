@@ -0,0 +1,49 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel;
+
+import com.intellij.codeInspection.GlobalInspectionContext;
+import com.intellij.codeInspection.GlobalSimpleInspectionTool;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemDescriptionsProcessor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.strategy.PropertyUsedInPrivateContextStrategy;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Batch-mode counterpart of LowerAccessLevelInspector: protected fields of classes having subclasses, where
+ * the subclasses (in any file) are scanned for the fields usage. Files are processed in parallel by the platform,
+ * subclasses scans are parallelized and cached per class (see ProtectedMembersUsageUtil).
+ */
+public class LowerAccessLevelGlobalInspector extends GlobalSimpleInspectionTool {
+    @NotNull
+    public String getShortName() {
+        return "LowerAccessLevelGlobalInspection";
+    }
+
+    @Override
+    public void checkFile(
+        @NotNull PsiFile file,
+        @NotNull InspectionManager manager,
+        @NotNull ProblemsHolder problemsHolder,
+        @NotNull GlobalInspectionContext globalContext,
+        @NotNull ProblemDescriptionsProcessor problemDescriptionsProcessor
+    ) {
+        if (file instanceof PhpFile) {
+            for (final PhpClass clazz : PsiTreeUtil.findChildrenOfType(file, PhpClass.class)) {
+                PropertyUsedInPrivateContextStrategy.apply(clazz, problemsHolder, true);
+            }
+        }
+    }
+}
@@ -43,7 +43,8 @@ public class LowerAccessLevelInspector extends BasePhpInspection {
 
             @Override
             public void visitPhpClass(PhpClass clazz) {
-                PropertyUsedInPrivateContextStrategy.apply(clazz, problemsHolder);
+                /* classes having subclasses are checked by LowerAccessLevelGlobalInspector */
+                PropertyUsedInPrivateContextStrategy.apply(clazz, problemsHolder, false);
             }
         };
     }
@@ -7,7 +7,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.SmartPointerManager;
 import com.intellij.psi.SmartPsiElementPointer;
 import com.intellij.psi.impl.source.tree.LeafPsiElement;
-import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PsiTemplatesUtil;
 import org.jetbrains.annotations.NotNull;
 
 /*
@@ -43,7 +43,7 @@ public class MakePrivateFixer implements LocalQuickFix {
     @Override
     public void applyFix(@NotNull final Project project, @NotNull final ProblemDescriptor descriptor) {
         final PsiElement element     = modifier.getElement();
-        final PsiElement replacement = PhpPsiElementFactory.createFromText(project, LeafPsiElement.class, "private");
+        final PsiElement replacement = PsiTemplatesUtil.getDonor(project, LeafPsiElement.class, "private");
         if (element != null && replacement != null) {
             element.replace(replacement);
         }
@@ -3,15 +3,16 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.cla
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.lang.psi.elements.*;
+import com.jetbrains.php.lang.psi.elements.Field;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpModifier;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.fixers.MakePrivateFixer;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.utils.ModifierExtractionUtil;
-import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.utils.ProtectedMembersUsageUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,94 +28,39 @@ import java.util.Set;
 final public class PropertyUsedInPrivateContextStrategy {
     private static final String message = "Since the property used in private context only, it could be declared private.";
 
-    private static final Set<String> magicMethods = new HashSet<>();
-    static {
-        // magicMethods.add("__construct"); DI, protected might be needed for extension
-        // magicMethods.add("__destruct");
-        // magicMethods.add("__autoload");  deprecated
-        // magicMethods.add("__call");      calls
-        // magicMethods.add("__callStatic");
-        // magicMethods.add("__invoke");
-
-        magicMethods.add("__get");
-        magicMethods.add("__isset");
-        magicMethods.add("__unset");
-        magicMethods.add("__set");
-
-        magicMethods.add("__toString");
-        magicMethods.add("__debugInfo");
-
-        magicMethods.add("__set_state");
-        magicMethods.add("__wakeup");
-        magicMethods.add("__sleep");
-        magicMethods.add("__clone");
-    }
+    /**
+     * Classes having subclasses are checked only when checkSubclasses is set (batch mode), others only when it is not.
+     */
+    public static void apply(@NotNull PhpClass clazz, @NotNull ProblemsHolder holder, boolean checkSubclasses) {
+        if (clazz.isFinal() || clazz.isInterface()) {
+            return;
+        }
 
-    public static void apply(@NotNull PhpClass clazz, @NotNull ProblemsHolder holder) {
-        if (!clazz.isFinal() && !clazz.isInterface()) {
-            final PhpClass parent           = clazz.getSuperClass();
-            final Map<String, Field> fields = new HashMap<>();
-            for (final Field field : clazz.getOwnFields()) {
-                if (field.getModifier().isProtected()) {
-                    /* ensure overrides are skipped */
-                    final String fieldName = field.getName();
-                    if (parent == null || parent.findFieldByName(fieldName, false) == null) {
-                        fields.put(fieldName, field);
-                    }
-                }
+        /* fields used in private context only by the class itself */
+        final Map<String, Field> candidates = new HashMap<>();
+        for (final Map.Entry<Field, Set<PhpModifier.Access>> entry : ProtectedMembersUsageUtil.getOwnUsages(clazz).entrySet()) {
+            final Set<PhpModifier.Access> usages = entry.getValue();
+            if (1 == usages.size() && usages.contains(PhpModifier.Access.PRIVATE)) {
+                candidates.put(entry.getKey().getName(), entry.getKey());
             }
-            if (!fields.isEmpty()) {
-                /* collect usage contexts: iterate methods */
-                final Map<String, Set<String>> contextInformation = new HashMap<>();
-                for (final Method method : clazz.getOwnMethods()) {
-                    final GroupStatement body = method.isAbstract() ? null : ExpressionSemanticUtil.getGroupStatement(method);
-                    if (body == null) {
-                        continue;
-                    }
-                    final boolean isMagicMethod = magicMethods.contains(method.getName());
-
-                    /* find fields references matching pre-collected names */
-                    for (final FieldReference reference :PsiTreeUtil.findChildrenOfType(body, FieldReference.class)) {
-                        final String referenceName = reference.getName();
-                        if (!fields.containsKey(referenceName)) {
-                            continue;
-                        }
-
-                        /* store the context information */
-                        final PsiElement resolved = reference.resolve();
-                        if (resolved != null && fields.get(referenceName) == resolved) {
-                            if (!contextInformation.containsKey(referenceName)) {
-                                contextInformation.put(referenceName, new HashSet<>());
-                            }
-                            final Set<String> usages        = contextInformation.get(referenceName);
-                            final PhpModifier.Access access = method.getAccess();
-                            if (isMagicMethod || access.isPrivate()) {
-                                usages.add("private");
-                            }
-                            if (!isMagicMethod && access.isProtected()) {
-                                usages.add("protected");
-                            }
-                            if (!isMagicMethod && access.isPublic()) {
-                                usages.add("public");
-                            }
-                        }
-                    }
-                }
+        }
+        if (candidates.isEmpty() || checkSubclasses != ProtectedMembersUsageUtil.hasSubclasses(clazz)) {
+            return;
+        }
 
-                for (final String fieldName : fields.keySet()) {
-                    if (!contextInformation.containsKey(fieldName)) {
-                        continue;
-                    }
-                    final Set<String> usages = contextInformation.get(fieldName);
-                    if (usages.size() == 1 && usages.contains("private")) {
-                        final PsiElement modifier = ModifierExtractionUtil.getProtectedModifier(fields.get(fieldName));
-                        if (modifier != null) {
-                            holder.registerProblem(modifier, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING, new MakePrivateFixer(modifier));
-                        }
-                    }
+        /* subclasses (in any file) are not allowed to use the fields */
+        final Set<String> usedInSubclasses = checkSubclasses
+                ? ProtectedMembersUsageUtil.getNamesUsedInSubclasses(clazz, candidates.keySet())
+                : Collections.emptySet();
+        if (null == usedInSubclasses) {
+            return;
+        }
+        for (final Map.Entry<String, Field> entry : candidates.entrySet()) {
+            if (!usedInSubclasses.contains(entry.getKey())) {
+                final PsiElement modifier = ModifierExtractionUtil.getProtectedModifier(entry.getValue());
+                if (null != modifier) {
+                    holder.registerProblem(modifier, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING, new MakePrivateFixer(modifier));
                 }
-                contextInformation.clear();
-                fields.clear();
             }
         }
     }
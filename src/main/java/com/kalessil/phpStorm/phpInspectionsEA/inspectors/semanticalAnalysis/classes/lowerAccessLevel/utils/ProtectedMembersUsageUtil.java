@@ -0,0 +1,164 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.utils;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Protected fields usage index over the class hierarchy: contexts (private, protected, public) the fields are used
+ * in by the declaring class, and fields names referenced by subclasses (in any file). Each class is scanned once and
+ * the result is cached until its file changes, subclasses are scanned in parallel.
+ *
+ * Scanning subclasses loads PSI of other files, hence it's done in batch mode only (see LowerAccessLevelGlobalInspector).
+ */
+final public class ProtectedMembersUsageUtil {
+    /* methods where usage is not extending the field visibility needs */
+    private static final Set<String> magicMethods = new HashSet<>();
+    static {
+        // magicMethods.add("__construct"); DI, protected might be needed for extension
+        // magicMethods.add("__destruct");
+        // magicMethods.add("__autoload");  deprecated
+        // magicMethods.add("__call");      calls
+        // magicMethods.add("__callStatic");
+        // magicMethods.add("__invoke");
+
+        magicMethods.add("__get");
+        magicMethods.add("__isset");
+        magicMethods.add("__unset");
+        magicMethods.add("__set");
+
+        magicMethods.add("__toString");
+        magicMethods.add("__debugInfo");
+
+        magicMethods.add("__set_state");
+        magicMethods.add("__wakeup");
+        magicMethods.add("__sleep");
+        magicMethods.add("__clone");
+    }
+
+    /**
+     * Own protected fields (not overriding parent ones) => contexts they are used in by the class own methods.
+     * Depends on the parent classes (overrides, references resolving), so it's invalidated on structure changes as well.
+     */
+    @NotNull
+    public static Map<Field, Set<PhpModifier.Access>> getOwnUsages(@NotNull PhpClass clazz) {
+        return CachedValuesManager.getCachedValue(
+            clazz,
+            () -> CachedValueProvider.Result.create(collectOwnUsages(clazz), clazz, PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT)
+        );
+    }
+
+    /**
+     * Index-only check, no subclasses PSI is loaded.
+     */
+    public static boolean hasSubclasses(@NotNull PhpClass clazz) {
+        final String fqn = clazz.getFQN();
+        for (final PhpClass subclass : PhpIndex.getInstance(clazz.getProject()).getDirectSubclasses(fqn)) {
+            if (subclass != clazz) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Names of the fields referenced by subclasses of the class, or null if the lookup was cancelled.
+     */
+    @Nullable
+    public static Set<String> getNamesUsedInSubclasses(@NotNull PhpClass clazz, @NotNull Set<String> names) {
+        final List<PhpClass> subclasses = new ArrayList<>(PhpIndex.getInstance(clazz.getProject()).getAllSubclasses(clazz.getFQN()));
+        subclasses.remove(clazz);
+        if (subclasses.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> result = ConcurrentHashMap.newKeySet();
+        final boolean completed  = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+            subclasses,
+            ProgressManager.getInstance().getProgressIndicator(),
+            false,
+            subclass -> {
+                for (final String name : getReferencedNames(subclass)) {
+                    if (names.contains(name)) {
+                        result.add(name);
+                    }
+                }
+                return true;
+            }
+        );
+        return completed ? result : null;
+    }
+
+    @NotNull
+    private static Set<String> getReferencedNames(@NotNull PhpClass clazz) {
+        return CachedValuesManager.getCachedValue(clazz, () -> {
+            final Set<String> names = new HashSet<>();
+            for (final FieldReference reference : PsiTreeUtil.findChildrenOfType(clazz, FieldReference.class)) {
+                final String name = reference.getName();
+                if (null != name) {
+                    names.add(name);
+                }
+            }
+            return CachedValueProvider.Result.create(names, clazz);
+        });
+    }
+
+    @NotNull
+    private static Map<Field, Set<PhpModifier.Access>> collectOwnUsages(@NotNull PhpClass clazz) {
+        final PhpClass parent           = clazz.getSuperClass();
+        final Map<String, Field> fields = new HashMap<>();
+        for (final Field field : clazz.getOwnFields()) {
+            if (field.getModifier().isProtected()) {
+                /* ensure overrides are skipped */
+                final String fieldName = field.getName();
+                if (null == parent || null == parent.findFieldByName(fieldName, false)) {
+                    fields.put(fieldName, field);
+                }
+            }
+        }
+
+        final Map<Field, Set<PhpModifier.Access>> result = new HashMap<>();
+        if (!fields.isEmpty()) {
+            for (final Method method : clazz.getOwnMethods()) {
+                final GroupStatement body = method.isAbstract() ? null : ExpressionSemanticUtil.getGroupStatement(method);
+                if (null == body) {
+                    continue;
+                }
+                final PhpModifier.Access access = magicMethods.contains(method.getName()) ? PhpModifier.Access.PRIVATE : method.getAccess();
+
+                /* find fields references matching pre-collected names */
+                for (final FieldReference reference : PsiTreeUtil.findChildrenOfType(body, FieldReference.class)) {
+                    final Field field = fields.get(reference.getName());
+                    if (null != field) {
+                        final PsiElement resolved = reference.resolve();
+                        if (field == resolved) {
+                            result.computeIfAbsent(field, key -> EnumSet.noneOf(PhpModifier.Access.class)).add(access);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,273 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.loops;
+
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.codeInsight.PhpScopeHolder;
+import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
+import com.jetbrains.php.lang.lexer.PhpTokenTypes;
+import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.LoopNestingUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class StringAccumulationInLoopInspector extends BasePhpInspection {
+    private static final String messagePattern = "$%v% is grown by concatenation in %d% nested loop(s), collect the parts into an array and 'implode(...)' them once after the loop.";
+
+    @NotNull
+    public String getShortName() {
+        return "StringAccumulationInLoopInspection";
+    }
+
+    @Override
+    @NotNull
+    public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        return new BasePhpElementVisitor() {
+            public void visitPhpSelfAssignmentExpression(SelfAssignmentExpression expression) {
+                if (null != getAppendedPart(expression)) {
+                    this.analyze(expression);
+                }
+            }
+
+            public void visitPhpAssignmentExpression(AssignmentExpression expression) {
+                if (!(expression instanceof SelfAssignmentExpression) && null != getAppendedPart(expression)) {
+                    this.analyze(expression);
+                }
+            }
+
+            private void analyze(@NotNull AssignmentExpression accumulation) {
+                /* only statements are processed: the fix is replacing them */
+                final PsiElement statement = accumulation.getParent();
+                if (!(statement instanceof Statement) || !(statement.getParent() instanceof GroupStatement)) {
+                    return;
+                }
+                final LoopNestingUtil.LoopInfo innermost = LoopNestingUtil.getInnermostLoop(accumulation);
+                if (null == innermost) {
+                    return;
+                }
+
+                final String name       = ((Variable) accumulation.getVariable()).getName();
+                final Function callable = ExpressionSemanticUtil.getScope(accumulation);
+                final PsiElement scope  = null == callable ? accumulation.getContainingFile() : callable;
+                if (null == name || !(scope instanceof PhpScopeHolder)) {
+                    return;
+                }
+
+                /* split variable accesses into accumulations and anything else (reads, resets and so on) */
+                final List<AssignmentExpression> accumulations = new ArrayList<>();
+                final List<PsiElement> otherAccesses           = new ArrayList<>();
+                final PhpAccessVariableInstruction[] accesses  = PhpControlFlowUtil.getFollowingVariableAccessInstructions(
+                    ((PhpScopeHolder) scope).getControlFlow().getEntryPoint(), name, false
+                );
+                for (final PhpAccessVariableInstruction instruction : accesses) {
+                    final PsiElement anchor                 = instruction.getAnchor();
+                    final AssignmentExpression accumulating = getAccumulation(anchor);
+                    if (null == accumulating) {
+                        otherAccesses.add(anchor);
+                    } else if (!accumulations.contains(accumulating)) {
+                        accumulations.add(accumulating);
+                    }
+                }
+
+                /* the outermost loop where the variable is only accumulated */
+                LoopNestingUtil.LoopInfo target = null;
+                LoopNestingUtil.LoopInfo loop   = innermost;
+                while (null != loop && !this.containsAny(loop.getLoop(), otherAccesses)) {
+                    target = loop;
+                    loop   = loop.getOuter();
+                }
+                if (null == target) {
+                    return;
+                }
+
+                /* report once per loop: at the first accumulation */
+                final PsiElement targetLoop = target.getLoop();
+                accumulations.removeIf(candidate -> !PsiTreeUtil.isAncestor(targetLoop, candidate, true));
+                accumulations.sort(Comparator.comparingInt(PsiElement::getTextOffset));
+                if (accumulations.isEmpty() || accumulations.get(0) != accumulation) {
+                    return;
+                }
+
+                /* growth estimate: loops the string is accumulated across */
+                final int depth      = innermost.getDepth() - (null == loop ? 0 : loop.getDepth());
+                final String message = messagePattern
+                        .replace("%v%", name)
+                        .replace("%d%", String.valueOf(depth));
+                holder.registerProblem(
+                    accumulation,
+                    message,
+                    depth > 1 ? ProblemHighlightType.GENERIC_ERROR_OR_WARNING : ProblemHighlightType.WEAK_WARNING,
+                    new CollectPartsFix(targetLoop, name, accumulations)
+                );
+            }
+
+            private boolean containsAny(@NotNull PsiElement loop, @NotNull List<PsiElement> accesses) {
+                for (final PsiElement access : accesses) {
+                    if (PsiTreeUtil.isAncestor(loop, access, false)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /* the accumulation (`$v .= ...` or `$v = $v . ...`) the variable access is a part of */
+    @Nullable
+    private static AssignmentExpression getAccumulation(@Nullable PsiElement access) {
+        PsiElement parent = null == access ? null : access.getParent();
+        while (parent instanceof BinaryExpression && ((BinaryExpression) parent).getLeftOperand() == access) {
+            access = parent;
+            parent = parent.getParent();
+        }
+        if (parent instanceof AssignmentExpression) {
+            final AssignmentExpression assignment = (AssignmentExpression) parent;
+            final PsiElement part                 = getAppendedPart(assignment);
+            final boolean isLeftmost              = access instanceof BinaryExpression && assignment.getValue() == access;
+            if (null != part && (assignment.getVariable() == access || (isLeftmost && !(assignment instanceof SelfAssignmentExpression)))) {
+                return assignment;
+            }
+        }
+        return null;
+    }
+
+    /* the appended part of `$v .= ...` or of `$v = $v . ...`, null if the assignment is not accumulating */
+    @Nullable
+    private static PsiElement getAppendedPart(@NotNull AssignmentExpression assignment) {
+        final PsiElement container = assignment.getVariable();
+        final PsiElement value     = assignment.getValue();
+        if (!(container instanceof Variable) || null == value) {
+            return null;
+        }
+
+        if (assignment instanceof SelfAssignmentExpression) {
+            return ((SelfAssignmentExpression) assignment).getOperationType() == PhpTokenTypes.opCONCAT_ASGN ? value : null;
+        }
+
+        /* walk down the concatenations chain: $v . $a . $b is ($v . $a) . $b */
+        PsiElement leftmost = value;
+        while (leftmost instanceof BinaryExpression && ((BinaryExpression) leftmost).getOperationType() == PhpTokenTypes.opCONCAT) {
+            leftmost = ((BinaryExpression) leftmost).getLeftOperand();
+        }
+        if (leftmost == value || !(leftmost instanceof Variable)) {
+            return null;
+        }
+        final String name = ((Variable) container).getName();
+        return null != name && name.equals(((Variable) leftmost).getName()) ? leftmost : null;
+    }
+
+    private static class CollectPartsFix implements LocalQuickFix {
+        private final SmartPsiElementPointer<PsiElement> loop;
+        private final List<SmartPsiElementPointer<AssignmentExpression>> accumulations = new ArrayList<>();
+        private final String name;
+
+        CollectPartsFix(@NotNull PsiElement loop, @NotNull String name, @NotNull List<AssignmentExpression> accumulations) {
+            final SmartPointerManager factory = SmartPointerManager.getInstance(loop.getProject());
+
+            this.loop = factory.createSmartPsiElementPointer(loop);
+            this.name = name;
+            for (final AssignmentExpression accumulation : accumulations) {
+                this.accumulations.add(factory.createSmartPsiElementPointer(accumulation));
+            }
+        }
+
+        @NotNull
+        @Override
+        public String getFamilyName() {
+            return "Collect parts into an array and implode them after the loop";
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return getFamilyName();
+        }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            final PsiElement loop = this.loop.getElement();
+            if (null == loop || null == loop.getParent()) {
+                return;
+            }
+            final String parts = this.getPartsName(loop);
+
+            /* $v .= ... and $v = $v . ... become $parts[] = ... */
+            for (final SmartPsiElementPointer<AssignmentExpression> pointer : this.accumulations) {
+                final AssignmentExpression accumulation = pointer.getElement();
+                final PsiElement part                   = null == accumulation ? null : getAppendedPart(accumulation);
+                if (null == part) {
+                    continue;
+                }
+
+                String partText = part.getText();
+                if (!(accumulation instanceof SelfAssignmentExpression)) {
+                    /* strip the leading variable and concatenation operator */
+                    final PsiElement value = accumulation.getValue();
+                    //noinspection ConstantConditions as structure is guaranteed by getAppendedPart
+                    partText = value.getText().substring(part.getTextRange().getEndOffset() - value.getTextRange().getStartOffset()).trim();
+                    partText = partText.substring(1).trim();
+                }
+                final AssignmentExpression replacement = PhpPsiElementFactory.createPhpPsiFromText(
+                    project,
+                    AssignmentExpression.class,
+                    "$%p%[] = %e%;".replace("%e%", partText).replace("%p%", parts)
+                );
+                accumulation.replace(replacement);
+            }
+
+            /* $parts = []; before the loop and $v .= implode('', $parts); after it */
+            final PsiElement container = loop.getParent();
+            final PsiElement spacing   = loop.getPrevSibling() instanceof PsiWhiteSpace ? loop.getPrevSibling() : null;
+            final AssignmentExpression initialization
+                    = PhpPsiElementFactory.createPhpPsiFromText(project, AssignmentExpression.class, "$%p% = [];".replace("%p%", parts));
+            final AssignmentExpression implode = PhpPsiElementFactory.createPhpPsiFromText(
+                project,
+                AssignmentExpression.class,
+                "$%v% .= implode('', $%p%);".replace("%v%", this.name).replace("%p%", parts)
+            );
+            container.addBefore(initialization.getParent(), loop);
+            container.addAfter(implode.getParent(), loop);
+            if (null != spacing) {
+                container.addBefore(spacing.copy(), loop);
+                container.addAfter(spacing.copy(), loop);
+            }
+        }
+
+        @NotNull
+        private String getPartsName(@NotNull PsiElement loop) {
+            final Function callable = ExpressionSemanticUtil.getScope(loop);
+            final PsiElement scope  = null == callable ? loop.getContainingFile() : callable;
+            final Set<String> names = new HashSet<>();
+            for (final Variable variable : PsiTreeUtil.findChildrenOfType(scope, Variable.class)) {
+                names.add(variable.getName());
+            }
+
+            final String base = this.name + "Parts";
+            String candidate  = base;
+            for (int suffix = 1; names.contains(candidate); ++suffix) {
+                candidate = base + suffix;
+            }
+            return candidate;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -171,14 +172,16 @@ public class ArrayCastingEquivalentInspector extends BasePhpInspection {
         }
 
         @Override
-        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        protected void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor, @NotNull Map<String, PsiElement> donors) {
             final PsiElement expression = descriptor.getPsiElement();
             if (expression != null) {
-                final PsiElement target = expression instanceof TernaryExpression ? expression : expression.getParent();
-                final String pattern    = "(" + this.expression + ")";
-                final ParenthesizedExpression replacement
-                        = PhpPsiElementFactory.createPhpPsiFromText(project, ParenthesizedExpression.class, pattern);
-                target.replace(replacement.getArgument());
+                final PsiElement target      = expression instanceof TernaryExpression ? expression : expression.getParent();
+                final String pattern         = "(" + this.expression + ")";
+                final PsiElement replacement = donors.computeIfAbsent(
+                    pattern,
+                    key -> PhpPsiElementFactory.createPhpPsiFromText(project, ParenthesizedExpression.class, key).getArgument()
+                );
+                target.replace(replacement);
             }
         }
     }
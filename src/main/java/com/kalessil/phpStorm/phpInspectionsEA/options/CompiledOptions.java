@@ -0,0 +1,42 @@
+package com.kalessil.phpStorm.phpInspectionsEA.options;
+
+import com.intellij.openapi.util.Pair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Inspection options compiled into an immutable matcher (sets, maps) once per options state, instead of being
+ * parsed on each visitor creation. Options are changed by OptionsComponent and settings deserialization directly,
+ * so the raw value is compared with the one the matcher was compiled from.
+ *
+ * Visitors are expected to fetch the compiled options once (in buildVisitor), so a pass sees consistent settings
+ * even when the options are changed meanwhile.
+ */
+public final class CompiledOptions<R, C> {
+    @NotNull private final Function<R, C> compiler;
+    private volatile Pair<R, C> current;
+
+    public CompiledOptions(@NotNull Function<R, C> compiler) {
+        this.compiler = compiler;
+    }
+
+    @NotNull
+    public C get(@NotNull R raw) {
+        Pair<R, C> snapshot = this.current;
+        if (null == snapshot || !snapshot.getFirst().equals(raw)) {
+            snapshot     = Pair.create(raw, this.compiler.apply(raw));
+            this.current = snapshot;
+        }
+        return snapshot.getSecond();
+    }
+}
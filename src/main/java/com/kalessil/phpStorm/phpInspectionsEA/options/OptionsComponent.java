@@ -1,11 +1,13 @@
 package com.kalessil.phpStorm.phpInspectionsEA.options;
 
+import com.intellij.ui.DocumentAdapter;
 import com.kalessil.phpStorm.phpInspectionsEA.gui.PrettyListControl;
 import net.miginfocom.swing.MigLayout;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -62,6 +64,23 @@ public final class OptionsComponent {
         optionsPanel.add(createdSpinner, "pushx, growx");
     }
 
+    public void addTextField(
+        @NotNull final String label,
+        @NotNull final String defaultValue,
+        @NotNull final Consumer<String> updateConsumer
+    ) {
+        final JTextField createdField = new JTextField(defaultValue);
+        createdField.getDocument().addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(final DocumentEvent documentEvent) {
+                updateConsumer.accept(createdField.getText());
+            }
+        });
+
+        optionsPanel.add(new JLabel(label), "wrap");
+        optionsPanel.add(createdField, "pushx, growx, wrap");
+    }
+
     public void addList(
         @NotNull final String label,
         @NotNull final List<String> items,
@@ -0,0 +1,102 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.psi.elements.ClassReference;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.ClassCouplingIndexer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Coupling metrics: efferent coupling (Ce) is the number of classes a class (namespace) depends on, afferent
+ * coupling (Ca) is the number of classes depending on the class (namespace), and instability is Ce / (Ca + Ce).
+ *
+ * Project-wide numbers are taken from the class coupling index, so they are not re-computed on each pass.
+ */
+final public class ClassCouplingUtil {
+    /* FQNs of classes referenced by the class (excluding the class itself), cached until the file changes */
+    @NotNull
+    public static Set<String> getReferencedClasses(@NotNull PhpClass clazz) {
+        return CachedValuesManager.getCachedValue(
+            clazz,
+            () -> CachedValueProvider.Result.create(Collections.unmodifiableSet(collectReferencedClasses(clazz)), clazz)
+        );
+    }
+
+    @NotNull
+    public static Set<String> collectReferencedClasses(@NotNull PhpClass clazz) {
+        final String ownFqn      = clazz.getFQN();
+        final Set<String> result = new HashSet<>();
+        for (final ClassReference reference : PsiTreeUtil.findChildrenOfType(clazz, ClassReference.class)) {
+            final String fqn = reference.getFQN();
+            if (null != fqn && !fqn.equals(ownFqn)) {
+                result.add(fqn);
+            }
+        }
+        return result;
+    }
+
+    public static int getAfferentCoupling(@NotNull Project project, @NotNull String classFqn) {
+        return countMerged(project, classFqn);
+    }
+
+    public static int getNamespaceEfferentCoupling(@NotNull Project project, @NotNull String namespace) {
+        return countMerged(project, getNamespaceReferencesKey(namespace));
+    }
+
+    public static int getNamespaceAfferentCoupling(@NotNull Project project, @NotNull String namespace) {
+        return countMerged(project, getNamespaceKey(namespace));
+    }
+
+    public static double getInstability(int afferent, int efferent) {
+        return 0 == afferent + efferent ? 0.0 : (double) efferent / (afferent + efferent);
+    }
+
+    /* '\A\B\C' => '\A\B', '\C' => '\' */
+    @NotNull
+    public static String getNamespace(@NotNull String fqn) {
+        final int position = fqn.lastIndexOf('\\');
+        return position <= 0 ? "\\" : fqn.substring(0, position);
+    }
+
+    /* namespaces are stored in the same index as classes dependants, with keys not clashing with classes FQNs */
+    @NotNull
+    public static String getNamespaceKey(@NotNull String namespace) {
+        return "namespace:" + namespace;
+    }
+
+    @NotNull
+    public static String getNamespaceReferencesKey(@NotNull String namespace) {
+        return "namespace-references:" + namespace;
+    }
+
+    private static int countMerged(@NotNull Project project, @NotNull String key) {
+        if (DumbService.isDumb(project)) {
+            return 0;
+        }
+
+        final Set<String> merged = new HashSet<>();
+        for (final Set<String> values : FileBasedIndex.getInstance().getValues(ClassCouplingIndexer.identity, key, GlobalSearchScope.allScope(project))) {
+            merged.addAll(values);
+        }
+        return merged.size();
+    }
+}
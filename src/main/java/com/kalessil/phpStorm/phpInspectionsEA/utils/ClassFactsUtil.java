@@ -0,0 +1,145 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
+import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.ClassFactsIndexer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Class facts packed into a bitset: computed once per class PSI, and stored in {@link ClassFactsIndexer} for
+ * lookups by FQN. Magic methods and constructor facts are about own declarations only: the index can not
+ * resolve parent classes, hence callers are falling back to PSI when a fact is not declared by the class itself.
+ * Facts of classes sharing an FQN are OR-merged, so a missing fact holds for every declaration.
+ */
+final public class ClassFactsUtil {
+    public static final int TEST_CLASS            = 1;
+    public static final int FINAL                 = 1 << 1;
+    public static final int ABSTRACT              = 1 << 2;
+    public static final int DECLARES_GET          = 1 << 3;
+    public static final int DECLARES_SET          = 1 << 4;
+    public static final int DECLARES_ISSET        = 1 << 5;
+    public static final int DECLARES_CALL         = 1 << 6;
+    /* own constructor is annotated with @throws or @inheritdoc, or is not declared (inherited ones are unknown here) */
+    public static final int CONSTRUCTOR_MAY_THROW = 1 << 7;
+    public static final int DEPRECATED            = 1 << 8;
+
+    public static boolean hasFact(@NotNull PhpClass clazz, int fact) {
+        return (getFacts(clazz) & fact) == fact;
+    }
+
+    /* facts of the class at hand, cached until the class changes */
+    public static int getFacts(@NotNull PhpClass clazz) {
+        return CachedValuesManager.getCachedValue(clazz, () -> CachedValueProvider.Result.create(collectFacts(clazz), clazz));
+    }
+
+    /* facts holding for any of the classes with the FQN, null when unknown (indexing in progress, not indexed) */
+    @Nullable
+    public static Integer getFacts(@NotNull Project project, @NotNull String fqn) {
+        if (DumbService.isDumb(project)) {
+            return null;
+        }
+
+        final List<Integer> values = FileBasedIndex.getInstance()
+                .getValues(ClassFactsIndexer.identity, fqn.toLowerCase(), GlobalSearchScope.allScope(project));
+        if (values.isEmpty()) {
+            return null;
+        }
+        int result = 0;
+        for (final Integer value : values) {
+            result |= value;
+        }
+        return result;
+    }
+
+    public static int collectFacts(@NotNull PhpClass clazz) {
+        int result = 0;
+        if (isTestClass(clazz)) {
+            result |= TEST_CLASS;
+        }
+        if (clazz.isFinal()) {
+            result |= FINAL;
+        }
+        if (clazz.isAbstract()) {
+            result |= ABSTRACT;
+        }
+        if (clazz.isDeprecated()) {
+            result |= DEPRECATED;
+        }
+
+        for (final Method method : clazz.getOwnMethods()) {
+            final String name = method.getName().toLowerCase();
+            switch (name) {
+                case "__get":
+                    result |= DECLARES_GET;
+                    break;
+                case "__set":
+                    result |= DECLARES_SET;
+                    break;
+                case "__isset":
+                    result |= DECLARES_ISSET;
+                    break;
+                case "__call":
+                    result |= DECLARES_CALL;
+                    break;
+            }
+        }
+
+        final Method constructor = clazz.getOwnConstructor();
+        if (null == constructor) {
+            result |= CONSTRUCTOR_MAY_THROW;
+        } else if (isAnnotatedAsThrowing(constructor)) {
+            result |= CONSTRUCTOR_MAY_THROW;
+        }
+
+        return result;
+    }
+
+    /* same criteria as ThrowsResolveUtil is using: case-insensitive @throws, or @inheritdoc */
+    private static boolean isAnnotatedAsThrowing(@NotNull Method method) {
+        final PhpDocComment annotations = method.getDocComment();
+        if (null != annotations) {
+            if (annotations.hasInheritDocTag()) {
+                return true;
+            }
+            for (final PhpDocTag tag : PsiTreeUtil.findChildrenOfType(annotations, PhpDocTag.class)) {
+                if (tag.getName().equalsIgnoreCase("@throws")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTestClass(@NotNull PhpClass clazz) {
+        /* first criteria - file name */
+        final String fileName = clazz.getContainingFile().getName();
+        if (fileName.endsWith("Test.php") || fileName.endsWith("Spec.php") || fileName.endsWith(".phpt")) {
+            return true;
+        }
+
+        /* second criteria: FQN containing \Test[s]\ or ends with Test */
+        final String classFqn = clazz.getFQN();
+        return classFqn.endsWith("Test") || classFqn.contains("\\Tests\\") || classFqn.contains("\\Test\\");
+    }
+}
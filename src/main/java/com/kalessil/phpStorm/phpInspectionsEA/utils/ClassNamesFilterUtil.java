@@ -0,0 +1,186 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.UserDataHolderEx;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.jetbrains.php.PhpIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Bloom filter of classes and interfaces short names known to the project: lets string literals being rejected
+ * before any regex matching or index access. Answers "no" only for names which are not declared (no false
+ * negatives), while "yes" needs to be confirmed with the index (about 1% false positives).
+ *
+ * The filter is rebuilt when the project structure changes (out of code block modifications): bloom filters
+ * are not supporting removals, so renamed and deleted classes would stay there otherwise. Rebuilding happens
+ * on a pooled thread in a read action yielding to write actions, meanwhile (and until the first build is done)
+ * all names are answered with "maybe".
+ */
+final public class ClassNamesFilterUtil {
+    private static final Key<FilterState> stateKey = Key.create("kalessil.phpStorm.phpInspectionsEA.class.names.filter");
+
+    /**
+     * Checks if the last segment of the name (e.g. Bar for \Foo\Bar or Foo\\Bar) can be a known class name.
+     * The check is case-insensitive and is not allocating, so it's safe to run it on every string literal.
+     */
+    public static boolean mayBeClassName(@NotNull Project project, @NotNull String name) {
+        /* while indexing the filter can not be built: fall back to the index lookups, when they are possible */
+        if (DumbService.isDumb(project)) {
+            return true;
+        }
+
+        final Filter filter = getState(project).get(project);
+        return null == filter || filter.mightContain(name, name.lastIndexOf('\\') + 1, name.length());
+    }
+
+    /* builds the filter synchronously, so tests are not depending on the pooled thread timing */
+    @TestOnly
+    public static void rebuildFilter(@NotNull Project project) {
+        getState(project).store(buildFilter(project), getStamp(project));
+    }
+
+    @NotNull
+    private static FilterState getState(@NotNull Project project) {
+        final FilterState state = project.getUserData(stateKey);
+        return null == state ? ((UserDataHolderEx) project).putUserDataIfAbsent(stateKey, new FilterState()) : state;
+    }
+
+    private static long getStamp(@NotNull Project project) {
+        return PsiModificationTracker.SERVICE.getInstance(project).getOutOfCodeBlockModificationCount();
+    }
+
+    @NotNull
+    private static Filter buildFilter(@NotNull Project project) {
+        final PhpIndex index                = PhpIndex.getInstance(project);
+        final Collection<String> classes    = index.getAllClassNames(null);
+        final Collection<String> interfaces = index.getAllInterfaceNames();
+
+        final Filter filter = new Filter(classes.size() + interfaces.size());
+        classes.forEach(filter::add);
+        interfaces.forEach(filter::add);
+        return filter;
+    }
+
+    private static final class FilterState {
+        @NotNull private final AtomicBoolean building = new AtomicBoolean();
+        @Nullable private volatile Filter filter;
+        private volatile long stamp = -1;
+
+        /* the up-to-date filter, or null when it is (being) rebuilt */
+        @Nullable
+        Filter get(@NotNull Project project) {
+            final long current = getStamp(project);
+            if (current == this.stamp) {
+                return this.filter;
+            }
+
+            if (this.building.compareAndSet(false, true)) {
+                ApplicationManager.getApplication().executeOnPooledThread(() -> {
+                    try {
+                        /* large projects: the read action is cancelled by pending write actions, not blocking them */
+                        final Ref<Filter> rebuilt = Ref.create();
+                        final boolean completed   = ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() -> {
+                            if (!project.isDisposed() && !DumbService.isDumb(project)) {
+                                rebuilt.set(buildFilter(project));
+                            }
+                        });
+                        if (completed && null != rebuilt.get()) {
+                            this.store(rebuilt.get(), current);
+                        }
+                    } catch (ProcessCanceledException | IndexNotReadyException interrupted) {
+                        /* will be re-scheduled by the next lookup */
+                    } finally {
+                        this.building.set(false);
+                    }
+                });
+            }
+            return null;
+        }
+
+        void store(@NotNull Filter filter, long stamp) {
+            this.filter = filter;
+            this.stamp  = stamp;
+        }
+    }
+
+    final public static class Filter {
+        /* 10 bits per name and 7 probes are giving about 1% false positives */
+        private static final int bitsPerName = 10;
+        private static final int probes      = 7;
+
+        @NotNull private final long[] bits;
+        private final int size;
+
+        public Filter(int expectedNames) {
+            final long wanted = Math.max(1024L, (long) expectedNames * bitsPerName);
+            this.size         = (int) Math.min(wanted, Integer.MAX_VALUE - 63);
+            this.bits         = new long[(this.size + 63) >>> 6];
+        }
+
+        public void add(@NotNull CharSequence name) {
+            final int first  = hashFirst(name, 0, name.length());
+            final int second = hashSecond(name, 0, name.length());
+            for (int probe = 0; probe < probes; ++probe) {
+                final int bit = Math.floorMod(first + probe * second, this.size);
+                this.bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        /* checks the [start, end) part of the name */
+        public boolean mightContain(@NotNull CharSequence name, int start, int end) {
+            if (start >= end) {
+                return false;
+            }
+
+            final int first  = hashFirst(name, start, end);
+            final int second = hashSecond(name, start, end);
+            for (int probe = 0; probe < probes; ++probe) {
+                final int bit = Math.floorMod(first + probe * second, this.size);
+                if (0 == (this.bits[bit >>> 6] & (1L << bit))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /* PHP class names are case-insensitive, so are the hashes */
+        private static int hashFirst(@NotNull CharSequence name, int start, int end) {
+            int hash = 0;
+            for (int position = start; position < end; ++position) {
+                hash = 31 * hash + Character.toLowerCase(name.charAt(position));
+            }
+            return hash;
+        }
+
+        private static int hashSecond(@NotNull CharSequence name, int start, int end) {
+            /* FNV-1a, forced to be odd so the probes are not collapsing into one bit */
+            int hash = 0x811c9dc5;
+            for (int position = start; position < end; ++position) {
+                hash ^= Character.toLowerCase(name.charAt(position));
+                hash *= 0x01000193;
+            }
+            return hash | 1;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.ForeachStatement;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.jetbrains.php.lang.psi.elements.GroupStatement;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Loops nesting table: statements of a callable (or of a file global scope) mapped to the innermost loop
+ * they are executed in. The table is built once per scope and cached until the containing file changes,
+ * so inspections are not walking parents up to the callable for each expression they check.
+ *
+ * Closures are separate scopes: a closure defined in a loop body is not considered to be executed in the loop.
+ */
+final public class LoopNestingUtil {
+    final public static class LoopInfo {
+        @NotNull private final PsiElement loop;
+        @Nullable private final LoopInfo outer;
+        private final int depth;
+
+        LoopInfo(@NotNull PsiElement loop, @Nullable LoopInfo outer) {
+            this.loop  = loop;
+            this.outer = outer;
+            this.depth = null == outer ? 1 : outer.depth + 1;
+        }
+
+        /* one of foreach, for, while, do-while statements */
+        @NotNull
+        public PsiElement getLoop() {
+            return this.loop;
+        }
+
+        @Nullable
+        public LoopInfo getOuter() {
+            return this.outer;
+        }
+
+        /* 1 for loops which are not nested */
+        public int getDepth() {
+            return this.depth;
+        }
+    }
+
+    /**
+     * The innermost loop the expression is evaluated in on each iteration: loop conditions are evaluated
+     * per iteration, while foreach source is evaluated once, in the enclosing loop (if any).
+     */
+    @Nullable
+    public static LoopInfo getInnermostLoop(@NotNull PsiElement expression) {
+        /* statements are direct children of group statements (including loops themselves) */
+        PsiElement statement = expression;
+        while (null != statement && !(statement.getParent() instanceof GroupStatement)) {
+            statement = statement.getParent();
+        }
+        if (null == statement) {
+            return null;
+        }
+
+        final Table table = getTable(statement);
+        if (statement != expression && OpenapiTypesUtil.isLoop(statement)) {
+            /* the expression is a part of loop header or of its body without braces */
+            final boolean isSource = statement instanceof ForeachStatement &&
+                PsiTreeUtil.isAncestor(((ForeachStatement) statement).getArray(), expression, false);
+            if (!isSource) {
+                return table.loops.get(statement);
+            }
+        }
+
+        return table.statements.get(statement);
+    }
+
+    public static int getLoopDepth(@NotNull PsiElement expression) {
+        final LoopInfo loop = getInnermostLoop(expression);
+        return null == loop ? 0 : loop.getDepth();
+    }
+
+    @NotNull
+    private static Table getTable(@NotNull PsiElement statement) {
+        final Function callable = ExpressionSemanticUtil.getScope(statement);
+        final PsiElement scope  = null == callable ? statement.getContainingFile() : callable;
+        return CachedValuesManager.getCachedValue(scope, () -> CachedValueProvider.Result.create(new Table(scope), scope));
+    }
+
+    private static final class Table {
+        /* statements => the innermost loop containing them (loops are mapped to the enclosing loop) */
+        @NotNull private final Map<PsiElement, LoopInfo> statements = new HashMap<>();
+        /* loops => their own nesting information */
+        @NotNull private final Map<PsiElement, LoopInfo> loops = new HashMap<>();
+
+        Table(@NotNull PsiElement scope) {
+            final Deque<PsiElement> elements = new ArrayDeque<>();
+            final Deque<LoopInfo> enclosing  = new ArrayDeque<>();
+            /* deques are not accepting nulls, hence the marker for statements outside of loops */
+            final LoopInfo none              = new LoopInfo(scope, null);
+            for (PsiElement child = scope.getFirstChild(); null != child; child = child.getNextSibling()) {
+                elements.push(child);
+                enclosing.push(none);
+            }
+
+            while (!elements.isEmpty()) {
+                final PsiElement element = elements.pop();
+                final LoopInfo current   = enclosing.pop();
+                /* other callables and classes are separate scopes */
+                if (element instanceof Function || element instanceof PhpClass) {
+                    continue;
+                }
+
+                if (current != none && element.getParent() instanceof GroupStatement) {
+                    this.statements.put(element, current);
+                }
+
+                LoopInfo inner = current;
+                if (OpenapiTypesUtil.isLoop(element)) {
+                    inner = new LoopInfo(element, current == none ? null : current);
+                    this.loops.put(element, inner);
+                }
+
+                for (PsiElement child = element.getFirstChild(); null != child; child = child.getNextSibling()) {
+                    if (null != child.getFirstChild()) {
+                        elements.push(child);
+                        enclosing.push(inner);
+                    }
+                }
+            }
+        }
+    }
+}
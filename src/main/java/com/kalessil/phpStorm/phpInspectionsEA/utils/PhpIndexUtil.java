@@ -1,23 +1,89 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.LinkedList;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Classes resolution through PhpIndex, cached per project until out of code block modifications (classes can not
+ * appear, disappear or be renamed otherwise). Misses are cached as well: unresolvable names (framework magic,
+ * missing dependencies) are not re-queried on every pass. Results are immutable and shared.
+ */
 final public class PhpIndexUtil {
+    /* classes and interfaces by FQN, when not strict also by name if FQN lookup failed */
+    @NotNull
+    public static List<PhpClass> getObjectInterfaces(@NotNull Project project, @NotNull String name, boolean strict) {
+        return getCached(project, (strict ? "s:" : "n:") + name, index -> lookup(index, name, strict));
+    }
+
+    /* classes only (no interfaces) by FQN */
+    @NotNull
+    public static List<PhpClass> getClassesByFQN(@NotNull Project project, @NotNull String fqn) {
+        return getCached(project, "c:" + fqn, index -> toList(index.getClassesByFQN(fqn)));
+    }
+
+    @NotNull
+    private static List<PhpClass> getCached(@NotNull Project project, @NotNull String key, @NotNull Function<PhpIndex, List<PhpClass>> query) {
+        final Map<String, List<PhpClass>> cache = CachedValuesManager.getManager(project).getCachedValue(
+            project,
+            () -> CachedValueProvider.Result.create(
+                new ConcurrentHashMap<String, List<PhpClass>>(),
+                PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT
+            )
+        );
 
-    static public LinkedList<PhpClass> getObjectInterfaces(String strName, PhpIndex objIndex, boolean strict) {
-        LinkedList<PhpClass> collection = new LinkedList<>();
+        List<PhpClass> result = cache.get(key);
+        if (null == result || !isValid(result)) {
+            result = query.apply(PhpIndex.getInstance(project));
+            cache.put(key, result);
+        }
+        return result;
+    }
 
-        collection.addAll(objIndex.getClassesByFQN(strName));
-        collection.addAll(objIndex.getInterfacesByFQN(strName));
+    @NotNull
+    private static List<PhpClass> lookup(@NotNull PhpIndex index, @NotNull String name, boolean strict) {
+        final List<PhpClass> collection = new ArrayList<>();
+        collection.addAll(index.getClassesByFQN(name));
+        collection.addAll(index.getInterfacesByFQN(name));
 
-        if (!strict && 0 == collection.size()) {
-            collection.addAll(objIndex.getClassesByName(strName));
-            collection.addAll(objIndex.getInterfacesByName(strName));
+        if (!strict && collection.isEmpty()) {
+            collection.addAll(index.getClassesByName(name));
+            collection.addAll(index.getInterfacesByName(name));
         }
 
-        return collection;
+        return toList(collection);
+    }
+
+    /* misses are wrapped as well (not the emptyList singleton): a cached miss stays distinguishable from a re-query */
+    @NotNull
+    private static List<PhpClass> toList(@NotNull Collection<PhpClass> classes) {
+        return Collections.unmodifiableList(Arrays.asList(classes.toArray(new PhpClass[classes.size()])));
+    }
+
+    /* files can be reparsed without structural changes, the classes PSI is re-created then */
+    private static boolean isValid(@NotNull List<PhpClass> classes) {
+        for (final PhpClass clazz : classes) {
+            if (!clazz.isValid()) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -8,6 +8,7 @@ import com.jetbrains.php.lang.psi.elements.*;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /*
@@ -70,6 +71,19 @@ public class PossibleValuesDiscoveryUtil {
             return;
         }
 
+        /* flow-sensitive discovery: only definitions reaching the variable access */
+        final List<PsiElement> reachingValues = ReachingDefinitionsUtil.getReachingValues(variable);
+        if (null != reachingValues) {
+            for (final PsiElement storedValue : reachingValues) {
+                final Set<PsiElement> discoveredWrites = discover(storedValue, processed);
+                if (discoveredWrites.size() > 0) {
+                    result.addAll(discoveredWrites);
+                    discoveredWrites.clear();
+                }
+            }
+            return;
+        }
+
         /* collect default value if variable is a parameter */
         for (Parameter parameter : callable.getParameters()) {
             final PsiElement defaultValue = parameter.getDefaultValue();
@@ -0,0 +1,109 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Parsed donor PSI for quick-fixes, cached per project: each fix shape is parsed once instead of parsing a new
+ * PHP file for each fix application (bulk fixing, previews).
+ *
+ * Donors are shared, so they must not be modified: PsiElement.replace/add* are copying them. Templates are
+ * copied and have placeholder leaves (identifiers, variables) substituted, the copy can be modified if needed.
+ *
+ * Only constant texts and shapes with placeholders are cached: texts built from the analyzed code (e.g. suggested
+ * replacements) are unique per fix and must be parsed with PhpPsiElementFactory instead.
+ */
+final public class PsiTemplatesUtil {
+    private static final int cacheSize = 100;
+
+    /**
+     * Same as PhpPsiElementFactory.createFromText, but the result is cached and shared. The text must be a constant.
+     */
+    @Nullable
+    public static <T extends PsiElement> T getDonor(@NotNull Project project, @NotNull Class<T> clazz, @NotNull String text) {
+        final Map<String, PsiElement> donors = getCache(project);
+        final String key                     = clazz.getName() + ':' + text;
+        PsiElement donor;
+        synchronized (donors) {
+            donor = donors.get(key);
+        }
+        if (null == donor || !donor.isValid()) {
+            donor = PhpPsiElementFactory.createFromText(project, clazz, text);
+            if (null != donor) {
+                synchronized (donors) {
+                    donors.put(key, donor);
+                }
+            }
+        }
+        return clazz.isInstance(donor) ? clazz.cast(donor) : null;
+    }
+
+    /**
+     * Copy of the parsed template with placeholder leaves (e.g. "EA_METHOD", "$EA_PARAMETER_0") replaced
+     * with given texts. Substitutions must keep tokens types: identifier for identifier, variable for variable.
+     */
+    @Nullable
+    public static <T extends PsiElement> T fromTemplate(
+        @NotNull Project project,
+        @NotNull Class<T> clazz,
+        @NotNull String template,
+        @NotNull Map<String, String> substitutions
+    ) {
+        final T donor = getDonor(project, clazz, template);
+        if (null == donor) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        final T copy                            = (T) donor.copy();
+        final List<LeafPsiElement> placeholders = new ArrayList<>();
+        PsiTreeUtil.processElements(copy, element -> {
+            if (element instanceof LeafPsiElement && substitutions.containsKey(element.getText())) {
+                placeholders.add((LeafPsiElement) element);
+            }
+            return true;
+        });
+        for (final LeafPsiElement placeholder : placeholders) {
+            placeholder.replaceWithText(substitutions.get(placeholder.getText()));
+        }
+        return copy;
+    }
+
+    @NotNull
+    private static Map<String, PsiElement> getCache(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(
+            project,
+            () -> CachedValueProvider.Result.create(
+                new LinkedHashMap<String, PsiElement>(cacheSize, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PsiElement> eldest) {
+                        return this.size() > cacheSize;
+                    }
+                },
+                ModificationTracker.NEVER_CHANGED
+            )
+        );
+    }
+}
@@ -0,0 +1,176 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlow;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpInstruction;
+import com.jetbrains.php.lang.psi.elements.AssignmentExpression;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.jetbrains.php.lang.psi.elements.Parameter;
+import com.jetbrains.php.lang.psi.elements.Variable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Reaching definitions over the callable control flow: definitions are parameters default values and plain
+ * assignments ($x = ...). Self-assignments, multi-assignments, foreach variables and other writes are not
+ * defining a value, neither killing previous definitions (same as the flow-insensitive discovery did).
+ *
+ * The table is built once per callable and cached until the containing file changes.
+ */
+final public class ReachingDefinitionsUtil {
+    /**
+     * Values possibly stored in the variable at the point it's accessed, or null if the variable access
+     * is not a part of the callable control flow (e.g. the variable is not inside a function).
+     */
+    @Nullable
+    public static List<PsiElement> getReachingValues(@NotNull Variable variable) {
+        final Function callable = ExpressionSemanticUtil.getScope(variable);
+        if (null == callable) {
+            return null;
+        }
+
+        final Table table = CachedValuesManager.getCachedValue(
+            callable,
+            () -> CachedValueProvider.Result.create(new Table(callable), callable)
+        );
+        return table.getValues(variable);
+    }
+
+    private static final class Table {
+        /* definitions: stored values and names of variables they are assigned to */
+        @NotNull private final List<PsiElement> values = new ArrayList<>();
+        @NotNull private final List<String> names      = new ArrayList<>();
+        /* accessed variables => definitions reaching the access */
+        @NotNull private final Map<PsiElement, BitSet> reaching = new HashMap<>();
+
+        Table(@NotNull Function callable) {
+            final PhpControlFlow flow              = callable.getControlFlow();
+            final PhpInstruction[] instructions    = flow.getInstructions();
+            final Map<PhpInstruction, Integer> ids = new IdentityHashMap<>();
+            for (int index = 0; index < instructions.length; ++index) {
+                ids.put(instructions[index], index);
+            }
+
+            /* parameters defaults are defined at the entry point */
+            final Map<String, BitSet> definitionsByName = new HashMap<>();
+            final BitSet entryDefinitions               = new BitSet();
+            for (final Parameter parameter : callable.getParameters()) {
+                final PsiElement defaultValue = parameter.getDefaultValue();
+                if (null != defaultValue) {
+                    entryDefinitions.set(this.define(parameter.getName(), defaultValue, definitionsByName));
+                }
+            }
+
+            /* assignments are defined at the variable write access */
+            final int[] generated = new int[instructions.length];
+            Arrays.fill(generated, -1);
+            for (int index = 0; index < instructions.length; ++index) {
+                final PhpInstruction instruction = instructions[index];
+                if (!(instruction instanceof PhpAccessVariableInstruction)) {
+                    continue;
+                }
+
+                final PsiElement anchor = instruction.getAnchor();
+                final PsiElement parent = null == anchor ? null : anchor.getParent();
+                if (
+                    anchor instanceof Variable && OpenapiTypesUtil.isAssignment(parent) &&
+                    ((AssignmentExpression) parent).getVariable() == anchor &&
+                    ((PhpAccessVariableInstruction) instruction).getAccess().isWrite()
+                ) {
+                    final PsiElement value = ((AssignmentExpression) parent).getValue();
+                    final String name      = ((Variable) anchor).getName();
+                    if (null != value && null != name) {
+                        generated[index] = this.define(name, value, definitionsByName);
+                    }
+                }
+            }
+
+            /* iterate to the fixed point: out = generated + (in - definitions of the same variable) */
+            final BitSet[] in  = new BitSet[instructions.length];
+            final BitSet[] out = new BitSet[instructions.length];
+            for (int index = 0; index < instructions.length; ++index) {
+                in[index]  = new BitSet();
+                out[index] = new BitSet();
+            }
+            final Integer entry = ids.get(flow.getEntryPoint());
+
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int index = 0; index < instructions.length; ++index) {
+                    final BitSet input = new BitSet();
+                    if (null != entry && entry == index) {
+                        input.or(entryDefinitions);
+                    }
+                    for (final PhpInstruction predecessor : instructions[index].getPredecessors()) {
+                        final Integer id = ids.get(predecessor);
+                        if (null != id) {
+                            input.or(out[id]);
+                        }
+                    }
+
+                    final BitSet output = (BitSet) input.clone();
+                    if (-1 != generated[index]) {
+                        output.andNot(definitionsByName.get(this.names.get(generated[index])));
+                        output.set(generated[index]);
+                    }
+
+                    in[index] = input;
+                    if (!output.equals(out[index])) {
+                        out[index] = output;
+                        changed    = true;
+                    }
+                }
+            }
+
+            /* keep only what the queries need */
+            for (int index = 0; index < instructions.length; ++index) {
+                if (instructions[index] instanceof PhpAccessVariableInstruction) {
+                    final PsiElement anchor = instructions[index].getAnchor();
+                    if (null != anchor) {
+                        this.reaching.put(anchor, in[index]);
+                    }
+                }
+            }
+        }
+
+        private int define(@NotNull String name, @NotNull PsiElement value, @NotNull Map<String, BitSet> definitionsByName) {
+            final int index = this.values.size();
+            this.values.add(value);
+            this.names.add(name);
+            definitionsByName.computeIfAbsent(name, key -> new BitSet()).set(index);
+            return index;
+        }
+
+        @Nullable
+        List<PsiElement> getValues(@NotNull Variable variable) {
+            final BitSet definitions = this.reaching.get(variable);
+            if (null == definitions) {
+                return null;
+            }
+
+            final String name             = variable.getName();
+            final List<PsiElement> result = new ArrayList<>();
+            for (int index = definitions.nextSetBit(0); index >= 0; index = definitions.nextSetBit(index + 1)) {
+                if (this.names.get(index).equals(name)) {
+                    result.add(this.values.get(index));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Loads inspections rules tables from /rules/*.txt resources: one entry (or key=value pair) per line,
+ * lines starting with '#' are comments. Inspections are expected to load the tables lazily (holder idiom),
+ * so nothing is loaded before a visitor really needs the table.
+ */
+final public class RulesTablesUtil {
+    @NotNull
+    public static Set<String> loadSet(@NotNull String table) {
+        return Collections.unmodifiableSet(new HashSet<>(readEntries(table)));
+    }
+
+    @NotNull
+    public static Map<String, String> loadMap(@NotNull String table) {
+        final Map<String, String> map = new HashMap<>();
+        for (final String entry : readEntries(table)) {
+            final int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("Malformed entry in rules table " + table + ": " + entry);
+            }
+            map.put(entry.substring(0, separator), entry.substring(separator + 1));
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    @NotNull
+    private static List<String> readEntries(@NotNull String table) {
+        final InputStream stream = RulesTablesUtil.class.getResourceAsStream("/rules/" + table);
+        if (null == stream) {
+            throw new IllegalStateException("Rules table is not available: " + table);
+        }
+
+        final List<String> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    entries.add(line);
+                }
+            }
+        } catch (IOException failure) {
+            throw new IllegalStateException("Rules table is not readable: " + table, failure);
+        }
+
+        return entries;
+    }
+}
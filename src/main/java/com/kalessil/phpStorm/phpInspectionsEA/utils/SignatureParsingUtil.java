@@ -0,0 +1,61 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * String handling of PhpStorm type signatures (e.g. '#M#C\Foo.bar|null') used by TypeFromSignatureResolvingUtil.
+ * Kept free of index lookups, so it can be benchmarked over recorded signatures.
+ */
+final public class SignatureParsingUtil {
+    public static boolean isPolyVariant(@NotNull String signature) {
+        return signature.indexOf('|') >= 0;
+    }
+
+    @NotNull
+    public static String[] getVariants(@NotNull String signature) {
+        return signature.split("\\|");
+    }
+
+    /* plain types (e.g. 'string', '\Foo') are not needing resolving; the signature is not empty */
+    public static boolean isType(@NotNull String signature) {
+        return signature.charAt(0) != '#' && signature.charAt(0) != '?';
+    }
+
+    /* F(unction), V(ariable), C(lass), M(ethod), P(roperty), K (constant) and others; '?' when unknown */
+    public static char getKind(@NotNull String signature) {
+        return signature.length() >= 2 ? signature.charAt(1) : '?';
+    }
+
+    /* '#F\strlen' => '\strlen', '#V$x' => '$x', '#C\Foo' => '\Foo' */
+    @NotNull
+    public static String getReferencedName(@NotNull String signature) {
+        switch (getKind(signature)) {
+            case 'F':
+                return signature.replace("#F", "");
+            case 'V':
+                return signature.replace("#V", "");
+            case 'C':
+                return signature.replace("#C", "");
+            default:
+                return signature;
+        }
+    }
+
+    /* '#M#M#C\Foo.bar.baz' => { '\Foo', 'bar', 'baz' }, null when the signature is not a members chain */
+    @Nullable
+    public static String[] getChain(@NotNull String signature) {
+        final String[] internalsAndChain = signature.split("#C");
+        /* { <some garbage>, <target chain> }  */
+        return 2 == internalsAndChain.length ? internalsAndChain[1].split("\\.") : null;
+    }
+}
@@ -0,0 +1,566 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.lexer.PhpTokenTypes;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.TaintSummariesIndexer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Taint analysis for security inspections: request data ($_GET, $_POST, ...) reaching sinks (include, unserialize,
+ * extract, parse_str), also through user functions and methods declared in other files.
+ *
+ * Each function is summarized without resolving anything, in terms of labels flowing to its return value, sinks and
+ * arguments of called functions. Labels are sources ("$_GET"), parameters ("#0"), returns of callees ("\foo:ret")
+ * and chains through callees ("\foo:1>$_GET": $_GET passed as the 2nd argument of \foo flows to its return value).
+ * Summaries are stored in {@link TaintSummariesIndexer}, so callees are not re-analyzed on each pass: they are
+ * resolved on demand and memoized until the next PSI modification. Variables flows are cached per scope.
+ *
+ * The analysis is flow-insensitive. Calls on arbitrary objects ($object->method()) and unknown functions are
+ * considered sanitizing, only well-known string functions are propagating taint.
+ */
+final public class TaintAnalysisUtil {
+    public static final String sinkInclude     = "include";
+    public static final String sinkUnserialize = "unserialize";
+    public static final String sinkExtract     = "extract";
+    public static final String sinkParseStr    = "parse_str";
+
+    private static final String returnTarget = "return";
+    private static final String returnLabel  = ":ret";
+    private static final int maxChainLength  = 3;
+    private static final int maxIterations   = 5;
+
+    private static final Set<String> sources = new HashSet<>();
+    static {
+        sources.add("_GET");
+        sources.add("_POST");
+        sources.add("_REQUEST");
+        sources.add("_COOKIE");
+        sources.add("_FILES");
+    }
+
+    private static final Map<String, String> sinks = new HashMap<>();
+    static {
+        sinks.put("unserialize", sinkUnserialize);
+        sinks.put("extract", sinkExtract);
+        sinks.put("parse_str", sinkParseStr);
+        sinks.put("mb_parse_str", sinkParseStr);
+    }
+
+    private static final Set<String> propagators = new HashSet<>();
+    static {
+        propagators.add("base64_decode");
+        propagators.add("urldecode");
+        propagators.add("rawurldecode");
+        propagators.add("stripslashes");
+        propagators.add("trim");
+        propagators.add("ltrim");
+        propagators.add("rtrim");
+        propagators.add("strtolower");
+        propagators.add("strtoupper");
+        propagators.add("str_replace");
+        propagators.add("substr");
+        propagators.add("sprintf");
+        propagators.add("implode");
+        propagators.add("json_decode");
+    }
+
+    /* sources (e.g. "$_GET") the expression value can be taken from, sorted */
+    @NotNull
+    public static Set<String> getSources(@NotNull PsiElement expression) {
+        final Set<String> labels = getLabels(expression, getVariables(getScope(expression)));
+        if (labels.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> result = new TreeSet<>();
+        for (final String label : resolveLabels(expression.getProject(), labels, new Resolution())) {
+            if ('$' == label.charAt(0)) {
+                result.add(label);
+            }
+        }
+        return result;
+    }
+
+    /* arguments of the call which are reaching the sink inside the callee => sources they can be taken from */
+    @NotNull
+    public static Map<PsiElement, Set<String>> getTaintedArguments(@NotNull FunctionReference reference, @NotNull String sink) {
+        final String callee          = getCalleeKey(reference);
+        final PsiElement[] arguments = reference.getParameters();
+        if (null == callee || 0 == arguments.length) {
+            return Collections.emptyMap();
+        }
+        final Map<Integer, Set<String>> parameterSinks = getResolved(reference.getProject(), callee, new Resolution()).parameterSinks;
+        if (parameterSinks.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<PsiElement, Set<String>> result = new LinkedHashMap<>();
+        for (int index = 0; index < arguments.length; ++index) {
+            final Set<String> reached = parameterSinks.get(index);
+            if (null != reached && reached.contains(sink)) {
+                final Set<String> found = getSources(arguments[index]);
+                if (!found.isEmpty()) {
+                    result.put(arguments[index], found);
+                }
+            }
+        }
+        return result;
+    }
+
+    /* index key of the function: lower-cased FQN, methods are named as '\Class.method' */
+    @Nullable
+    public static String getKey(@NotNull Function function) {
+        if (function.isClosure()) {
+            return null;
+        }
+        if (function instanceof Method) {
+            final PhpClass clazz = ((Method) function).getContainingClass();
+            return null == clazz ? null : (clazz.getFQN() + '.' + function.getName()).toLowerCase();
+        }
+        return function.getFQN().toLowerCase();
+    }
+
+    /* the function summary for indexing: target (return, sink, callee argument) => labels flowing there */
+    @NotNull
+    public static Map<String, Set<String>> collectSummary(@NotNull Function function) {
+        final Map<String, Set<String>> variables = collectVariables(function);
+        final Map<String, Set<String>> summary   = new HashMap<>();
+        for (final PsiElement element : collectElements(function)) {
+            if (element instanceof PhpReturn) {
+                addLabels(summary, returnTarget, ((PhpReturn) element).getArgument(), variables);
+            } else if (element instanceof Include) {
+                addLabels(summary, sinkInclude, ((Include) element).getArgument(), variables);
+            } else if (element instanceof FunctionReference) {
+                final FunctionReference reference = (FunctionReference) element;
+                final PsiElement[] arguments      = reference.getParameters();
+                final String sink                 = getSink(reference);
+                if (null != sink) {
+                    addLabels(summary, sink, arguments[0], variables);
+                } else {
+                    final String callee = getCalleeKey(reference);
+                    if (null != callee) {
+                        for (int index = 0; index < arguments.length; ++index) {
+                            addLabels(summary, callee + ':' + index, arguments[index], variables);
+                        }
+                    }
+                }
+            }
+        }
+        return summary;
+    }
+
+    private static void addLabels(
+        @NotNull Map<String, Set<String>> summary,
+        @NotNull String target,
+        @Nullable PsiElement expression,
+        @NotNull Map<String, Set<String>> variables
+    ) {
+        final Set<String> labels = getLabels(expression, variables);
+        if (!labels.isEmpty()) {
+            summary.computeIfAbsent(target, key -> new HashSet<>()).addAll(labels);
+        }
+    }
+
+    /* sinks are reported with one argument only: the 2nd one is making the calls safe */
+    @Nullable
+    private static String getSink(@NotNull FunctionReference reference) {
+        return OpenapiTypesUtil.isFunctionReference(reference) && 1 == reference.getParameters().length
+                ? sinks.get(reference.getName())
+                : null;
+    }
+
+    @Nullable
+    private static String getCalleeKey(@NotNull FunctionReference reference) {
+        final String name = reference.getName();
+        if (null == name || name.isEmpty()) {
+            return null;
+        }
+        if (!(reference instanceof MethodReference)) {
+            final String fqn = reference.getFQN();
+            return null == fqn ? null : fqn.toLowerCase();
+        }
+
+        /* only calls with known classes: $this->, self::, static:: and Class:: */
+        final PsiElement base = ((MethodReference) reference).getClassReference();
+        String classFqn       = null;
+        if (base instanceof Variable) {
+            if (((Variable) base).getName().equals("this")) {
+                final PhpClass clazz = PsiTreeUtil.getParentOfType(reference, PhpClass.class);
+                classFqn             = null == clazz ? null : clazz.getFQN();
+            }
+        } else if (base instanceof ClassReference) {
+            final String className = ((ClassReference) base).getName();
+            if (null != className && (className.equals("self") || className.equals("static"))) {
+                final PhpClass clazz = PsiTreeUtil.getParentOfType(reference, PhpClass.class);
+                classFqn             = null == clazz ? null : clazz.getFQN();
+            } else if (null != className && !className.equals("parent")) {
+                classFqn = ((ClassReference) base).getFQN();
+            }
+        }
+        return null == classFqn ? null : (classFqn + '.' + name).toLowerCase();
+    }
+
+    @NotNull
+    private static PsiElement getScope(@NotNull PsiElement expression) {
+        final Function scope = ExpressionSemanticUtil.getScope(expression);
+        return null == scope ? expression.getContainingFile() : scope;
+    }
+
+    /* variables => labels, cached until the scope changes (labels are not depending on other files) */
+    @NotNull
+    private static Map<String, Set<String>> getVariables(@NotNull PsiElement scope) {
+        return CachedValuesManager.getCachedValue(scope, () -> CachedValueProvider.Result.create(collectVariables(scope), scope));
+    }
+
+    @NotNull
+    private static Map<String, Set<String>> collectVariables(@NotNull PsiElement scope) {
+        final Map<String, Set<String>> variables = new HashMap<>();
+        if (scope instanceof Function) {
+            final Parameter[] parameters = ((Function) scope).getParameters();
+            for (int index = 0; index < parameters.length; ++index) {
+                variables.computeIfAbsent(parameters[index].getName(), key -> new HashSet<>()).add("#" + index);
+            }
+        }
+
+        final List<PsiElement> flows = new ArrayList<>();
+        for (final PsiElement element : collectElements(scope)) {
+            if (element instanceof AssignmentExpression || element instanceof ForeachStatement) {
+                flows.add(element);
+            }
+        }
+        /* flow-insensitive: propagate until nothing changes (loops, re-assignments) */
+        for (int iteration = 0; iteration < maxIterations; ++iteration) {
+            boolean changed = false;
+            for (final PsiElement flow : flows) {
+                if (flow instanceof MultiassignmentExpression) {
+                    final MultiassignmentExpression assignment = (MultiassignmentExpression) flow;
+                    final Set<String> labels                   = getLabels(assignment.getValue(), variables);
+                    for (final PsiElement target : assignment.getVariables()) {
+                        changed = taint(variables, target, labels) || changed;
+                    }
+                } else if (flow instanceof AssignmentExpression) {
+                    final AssignmentExpression assignment = (AssignmentExpression) flow;
+                    changed = taint(variables, assignment.getVariable(), getLabels(assignment.getValue(), variables)) || changed;
+                } else {
+                    final ForeachStatement loop = (ForeachStatement) flow;
+                    final Set<String> labels    = getLabels(loop.getArray(), variables);
+                    changed = taint(variables, loop.getKey(), labels) || changed;
+                    changed = taint(variables, loop.getValue(), labels) || changed;
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+        return variables;
+    }
+
+    private static boolean taint(@NotNull Map<String, Set<String>> variables, @Nullable PsiElement target, @NotNull Set<String> labels) {
+        while (target instanceof ArrayAccessExpression) {
+            target = ((ArrayAccessExpression) target).getValue();
+        }
+        if (labels.isEmpty() || !(target instanceof Variable)) {
+            return false;
+        }
+        final String name = ((Variable) target).getName();
+        return !sources.contains(name) && variables.computeIfAbsent(name, key -> new HashSet<>()).addAll(labels);
+    }
+
+    /* elements of the scope, excluding nested functions and classes */
+    @NotNull
+    private static List<PsiElement> collectElements(@NotNull PsiElement scope) {
+        final List<PsiElement> result = new ArrayList<>();
+        scope.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element != scope && (element instanceof Function || element instanceof PhpClass)) {
+                    return;
+                }
+                if (
+                    element instanceof AssignmentExpression || element instanceof ForeachStatement ||
+                    element instanceof PhpReturn || element instanceof Include || element instanceof FunctionReference
+                ) {
+                    result.add(element);
+                }
+                super.visitElement(element);
+            }
+        });
+        return result;
+    }
+
+    @NotNull
+    private static Set<String> getLabels(@Nullable PsiElement expression, @NotNull Map<String, Set<String>> variables) {
+        final Set<String> result = new HashSet<>();
+        collectLabels(expression, variables, result);
+        return result;
+    }
+
+    private static void collectLabels(@Nullable PsiElement expression, @NotNull Map<String, Set<String>> variables, @NotNull Set<String> result) {
+        if (null == expression || expression instanceof Function || expression instanceof PhpClass) {
+            return;
+        }
+
+        if (expression instanceof Variable) {
+            final String name = ((Variable) expression).getName();
+            if (sources.contains(name)) {
+                result.add('$' + name);
+            } else {
+                final Set<String> labels = variables.get(name);
+                if (null != labels) {
+                    result.addAll(labels);
+                }
+            }
+        } else if (expression instanceof ArrayAccessExpression) {
+            collectLabels(((ArrayAccessExpression) expression).getValue(), variables, result);
+        } else if (expression instanceof FunctionReference) {
+            final FunctionReference reference = (FunctionReference) expression;
+            final PsiElement[] arguments      = reference.getParameters();
+            if (OpenapiTypesUtil.isFunctionReference(reference) && propagators.contains(reference.getName())) {
+                for (final PsiElement argument : arguments) {
+                    collectLabels(argument, variables, result);
+                }
+            } else {
+                final String callee = getCalleeKey(reference);
+                if (null != callee) {
+                    result.add(callee + returnLabel);
+                    for (int index = 0; index < arguments.length; ++index) {
+                        for (final String label : getLabels(arguments[index], variables)) {
+                            if (getChainLength(label) < maxChainLength) {
+                                result.add(callee + ':' + index + '>' + label);
+                            }
+                        }
+                    }
+                }
+            }
+        } else if (expression instanceof TernaryExpression) {
+            collectLabels(((TernaryExpression) expression).getTrueVariant(), variables, result);
+            collectLabels(((TernaryExpression) expression).getFalseVariant(), variables, result);
+        } else if (expression instanceof BinaryExpression) {
+            /* comparisons and arithmetic are not producing strings */
+            final BinaryExpression binary = (BinaryExpression) expression;
+            if (PhpTokenTypes.opCONCAT == binary.getOperationType() || PhpTokenTypes.opCOALESCE == binary.getOperationType()) {
+                collectLabels(binary.getLeftOperand(), variables, result);
+                collectLabels(binary.getRightOperand(), variables, result);
+            }
+        } else if (expression instanceof UnaryExpression) {
+            /* numeric and boolean casts are sanitizing */
+            final PsiElement operation = ((UnaryExpression) expression).getOperation();
+            final IElementType type    = null == operation ? null : operation.getNode().getElementType();
+            if (PhpTokenTypes.opSILENCE == type || PhpTokenTypes.opSTRING_CAST == type || PhpTokenTypes.opARRAY_CAST == type) {
+                collectLabels(((UnaryExpression) expression).getValue(), variables, result);
+            }
+        } else if (!(expression instanceof NewExpression || expression instanceof PhpIsset || expression instanceof PhpEmpty)) {
+            /* strings with injections, arrays, parentheses and alike */
+            for (PsiElement child = expression.getFirstChild(); null != child; child = child.getNextSibling()) {
+                collectLabels(child, variables, result);
+            }
+        }
+    }
+
+    private static int getChainLength(@NotNull String label) {
+        int result = 0;
+        for (int position = label.indexOf('>'); position >= 0; position = label.indexOf('>', position + 1)) {
+            ++result;
+        }
+        return result;
+    }
+
+    /* labels => sources and parameters, through summaries of the callees */
+    @NotNull
+    private static Set<String> resolveLabels(@NotNull Project project, @NotNull Collection<String> labels, @NotNull Resolution resolution) {
+        final Set<String> result = new HashSet<>();
+        for (final String label : labels) {
+            resolveLabel(project, label, resolution, result);
+        }
+        return result;
+    }
+
+    private static void resolveLabel(@NotNull Project project, @NotNull String label, @NotNull Resolution resolution, @NotNull Set<String> result) {
+        final char first = label.charAt(0);
+        if ('$' == first || '#' == first) {
+            result.add(label);
+            return;
+        }
+
+        final int separator     = label.indexOf(':');
+        final Resolved resolved = getResolved(project, label.substring(0, separator), resolution);
+        if (label.endsWith(returnLabel) && separator == label.length() - returnLabel.length()) {
+            for (final String returned : resolved.returns) {
+                if ('$' == returned.charAt(0)) {
+                    result.add(returned);
+                }
+            }
+        } else {
+            final int arrow = label.indexOf('>', separator);
+            if (resolved.returns.contains('#' + label.substring(separator + 1, arrow))) {
+                resolveLabel(project, label.substring(arrow + 1), resolution, result);
+            }
+        }
+    }
+
+    @NotNull
+    private static Resolved getResolved(@NotNull Project project, @NotNull String key, @NotNull Resolution resolution) {
+        if (DumbService.isDumb(project)) {
+            return Resolved.EMPTY;
+        }
+
+        final Map<String, Resolved> memo = CachedValuesManager.getManager(project).getCachedValue(
+            project,
+            () -> CachedValueProvider.Result.create(
+                new ConcurrentHashMap<String, Resolved>(),
+                PsiModificationTracker.MODIFICATION_COUNT
+            )
+        );
+        Resolved result = memo.get(key);
+        if (null != result) {
+            return result;
+        }
+
+        /* recursion: the provisional result is used (nothing propagated at first), the cycle head iterates */
+        final Integer cycleDepth = resolution.depths.get(key);
+        if (null != cycleDepth) {
+            resolution.lowest = Math.min(resolution.lowest, cycleDepth);
+            return resolution.provisional.getOrDefault(key, Resolved.EMPTY);
+        }
+
+        final int depth       = resolution.depths.size();
+        final int outerLowest = resolution.lowest;
+        resolution.depths.put(key, depth);
+        try {
+            for (int iteration = 0; iteration < maxIterations; ++iteration) {
+                resolution.lowest = Integer.MAX_VALUE;
+                result            = resolve(project, key, resolution);
+                if (resolution.lowest != depth || result.equals(resolution.provisional.get(key))) {
+                    break;
+                }
+                resolution.provisional.put(key, result);
+            }
+        } finally {
+            resolution.depths.remove(key);
+            resolution.provisional.remove(key);
+        }
+
+        /* results depending on callees still being resolved up the stack are not final, hence not memoized */
+        final boolean isFinal = resolution.lowest >= depth;
+        resolution.lowest     = isFinal ? outerLowest : Math.min(outerLowest, resolution.lowest);
+        if (isFinal) {
+            memo.put(key, result);
+        }
+        return result;
+    }
+
+    @NotNull
+    private static Resolved resolve(@NotNull Project project, @NotNull String key, @NotNull Resolution resolution) {
+        final Map<String, Set<String>> summary = getSummary(project, key);
+        if (summary.isEmpty()) {
+            return Resolved.EMPTY;
+        }
+
+        final Set<String> returns = summary.containsKey(returnTarget)
+                ? resolveLabels(project, summary.get(returnTarget), resolution)
+                : Collections.emptySet();
+        final Map<Integer, Set<String>> parameterSinks = new HashMap<>();
+        for (final Map.Entry<String, Set<String>> entry : summary.entrySet()) {
+            final String target = entry.getKey();
+            if (target.equals(returnTarget)) {
+                continue;
+            }
+
+            /* a sink, or an argument of a callee reaching its sinks */
+            final Set<String> reached;
+            final int separator = target.lastIndexOf(':');
+            if (separator < 0) {
+                reached = Collections.singleton(target);
+            } else {
+                final Resolved callee = getResolved(project, target.substring(0, separator), resolution);
+                reached               = callee.parameterSinks.getOrDefault(Integer.parseInt(target.substring(separator + 1)), Collections.emptySet());
+            }
+            if (!reached.isEmpty()) {
+                for (final String label : resolveLabels(project, entry.getValue(), resolution)) {
+                    if ('#' == label.charAt(0)) {
+                        parameterSinks.computeIfAbsent(Integer.parseInt(label.substring(1)), index -> new HashSet<>()).addAll(reached);
+                    }
+                }
+            }
+        }
+        return new Resolved(returns, parameterSinks);
+    }
+
+    /* summaries of all declarations, functions in namespaces are falling back to global ones as PHP does */
+    @NotNull
+    private static Map<String, Set<String>> getSummary(@NotNull Project project, @NotNull String key) {
+        final FileBasedIndex index            = FileBasedIndex.getInstance();
+        final GlobalSearchScope scope         = GlobalSearchScope.allScope(project);
+        final int namespaceEnd                = key.lastIndexOf('\\');
+        List<Map<String, Set<String>>> values = index.getValues(TaintSummariesIndexer.identity, key, scope);
+        if (values.isEmpty() && key.indexOf('.') < 0 && namespaceEnd > 0) {
+            values = index.getValues(TaintSummariesIndexer.identity, key.substring(namespaceEnd), scope);
+        }
+
+        final Map<String, Set<String>> result = new HashMap<>();
+        for (final Map<String, Set<String>> value : values) {
+            for (final Map.Entry<String, Set<String>> entry : value.entrySet()) {
+                result.computeIfAbsent(entry.getKey(), target -> new HashSet<>()).addAll(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /* callees being resolved (by stack depth) and provisional results of cycles heads */
+    private static final class Resolution {
+        @NotNull private final Map<String, Integer> depths       = new HashMap<>();
+        @NotNull private final Map<String, Resolved> provisional = new HashMap<>();
+        /* the lowest depth of in-progress callees the current resolution has hit */
+        private int lowest = Integer.MAX_VALUE;
+    }
+
+    private static final class Resolved {
+        private static final Resolved EMPTY = new Resolved(Collections.emptySet(), Collections.emptyMap());
+
+        /* sources and parameters flowing to the return value */
+        @NotNull private final Set<String> returns;
+        /* parameters => sinks they are reaching */
+        @NotNull private final Map<Integer, Set<String>> parameterSinks;
+
+        private Resolved(@NotNull Set<String> returns, @NotNull Map<Integer, Set<String>> parameterSinks) {
+            this.returns        = returns;
+            this.parameterSinks = parameterSinks;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Resolved &&
+                   this.returns.equals(((Resolved) other).returns) &&
+                   this.parameterSinks.equals(((Resolved) other).parameterSinks);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.returns.hashCode() + this.parameterSinks.hashCode();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
 import org.apache.commons.lang.StringUtils;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.tree.IElementType;
@@ -19,10 +20,10 @@ import java.util.Set;
 final public class TypeFromPsiResolvingUtil {
 
     /** adds type, handling | and #, invoking signatures resolving */
-    private static void storeAsTypeWithSignaturesImport(String typeToImport, @Nullable Function scope, @NotNull PhpIndex index, @NotNull Set<String> typesSet) {
+    private static void storeAsTypeWithSignaturesImport(@NotNull Project project, String typeToImport, @Nullable Function scope, @NotNull PhpIndex index, @NotNull Set<String> typesSet) {
         if (typeToImport.contains("|")) {
             for (String oneType : typeToImport.split("\\|")) {
-                storeAsTypeWithSignaturesImport(Types.getType(oneType), scope, index, typesSet);
+                storeAsTypeWithSignaturesImport(project, Types.getType(oneType), scope, index, typesSet);
             }
             return;
         }
@@ -32,7 +33,7 @@ final public class TypeFromPsiResolvingUtil {
         }
 
         if (typeToImport.contains("#")) {
-            TypeFromSignatureResolvingUtil.resolveSignature(typeToImport, scope, index, typesSet);
+            TypeFromSignatureResolvingUtil.resolveSignature(typeToImport, scope, project, index, typesSet);
             return;
         }
 
@@ -83,7 +84,7 @@ final public class TypeFromPsiResolvingUtil {
                 !StringUtils.isEmpty(strVariableName) && strVariableName.charAt(0) == '_' &&
                 ExpressionCostEstimateUtil.predefinedVars.contains(strVariableName)
             ) {
-                storeAsTypeWithSignaturesImport(Types.strArray, objScope, objIndex, objTypesSet);
+                storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), Types.strArray, objScope, objIndex, objTypesSet);
                 return;
             }
 //
@@ -96,7 +97,7 @@ final public class TypeFromPsiResolvingUtil {
 //            }
 
             /* try with signature */
-            storeAsTypeWithSignaturesImport(((Variable) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), ((Variable) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
             /* try with PS itself, makes e.g. parameters resolves happen */
             if (objTypesSet.isEmpty()) {
                 for (String resolvedType : ((Variable) objSubjectExpression).getType().filterUnknown().getTypes()) {
@@ -115,7 +116,7 @@ final public class TypeFromPsiResolvingUtil {
             if ((var instanceof PhpTypedElement) && ((PhpTypedElement) var).getType().equals(PhpType.STRING)) {
                 objTypesSet.add(Types.strString);
             }
-            storeAsTypeWithSignaturesImport(((ArrayAccessExpression) objSubjectExpression).getType().toString(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), ((ArrayAccessExpression) objSubjectExpression).getType().toString(), objScope, objIndex, objTypesSet);
             return;
         }
 
@@ -129,26 +130,26 @@ final public class TypeFromPsiResolvingUtil {
         if (objSubjectExpression instanceof PsiReference) {
             PsiElement target = ((PsiReference) objSubjectExpression).resolve();
             if (target instanceof PhpTypedElement) {
-                storeAsTypeWithSignaturesImport(((PhpTypedElement) target).getType().toString(), objScope, objIndex, objTypesSet);
+                storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), ((PhpTypedElement) target).getType().toString(), objScope, objIndex, objTypesSet);
                 return;
             }
         }
 
         // fallback if not resolved
         if (objSubjectExpression instanceof ClassConstantReference) {
-            storeAsTypeWithSignaturesImport(((ClassConstantReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), ((ClassConstantReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
             return;
         }
         if (objSubjectExpression instanceof FieldReference) {
-            storeAsTypeWithSignaturesImport(((FieldReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), ((FieldReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
             return;
         }
         if (objSubjectExpression instanceof MethodReference) {
-            storeAsTypeWithSignaturesImport(((MethodReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), ((MethodReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
             return;
         }
         if (objSubjectExpression instanceof FunctionReference) {
-            storeAsTypeWithSignaturesImport(((FunctionReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), ((FunctionReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
             return;
         }
 
@@ -195,12 +196,12 @@ final public class TypeFromPsiResolvingUtil {
 
     /** resolve numbers and exotic structures, eg list() = .... */
     private static void resolvePhpExpression(PhpExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
     }
 
     /** Will resolve self-assignments */
     private static void resolveSelfAssignmentExpression(SelfAssignmentExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
     }
 
     /** Will resolve type of new expression */
@@ -230,7 +231,7 @@ final public class TypeFromPsiResolvingUtil {
             return;
         }
 
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
     }
 
     /** Resolve type casting expressions */
@@ -258,7 +259,7 @@ final public class TypeFromPsiResolvingUtil {
             return;
         }
 
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
     }
 
     /** Will resolve constants references */
@@ -281,7 +282,7 @@ final public class TypeFromPsiResolvingUtil {
             types = objSubjectExpression.getType().toString();
         }
 
-        storeAsTypeWithSignaturesImport(types, objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getProject(), types, objScope, objIndex, objTypesSet);
     }
 
     /** Will resolve ternary operator */
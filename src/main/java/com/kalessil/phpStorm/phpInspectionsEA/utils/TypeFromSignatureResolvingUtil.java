@@ -1,5 +1,6 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
+import com.intellij.openapi.project.Project;
 import org.apache.commons.lang.StringUtils;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
@@ -16,17 +17,19 @@ final public class TypeFromSignatureResolvingUtil {
     static public void resolveSignature (
             @Nullable String signatureToResolve,
             @Nullable Function scope,
+            @NotNull Project project,
             @NotNull PhpIndex projectIndex,
             @NotNull Set<String> extractedTypes
     ) {
         Set<String> processedSignatures = new HashSet<>();
-        resolveSignature(signatureToResolve, scope, projectIndex, extractedTypes, processedSignatures);
+        resolveSignature(signatureToResolve, scope, project, projectIndex, extractedTypes, processedSignatures);
         processedSignatures.clear();
     }
 
     static private void resolveSignature (
             @Nullable String strSignatureToResolve,
             @Nullable Function objScope,
+            @NotNull Project project,
             @NotNull PhpIndex objIndex,
             @NotNull Set<String> extractedTypesSet,
             @NotNull Set<String> processedSignatures
@@ -38,21 +41,21 @@ final public class TypeFromSignatureResolvingUtil {
         processedSignatures.add(strSignatureToResolve);
 
         /* re-dispatch poly-variants to single-variant processing */
-        if (strSignatureToResolve.contains("|")) {
-            for (String strOneVariantFromSplitToResolve : strSignatureToResolve.split("\\|")) {
-                resolveSignature(strOneVariantFromSplitToResolve, objScope, objIndex, extractedTypesSet, processedSignatures);
+        if (SignatureParsingUtil.isPolyVariant(strSignatureToResolve)) {
+            for (String strOneVariantFromSplitToResolve : SignatureParsingUtil.getVariants(strSignatureToResolve)) {
+                resolveSignature(strOneVariantFromSplitToResolve, objScope, project, objIndex, extractedTypesSet, processedSignatures);
             }
             return;
         }
 
         /* skip primitive types */
-        if (strSignatureToResolve.charAt(0) != '#' && strSignatureToResolve.charAt(0) != '?') {
+        if (SignatureParsingUtil.isType(strSignatureToResolve)) {
             extractedTypesSet.add(Types.getType(strSignatureToResolve));
             return;
         }
 
 
-        char charTypeOfSignature = ((strSignatureToResolve.length()) >= 2 ? strSignatureToResolve.charAt(1) : '?');
+        char charTypeOfSignature = SignatureParsingUtil.getKind(strSignatureToResolve);
         if (
             charTypeOfSignature == 'D' || /* pre-defined constants type is not resolved */
             charTypeOfSignature == '?' || /* have no idea what does it mean */
@@ -65,7 +68,7 @@ final public class TypeFromSignatureResolvingUtil {
 
         /* resolve functions */
         if (charTypeOfSignature == 'F') {
-            String strFunctionName = strSignatureToResolve.replace("#F", "");
+            String strFunctionName = SignatureParsingUtil.getReferencedName(strSignatureToResolve);
             Collection<Function> objFunctionsCollection = objIndex.getFunctionsByName(strFunctionName);
             for (Function objFunction : objFunctionsCollection) {
                 /*
@@ -73,7 +76,7 @@ final public class TypeFromSignatureResolvingUtil {
                  * IDE for some reason resolved type including self-reference of this function
                  */
                 String strTypeWithoutLoop = objFunction.getType().toString().replace("#F" + strFunctionName, "");
-                resolveSignature(strTypeWithoutLoop, objScope, objIndex, extractedTypesSet, processedSignatures);
+                resolveSignature(strTypeWithoutLoop, objScope, project, objIndex, extractedTypesSet, processedSignatures);
             }
             objFunctionsCollection.clear();
 
@@ -82,11 +85,11 @@ final public class TypeFromSignatureResolvingUtil {
 
         /* resolve params and scope variables */
         if (charTypeOfSignature == 'V'){
-            String strParameterOrVariableName = strSignatureToResolve.replace("#V", "");
+            String strParameterOrVariableName = SignatureParsingUtil.getReferencedName(strSignatureToResolve);
             if (null != objScope) {
                 for (Parameter objParam : objScope.getParameters()) {
                     if (objParam.getName().equals(strParameterOrVariableName)) {
-                        resolveSignature(objParam.getType().toString(), objScope, objIndex, extractedTypesSet, processedSignatures);
+                        resolveSignature(objParam.getType().toString(), objScope, project, objIndex, extractedTypesSet, processedSignatures);
                         return;
                     }
                 }
@@ -99,7 +102,7 @@ final public class TypeFromSignatureResolvingUtil {
 
         /* classes and core types */
         if (charTypeOfSignature == 'C') {
-            String typeName = strSignatureToResolve.replace("#C", "");
+            String typeName = SignatureParsingUtil.getReferencedName(strSignatureToResolve);
             if (objScope instanceof Method && typeName.equals("static")) {
                 final PhpClass container = ((Method) objScope).getContainingClass();
                 if (container != null) {
@@ -119,13 +122,11 @@ final public class TypeFromSignatureResolvingUtil {
         final boolean isMethod   = (charTypeOfSignature == 'M');
         final boolean isConstant = (charTypeOfSignature == 'K');
         if (isProperty || isMethod || isConstant) {
-            String[] arrInternalsAndChain = strSignatureToResolve.split("#C");
-            /* { <some garbage>, <target chain> }  */
-            if (arrInternalsAndChain.length != 2) {
+            String[] arrChain = SignatureParsingUtil.getChain(strSignatureToResolve);
+            if (null == arrChain) {
                 return;
             }
 
-            String[] arrChain = arrInternalsAndChain[1].split("\\.");
             String strClassResolved = null;
 
             HashSet<String> typesOfSlotSet = null;
@@ -147,7 +148,7 @@ final public class TypeFromSignatureResolvingUtil {
                 }
 
                 /* resolve pair */
-                typesOfSlotSet = resolveSlot(strClassResolved, strSlot, objIndex, charTypeOfSignature);
+                typesOfSlotSet = resolveSlot(strClassResolved, strSlot, objScope, project, charTypeOfSignature);
 
 
                 /*
@@ -194,18 +195,18 @@ final public class TypeFromSignatureResolvingUtil {
             if (null != typesOfSlotSet && typesOfSlotSet.size() > 0) {
                 /* store resolved types by re-running resolving */
                 for (String strType : typesOfSlotSet) {
-                    resolveSignature(strType, objScope, objIndex, extractedTypesSet, processedSignatures);
+                    resolveSignature(strType, objScope, project, objIndex, extractedTypesSet, processedSignatures);
                 }
                 typesOfSlotSet.clear();
             }
         }
     }
 
-    private static HashSet<String> resolveSlot(String strClass, String strSlot, PhpIndex objIndex, char type) {
+    private static HashSet<String> resolveSlot(String strClass, String strSlot, @Nullable Function objScope, @NotNull Project project, char type) {
         HashSet<String> resolvedTypesSet = new HashSet<>();
 
         /* try resolving an object interface */
-        Collection<PhpClass> objClasses = PhpIndexUtil.getObjectInterfaces(strClass, objIndex, false);
+        Collection<PhpClass> objClasses = PhpIndexUtil.getObjectInterfaces(project, strClass, false);
         if (0 == objClasses.size() || StringUtils.isEmpty(strSlot)) {
             resolvedTypesSet.add(Types.strClassNotResolved);
             return resolvedTypesSet;
@@ -25,65 +25,60 @@ final public class Types {
     final static public String strResolvingAbortedOnPsiLevel = "\\aborted-on-psi-level";
     final static public String strClassNotResolved           = "\\class-not-resolved";
 
-    static private Map<String, String> mapTypes = null;
-    static private Map<String, String> getTypesMap () {
-        if (null == mapTypes) {
-            mapTypes = new HashMap<>();
+    /* initialized with the class, so it's safely published to all threads and never modified afterwards */
+    static private final Map<String, String> mapTypes = new HashMap<>();
+    static {
+        mapTypes.put(strArray,     strArray);
+        mapTypes.put("\\array",    strArray);
 
-            mapTypes.put(strArray,     strArray);
-            mapTypes.put("\\array",    strArray);
+        mapTypes.put(strIterable,  strIterable);
+        mapTypes.put("\\iterable", strIterable);
 
-            mapTypes.put(strIterable,  strIterable);
-            mapTypes.put("\\iterable", strIterable);
+        mapTypes.put(strString,    strString);
+        mapTypes.put("\\string",   strString);
 
-            mapTypes.put(strString,    strString);
-            mapTypes.put("\\string",   strString);
+        mapTypes.put(strBoolean,   strBoolean);
+        mapTypes.put("\\bool",     strBoolean);
+        mapTypes.put("boolean",    strBoolean);
+        mapTypes.put("\\boolean",  strBoolean);
+        mapTypes.put("false",      strBoolean);
+        mapTypes.put("\\false",    strBoolean);
+        mapTypes.put("true",       strBoolean);
+        mapTypes.put("\\true",     strBoolean);
 
-            mapTypes.put(strBoolean,   strBoolean);
-            mapTypes.put("\\bool",     strBoolean);
-            mapTypes.put("boolean",    strBoolean);
-            mapTypes.put("\\boolean",  strBoolean);
-            mapTypes.put("false",      strBoolean);
-            mapTypes.put("\\false",    strBoolean);
-            mapTypes.put("true",       strBoolean);
-            mapTypes.put("\\true",     strBoolean);
+        mapTypes.put(strInteger,   strInteger);
+        mapTypes.put("\\int",      strInteger);
+        mapTypes.put("integer",    strInteger);
+        mapTypes.put("\\integer",  strInteger);
 
-            mapTypes.put(strInteger,   strInteger);
-            mapTypes.put("\\int",      strInteger);
-            mapTypes.put("integer",    strInteger);
-            mapTypes.put("\\integer",  strInteger);
+        mapTypes.put(strFloat,     strFloat);
+        mapTypes.put("\\float",    strFloat);
 
-            mapTypes.put(strFloat,     strFloat);
-            mapTypes.put("\\float",    strFloat);
+        mapTypes.put(strNull,      strNull);
+        mapTypes.put("\\null",     strNull);
 
-            mapTypes.put(strNull,      strNull);
-            mapTypes.put("\\null",     strNull);
+        mapTypes.put(strVoid,      strVoid);
+        mapTypes.put("\\void",     strVoid);
 
-            mapTypes.put(strVoid,      strVoid);
-            mapTypes.put("\\void",     strVoid);
+        mapTypes.put(strMixed,     strMixed);
+        mapTypes.put("\\mixed",    strMixed);
 
-            mapTypes.put(strMixed,     strMixed);
-            mapTypes.put("\\mixed",    strMixed);
+        mapTypes.put(strCallable,  strCallable);
+        mapTypes.put("\\callable", strCallable);
+        mapTypes.put("\\closure",  strCallable);
 
-            mapTypes.put(strCallable,  strCallable);
-            mapTypes.put("\\callable", strCallable);
-            mapTypes.put("\\closure",  strCallable);
+        mapTypes.put(strResource,  strResource);
+        mapTypes.put("\\resource", strResource);
 
-            mapTypes.put(strResource,  strResource);
-            mapTypes.put("\\resource", strResource);
+        mapTypes.put(strStatic,    strStatic);
+        mapTypes.put("\\static",   strStatic);
+        mapTypes.put("$this",      strStatic);
 
-            mapTypes.put(strStatic,    strStatic);
-            mapTypes.put("\\static",   strStatic);
-            mapTypes.put("$this",      strStatic);
+        mapTypes.put(strSelf,      strSelf);
+        mapTypes.put("\\self",     strSelf);
 
-            mapTypes.put(strSelf,      strSelf);
-            mapTypes.put("\\self",     strSelf);
-
-            mapTypes.put(strObject,    strObject);
-            mapTypes.put("\\object",   strObject);
-        }
-
-        return mapTypes;
+        mapTypes.put(strObject,    strObject);
+        mapTypes.put("\\object",   strObject);
     }
 
     public static String getType (@NotNull String givenType) {
@@ -92,7 +87,7 @@ final public class Types {
             return strArray;
         }
 
-        final String resolvedType = getTypesMap().get(givenType.toLowerCase());
+        final String resolvedType = mapTypes.get(givenType.toLowerCase());
         if (null != resolvedType) {
             return resolvedType;
         }
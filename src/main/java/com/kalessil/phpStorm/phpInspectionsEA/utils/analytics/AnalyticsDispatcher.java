@@ -0,0 +1,161 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils.analytics;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+import org.apache.http.client.fluent.Request;
+import org.apache.http.entity.ContentType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects hits and delivers them in batches from a single lazily started daemon thread. Hits which were not
+ * delivered (e.g. offline) are spooled into a local file and re-sent with the next batch. The spool is capped,
+ * when it overflows the oldest hits are dropped.
+ */
+final public class AnalyticsDispatcher {
+    /* measurement protocol accepts up to 20 hits per batch request */
+    final static private int BATCH_LIMIT = 20;
+    /* hits kept for re-sending, while being offline */
+    final static private int SPOOL_LIMIT = 500;
+
+    @NotNull
+    final private String collectorUrl;
+    @NotNull
+    final private File spool;
+    final private long flushDelayMillis;
+
+    final private Object lock            = new Object();
+    final private List<String> pending   = new ArrayList<>();
+    @Nullable
+    private ScheduledThreadPoolExecutor executor;
+    private boolean isFlushScheduled;
+
+    @Nullable
+    private volatile String lastError;
+
+    public AnalyticsDispatcher(@NotNull String collectorUrl, @NotNull File spool, long flushDelayMillis) {
+        this.collectorUrl     = collectorUrl;
+        this.spool            = spool;
+        this.flushDelayMillis = flushDelayMillis;
+    }
+
+    public void dispatch(@NotNull String hit) {
+        synchronized (this.lock) {
+            this.pending.add(hit);
+            if (!this.isFlushScheduled) {
+                this.isFlushScheduled = true;
+                this.getExecutor().schedule(this::flush, this.flushDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Sends spooled and pending hits in batches; on failure the undelivered hits are spooled again.
+     *
+     * @return true if there was nothing to send or the hits were delivered
+     */
+    public synchronized boolean flush() {
+        final List<String> hits = this.readSpool();
+        synchronized (this.lock) {
+            hits.addAll(this.pending);
+            this.pending.clear();
+            this.isFlushScheduled = false;
+        }
+        if (hits.isEmpty()) {
+            return true;
+        }
+
+        int sent = 0;
+        try {
+            while (sent < hits.size()) {
+                final List<String> batch = hits.subList(sent, Math.min(sent + BATCH_LIMIT, hits.size()));
+                final int status         = Request.Post(this.collectorUrl)
+                    .bodyString(String.join("\n", batch), ContentType.TEXT_PLAIN)
+                    .connectTimeout(3000)
+                    .socketTimeout(3000)
+                    .execute().returnResponse().getStatusLine().getStatusCode();
+                if (status < 200 || status >= 300) {
+                    throw new IOException("Unexpected response status: " + status);
+                }
+                sent += batch.size();
+            }
+
+            this.lastError = null;
+            this.writeSpool(new ArrayList<>());
+            return true;
+        } catch (Exception failed) {
+            this.lastError = failed.getClass().getName() + " - " + failed.getMessage();
+            this.writeSpool(hits.subList(sent, hits.size()));
+            return false;
+        }
+    }
+
+    @Nullable
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    @NotNull
+    private ScheduledThreadPoolExecutor getExecutor() {
+        if (null == this.executor) {
+            this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "EA Extended analytics dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            /* the thread is not kept alive between batches */
+            this.executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        return this.executor;
+    }
+
+    @NotNull
+    private List<String> readSpool() {
+        final List<String> hits = new ArrayList<>();
+        if (this.spool.isFile()) {
+            try {
+                for (final String line : Files.readAllLines(this.spool.toPath(), StandardCharsets.UTF_8)) {
+                    if (!line.isEmpty()) {
+                        hits.add(line);
+                    }
+                }
+            } catch (IOException failed) {
+                this.lastError = failed.getClass().getName() + " - " + failed.getMessage();
+            }
+        }
+
+        return hits;
+    }
+
+    private void writeSpool(@NotNull List<String> hits) {
+        try {
+            if (hits.isEmpty()) {
+                Files.deleteIfExists(this.spool.toPath());
+            } else {
+                /* keep the spool small: the newest hits are the valuable ones */
+                final List<String> kept = hits.size() > SPOOL_LIMIT ? hits.subList(hits.size() - SPOOL_LIMIT, hits.size()) : hits;
+                Files.write(this.spool.toPath(), kept, StandardCharsets.UTF_8);
+            }
+        } catch (IOException failed) {
+            this.lastError = failed.getClass().getName() + " - " + failed.getMessage();
+        }
+    }
+}
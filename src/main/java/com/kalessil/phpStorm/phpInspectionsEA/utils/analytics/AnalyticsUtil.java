@@ -9,46 +9,67 @@ package com.kalessil.phpStorm.phpInspectionsEA.utils.analytics;
  * file that was distributed with this source code.
  */
 
+import com.intellij.openapi.application.PathManager;
 import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
-import org.apache.http.client.fluent.Request;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+import java.io.File;
 
 final public class AnalyticsUtil {
     final static private String COLLECTOR_ID        = "UA-16483983-8";
     final static private String COLLECTOR_DEBUG_URL = "https://www.google-analytics.com/debug/collect";
-    final static private String COLLECTOR_URL       = "https://www.google-analytics.com/collect";
+    final static private String COLLECTOR_URL       = "https://www.google-analytics.com/batch";
+
+    /* allows pointing the plugin to a local collector, e.g. -Dea.analytics.collector=http://localhost:8080/batch */
+    final static private String COLLECTOR_PROPERTY  = "ea.analytics.collector";
+    final static private long FLUSH_DELAY_MILLIS    = 10000;
 
     @Nullable
-    static public String lastError = null;
+    static private AnalyticsDispatcher dispatcher = null;
 
     public static void registerPluginEvent(@NotNull EASettings source, @NotNull String action, @NotNull String eventValue) {
-        new Thread() {
-            public void run() {
-                /* See https://developers.google.com/analytics/devguides/collection/protocol/v1/devguide#event */
-                final StringBuilder payload = new StringBuilder();
-                payload
-                    .append("v=1")                                              // Version.
-                    .append("&tid=").append(COLLECTOR_ID)                       // Tracking ID / Property ID.
-                    .append("&cid=").append(source.getUuid())                   // Anonymous Client ID.
-                    .append("&t=event")                                         // Event hit type
-                    .append("&ec=plugin")                                       // Event Category. Required.
-                    .append("&ea=").append(action)                              // Event Action. Required.
-                    .append("&el=").append(source.getVersion())                 // Event label - current version
-                    .append("&ev=").append(eventValue.replaceAll("[^\\d]", "")) // Event value - oldest version as int
-                ;
-
-                try {
-                    Request.Post(COLLECTOR_URL)
-                        .bodyByteArray(payload.toString().getBytes())
-                        .connectTimeout(3000)
-                    .execute();
-
-                    lastError = null;
-                } catch (Exception failed) {
-                    lastError = failed.getClass().getName() + " - " + failed.getMessage();
-                }
-            }
-        }.start();
+        /* See https://developers.google.com/analytics/devguides/collection/protocol/v1/devguide#event */
+        final StringBuilder payload = new StringBuilder();
+        payload
+            .append("v=1")                                              // Version.
+            .append("&tid=").append(COLLECTOR_ID)                       // Tracking ID / Property ID.
+            .append("&cid=").append(source.getUuid())                   // Anonymous Client ID.
+            .append("&t=event")                                         // Event hit type
+            .append("&ec=plugin")                                       // Event Category. Required.
+            .append("&ea=").append(action)                              // Event Action. Required.
+            .append("&el=").append(source.getVersion())                 // Event label - current version
+            .append("&ev=").append(eventValue.replaceAll("[^\\d]", "")) // Event value - oldest version as int
+        ;
+
+        getDispatcher().dispatch(payload.toString());
+    }
+
+    @Nullable
+    public static synchronized String getLastError() {
+        return null == dispatcher ? null : dispatcher.getLastError();
+    }
+
+    /* returns the replaced dispatcher, so tests can keep hits local and restore it afterwards */
+    @TestOnly
+    @Nullable
+    public static synchronized AnalyticsDispatcher setDispatcher(@Nullable AnalyticsDispatcher replacement) {
+        final AnalyticsDispatcher previous = dispatcher;
+        dispatcher                         = replacement;
+        return previous;
+    }
+
+    @NotNull
+    private static synchronized AnalyticsDispatcher getDispatcher() {
+        if (null == dispatcher) {
+            dispatcher = new AnalyticsDispatcher(
+                System.getProperty(COLLECTOR_PROPERTY, COLLECTOR_URL),
+                new File(PathManager.getSystemPath(), "ea_extended_analytics.spool"),
+                FLUSH_DELAY_MILLIS
+            );
+        }
+
+        return dispatcher;
     }
 }
@@ -3,8 +3,9 @@ package com.kalessil.phpStorm.phpInspectionsEA.utils.phpExceptions;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassFactsUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeFromPlatformResolverUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.phpDoc.ThrowsResolveUtil;
@@ -79,6 +80,12 @@ final public class CollectPossibleThrowsUtil {
                     continue;
                 }
 
+                /* constructors not annotated as throwing: skip without resolving (and loading) the class */
+                if (!(newExpression.getParent() instanceof PhpThrow) && !mayThrow(newClassRef)) {
+                    processed.add(newExpression);
+                    continue;
+                }
+
                 PhpClass newClass;
                 if (newClassRef.resolve() instanceof PhpClass) {
                     newClass = (PhpClass) newClassRef.resolve();
@@ -129,7 +136,6 @@ final public class CollectPossibleThrowsUtil {
         }
 
         /* process throws - some of them might not use new-expression */
-        PhpIndex objIndex = PhpIndex.getInstance(holder.getProject());
         Collection<PhpThrow> throwExpressions = PsiTreeUtil.findChildrenOfType(scope, PhpThrow.class);
         if (throwExpressions.size() > 0) {
             for (PhpThrow throwExpression : throwExpressions) {
@@ -155,7 +161,7 @@ final public class CollectPossibleThrowsUtil {
                         for (String type : types) {
                             if (type.startsWith("\\")) {
                                 /* process classes references */
-                                Collection<PhpClass> classes = objIndex.getClassesByFQN(type);
+                                Collection<PhpClass> classes = PhpIndexUtil.getClassesByFQN(holder.getProject(), type);
                                 if (classes.size() > 0) {
                                     /* put an expression, create container if necessary */
                                     PhpClass exception = classes.iterator().next();
@@ -324,4 +330,14 @@ final public class CollectPossibleThrowsUtil {
 
         return exceptions;
     }
+
+    /* the facts index is telling if the constructor is annotated, unknown classes are resolved as usual */
+    static private boolean mayThrow(@NotNull ClassReference reference) {
+        final String fqn = reference.getFQN();
+        if (null == fqn) {
+            return true;
+        }
+        final Integer facts = ClassFactsUtil.getFacts(reference.getProject(), fqn);
+        return null == facts || (facts & ClassFactsUtil.CONSTRUCTOR_MAY_THROW) != 0;
+    }
 }
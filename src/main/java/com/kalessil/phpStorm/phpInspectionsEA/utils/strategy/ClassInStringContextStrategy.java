@@ -50,7 +50,7 @@ final public class ClassInStringContextStrategy {
         final List<PhpClass> listClasses = new ArrayList<>();
         for (final String classFqn : resolvedTypes) {
             if (classFqn.charAt(0) == '\\') {
-                listClasses.addAll(PhpIndexUtil.getObjectInterfaces(classFqn, index, false));
+                listClasses.addAll(PhpIndexUtil.getObjectInterfaces(holder.getProject(), classFqn, false));
             }
         }
 
@@ -58,7 +58,7 @@ final public class ComparableCoreClassesStrategy {
         final LinkedList<PhpClass> operandClasses = new LinkedList<>();
         for (String classFQN : operandTypes) {
             if (classFQN.charAt(0) == '\\') {
-                operandClasses.addAll(PhpIndexUtil.getObjectInterfaces(classFQN, projectIndex, false));
+                operandClasses.addAll(PhpIndexUtil.getObjectInterfaces(holder.getProject(), classFQN, false));
             }
         }
         operandTypes.clear();
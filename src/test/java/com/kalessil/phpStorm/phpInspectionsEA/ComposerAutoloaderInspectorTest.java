@@ -0,0 +1,30 @@
+package com.kalessil.phpStorm.phpInspectionsEA;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.composer.ComposerAutoloaderInspector;
+
+final public class ComposerAutoloaderInspectorTest extends PhpCodeInsightFixtureTestCase {
+    public void testNotOptimized() {
+        myFixture.enableInspections(new ComposerAutoloaderInspector());
+
+        myFixture.configureByFile("fixtures/composer/notOptimized/composer.json");
+        myFixture.testHighlighting(true, false, true);
+    }
+    public void testNotAuthoritative() {
+        myFixture.enableInspections(new ComposerAutoloaderInspector());
+
+        myFixture.configureByFile("fixtures/composer/notAuthoritative/composer.json");
+        myFixture.testHighlighting(true, false, true);
+    }
+    public void testOptimized() {
+        myFixture.enableInspections(new ComposerAutoloaderInspector());
+
+        myFixture.configureByFile("fixtures/composer/optimized/composer.json");
+        myFixture.testHighlighting(true, false, true);
+    }
+    public void testLibrary() {
+        myFixture.enableInspections(new ComposerAutoloaderInspector());
+
+        myFixture.configureByFile("fixtures/composer/library/composer.json");
+        myFixture.testHighlighting(true, false, true);
+    }
+}
@@ -1,9 +1,16 @@
 package com.kalessil.phpStorm.phpInspectionsEA.api;
 
 import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.codeInspection.*;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.AliasFunctionsUsageInspector;
 
+import java.util.ArrayList;
+
 final public class AliasFunctionsUsageInspectorTest extends PhpCodeInsightFixtureTestCase {
     public void testIfFindsAllPatterns() {
         myFixture.enableInspections(new AliasFunctionsUsageInspector());
@@ -24,4 +31,30 @@ final public class AliasFunctionsUsageInspectorTest extends PhpCodeInsightFixtur
             false
         );
     }
-}
\ No newline at end of file
+
+    public void testBatchFixing() {
+        final PsiFile file              = myFixture.configureByFile("fixtures/api/alias-functions-batch.php");
+        final ProblemsHolder holder     = new ProblemsHolder(InspectionManager.getInstance(getProject()), file, false);
+        final PsiElementVisitor visitor = new AliasFunctionsUsageInspector().buildVisitor(holder, false);
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                element.accept(visitor);
+                super.visitElement(element);
+            }
+        });
+
+        /* fixes are holding different replacements, while the batch is invoked on the first fix only */
+        final ProblemDescriptor[] descriptors = holder.getResultsArray();
+        assertEquals(4, descriptors.length);
+        final QuickFix[] fixes = descriptors[0].getFixes();
+        assertNotNull(fixes);
+        assertInstanceOf(fixes[0], BatchQuickFix.class);
+
+        //noinspection unchecked as the fix is declared for common descriptors
+        ((BatchQuickFix<CommonProblemDescriptor>) fixes[0]).applyFix(getProject(), descriptors, new ArrayList<>(), null);
+
+        myFixture.setTestDataPath(".");
+        myFixture.checkResultByFile("fixtures/api/alias-functions-batch.php", "fixtures/api/alias-functions-batch.fixed.php", false);
+    }
+}
@@ -0,0 +1,23 @@
+package com.kalessil.phpStorm.phpInspectionsEA.api;
+
+import com.intellij.codeInsight.intention.IntentionAction;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.arrays.MembershipTestInLoopInspector;
+
+final public class MembershipTestInLoopInspectorTest extends PhpCodeInsightFixtureTestCase {
+    public void testIfFindsAllPatterns() {
+        myFixture.enableInspections(new MembershipTestInLoopInspector());
+        myFixture.configureByFile("fixtures/api/membership-test-in-loop.php");
+        myFixture.testHighlighting(true, false, true);
+
+        for (final IntentionAction fix : myFixture.getAllQuickFixes()) {
+            myFixture.launchAction(fix);
+        }
+        myFixture.setTestDataPath(".");
+        myFixture.checkResultByFile(
+            "fixtures/api/membership-test-in-loop.php",
+            "fixtures/api/membership-test-in-loop.fixed.php",
+            false
+        );
+    }
+}
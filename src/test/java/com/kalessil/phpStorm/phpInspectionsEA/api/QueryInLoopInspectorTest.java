@@ -0,0 +1,20 @@
+package com.kalessil.phpStorm.phpInspectionsEA.api;
+
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.pdo.QueryInLoopInspector;
+
+final public class QueryInLoopInspectorTest extends PhpCodeInsightFixtureTestCase {
+    public void testIfFindsAllPatterns() {
+        myFixture.enableInspections(QueryInLoopInspector.class);
+        myFixture.configureByFile("fixtures/api/pdo-query-in-loop.php");
+        myFixture.testHighlighting(true, false, true);
+    }
+
+    public void testCustomRepositoryMethods() {
+        final QueryInLoopInspector inspector = new QueryInLoopInspector();
+        inspector.REPOSITORY_METHODS         = "\\Doctrine\\ORM\\EntityRepository::find, App\\Repository::load";
+        myFixture.enableInspections(inspector);
+        myFixture.configureByFile("fixtures/api/pdo-query-in-loop-custom-repositories.php");
+        myFixture.testHighlighting(true, false, true);
+    }
+}
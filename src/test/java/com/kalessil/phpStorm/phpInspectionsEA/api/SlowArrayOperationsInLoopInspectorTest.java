@@ -0,0 +1,12 @@
+package com.kalessil.phpStorm.phpInspectionsEA.api;
+
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.arrays.SlowArrayOperationsInLoopInspector;
+
+final public class SlowArrayOperationsInLoopInspectorTest extends PhpCodeInsightFixtureTestCase {
+    public void testIfFindsAllPatterns() {
+        myFixture.configureByFile("fixtures/api/slow-array-operations-in-loop.php");
+        myFixture.enableInspections(SlowArrayOperationsInLoopInspector.class);
+        myFixture.testHighlighting(true, false, true);
+    }
+}
@@ -1,9 +1,11 @@
 package com.kalessil.phpStorm.phpInspectionsEA.classes;
 
 import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.codeInspection.ex.GlobalInspectionToolWrapper;
 import com.jetbrains.php.config.PhpLanguageLevel;
 import com.jetbrains.php.config.PhpProjectConfigurationFacade;
 import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.LowerAccessLevelGlobalInspector;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.LowerAccessLevelInspector;
 
 public class LowerAccessLevelInspectorTest extends PhpCodeInsightFixtureTestCase {
@@ -34,4 +36,19 @@ public class LowerAccessLevelInspectorTest extends PhpCodeInsightFixtureTestCase
         myFixture.setTestDataPath(".");
         myFixture.checkResultByFile("fixtures/classes/weakerAccess/protected-fields-in-private-context.fixed.php");
     }
+
+    public void testProtectedFieldsUsedInSubclasses() {
+        myFixture.enableInspections(new LowerAccessLevelInspector());
+
+        myFixture.configureByFile("fixtures/classes/weakerAccess/protected-fields-used-in-subclasses-descendant.php");
+        myFixture.configureByFile("fixtures/classes/weakerAccess/protected-fields-used-in-subclasses.php");
+        myFixture.testHighlighting(true, false, true);
+    }
+
+    public void testProtectedFieldsUsedInSubclassesGlobally() {
+        myFixture.testInspection(
+            "fixtures/classes/weakerAccess/global-hierarchy",
+            new GlobalInspectionToolWrapper(new LowerAccessLevelGlobalInspector())
+        );
+    }
 }
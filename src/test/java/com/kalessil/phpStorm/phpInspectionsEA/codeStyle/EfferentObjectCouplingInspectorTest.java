@@ -2,6 +2,7 @@ package com.kalessil.phpStorm.phpInspectionsEA.codeStyle;
 
 import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.codeStyle.EfferentObjectCouplingInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassCouplingUtil;
 
 public class EfferentObjectCouplingInspectorTest extends PhpCodeInsightFixtureTestCase {
     public void testFalsePositives() {
@@ -12,4 +13,20 @@ public class EfferentObjectCouplingInspectorTest extends PhpCodeInsightFixtureTe
         myFixture.configureByFile("fixtures/codeStyle/efferent-object-coupling.php");
         myFixture.testHighlighting(true, false, true);
     }
+
+    public void testAfferentCoupling() {
+        final EfferentObjectCouplingInspector inspector = new EfferentObjectCouplingInspector();
+        inspector.optionCouplingLimit          = 100;
+        inspector.optionReportAfferentCoupling = true;
+        inspector.optionAfferentCouplingLimit  = 2;
+
+        myFixture.enableInspections(inspector);
+        myFixture.configureByFile("fixtures/codeStyle/afferent-object-coupling.php");
+        myFixture.testHighlighting(true, false, true);
+
+        assertEquals(2, ClassCouplingUtil.getNamespaceAfferentCoupling(myFixture.getProject(), "\\App\\Domain"));
+        assertEquals(0, ClassCouplingUtil.getNamespaceEfferentCoupling(myFixture.getProject(), "\\App\\Domain"));
+        assertEquals(1, ClassCouplingUtil.getNamespaceEfferentCoupling(myFixture.getProject(), "\\App\\Billing"));
+        assertEquals(1, ClassCouplingUtil.getAfferentCoupling(myFixture.getProject(), "\\App\\Billing\\Invoice"));
+    }
 }
@@ -1,12 +1,44 @@
 package com.kalessil.phpStorm.phpInspectionsEA.codeStyle;
 
+import com.intellij.codeInspection.*;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.codeStyle.UnNecessaryDoubleQuotesInspector;
 
+import java.util.ArrayList;
+
 final public class UnNecessaryDoubleQuotesInspectorTest extends PhpCodeInsightFixtureTestCase {
     public void testIfFindsAllPatterns() {
         myFixture.configureByFile("fixtures/codeStyle/double-quotes.php");
         myFixture.enableInspections(UnNecessaryDoubleQuotesInspector.class);
         myFixture.testHighlighting(true, false, true);
     }
+
+    public void testBatchFixing() {
+        final PsiFile file              = myFixture.configureByFile("fixtures/codeStyle/double-quotes-batch.php");
+        final ProblemsHolder holder     = new ProblemsHolder(InspectionManager.getInstance(getProject()), file, false);
+        final PsiElementVisitor visitor = new UnNecessaryDoubleQuotesInspector().buildVisitor(holder, false);
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                element.accept(visitor);
+                super.visitElement(element);
+            }
+        });
+
+        final ProblemDescriptor[] descriptors = holder.getResultsArray();
+        assertEquals(11, descriptors.length);
+        final QuickFix[] fixes = descriptors[0].getFixes();
+        assertNotNull(fixes);
+        assertInstanceOf(fixes[0], BatchQuickFix.class);
+
+        //noinspection unchecked as the fix is declared for common descriptors
+        ((BatchQuickFix<CommonProblemDescriptor>) fixes[0]).applyFix(getProject(), descriptors, new ArrayList<>(), null);
+
+        myFixture.setTestDataPath(".");
+        myFixture.checkResultByFile("fixtures/codeStyle/double-quotes-batch.php", "fixtures/codeStyle/double-quotes-batch.fixed.php", false);
+    }
 }
@@ -5,6 +5,8 @@ import com.jetbrains.php.config.PhpProjectConfigurationFacade;
 import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.NotOptimalIfConditionsInspection;
 
+import java.io.File;
+
 final public class NotOptimalIfConditionsInspectionTest extends PhpCodeInsightFixtureTestCase {
     public void testFalsePositives() {
         myFixture.enableInspections(new NotOptimalIfConditionsInspection());
@@ -22,6 +24,26 @@ final public class NotOptimalIfConditionsInspectionTest extends PhpCodeInsightFi
         myFixture.testHighlighting(true, false, true);
     }
 
+    public void testXhprofProfiledCosts() {
+        NotOptimalIfConditionsInspection inspector = new NotOptimalIfConditionsInspection();
+        inspector.SUGGEST_OPTIMIZING_CONDITIONS    = true;
+        inspector.COSTS_PROFILE                    = new File(myFixture.getTestDataPath(), "fixtures/ifs/if-optimal-conditions-profile.xhprof.json").getAbsolutePath();
+        myFixture.enableInspections(inspector);
+
+        myFixture.configureByFile("fixtures/ifs/if-optimal-conditions-profile.php");
+        myFixture.testHighlighting(true, false, true);
+    }
+
+    public void testCachegrindProfiledCosts() {
+        NotOptimalIfConditionsInspection inspector = new NotOptimalIfConditionsInspection();
+        inspector.SUGGEST_OPTIMIZING_CONDITIONS    = true;
+        inspector.COSTS_PROFILE                    = new File(myFixture.getTestDataPath(), "fixtures/ifs/if-optimal-conditions-profile.cachegrind").getAbsolutePath();
+        myFixture.enableInspections(inspector);
+
+        myFixture.configureByFile("fixtures/ifs/if-optimal-conditions-profile.php");
+        myFixture.testHighlighting(true, false, true);
+    }
+
     public void testIssetAndNullComparisonPatterns() {
         NotOptimalIfConditionsInspection inspector = new NotOptimalIfConditionsInspection();
         inspector.REPORT_ISSET_FLAWS               = true;
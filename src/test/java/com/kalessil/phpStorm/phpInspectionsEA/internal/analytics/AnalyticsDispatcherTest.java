@@ -0,0 +1,114 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.analytics;
+
+import com.intellij.openapi.util.io.FileUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.analytics.AnalyticsDispatcher;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+final public class AnalyticsDispatcherTest extends PhpCodeInsightFixtureTestCase {
+    private HttpServer collector;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private CountDownLatch received;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.startCollector();
+    }
+
+    private void startCollector() throws IOException {
+        this.received  = new CountDownLatch(1);
+        this.collector = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.collector.createContext("/batch", exchange -> {
+            final InputStream body             = exchange.getRequestBody();
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final byte[] chunk                 = new byte[1024];
+            int length;
+            while ((length = body.read(chunk)) != -1) {
+                buffer.write(chunk, 0, length);
+            }
+            this.requests.add(new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            this.received.countDown();
+        });
+        this.collector.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            this.collector.stop(0);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testEventsAreBatched() throws Exception {
+        final File spool                     = FileUtil.createTempFile("analytics", ".spool", true);
+        final AnalyticsDispatcher dispatcher = new AnalyticsDispatcher(this.getCollectorUrl(), spool, 200);
+
+        dispatcher.dispatch("v=1&ea=install");
+        dispatcher.dispatch("v=1&ea=run");
+
+        assertTrue(this.received.await(10, TimeUnit.SECONDS));
+        assertEquals(1, this.requests.size());
+        assertEquals("v=1&ea=install\nv=1&ea=run", this.requests.get(0));
+    }
+
+    public void testEventsAreSpooledWhenOffline() throws IOException {
+        final File spool = FileUtil.createTempFile("analytics", ".spool", true);
+
+        /* nothing is listening on the collector port anymore */
+        final String collectorUrl = this.getCollectorUrl();
+        this.collector.stop(0);
+
+        final AnalyticsDispatcher offline = new AnalyticsDispatcher(collectorUrl, spool, 60000);
+        offline.dispatch("v=1&ea=install");
+        offline.dispatch("v=1&ea=run");
+        assertFalse(offline.flush());
+        assertNotNull(offline.getLastError());
+        assertEquals("v=1&ea=install\nv=1&ea=run", FileUtil.loadFile(spool).trim());
+
+        /* back online: spooled events are delivered with the new ones, in one request */
+        this.startCollector();
+        final AnalyticsDispatcher online = new AnalyticsDispatcher(this.getCollectorUrl(), spool, 60000);
+        online.dispatch("v=1&ea=run");
+        assertTrue(online.flush());
+        assertEquals(1, this.requests.size());
+        assertEquals("v=1&ea=install\nv=1&ea=run\nv=1&ea=run", this.requests.get(0));
+        assertFalse(spool.exists());
+    }
+
+    public void testSpooledEventsAreDeliveredInSeveralBatches() throws IOException {
+        final File spool    = FileUtil.createTempFile("analytics", ".spool", true);
+        final String[] hits = new String[45];
+        for (int index = 0; index < hits.length; ++index) {
+            hits[index] = "v=1&ea=run&ev=" + index;
+        }
+        FileUtil.writeToFile(spool, String.join("\n", hits));
+
+        final AnalyticsDispatcher dispatcher = new AnalyticsDispatcher(this.getCollectorUrl(), spool, 60000);
+        assertTrue(dispatcher.flush());
+        assertEquals(3, this.requests.size());
+        assertEquals(hits[0], this.requests.get(0).split("\n")[0]);
+        assertEquals(hits[44], this.requests.get(2).split("\n")[4]);
+        assertFalse(spool.exists());
+    }
+
+    private String getCollectorUrl() {
+        return "http://127.0.0.1:" + this.collector.getAddress().getPort() + "/batch";
+    }
+}
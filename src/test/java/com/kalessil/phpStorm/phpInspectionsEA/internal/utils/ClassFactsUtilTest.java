@@ -0,0 +1,78 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassFactsUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.phpExceptions.CollectPossibleThrowsUtil;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+final public class ClassFactsUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testIndexedFacts() {
+        myFixture.configureByFile("fixtures/classes/class-facts.php");
+        final Project project = myFixture.getProject();
+
+        final Integer magic = ClassFactsUtil.getFacts(project, "\\NS\\Magic");
+        assertNotNull(magic);
+        assertEquals(
+            ClassFactsUtil.FINAL | ClassFactsUtil.DECLARES_GET | ClassFactsUtil.DECLARES_ISSET | ClassFactsUtil.CONSTRUCTOR_MAY_THROW,
+            magic.intValue()
+        );
+
+        /* lookups are case-insensitive, as class names are; no own constructor: the inherited one may throw */
+        final Integer base = ClassFactsUtil.getFacts(project, "\\ns\\base");
+        assertNotNull(base);
+        assertEquals(
+            ClassFactsUtil.ABSTRACT | ClassFactsUtil.DEPRECATED | ClassFactsUtil.DECLARES_CALL | ClassFactsUtil.CONSTRUCTOR_MAY_THROW,
+            base.intValue()
+        );
+
+        final Integer test = ClassFactsUtil.getFacts(project, "\\NS\\Tests\\MagicTest");
+        assertNotNull(test);
+        assertEquals(ClassFactsUtil.TEST_CLASS | ClassFactsUtil.CONSTRUCTOR_MAY_THROW, test.intValue());
+
+        /* constructors: annotations other than @throws do not count, tags are case-insensitive */
+        assertEquals(Integer.valueOf(0), ClassFactsUtil.getFacts(project, "\\NS\\Silent"));
+        assertEquals(Integer.valueOf(ClassFactsUtil.CONSTRUCTOR_MAY_THROW), ClassFactsUtil.getFacts(project, "\\NS\\Loud"));
+
+        assertNull(ClassFactsUtil.getFacts(project, "\\NS\\Missing"));
+    }
+
+    public void testPsiFactsMatchIndexedFacts() {
+        myFixture.configureByFile("fixtures/classes/class-facts.php");
+        final Project project = myFixture.getProject();
+
+        for (final String fqn : Arrays.asList("\\NS\\Base", "\\NS\\Magic", "\\NS\\Silent", "\\NS\\Loud", "\\NS\\Tests\\MagicTest")) {
+            final List<PhpClass> classes = PhpIndexUtil.getClassesByFQN(project, fqn);
+            assertEquals(1, classes.size());
+            assertEquals(ClassFactsUtil.getFacts(project, fqn).intValue(), ClassFactsUtil.getFacts(classes.get(0)));
+        }
+        assertFalse(ClassFactsUtil.hasFact(PhpIndexUtil.getClassesByFQN(project, "\\NS\\Magic").get(0), ClassFactsUtil.TEST_CLASS));
+    }
+
+    public void testConstructorsSkippedByFactsStillReportExceptions() {
+        final PsiFile file          = myFixture.configureByFile("fixtures/classes/class-facts-constructors.php");
+        final ProblemsHolder holder = new ProblemsHolder(InspectionManager.getInstance(getProject()), file, false);
+
+        final Function function = PsiTreeUtil.findChildrenOfType(file, Function.class).stream()
+                .filter(candidate -> candidate.getName().equals("instantiate"))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(function);
+
+        final Map<PhpClass, HashSet<PsiElement>> exceptions
+                = CollectPossibleThrowsUtil.collectNestedAndWorkflowExceptions(function, new HashSet<>(), holder);
+        final Set<String> thrown = exceptions.keySet().stream().map(PhpClass::getFQN).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList("\\Exception1", "\\Exception2")), thrown);
+        assertEquals(2, exceptions.get(PhpIndexUtil.getClassesByFQN(getProject(), "\\Exception1").get(0)).size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.jetbrains.php.PhpIndex;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ClassNamesFilterUtil;
+
+import java.util.Random;
+
+final public class ClassNamesFilterUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testFilterAccuracy() {
+        final int count                          = 10000;
+        final ClassNamesFilterUtil.Filter filter = new ClassNamesFilterUtil.Filter(count);
+        for (int index = 0; index < count; ++index) {
+            filter.add("KnownClass" + index);
+        }
+
+        /* no false negatives, including case-insensitive matches and name parts */
+        for (int index = 0; index < count; ++index) {
+            assertTrue(filter.mightContain("KnownClass" + index, 0, 10 + String.valueOf(index).length()));
+            assertTrue(filter.mightContain("knownclass" + index, 0, 10 + String.valueOf(index).length()));
+            final String qualified = "\\Vendor\\KnownClass" + index;
+            assertTrue(filter.mightContain(qualified, qualified.lastIndexOf('\\') + 1, qualified.length()));
+        }
+        assertFalse(filter.mightContain("\\Vendor\\", 8, 8));
+
+        /* false positives rate is about 1%, the check is allowing some variance */
+        final Random random = new Random(0);
+        int falsePositives  = 0;
+        for (int index = 0; index < count; ++index) {
+            final String unknown = "UnknownClass" + random.nextInt();
+            if (filter.mightContain(unknown, 0, unknown.length())) {
+                ++falsePositives;
+            }
+        }
+        assertTrue(falsePositives < count * 2 / 100);
+    }
+
+    public void testFilterMatchesIndexLookups() {
+        myFixture.configureByFile("fixtures/lang/classConstant/class-in-the-same-namespace.php");
+        final PhpIndex index = PhpIndex.getInstance(myFixture.getProject());
+        /* otherwise all names are answered with "maybe" until the pooled thread is done */
+        ClassNamesFilterUtil.rebuildFilter(myFixture.getProject());
+
+        final String[] names = new String[] {
+            "\\PhpInspections\\Base\\Prerequisites",
+            "\\PhpInspections\\EAExtended\\Sub\\Benefits",
+            "PhpInspections\\\\EAExtended\\\\Prerequisites",
+            "\\stdClass",
+            "\\Countable",
+            "\\PhpInspections\\Base\\Missing",
+            "Translation message",
+            "config.parameter_name"
+        };
+        int rejected = 0;
+        for (final String name : names) {
+            final String fqn      = '\\' + name.replace("\\\\", "\\").replaceAll("^\\\\", "");
+            final boolean isKnown = !index.getClassesByFQN(fqn).isEmpty() || !index.getInterfacesByFQN(fqn).isEmpty();
+            final boolean isMaybe = ClassNamesFilterUtil.mayBeClassName(myFixture.getProject(), name);
+            /* the filter is allowed to be wrong for unknown names only */
+            if (isKnown) {
+                assertTrue(name, isMaybe);
+            } else if (!isMaybe) {
+                ++rejected;
+            }
+        }
+        /* 3 unknown names with about 1% false positives: the filter (not the "maybe" fallback) has answered */
+        assertTrue(rejected > 0);
+        assertTrue(ClassNamesFilterUtil.mayBeClassName(myFixture.getProject(), "\\PhpInspections\\Base\\Prerequisites"));
+    }
+}
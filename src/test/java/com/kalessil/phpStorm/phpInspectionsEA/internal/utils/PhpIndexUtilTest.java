@@ -0,0 +1,45 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.openapi.project.Project;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
+
+import java.util.List;
+
+final public class PhpIndexUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testResolvedClassesAreCached() {
+        myFixture.configureByText("classes.php", "<?php namespace NS; class Clazz {} interface Contract {}");
+        final Project project = myFixture.getProject();
+
+        final List<PhpClass> first  = PhpIndexUtil.getObjectInterfaces(project, "\\NS\\Clazz", true);
+        final List<PhpClass> second = PhpIndexUtil.getObjectInterfaces(project, "\\NS\\Clazz", true);
+        assertEquals(1, first.size());
+        assertSame(first, second);
+
+        assertEquals(1, PhpIndexUtil.getObjectInterfaces(project, "\\NS\\Contract", true).size());
+        assertEquals(0, PhpIndexUtil.getClassesByFQN(project, "\\NS\\Contract").size());
+        assertEquals(1, PhpIndexUtil.getObjectInterfaces(project, "Clazz", false).size());
+    }
+
+    public void testMissesAreCached() {
+        myFixture.configureByText("classes.php", "<?php class Clazz {}");
+        final Project project = myFixture.getProject();
+
+        final List<PhpClass> first  = PhpIndexUtil.getObjectInterfaces(project, "\\Missing", false);
+        final List<PhpClass> second = PhpIndexUtil.getObjectInterfaces(project, "\\Missing", false);
+        assertTrue(first.isEmpty());
+        /* every lookup wraps its result into a new list, so the same instance comes from the cache */
+        assertSame(first, second);
+    }
+
+    public void testMissesAreDroppedOnStructuralChanges() {
+        myFixture.configureByText("classes.php", "<?php class Clazz {}");
+        final Project project = myFixture.getProject();
+
+        assertTrue(PhpIndexUtil.getObjectInterfaces(project, "\\Missing", false).isEmpty());
+
+        myFixture.addFileToProject("missing.php", "<?php class Missing {}");
+        assertEquals(1, PhpIndexUtil.getObjectInterfaces(project, "\\Missing", false).size());
+    }
+}
@@ -100,4 +100,40 @@ final public class PossibleValuesDiscoveryUtilTest extends PhpCodeInsightFixture
         assertEquals(1, values.size());
         assertInstanceOf(values.iterator().next(), ConstantReference.class);
     }
+
+    public void testVariableDiscoveryFollowsControlFlow() {
+        String pattern    = "function test($x = 'parameter') { " +
+                "if ($condition) { $x = 'if'; } else { $y = 'else'; } " +
+                "$z = 'overridden'; $z = 'final'; " +
+                "return [$x, $z]; }";
+        Function callable = PhpPsiElementFactory.createFromText(myFixture.getProject(), Function.class, pattern);
+        assertNotNull(callable);
+
+        PsiElement expression = PsiTreeUtil.findChildOfType(callable, PhpReturn.class);
+        assertNotNull(expression);
+        final Variable[] variables = PsiTreeUtil.findChildrenOfType(expression, Variable.class).toArray(new Variable[0]);
+        assertEquals(2, variables.length);
+
+        Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(variables[0], new HashSet<>());
+        assertEquals(2, values.size());
+
+        values = PossibleValuesDiscoveryUtil.discover(variables[1], new HashSet<>());
+        assertEquals(1, values.size());
+        assertEquals("'final'", values.iterator().next().getText());
+    }
+
+    public void testVariableDiscoveryInLoops() {
+        String pattern    = "function test() { $x = 0; $y = null; while ($condition) { $y = $x; $x = 1; } return $y; }";
+        Function callable = PhpPsiElementFactory.createFromText(myFixture.getProject(), Function.class, pattern);
+        assertNotNull(callable);
+
+        PsiElement expression = PsiTreeUtil.findChildOfType(callable, PhpReturn.class);
+        assertNotNull(expression);
+        expression = PsiTreeUtil.findChildOfType(expression, Variable.class);
+        assertNotNull(expression);
+
+        /* null before the loop, 0 from the first iteration and 1 from following iterations */
+        Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(expression, new HashSet<>());
+        assertEquals(3, values.size());
+    }
 }
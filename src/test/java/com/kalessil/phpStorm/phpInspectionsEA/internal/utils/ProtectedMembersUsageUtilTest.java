@@ -0,0 +1,29 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.lowerAccessLevel.utils.ProtectedMembersUsageUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+final public class ProtectedMembersUsageUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testNamesUsedInSubclasses() {
+        myFixture.configureByFile("fixtures/classes/weakerAccess/protected-fields-used-in-subclasses-descendant.php");
+        myFixture.configureByFile("fixtures/classes/weakerAccess/protected-fields-used-in-subclasses.php");
+
+        final List<PhpClass> classes = PhpIndexUtil.getClassesByFQN(myFixture.getProject(), "\\ProtectedFieldsUsedInSubclasses");
+        assertEquals(1, classes.size());
+        final PhpClass clazz = classes.get(0);
+        assertTrue(ProtectedMembersUsageUtil.hasSubclasses(clazz));
+
+        final Set<String> names = new HashSet<>(Arrays.asList("usedInSubclass", "usedInSubclassInOtherFile", "notUsedInSubclasses"));
+        assertEquals(
+            new HashSet<>(Arrays.asList("usedInSubclass", "usedInSubclassInOtherFile")),
+            ProtectedMembersUsageUtil.getNamesUsedInSubclasses(clazz, names)
+        );
+    }
+}
@@ -0,0 +1,41 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.openapi.project.Project;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.jetbrains.php.lang.psi.elements.ParenthesizedExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PsiTemplatesUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final public class PsiTemplatesUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testDonorsAreCached() {
+        final Project project                 = myFixture.getProject();
+        final ParenthesizedExpression first   = PsiTemplatesUtil.getDonor(project, ParenthesizedExpression.class, "(1 + 2)");
+        final ParenthesizedExpression second  = PsiTemplatesUtil.getDonor(project, ParenthesizedExpression.class, "(1 + 2)");
+        final ParenthesizedExpression another = PsiTemplatesUtil.getDonor(project, ParenthesizedExpression.class, "(2 + 1)");
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertNotSame(first, another);
+        assertEquals("(1 + 2)", first.getText());
+    }
+
+    public void testTemplateSubstitution() {
+        final Project project                    = myFixture.getProject();
+        final String template                    = "function() { return parent::EA_METHOD($EA_PARAMETER_0); }";
+        final Map<String, String> substitutions  = new HashMap<>();
+        substitutions.put("EA_METHOD", "method");
+        substitutions.put("$EA_PARAMETER_0", "$value");
+
+        final Function function = PsiTemplatesUtil.fromTemplate(project, Function.class, template, substitutions);
+        assertNotNull(function);
+        assertEquals("function() { return parent::method($value); }", function.getText());
+
+        /* the cached template itself stays untouched */
+        final Function donor = PsiTemplatesUtil.getDonor(project, Function.class, template);
+        assertNotNull(donor);
+        assertEquals(template, donor.getText());
+    }
+}
@@ -0,0 +1,117 @@
+package com.kalessil.phpStorm.phpInspectionsEA.performance;
+
+import com.intellij.codeInspection.*;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Runs all inspections over the same corpus from several threads at once (as concurrent highlighting and batch
+ * analysis do) and checks that each run reports exactly the same problems as a single-threaded run. PSI caches
+ * are dropped before each round, so the threads are racing on computing cached values as well.
+ */
+final public class ConcurrentInspectionsStressTest extends PhpCodeInsightFixtureTestCase {
+    private static final int threads        = 8;
+    private static final int rounds         = 3;
+    private static final int timeoutSeconds = 300;
+
+    public void testParallelRunsMatchSingleThreadedRun() throws Exception {
+        final List<PsiFile> files                   = this.configureCorpus();
+        final List<LocalInspectionTool> inspections = InspectionsPerformanceTest.collectInspections();
+        final List<String> expected                 = this.runInspections(inspections, files);
+        assertFalse(expected.isEmpty());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < rounds; ++round) {
+                PsiManager.getInstance(myFixture.getProject()).dropPsiCaches();
+
+                /* the threads are starting at once to maximize contention */
+                final CountDownLatch start            = new CountDownLatch(1);
+                final List<Future<List<String>>> runs = new ArrayList<>();
+                for (int thread = 0; thread < threads; ++thread) {
+                    runs.add(executor.submit(() -> {
+                        start.await();
+                        return ApplicationManager.getApplication().runReadAction(
+                            (Computable<List<String>>) () -> this.runInspections(inspections, files)
+                        );
+                    }));
+                }
+                start.countDown();
+
+                for (final Future<List<String>> run : runs) {
+                    assertEquals(expected, run.get(timeoutSeconds, TimeUnit.SECONDS));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @NotNull
+    private List<PsiFile> configureCorpus() throws IOException {
+        final List<PsiFile> files = new ArrayList<>();
+        for (final StressCorpus corpus : StressCorpus.values()) {
+            files.add(myFixture.addFileToProject(corpus.name().toLowerCase() + ".php", corpus.generate(20)));
+        }
+
+        final File template = new File(myFixture.getTestDataPath(), "fixtures/performance/mixed-code-unit.php");
+        final String unit   = FileUtil.loadFile(template);
+        for (int index = 0; index < 5; ++index) {
+            files.add(myFixture.addFileToProject("mixed-code-" + index + ".php", unit.replace("%unit%", String.valueOf(index))));
+        }
+        return files;
+    }
+
+    /* problems as sorted "inspection file:offset message" lines */
+    @NotNull
+    private List<String> runInspections(@NotNull List<LocalInspectionTool> inspections, @NotNull List<PsiFile> files) {
+        final InspectionManager manager = InspectionManager.getInstance(myFixture.getProject());
+        final List<String> result       = new ArrayList<>();
+        for (final PsiFile file : files) {
+            for (final LocalInspectionTool inspection : inspections) {
+                final ProblemsHolder holder              = new ProblemsHolder(manager, file, false);
+                final LocalInspectionToolSession session = new LocalInspectionToolSession(file, 0, file.getTextLength());
+                final PsiElementVisitor visitor          = inspection.buildVisitor(holder, false, session);
+                file.accept(new PsiRecursiveElementWalkingVisitor() {
+                    @Override
+                    public void visitElement(PsiElement element) {
+                        element.accept(visitor);
+                        super.visitElement(element);
+                    }
+                });
+
+                for (final ProblemDescriptor problem : holder.getResults()) {
+                    final PsiElement target = problem.getPsiElement();
+                    final int offset        = null == target ? -1 : target.getTextRange().getStartOffset();
+                    result.add(inspection.getShortName() + ' ' + file.getName() + ':' + offset + ' ' + problem.getDescriptionTemplate());
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package com.kalessil.phpStorm.phpInspectionsEA.performance;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.openapi.extensions.Extensions;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Runs inspections over large synthetic files with time budgets from fixtures/performance/budgets.json.
+ * Budgets are in milliseconds and are scaled by the test framework according to the machine performance.
+ */
+final public class InspectionsPerformanceTest extends PhpCodeInsightFixtureTestCase {
+    private static final String pluginPackage = "com.kalessil.phpStorm.phpInspectionsEA.";
+
+    public void testEachInspectionWithinBudget() throws IOException {
+        final JsonObject budgets = this.loadBudgets();
+        this.configureMixedCode(budgets.get("units").getAsInt());
+
+        final JsonObject inspectionBudgets = budgets.getAsJsonObject("inspections");
+        final int defaultBudget            = budgets.get("default").getAsInt();
+        for (final LocalInspectionTool inspection : collectInspections()) {
+            final String shortName = inspection.getShortName();
+            final int budget       = inspectionBudgets.has(shortName) ? inspectionBudgets.get(shortName).getAsInt() : defaultBudget;
+
+            myFixture.enableInspections(inspection);
+            PlatformTestUtil.startPerformanceTest(shortName, budget, () -> myFixture.doHighlighting())
+                .cpuBound()
+                .assertTiming();
+            myFixture.disableInspections(inspection);
+        }
+    }
+
+    public void testAllInspectionsWithinBudget() throws IOException {
+        final JsonObject budgets = this.loadBudgets();
+        this.configureMixedCode(budgets.get("units").getAsInt());
+
+        final List<LocalInspectionTool> inspections = collectInspections();
+        myFixture.enableInspections(inspections.toArray(new InspectionProfileEntry[inspections.size()]));
+        PlatformTestUtil.startPerformanceTest("all inspections", budgets.get("all").getAsInt(), () -> myFixture.doHighlighting())
+            .cpuBound()
+            .assertTiming();
+    }
+
+    @NotNull
+    private JsonObject loadBudgets() throws IOException {
+        final File budgets = new File(myFixture.getTestDataPath(), "fixtures/performance/budgets.json");
+        return new JsonParser().parse(FileUtil.loadFile(budgets)).getAsJsonObject();
+    }
+
+    private void configureMixedCode(int units) throws IOException {
+        final File template   = new File(myFixture.getTestDataPath(), "fixtures/performance/mixed-code-unit.php");
+        final String unitCode = FileUtil.loadFile(template).replaceFirst("<\\?php", "");
+
+        /* un-braced namespaces are allowed to be repeated, so units are not clashing */
+        final StringBuilder code = new StringBuilder("<?php\n");
+        for (int unit = 0; unit < units; ++unit) {
+            code.append(unitCode.replace("%unit%", String.valueOf(unit)));
+        }
+        myFixture.configureByText("performance.php", code.toString());
+    }
+
+    /* all local inspections of the plugin, shared with the concurrency stress test */
+    @NotNull
+    static List<LocalInspectionTool> collectInspections() {
+        final List<LocalInspectionTool> inspections = new ArrayList<>();
+        for (final LocalInspectionEP definition : Extensions.getExtensions(LocalInspectionEP.LOCAL_INSPECTION)) {
+            if (null != definition.implementationClass && definition.implementationClass.startsWith(pluginPackage)) {
+                final InspectionProfileEntry inspection = definition.instantiateTool();
+                if (inspection instanceof LocalInspectionTool) {
+                    inspections.add((LocalInspectionTool) inspection);
+                }
+            }
+        }
+        assertFalse(inspections.isEmpty());
+
+        return inspections;
+    }
+}
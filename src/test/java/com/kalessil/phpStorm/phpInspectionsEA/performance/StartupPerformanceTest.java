@@ -0,0 +1,96 @@
+package com.kalessil.phpStorm.phpInspectionsEA.performance;
+
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.openapi.extensions.Extensions;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.EAApplicationComponent;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.RulesTablesUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.analytics.AnalyticsDispatcher;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.analytics.AnalyticsUtil;
+import org.jdom.Element;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Guards the plugin startup costs: the deferred startup work, inspections instantiation (class loading and static
+ * initialization happen when the inspection profile is built) and the rules tables loading must stay cheap.
+ */
+final public class StartupPerformanceTest extends PhpCodeInsightFixtureTestCase {
+    private static final String pluginPackage = "com.kalessil.phpStorm.phpInspectionsEA.";
+
+    private AnalyticsDispatcher originalDispatcher;
+    private Element originalSettings;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        /* analytics hits are not leaving the test environment, settings changed by the startup work are restored */
+        this.originalSettings   = EASettings.getInstance().getState();
+        this.originalDispatcher = AnalyticsUtil.setDispatcher(new AnalyticsDispatcher(
+            "http://127.0.0.1:1/batch",
+            FileUtil.createTempFile("ea_extended_analytics", ".spool", true),
+            60000
+        ));
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            AnalyticsUtil.setDispatcher(this.originalDispatcher);
+            if (null != this.originalSettings) {
+                EASettings.getInstance().loadState(this.originalSettings);
+            }
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testDeferredStartupWork() {
+        PlatformTestUtil.startPerformanceTest("deferred startup work", 200, () -> new EAApplicationComponent().checkForUpdates())
+            .assertTiming();
+    }
+
+    public void testInspectionsInstantiation() {
+        PlatformTestUtil.startPerformanceTest("inspections instantiation", 1000, () -> {
+            for (final LocalInspectionEP definition : Extensions.getExtensions(LocalInspectionEP.LOCAL_INSPECTION)) {
+                if (null != definition.implementationClass && definition.implementationClass.startsWith(pluginPackage)) {
+                    assertNotNull(definition.instantiateTool());
+                }
+            }
+        }).assertTiming();
+    }
+
+    public void testRulesTablesLoading() {
+        PlatformTestUtil.startPerformanceTest("rules tables loading", 100, () -> {
+            for (final String table : new String[]{"development-packages.txt", "unqualified-references-false-positives.txt"}) {
+                assertNotNull(RulesTablesUtil.loadSet(table));
+            }
+            for (final String table : new String[]{"alias-functions.txt", "callbacks-positions.txt", "deprecated-ini-options.txt"}) {
+                assertNotNull(RulesTablesUtil.loadMap(table));
+            }
+        }).assertTiming();
+    }
+
+    public void testRulesTablesAreBundled() {
+        final String[] sets = {"development-packages.txt", "unqualified-references-false-positives.txt"};
+        for (final String table : sets) {
+            assertFalse(table, RulesTablesUtil.loadSet(table).isEmpty());
+        }
+
+        final String[] maps = {"alias-functions.txt", "callbacks-positions.txt", "deprecated-ini-options.txt"};
+        for (final String table : maps) {
+            assertFalse(table, RulesTablesUtil.loadMap(table).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.kalessil.phpStorm.phpInspectionsEA.performance;
+
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Generates PHP code exercising worst cases of specific inspections; the size meaning depends on the shape
+ * (branches, inheritance depth, nesting depth, array items, chained calls).
+ */
+public enum StressCorpus {
+    /* NotOptimalIfConditionsInspection: duplicate and cost-ordering checks over all branches */
+    ELSEIF_LADDER {
+        @NotNull
+        @Override
+        public String generate(int size) {
+            final StringBuilder code = new StringBuilder("<?php\n\nfunction ladder($value, $flag) {\n");
+            for (int branch = 0; branch < size; ++branch) {
+                code.append(0 == branch ? "    if (" : "    } elseif (")
+                    .append("$flag && is_numeric($value) && $value == ").append(branch)
+                    .append(" || strlen($value) === ").append(branch).append(") {\n")
+                    .append("        return ").append(branch).append(";\n");
+            }
+            code.append("    } else {\n        return -1;\n    }\n}\n");
+
+            return code.toString();
+        }
+    },
+    /* LongInheritanceChainInspection, InterfacesExtractUtil: hierarchy walks per class */
+    INHERITANCE_CHAIN {
+        @NotNull
+        @Override
+        public String generate(int size) {
+            final StringBuilder code = new StringBuilder("<?php\n\nnamespace Stress\\Hierarchy;\n\n");
+            for (int level = 0; level < size; ++level) {
+                code.append("interface Contract").append(level);
+                if (level > 0) {
+                    code.append(" extends Contract").append(level - 1);
+                }
+                code.append(" {\n    public function method").append(level).append("();\n}\n\n");
+            }
+            for (int level = 0; level < size; ++level) {
+                code.append("class Node").append(level);
+                if (level > 0) {
+                    code.append(" extends Node").append(level - 1);
+                }
+                code.append(" implements Contract").append(level).append(" {\n");
+                for (int method = 0; method <= level; ++method) {
+                    code.append("    public function method").append(method).append("() { return ").append(level).append("; }\n");
+                }
+                code.append("}\n\n");
+            }
+
+            return code.toString();
+        }
+    },
+    /* CollectPossibleThrowsUtil: nested and workflow exceptions collection */
+    NESTED_TRY_FINALLY {
+        @NotNull
+        @Override
+        public String generate(int size) {
+            final StringBuilder code = new StringBuilder("<?php\n\n")
+                .append("class StressThrower {\n")
+                .append("    /** @throws \\RuntimeException */\n")
+                .append("    public function run($level) { if ($level) { throw new \\RuntimeException(); } return $level; }\n")
+                .append("}\n\n")
+                .append("/** @throws \\RuntimeException */\n")
+                .append("function nested(StressThrower $thrower) {\n");
+
+            final StringBuilder indent = new StringBuilder("    ");
+            for (int level = 0; level < size; ++level) {
+                code.append(indent).append("try {\n");
+                indent.append("    ");
+                code.append(indent).append("$thrower->run(").append(level).append(");\n");
+            }
+            for (int level = size - 1; level >= 0; --level) {
+                indent.setLength(indent.length() - 4);
+                code.append(indent).append("} catch (\\LogicException $exception").append(level).append(") {\n")
+                    .append(indent).append("    throw new \\RuntimeException('', ").append(level).append(", $exception").append(level).append(");\n")
+                    .append(indent).append("} finally {\n")
+                    .append(indent).append("    $thrower->run(0);\n")
+                    .append(indent).append("}\n");
+            }
+            code.append("}\n");
+
+            return code.toString();
+        }
+    },
+    /* PackedHashtableOptimizationInspector: keys ordering checks over all entries */
+    ARRAY_LITERAL {
+        @NotNull
+        @Override
+        public String generate(int size) {
+            final StringBuilder code = new StringBuilder("<?php\n\nreturn [\n");
+            for (int item = 0; item < size; ++item) {
+                code.append("    ").append(item).append(" => ['id' => ").append(item)
+                    .append(", 'name' => 'item").append(item).append("'],\n");
+            }
+            code.append("];\n");
+
+            return code.toString();
+        }
+    },
+    /* signatures resolving (TypeFromSignatureResolvingUtil and friends): long chains of fluent calls */
+    FLUENT_CHAIN {
+        @NotNull
+        @Override
+        public String generate(int size) {
+            final StringBuilder code = new StringBuilder("<?php\n\n")
+                .append("class StressBuilder {\n")
+                .append("    /** @var StressBuilder */\n")
+                .append("    public $next;\n");
+            for (int method = 0; method < 10; ++method) {
+                code.append("    /** @return StressBuilder */\n")
+                    .append("    public function step").append(method).append("() { return $this; }\n");
+            }
+            code.append("    /** @return array */\n")
+                .append("    public function items() { return []; }\n")
+                .append("}\n\n")
+                .append("function chain(StressBuilder $builder) {\n")
+                .append("    $chain = $builder");
+            for (int call = 0; call < size; ++call) {
+                code.append(0 == call % 5 ? "\n        ->next" : "").append("->step").append(call % 10).append("()");
+            }
+            code.append(";\n")
+                .append("    foreach ($chain->items() as $item) {\n")
+                .append("        if (empty($item)) { continue; }\n")
+                .append("    }\n")
+                .append("    return $chain;\n")
+                .append("}\n");
+
+            return code.toString();
+        }
+    },
+    /* PhpUnitTestsInspector: strategies dispatch for each assert call */
+    PHPUNIT_SUITE {
+        @NotNull
+        @Override
+        public String generate(int size) {
+            final String[] asserts = {
+                "$this->assertSame($expected, $actual);",
+                "$this->assertEquals(count($items), $expected);",
+                "$this->assertNotSame(null, $actual);",
+                "$this->assertTrue(!$actual);",
+                "$this->assertTrue($actual instanceof \\stdClass);",
+                "$this->assertFalse(file_exists($actual));",
+                "$this->assertContains($expected, $items);",
+                "$this->assertArrayHasKey($expected, $items);",
+                "$this->assertInstanceOf(\\stdClass::class, $actual);",
+                "$this->assertCount(1, $items, 'message');"
+            };
+
+            final StringBuilder code = new StringBuilder("<?php\n\n")
+                .append("class StressSuiteTest extends \\PHPUnit_Framework_TestCase {\n");
+            for (int test = 0; test < size; ++test) {
+                code.append("    public function testCase").append(test).append("($expected, $actual, array $items) {\n");
+                for (final String call : asserts) {
+                    code.append("        ").append(call).append("\n");
+                }
+                code.append("    }\n");
+            }
+            code.append("}\n");
+
+            return code.toString();
+        }
+    },
+    /* MagicMethodsValidityInspector: strategies dispatch for each magic method */
+    MAGIC_METHODS {
+        @NotNull
+        @Override
+        public String generate(int size) {
+            final StringBuilder code = new StringBuilder("<?php\n\n");
+            for (int clazz = 0; clazz < size; ++clazz) {
+                code.append("class StressMagic").append(clazz).append(" {\n")
+                    .append("    public function __construct() {}\n")
+                    .append("    public function __get($name) { return null; }\n")
+                    .append("    public function __set($name, $value) {}\n")
+                    .append("    public function __isset($name) { return false; }\n")
+                    .append("    public function __call($name, $arguments) {}\n")
+                    .append("    public static function __callStatic($name, $arguments) {}\n")
+                    .append("    public function __toString() { return ''; }\n")
+                    .append("    public function __sleep() { return []; }\n")
+                    .append("    public function __wakeup() {}\n")
+                    .append("    public function regular() {}\n")
+                    .append("}\n\n");
+            }
+
+            return code.toString();
+        }
+    };
+
+    @NotNull
+    abstract public String generate(int size);
+}
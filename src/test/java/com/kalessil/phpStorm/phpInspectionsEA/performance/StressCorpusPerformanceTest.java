@@ -0,0 +1,65 @@
+package com.kalessil.phpStorm.phpInspectionsEA.performance;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.PackedHashtableOptimizationInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.exceptions.ExceptionsAnnotatingAndHandlingInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.forEach.ForeachSourceInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.NotOptimalIfConditionsInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.magicMethods.MagicMethodsValidityInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.PhpUnitTestsInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.ClassReImplementsParentInterfaceInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.classes.LongInheritanceChainInspector;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class StressCorpusPerformanceTest extends PhpCodeInsightFixtureTestCase {
+    public void testElseIfLadder() {
+        this.assertWithinBudget(StressCorpus.ELSEIF_LADDER, 10000, 10000, new NotOptimalIfConditionsInspection());
+    }
+
+    public void testInheritanceChain() {
+        this.assertWithinBudget(StressCorpus.INHERITANCE_CHAIN, 50, 3000, new LongInheritanceChainInspector());
+        this.assertWithinBudget(StressCorpus.INHERITANCE_CHAIN, 50, 3000, new ClassReImplementsParentInterfaceInspector());
+    }
+
+    public void testNestedTryFinally() {
+        this.assertWithinBudget(StressCorpus.NESTED_TRY_FINALLY, 50, 3000, new ExceptionsAnnotatingAndHandlingInspector());
+    }
+
+    public void testArrayLiteral() {
+        this.assertWithinBudget(StressCorpus.ARRAY_LITERAL, 20000, 5000, new PackedHashtableOptimizationInspector());
+    }
+
+    public void testFluentChain() {
+        this.assertWithinBudget(StressCorpus.FLUENT_CHAIN, 200, 3000, new ForeachSourceInspector());
+    }
+
+    public void testPhpUnitSuite() {
+        this.assertWithinBudget(StressCorpus.PHPUNIT_SUITE, 2000, 5000, new PhpUnitTestsInspector());
+    }
+
+    public void testMagicMethods() {
+        this.assertWithinBudget(StressCorpus.MAGIC_METHODS, 1000, 3000, new MagicMethodsValidityInspector());
+    }
+
+    private void assertWithinBudget(@NotNull StressCorpus corpus, int size, int budget, @NotNull LocalInspectionTool inspection) {
+        myFixture.configureByText(corpus.name().toLowerCase() + ".php", corpus.generate(size));
+        myFixture.enableInspections(inspection);
+
+        final String name = corpus.name() + " (" + size + ") " + inspection.getShortName();
+        PlatformTestUtil.startPerformanceTest(name, budget, () -> myFixture.doHighlighting())
+            .cpuBound()
+            .assertTiming();
+        myFixture.disableInspections(inspection);
+    }
+}
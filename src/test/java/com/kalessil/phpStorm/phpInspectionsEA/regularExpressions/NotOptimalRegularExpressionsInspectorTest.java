@@ -3,6 +3,8 @@ package com.kalessil.phpStorm.phpInspectionsEA.regularExpressions;
 import com.intellij.codeInsight.intention.IntentionAction;
 import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.NotOptimalRegularExpressionsInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.BacktrackingAnalyzer;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
 
 final public class NotOptimalRegularExpressionsInspectorTest extends PhpCodeInsightFixtureTestCase {
     public void testFindGreedyCharacterSets() {
@@ -26,6 +28,13 @@ final public class NotOptimalRegularExpressionsInspectorTest extends PhpCodeInsi
         myFixture.testHighlighting(true, false, true);
     }
 
+    public void testCatastrophicBacktracking() {
+        myFixture.enableInspections(new NotOptimalRegularExpressionsInspector());
+
+        myFixture.configureByFile("fixtures/regularExpressions/catastrophic-backtracking.php");
+        myFixture.testHighlighting(true, false, true);
+    }
+
     public void testSenselessIgnoreCaseModifier() {
         myFixture.enableInspections(new NotOptimalRegularExpressionsInspector());
 
@@ -59,4 +68,50 @@ final public class NotOptimalRegularExpressionsInspectorTest extends PhpCodeInsi
         myFixture.setTestDataPath(".");
         myFixture.checkResultByFile("fixtures/regularExpressions/plain-api-usage.fixed.php");
     }
-}
\ No newline at end of file
+
+    public void testPatternsAreParsedOnce() {
+        final ParsedRegex regex = ParsedRegex.fromLiteral("/^(?:\\D+|0(?!1))*$/i");
+        assertNotNull(regex);
+        assertEquals("i", regex.getModifiers());
+        assertSame(regex, ParsedRegex.fromLiteral("/^(?:\\D+|0(?!1))*$/i"));
+        assertSame(regex, ParsedRegex.fromLiteral("#^(?:\\D+|0(?!1))*$#i"));
+        assertNotSame(regex, ParsedRegex.fromLiteral("/^(?:\\D+|0(?!1))*$/"));
+
+        assertSame(ParsedRegex.fromLiteral("{[a-z]+}u"), ParsedRegex.fromLiteral("/[a-z]+/u"));
+        assertNull(ParsedRegex.fromLiteral("/unterminated"));
+    }
+
+    public void testDeeplyNestedPatternsAreNotParsed() {
+        final StringBuilder nested = new StringBuilder();
+        for (int index = 0; index < 20000; ++index) {
+            nested.append('(');
+        }
+        assertNull(ParsedRegex.fromLiteral("/" + nested + "/"));
+
+        final StringBuilder allowed = new StringBuilder();
+        for (int index = 0; index < 100; ++index) {
+            allowed.append("(a");
+        }
+        for (int index = 0; index < 100; ++index) {
+            allowed.append(')');
+        }
+        assertNotNull(ParsedRegex.fromLiteral("/" + allowed + "/"));
+    }
+
+    public void testZeroWidthUnrollingIsBounded() {
+        for (final String atom : new String[]{"()", "(?=a)", "\\b"}) {
+            final StringBuilder nested = new StringBuilder(atom);
+            for (int depth = 0; depth < 9; ++depth) {
+                nested.insert(0, '(').append("){10}");
+            }
+            final ParsedRegex regex = ParsedRegex.fromLiteral("/" + nested + "a/");
+            assertNotNull(regex);
+            /* 10^9 unrolled copies without the budget: gives up instead of hanging */
+            assertNull(BacktrackingAnalyzer.analyze(regex));
+        }
+
+        final ParsedRegex explosive = ParsedRegex.fromLiteral("/^(a|a)*$/");
+        assertNotNull(explosive);
+        assertNotNull(BacktrackingAnalyzer.analyze(explosive));
+    }
+}
@@ -10,4 +10,12 @@ final public class NonSecureExtractUsageInspectorTest extends PhpCodeInsightFixt
         myFixture.configureByFile("fixtures/security/extract.php");
         myFixture.testHighlighting(true, false, true);
     }
+
+    public void testInterproceduralTaintFlows() {
+        myFixture.enableInspections(new NonSecureExtractUsageInspector());
+
+        myFixture.configureByFile("fixtures/security/taint-flows-library.php");
+        myFixture.configureByFile("fixtures/security/extract-taint-flows.php");
+        myFixture.testHighlighting(true, false, true);
+    }
 }
@@ -10,4 +10,12 @@ final public class NonSecureParseStrUsageInspectorTest extends PhpCodeInsightFix
         myFixture.configureByFile("fixtures/security/parse-str.php");
         myFixture.testHighlighting(true, false, true);
     }
+
+    public void testInterproceduralTaintFlows() {
+        myFixture.enableInspections(new NonSecureParseStrUsageInspector());
+
+        myFixture.configureByFile("fixtures/security/taint-flows-library.php");
+        myFixture.configureByFile("fixtures/security/parse-str-taint-flows.php");
+        myFixture.testHighlighting(true, false, true);
+    }
 }
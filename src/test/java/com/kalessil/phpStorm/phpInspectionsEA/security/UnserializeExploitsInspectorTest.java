@@ -19,4 +19,12 @@ final public class UnserializeExploitsInspectorTest extends PhpCodeInsightFixtur
         myFixture.configureByFile("fixtures/security/unserialize-2nd-argument.php");
         myFixture.testHighlighting(true, false, true);
     }
+
+    public void testInterproceduralTaintFlows() {
+        myFixture.enableInspections(new UnserializeExploitsInspector());
+
+        myFixture.configureByFile("fixtures/security/taint-flows-library.php");
+        myFixture.configureByFile("fixtures/security/unserialize-taint-flows.php");
+        myFixture.testHighlighting(true, false, true);
+    }
 }
\ No newline at end of file
@@ -10,4 +10,12 @@ final public class UntrustedInclusionInspectorTest extends PhpCodeInsightFixture
         myFixture.configureByFile("fixtures/security/untrusted-inclusion.php");
         myFixture.testHighlighting(true, false, true);
     }
+
+    public void testInterproceduralTaintFlows() {
+        myFixture.enableInspections(new UntrustedInclusionInspector());
+
+        myFixture.configureByFile("fixtures/security/taint-flows-library.php");
+        myFixture.configureByFile("fixtures/security/taint-flows.php");
+        myFixture.testHighlighting(true, false, true);
+    }
 }
@@ -0,0 +1,21 @@
+package com.kalessil.phpStorm.phpInspectionsEA.semanticalAnalysis;
+
+import com.intellij.codeInsight.intention.IntentionAction;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.loops.StringAccumulationInLoopInspector;
+
+public class StringAccumulationInLoopInspectorTest extends PhpCodeInsightFixtureTestCase {
+    public void testIfFindsAllPatterns() {
+        myFixture.enableInspections(new StringAccumulationInLoopInspector());
+
+        myFixture.configureByFile("fixtures/semanticalAnalysis/string-accumulation-in-loop.php");
+        myFixture.testHighlighting(true, false, true);
+
+        for (final IntentionAction fix : myFixture.getAllQuickFixes()) {
+            myFixture.launchAction(fix);
+        }
+
+        myFixture.setTestDataPath(".");
+        myFixture.checkResultByFile("fixtures/semanticalAnalysis/string-accumulation-in-loop.fixed.php");
+    }
+}
@@ -0,0 +1,6 @@
+<?php
+
+    echo count([]);
+    echo implode(',', []);
+    echo rtrim('');
+    echo count([]);
@@ -0,0 +1,6 @@
+<?php
+
+    echo sizeof([]);
+    echo join(',', []);
+    echo chop('');
+    echo sizeof([]);
@@ -0,0 +1,93 @@
+<?php
+
+/** @return string[] */
+function groupMembers($group) { return []; }
+
+/** @param string[] $allowed */
+function strictMembership(array $items, array $allowed) {
+    $allowedFlipped = array_flip($allowed);
+    foreach ($items as $item) {
+        if (isset($allowedFlipped[$item])) {
+            echo $item;
+        }
+    }
+}
+
+/** @param string[] $known */
+function looseMembershipInNestedLoops(array $items, array $known) {
+    for ($i = 0; $i < 3; ++$i) {
+        while ($item = array_pop($items)) {
+            if (!in_array($item, $known)) {
+                echo $item;
+            }
+        }
+    }
+}
+
+function strictMembershipOfUnknownValues(array $items, array $objects) {
+    foreach ($items as $item) {
+        if (in_array($item, $objects, true)) {
+            echo $item;
+        }
+    }
+}
+
+/** @param int[] $list */
+function sameHaystack(array $pairs, array $list) {
+    $listFlipped = array_flip($list);
+    foreach ($pairs as $pair) {
+        if (isset($listFlipped[$pair[0]]) || isset($listFlipped[$pair[1]])) {
+            echo $pair[0];
+        }
+    }
+}
+
+function haystackModifiedInOuterLoop(array $groups, array $users) {
+    foreach ($groups as $group) {
+        $members = groupMembers($group);
+        $membersFlipped = array_flip($members);
+        foreach ($users as $user) {
+            if (isset($membersFlipped[$user])) {
+                echo $user;
+            }
+        }
+    }
+}
+
+/** @param string[] $allowed */
+function bracelessLoopContainer(array $items, array $allowed, $enabled) {
+    if ($enabled)
+        foreach ($items as $item) {
+            if (in_array($item, $allowed, true)) {
+                echo $item;
+            }
+        }
+}
+
+function notReported(array $items, array $list) {
+    $seen = [];
+    foreach ($items as $item) {
+        if (in_array($item, $seen, true)) {
+            continue;
+        }
+        $seen[] = $item;
+    }
+
+    foreach ($items as $item) {
+        if (in_array($item, $list)) {
+            foreach ($item as $value) {
+                array_push($list, $value);
+            }
+        }
+    }
+
+    foreach ($items as $item) {
+        $callback = function ($value) use ($list) { return in_array($value, $list, true); };
+    }
+
+    foreach ($items as $item) {
+        $key = array_search($item, $list);
+    }
+
+    return in_array($items, $list, true);
+}
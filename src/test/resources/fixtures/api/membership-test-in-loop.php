@@ -0,0 +1,90 @@
+<?php
+
+/** @return string[] */
+function groupMembers($group) { return []; }
+
+/** @param string[] $allowed */
+function strictMembership(array $items, array $allowed) {
+    foreach ($items as $item) {
+        if (<warning descr="'in_array(...)' scans $allowed on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (safe for string and integer values).">in_array($item, $allowed, true)</warning>) {
+            echo $item;
+        }
+    }
+}
+
+/** @param string[] $known */
+function looseMembershipInNestedLoops(array $items, array $known) {
+    for ($i = 0; $i < 3; ++$i) {
+        while ($item = array_pop($items)) {
+            if (!<weak_warning descr="'in_array(...)' scans $known on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (ensure values are strings or integers and loose comparison is not relied on).">in_array($item, $known)</weak_warning>) {
+                echo $item;
+            }
+        }
+    }
+}
+
+function strictMembershipOfUnknownValues(array $items, array $objects) {
+    foreach ($items as $item) {
+        if (<weak_warning descr="'in_array(...)' scans $objects on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (ensure values are strings or integers and loose comparison is not relied on).">in_array($item, $objects, true)</weak_warning>) {
+            echo $item;
+        }
+    }
+}
+
+/** @param int[] $list */
+function sameHaystack(array $pairs, array $list) {
+    foreach ($pairs as $pair) {
+        if (<warning descr="'in_array(...)' scans $list on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (safe for string and integer values).">in_array($pair[0], $list, true)</warning> || <warning descr="'in_array(...)' scans $list on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (safe for string and integer values).">in_array($pair[1], $list, true)</warning>) {
+            echo $pair[0];
+        }
+    }
+}
+
+function haystackModifiedInOuterLoop(array $groups, array $users) {
+    foreach ($groups as $group) {
+        $members = groupMembers($group);
+        foreach ($users as $user) {
+            if (<warning descr="'in_array(...)' scans $members on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (safe for string and integer values).">in_array($user, $members, true)</warning>) {
+                echo $user;
+            }
+        }
+    }
+}
+
+/** @param string[] $allowed */
+function bracelessLoopContainer(array $items, array $allowed, $enabled) {
+    if ($enabled)
+        foreach ($items as $item) {
+            if (<warning descr="'in_array(...)' scans $allowed on each iteration, flip it once before the loop and use 'isset($flipped[...])' instead (safe for string and integer values).">in_array($item, $allowed, true)</warning>) {
+                echo $item;
+            }
+        }
+}
+
+function notReported(array $items, array $list) {
+    $seen = [];
+    foreach ($items as $item) {
+        if (in_array($item, $seen, true)) {
+            continue;
+        }
+        $seen[] = $item;
+    }
+
+    foreach ($items as $item) {
+        if (in_array($item, $list)) {
+            foreach ($item as $value) {
+                array_push($list, $value);
+            }
+        }
+    }
+
+    foreach ($items as $item) {
+        $callback = function ($value) use ($list) { return in_array($value, $list, true); };
+    }
+
+    foreach ($items as $item) {
+        $key = array_search($item, $list);
+    }
+
+    return in_array($items, $list, true);
+}
@@ -0,0 +1,16 @@
+<?php
+
+namespace App {
+    class Repository
+    {
+        public function load($id) {}
+        public function find($id) {}
+    }
+
+    function listing(Repository $repository, array $ids) {
+        foreach ($ids as $id) {
+            <warning descr="'App\Repository::load(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').">$repository->load($id)</warning>;
+            $repository->find($id);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+<?php
+
+namespace Doctrine\ORM {
+    class EntityRepository
+    {
+        public function find($id) {}
+        public function findAll() {}
+    }
+}
+
+namespace {
+    class UsersRepository extends \Doctrine\ORM\EntityRepository {}
+
+    class OrdersService
+    {
+        /** @var \PDO */
+        private $pdo;
+
+        private function loadOrder($id)
+        {
+            return $this->pdo->query('SELECT * FROM orders WHERE id = ' . (int) $id);
+        }
+
+        private function formatOrder(array $order)
+        {
+            return implode(',', $order);
+        }
+
+        public function direct(\PDO $pdo, array $ids)
+        {
+            foreach ($ids as $id) {
+                $statement = <warning descr="'PDO::prepare(...)' is called on each loop iteration, prepare the statement once before the loop.">$pdo->prepare('SELECT * FROM orders WHERE id = ?')</warning>;
+                <warning descr="'PDOStatement::execute(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').">$statement->execute([$id])</warning>;
+                <warning descr="'PDO::exec(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').">$pdo->exec('UPDATE orders SET seen = 1 WHERE id = ' . (int) $id)</warning>;
+            }
+        }
+
+        public function indirect(array $ids)
+        {
+            foreach ($ids as $id) {
+                $order = <warning descr="'->loadOrder(...)' queries the database with 'PDO::query(...)' on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').">$this->loadOrder($id)</warning>;
+                echo $this->formatOrder($order);
+            }
+        }
+
+        public function repositories(UsersRepository $repository, array $ids)
+        {
+            for ($index = 0; $index < count($ids); ++$index) {
+                $user = <warning descr="'Doctrine\ORM\EntityRepository::find(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').">$repository->find($ids[$index])</warning>;
+            }
+            return $repository->findAll();
+        }
+
+        public function mysqli($link, array $ids)
+        {
+            while ($id = array_shift($ids)) {
+                <warning descr="'mysqli_query(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').">mysqli_query($link, 'DELETE FROM orders WHERE id = ' . (int) $id)</warning>;
+            }
+        }
+
+        public function chained(\PDO $pdo, $link, array $ids)
+        {
+            foreach ($ids as $id) {
+                <warning descr="'PDOStatement::execute(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)')."><warning descr="'PDO::prepare(...)' is called on each loop iteration, prepare the statement once before the loop.">$pdo->prepare('DELETE FROM orders WHERE id = ?')</warning>->execute([$id])</warning>;
+
+                $statement = <warning descr="'mysqli_prepare(...)' is called on each loop iteration, prepare the statement once before the loop.">mysqli_prepare($link, 'DELETE FROM orders WHERE id = ?')</warning>;
+                <warning descr="'mysqli_stmt_execute(...)' queries the database on each loop iteration (N+1 queries), consider fetching the data with one query before the loop (e.g. using 'IN (...)').">mysqli_stmt_execute($statement)</warning>;
+            }
+        }
+
+        private function store(\PDOStatement $statement, $id)
+        {
+            return $statement->execute([$id]);
+        }
+
+        public function notReported(\PDO $pdo, $link, array $ids)
+        {
+            $statement = $pdo->prepare('SELECT * FROM orders WHERE id IN (' . implode(',', array_fill(0, count($ids), '?')) . ')');
+            $statement->execute($ids);
+
+            $update = $pdo->prepare('UPDATE orders SET seen = 1 WHERE id = ?');
+            $delete = mysqli_prepare($link, 'DELETE FROM orders WHERE id = ?');
+            foreach ($ids as $id) {
+                $update->execute([$id]);
+                $this->store($update, $id);
+                mysqli_stmt_execute($delete);
+            }
+
+            foreach ($ids as $id) {
+                $callback = function () use ($pdo, $id) { return $pdo->query('SELECT ' . (int) $id); };
+            }
+            return $statement->fetchAll();
+        }
+    }
+}
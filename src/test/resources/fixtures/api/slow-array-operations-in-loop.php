@@ -0,0 +1,76 @@
+<?php
+
+function containerOverridden(array $items, array $result) {
+    foreach ($items as $item) {
+        $result = <warning descr="'array_merge(...)' is used in a loop and is a resources greedy construction.">array_merge($result, $item)</warning>;
+    }
+    while (count($items) > 0) {
+        $result = <warning descr="'array_replace(...)' is used in a loop and is a resources greedy construction.">array_replace($result, array_pop($items))</warning>;
+    }
+
+    /* not in a loop or not overriding the container */
+    $result = array_merge($result, $items);
+    foreach ($items as $item) {
+        $merged = array_merge($result, $item);
+    }
+    return $result;
+}
+
+function arrayGrowing(array $items) {
+    $unique = [];
+    foreach ($items as $item) {
+        $unique[] = $item;
+        $unique   = <warning descr="'array_unique(...)' is used in a loop growing $unique, this makes the loop quadratic.">array_unique($unique)</warning>;
+    }
+
+    $keys = [];
+    for ($i = 0; $i < 10; ++$i) {
+        foreach ($items as $item) {
+            if (in_array($item, <warning descr="'array_keys(...)' is used in a loop growing $keys, this makes the loop quadratic.">array_keys($keys)</warning>)) {
+                continue;
+            }
+        }
+        array_push($keys, $i);
+    }
+
+    $seen = [];
+    foreach ($items as $item) {
+        $missing = <warning descr="'array_diff(...)' is used in a loop growing $seen, this makes the loop quadratic.">array_diff($item, $seen)</warning>;
+        $seen    = <warning descr="'array_merge(...)' is used in a loop and is a resources greedy construction.">array_merge($seen, $missing)</warning>;
+    }
+
+    $known = [];
+    foreach ($items as $item) {
+        $common  = <warning descr="'array_intersect(...)' is used in a loop growing $known, this makes the loop quadratic.">array_intersect($item, $items, $known)</warning>;
+        $known[] = $common;
+        /* for single array functions only the first argument is scanned */
+        $matches = array_keys($item, $known);
+    }
+
+    /* count() is O(1), not growing arrays and closures are not reported */
+    $counted = [];
+    foreach ($items as $item) {
+        $counted[] = count($counted);
+        $values    = array_values($items);
+        $callback  = function () use ($counted) { return array_keys($counted); };
+    }
+    return [$unique, $keys, $seen, $known, $matches, $counted, $values, $callback];
+}
+
+function nestedLoops(array $items) {
+    foreach ($items as $first) {
+        foreach (<weak_warning descr="The same collection is iterated in the outer loop, this makes the loop quadratic (consider indexing it before the outer loop).">$items</weak_warning> as $second) {
+            echo $first, $second;
+        }
+        foreach ($first as $second) {
+            echo $second;
+        }
+    }
+    foreach ($this->items as $first) {
+        while (true) {
+            foreach (<weak_warning descr="The same collection is iterated in the outer loop, this makes the loop quadratic (consider indexing it before the outer loop).">$this->items</weak_warning> as $second) {
+                echo $first, $second;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+<?php
+
+class Exception1 extends \Exception {}
+class Exception2 extends \Exception {}
+
+class Annotated {
+    /** @throws \Exception1 */
+    public function __construct() {}
+}
+class Inheriting extends Annotated {}
+class Silent {
+    /** @param string $name */
+    public function __construct($name = '') {}
+}
+class Uppercase {
+    /** @THROWS \Exception2 */
+    public function __construct() {}
+}
+
+function instantiate() {
+    new Annotated();
+    new Inheriting();
+    new Silent();
+    new Uppercase();
+}
@@ -0,0 +1,30 @@
+<?php
+
+namespace NS {
+    /** @deprecated */
+    abstract class Base {
+        public function __call($name, $arguments) {}
+    }
+
+    final class Magic extends Base {
+        /** @throws \InvalidArgumentException */
+        public function __construct() {}
+
+        public function __get($name) {}
+        public function __isset($name) {}
+    }
+
+    class Silent {
+        /** @param string $name */
+        public function __construct($name = '') {}
+    }
+
+    class Loud {
+        /** @THROWS \RuntimeException */
+        public function __construct() {}
+    }
+}
+
+namespace NS\Tests {
+    class MagicTest {}
+}
@@ -0,0 +1,19 @@
+<?php
+
+class ProtectedFieldsHierarchy {
+    protected $usedInSubclassInOtherFile;
+    protected $notUsedInSubclasses;
+
+    private function privateMethod() {
+        return [$this->usedInSubclassInOtherFile, $this->notUsedInSubclasses];
+    }
+}
+
+/* classes without subclasses are reported by the local inspection */
+class ProtectedFieldsWithoutHierarchy {
+    protected $notUsedInSubclasses;
+
+    private function privateMethod() {
+        return $this->notUsedInSubclasses;
+    }
+}
@@ -0,0 +1,7 @@
+<?php
+
+class ProtectedFieldsHierarchyChild extends ProtectedFieldsHierarchy {
+    public function publicMethod() {
+        return $this->usedInSubclassInOtherFile;
+    }
+}
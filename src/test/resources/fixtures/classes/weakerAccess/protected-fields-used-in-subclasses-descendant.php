@@ -0,0 +1,7 @@
+<?php
+
+class ProtectedFieldsUsedInSubclassesDescendant extends ProtectedFieldsUsedInSubclassesChild {
+    public function publicMethod() {
+        return $this->usedInSubclassInOtherFile;
+    }
+}
@@ -0,0 +1,30 @@
+<?php
+
+class ProtectedFieldsUsedInSubclasses {
+    protected $usedInSubclass;
+    protected $usedInSubclassInOtherFile;
+    /* subclasses are checked in batch mode only */
+    protected $notUsedInSubclasses;
+
+    private function privateMethod() {
+        return [
+            $this->usedInSubclass,
+            $this->usedInSubclassInOtherFile,
+            $this->notUsedInSubclasses
+        ];
+    }
+}
+
+class ProtectedFieldsUsedInSubclassesChild extends ProtectedFieldsUsedInSubclasses {
+    public function publicMethod() {
+        return $this->usedInSubclass;
+    }
+}
+
+class ProtectedFieldsWithoutSubclasses {
+    <weak_warning descr="Since the property used in private context only, it could be declared private.">protected</weak_warning> $notUsedInSubclasses;
+
+    private function privateMethod() {
+        return $this->notUsedInSubclasses;
+    }
+}
@@ -0,0 +1,16 @@
+<?php
+
+namespace App\Domain {
+    class <weak_warning descr="Afferent coupling is 2 (instability is 0.00).">Money</weak_warning> {}
+}
+
+namespace App\Billing {
+    use App\Domain\Money;
+
+    class Invoice {
+        public function total(): Money {}
+    }
+    class Refund {
+        public function amount(Money $money, Invoice $invoice) {}
+    }
+}
@@ -0,0 +1,10 @@
+<?php
+
+$settings = [
+    'host'     => 'localhost',
+    'user'     => 'root',
+    'password' => '',
+    'options'  => ['host' => 'backup', 'user' => 'root'],
+];
+
+echo "$settings", "\n";
@@ -0,0 +1,7 @@
+<?php
+
+function batch($first, $second) {
+    $first  = (array)$first;
+    $second = (array)$second;
+    return [$first, $second];
+}
@@ -0,0 +1,7 @@
+<?php
+
+function batch($first, $second) {
+    $first  = is_array($first) ? $first : [$first];
+    $second = !is_array($second) ? [$second] : $second;
+    return [$first, $second];
+}
@@ -0,0 +1,12 @@
+<?php
+
+    /* measured: load_settings() and find() are expensive, is_ajax() and isSecure() are cheap */
+    if (load_settings() && <weak_warning descr="This condition execution costs less than the previous one.">is_ajax()</weak_warning>) {}
+    if ($repository->find($id) && <weak_warning descr="This condition execution costs less than the previous one.">$request->isSecure()</weak_warning>) {}
+    if (load_settings() || <weak_warning descr="This condition execution costs less than the previous one.">$request->isSecure()</weak_warning>) {}
+
+    /* already optimal or not profiled */
+    if (is_ajax() && load_settings()) {}
+    if ($request->isSecure() && $repository->find($id)) {}
+    if (not_profiled() && another_not_profiled()) {}
+    if (not_profiled() && $repository->notProfiled()) {}
@@ -0,0 +1,77 @@
+<?php
+
+namespace Performance\Unit%unit%;
+
+interface ContractInterface%unit% {
+    public function handle($request, array $options = []);
+}
+
+abstract class AbstractService%unit% implements ContractInterface%unit% {
+    protected $cache = [];
+    protected $logger;
+
+    public function __construct($logger = null) {
+        $this->logger = $logger;
+    }
+
+    public function __get($name) {
+        return isset($this->cache[$name]) ? $this->cache[$name] : null;
+    }
+
+    abstract protected function process(array $items);
+}
+
+final class Service%unit% extends AbstractService%unit% {
+    const STATUS_ACTIVE = 'active';
+
+    private $pdo;
+
+    public function handle($request, array $options = []) {
+        $result = [];
+        if (null !== $request && isset($options['items']) && count($options['items']) > 0 && is_array($options['items'])) {
+            foreach ($options['items'] as $key => $item) {
+                $result = array_merge($result, (array) $item);
+                if (in_array($key, ['a', 'b', 'c'])) {
+                    $result[] = strtolower(trim($key));
+                } elseif ($key == 'd' || $key == 'e') {
+                    $result[] = substr($key, 0, 1);
+                } else {
+                    $result[] = sprintf('%s-%s', $key, self::STATUS_ACTIVE);
+                }
+            }
+        }
+
+        if (preg_match('/^[0-9]+$/', (string) $request) || preg_match('/^(a+)+$/i', (string) $request)) {
+            $result['numeric'] = true;
+        }
+
+        $output = '';
+        for ($index = 0; $index < count($result); ++$index) {
+            $output .= "item: $index\n";
+        }
+
+        try {
+            $statement = $this->pdo->prepare('SELECT * FROM users WHERE id = ?');
+            $statement->execute([$request]);
+        } catch (\Exception $exception) {
+            throw new \Exception($exception->getMessage());
+        } finally {
+            $this->cache = [];
+        }
+
+        return empty($result) ? false : $this->process($result);
+    }
+
+    protected function process(array $items) {
+        $data = unserialize(serialize($items));
+        extract($data);
+        return 'Performance\Unit%unit%\Service%unit%' === get_class($this) ? $data : array_unique($data);
+    }
+}
+
+function helper%unit%($value) {
+    if (is_null($value)) {
+        return null;
+    }
+    return $value === true ? 1 : (is_string($value) ? intval($value) : $value);
+}
@@ -22,6 +22,7 @@ namespace {
 
 namespace {
     final class Clazz extends stdClass {}
+    class NotFinalClazz {}
 
     $phpUnitOld = new \PHPUnit_Framework_TestCase();
     $phpUnitNew = new \PHPUnit\Framework\TestCase();
@@ -37,6 +38,8 @@ namespace {
     $phpUnitNew->getMockBuilder(<error descr="Causes reflection errors as the referenced class is final.">"\\Clazz"</error>);
     $phpUnitNew->getMockClass(<error descr="Causes reflection errors as the referenced class is final.">Clazz::class</error>);
     $phpUnitNew->getMockBuilder(stdClass::class);
+    $phpUnitNew->getMockBuilder('\NotFinalClazz');
+    $phpUnitNew->getMockBuilder('\MissingClazz');
 
     class ClazzSpec extends \PhpSpec\ObjectBehavior
     {
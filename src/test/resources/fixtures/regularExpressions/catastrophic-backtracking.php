@@ -0,0 +1,24 @@
+<?php
+
+    /* exponential: nested quantifiers over overlapping alternatives */
+    preg_match(<error descr="'a' followed by repeated 'aa' and a mismatch takes exponential time to fail (ReDoS, Regular Expression Denial of Service).">'/^(a|a)*$/'</error>, '');
+    preg_match(<error descr="'a' followed by repeated '0a' and a mismatch takes exponential time to fail (ReDoS, Regular Expression Denial of Service).">'/^(?:\w|\d)+$/'</error>, '');
+    preg_match(<error descr="'ab' followed by repeated 'abab' and a mismatch takes exponential time to fail (ReDoS, Regular Expression Denial of Service).">'/^(?:a|b|ab)*c$/'</error>, '');
+    preg_match(<error descr="'user:a' followed by repeated 'aa' and a mismatch takes exponential time to fail (ReDoS, Regular Expression Denial of Service).">'/^user:(a|a)*$/i'</error>, '');
+    preg_match(<error descr="'a' followed by repeated 'aa' and a mismatch takes exponential time to fail (ReDoS, Regular Expression Denial of Service).">'/^(?i)(a|A)*$/'</error>, '');
+
+    /* polynomial: adjacent overlapping quantified classes */
+    preg_match(<weak_warning descr="'0' followed by repeated '0' and a mismatch takes polynomial time to fail (ReDoS, Regular Expression Denial of Service).">'/^\d+\d+$/'</weak_warning>, '');
+    preg_match(<weak_warning descr="'key= ' followed by repeated ' ' and a mismatch takes polynomial time to fail (ReDoS, Regular Expression Denial of Service).">'/^key=\s*.*$/'</weak_warning>, '');
+
+    /* false-positives: no ambiguity, no backtracking or nothing forcing a mismatch */
+    preg_match('/^(a|b)*$/', '');
+    preg_match('/^(?i:x)(a|A)*$/', '');
+    preg_match('/^(?-i)(a|A)*$/i', '');
+    preg_match('/^(a|ab)*c/', '');
+    preg_match('/^(?>a|a)*$/', '');
+    preg_match('/^(?:a|a)*+$/', '');
+    preg_match('/(a|a)*/', '');
+    preg_match('/^(a|a)*\1$/', '');
+    preg_match('/^\d{4}-\d{2}-\d{2}$/', '');
+    preg_match('/^(?:[^"\\\\]|\\\\.)*$/', '');
@@ -1,6 +1,15 @@
 <?php
 
     preg_match(<weak_warning descr="'i' modifier is ambiguous here (no alphabet characters in given pattern).">'/123.+/i'</weak_warning>, '');
+    preg_match(<weak_warning descr="'i' modifier is ambiguous here (no alphabet characters in given pattern).">'/\d+/i'</weak_warning>, '');
+    preg_match(<weak_warning descr="'i' modifier is ambiguous here (no alphabet characters in given pattern).">'/^\s*\d+\b/i'</weak_warning>, '');
+    preg_match(<weak_warning descr="'i' modifier is ambiguous here (no alphabet characters in given pattern).">'/\d+\.\d+/i'</weak_warning>, '');
+    preg_match(<weak_warning descr="'i' modifier is ambiguous here (no alphabet characters in given pattern).">'/[\d\s.,-]+/i'</weak_warning>, '');
+    preg_match(<weak_warning descr="'i' modifier is ambiguous here (no alphabet characters in given pattern).">'/[[:space:][:punct:]]+/i'</weak_warning>, '');
 
     preg_match('/[а-яё].+/iu', '');
-    preg_match('/abc.+/i', '');
\ No newline at end of file
+    preg_match('/abc.+/i', '');
+    preg_match('/\d+[0-z]/i', '');
+    preg_match('/[[:alpha:]]+/i', '');
+    preg_match('/\x41\d+/i', '');
+    preg_match('/\p{Lu}\d+/iu', '');
@@ -0,0 +1,13 @@
+<?php
+
+namespace Application;
+
+function controller() {
+    \Library\importVariables(<error descr="Perhaps it's possible to overwrite variables via: $_POST.">$_POST</error>);
+    <error descr="Please provide second parameter to clearly state intended behaviour.">extract</error>(\Library\passThrough('defaults'));
+}
+
+/* false-positives */
+function safeController() {
+    \Library\importVariables(['page' => 'home']);
+}
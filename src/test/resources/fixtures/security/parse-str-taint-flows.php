@@ -0,0 +1,12 @@
+<?php
+
+namespace Application;
+
+function controller() {
+    \Library\parseQuery(<error descr="Perhaps it's possible to overwrite variables via: $_GET.">$_GET['query']</error>);
+}
+
+/* false-positives */
+function safeController() {
+    \Library\parseQuery('page=home');
+}
@@ -0,0 +1,53 @@
+<?php
+
+namespace Library;
+
+function render($template) {
+    include $template;
+}
+
+function importVariables($variables) {
+    extract($variables);
+}
+
+function parseQuery($query) {
+    parse_str($query);
+}
+
+function passThrough($value) {
+    return trim($value);
+}
+
+function requestValue($name) {
+    return $_POST[$name];
+}
+
+function recursiveValue($value, $depth) {
+    if ($depth > 0) {
+        return recursiveNext($value, $depth - 1);
+    }
+    return $value;
+}
+
+function recursiveNext($value, $depth) {
+    return recursiveValue($value, $depth);
+}
+
+function sanitized($value) {
+    return basename($value);
+}
+
+class Loader {
+    public function load($file) {
+        $this->doLoad(__DIR__ . '/' . $file);
+    }
+
+    private function doLoad($path) {
+        require_once $path;
+    }
+
+    public static function restore($payload) {
+        $decoded = base64_decode($payload);
+        return unserialize($decoded);
+    }
+}
@@ -0,0 +1,37 @@
+<?php
+
+namespace Application;
+
+use Library\Loader;
+
+function controller() {
+    $page = $_GET['page'];
+    \Library\render(<error descr="Perhaps it's possible to include arbitrary files via: $_GET.">$page</error>);
+
+    include <error descr="Perhaps it's possible to include arbitrary files via: $_POST.">\Library\requestValue('template')</error>;
+    include <error descr="Perhaps it's possible to include arbitrary files via: $_COOKIE.">\Library\passThrough($_COOKIE['template'])</error>;
+    /* recursive callees: the cycle is resolved before being memoized */
+    include <error descr="Perhaps it's possible to include arbitrary files via: $_GET.">\Library\recursiveValue($_GET['template'], 2)</error>;
+    include <error descr="Perhaps it's possible to include arbitrary files via: $_GET.">\Library\recursiveNext($_GET['template'], 2)</error>;
+}
+
+class Controller {
+    public function action() {
+        $this->dispatch(<error descr="Perhaps it's possible to include arbitrary files via: $_GET.">$_GET['page']</error>);
+    }
+
+    private function dispatch($page) {
+        include $page . '.php';
+    }
+}
+
+/* false-positives */
+function safeController() {
+    \Library\render('home.php');
+    \Library\render(intval($_GET['page']) . '.php');
+    include \Library\sanitized($_COOKIE['template']);
+
+    /* calls on objects are not tracked */
+    $loader = new Loader();
+    $loader->load($_GET['file']);
+}
@@ -0,0 +1,14 @@
+<?php
+
+namespace Application;
+
+use Library\Loader;
+
+function controller() {
+    Loader::restore(<error descr="Perhaps it's possible to exploit the unserialize via: $_REQUEST.">$_REQUEST['state']</error>);
+}
+
+/* false-positives */
+function safeController() {
+    Loader::restore(isset($_REQUEST['state']) ? 'default' : 'none');
+}
@@ -0,0 +1,61 @@
+<?php
+
+function renderList(array $items) {
+    $html = '<ul>';
+    $htmlParts = [];
+    foreach ($items as $item) {
+        $htmlParts[] = '<li>' . $item . '</li>';
+    }
+    $html .= implode('', $htmlParts);
+    $html .= '</ul>';
+    return $html;
+}
+
+function renderCsv(array $rows) {
+    $csv = '';
+    $csvParts = [];
+    foreach ($rows as $row) {
+        foreach ($row as $cell) {
+            $csvParts[] = $cell . ',';
+        }
+        $csvParts[] = "\n";
+    }
+    $csv .= implode('', $csvParts);
+    return $csv;
+}
+
+function renderLines(array $rows) {
+    foreach ($rows as $row) {
+        $line = '';
+        $lineParts = [];
+        foreach ($row as $cell) {
+            $lineParts[] = $cell;
+        }
+        $line .= implode('', $lineParts);
+        echo $line;
+    }
+}
+
+function notReported(array $items) {
+    $limited = '';
+    foreach ($items as $item) {
+        if (strlen($limited) > 1024) {
+            break;
+        }
+        $limited .= $item;
+    }
+
+    $self = '';
+    foreach ($items as $item) {
+        $self .= $self;
+    }
+
+    $single = '';
+    $single .= implode(',', $items);
+
+    foreach ($items as $item) {
+        $this->buffer .= $item;
+    }
+
+    return [$limited, $self, $single];
+}
@@ -0,0 +1,55 @@
+<?php
+
+function renderList(array $items) {
+    $html = '<ul>';
+    foreach ($items as $item) {
+        <weak_warning descr="$html is grown by concatenation in 1 nested loop(s), collect the parts into an array and 'implode(...)' them once after the loop.">$html .= '<li>' . $item . '</li>'</weak_warning>;
+    }
+    $html .= '</ul>';
+    return $html;
+}
+
+function renderCsv(array $rows) {
+    $csv = '';
+    foreach ($rows as $row) {
+        foreach ($row as $cell) {
+            <warning descr="$csv is grown by concatenation in 2 nested loop(s), collect the parts into an array and 'implode(...)' them once after the loop.">$csv = $csv . $cell . ','</warning>;
+        }
+        $csv .= "\n";
+    }
+    return $csv;
+}
+
+function renderLines(array $rows) {
+    foreach ($rows as $row) {
+        $line = '';
+        foreach ($row as $cell) {
+            <weak_warning descr="$line is grown by concatenation in 1 nested loop(s), collect the parts into an array and 'implode(...)' them once after the loop.">$line .= $cell</weak_warning>;
+        }
+        echo $line;
+    }
+}
+
+function notReported(array $items) {
+    $limited = '';
+    foreach ($items as $item) {
+        if (strlen($limited) > 1024) {
+            break;
+        }
+        $limited .= $item;
+    }
+
+    $self = '';
+    foreach ($items as $item) {
+        $self .= $self;
+    }
+
+    $single = '';
+    $single .= implode(',', $items);
+
+    foreach ($items as $item) {
+        $this->buffer .= $item;
+    }
+
+    return [$limited, $self, $single];
+}